@@ -276,7 +276,7 @@ public class HDFS {
 			for( int j = 0; j < pointsInBlock.size(); j++ )
 			{	
 				StandardPointFile originalPoint = pointsInBlock.get(j);
-				if(  originalPoint.GetCalendar().getTimeInMillis() >= oIndexQueryResult.query.getStartTime() && originalPoint.GetCalendar().getTimeInMillis() <= oIndexQueryResult.query.getEndTime() )
+				if(  originalPoint.GetTimeInMillis() >= oIndexQueryResult.query.getStartTime() && originalPoint.GetTimeInMillis() <= oIndexQueryResult.query.getEndTime() )
 				{	
 					// adds to heap, this is sorted by time on add
 					points.add(originalPoint);
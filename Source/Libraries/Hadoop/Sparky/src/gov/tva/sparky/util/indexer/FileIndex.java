@@ -313,7 +313,7 @@ public class FileIndex
 			
 			// we probably only want to store "i" here --- since event blocksize can vary, and its a simple MUL to do at the start
 			blockPointer.lBlockOffset = fatTable._EventBlockSize * i;
-			blockPointer.start_ts = point.Time.GetCalendar(cBaseDateTime).getTimeInMillis(); //(long) point.Time._dTime;				// is this correct?
+			blockPointer.start_ts = point.Time.GetTimeInMillis(cBaseDateTime.getTimeInMillis()); //(long) point.Time._dTime;				// is this correct?
 			blockPointer.strHDFSPath = strInputFilename;
 			
 			heap.add(blockPointer);
@@ -420,7 +420,7 @@ public class TimeSeriesData
 						TVA.Hadoop.MapReduce.Historian.File.StandardPointFile current = result.arPoints.remove();
 						writer.append("<TimeSeriesDataPoint>");
 						writer.append("<HistorianID>" + "" + "</HistorianID>");
-						writer.append("<Time>" + current.GetCalendar().getTimeInMillis() + "</Time>");
+						writer.append("<Time>" + current.GetTimeInMillis() + "</Time>");
 						writer.append("<Value>" + current.Value + "</Value>");
 						writer.append("<Quality>" + "" + "</Quality>");
 						writer.append("</TimeSeriesDataPoint>");
@@ -468,7 +468,7 @@ public class TimeSeriesData
 						TVA.Hadoop.MapReduce.Historian.File.StandardPointFile current = result.arPoints.remove();
 						writer.append("{");
 						writer.append("\"HistorianID\":");
-						writer.append(",\"Time\":\"" + current.GetCalendar().getTimeInMillis() + "\"");
+						writer.append(",\"Time\":\"" + current.GetTimeInMillis() + "\"");
 						writer.append(",\"Value\":" + current.Value);
 						writer.append(",\"Quality\":");
 						writer.append("}");
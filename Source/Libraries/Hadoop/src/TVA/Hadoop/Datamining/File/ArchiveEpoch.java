@@ -5,7 +5,7 @@ import java.util.TimeZone;
 
 public class ArchiveEpoch
 {
-	static public Calendar base;	
+	static public Calendar base = Calendar.getInstance();	
 	static
 	{		 
 		base.setTimeZone(TimeZone.getTimeZone("UTC"));
@@ -3,6 +3,8 @@ package TVA.Hadoop.Datamining.File;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
+import TVA.Hadoop.MapReduce.Historian.File.DatAwareTime;
+
 public class RawDataPoint
 {
 	public static int length = 10;
@@ -39,16 +41,8 @@ public class RawDataPoint
 	
 	public long getRealTimeInMillis(DataBlockDescription ref) throws Exception
 	{
-		// seconds into long datatype
-		long time = (long) this._timestampOffset;
-		// convert seconds to millis
-		time *= 1000;		
-				
-		// millis stored in flags
-		int millis = this._flags;
-		millis = millis >> 5;
-		
-		return ArchiveEpoch.base.getTimeInMillis() + time + (long) millis + ref.getBaseTimestamp();
+		// seconds and the millis stored in flags, relative to the archive epoch
+		return DatAwareTime.ToEpochMillis(this._timestampOffset, this._flags) + ref.getBaseTimestamp();
 	}
 	
 	public byte[] Serialize() throws Exception
@@ -106,12 +106,12 @@ public class BucketSlidingWindow {
 			
 		}
 		
-		lCurrentFrontTS = this.oCurrentWindow.getFirst().GetCalendar().getTimeInMillis();
+		lCurrentFrontTS = this.oCurrentWindow.getFirst().GetTimeInMillis();
 		lNewFrontPointTSMin = lCurrentFrontTS + this._lSlideIncrement;
 		
 	//	System.out.println( "SlideWindowForward > lCurrentFrontTS: " + lCurrentFrontTS + ", lNewFrontPointTSMin: " + lNewFrontPointTSMin + ", current front: " + this.oCurrentWindow.getFirst().GetCalendar().getTimeInMillis() );
 		
-		while ( this.oCurrentWindow.getFirst().GetCalendar().getTimeInMillis() < lNewFrontPointTSMin ) {
+		while ( this.oCurrentWindow.getFirst().GetTimeInMillis() < lNewFrontPointTSMin ) {
 			
 			//this.oCurrentWindow.add( this.oPointHeapNew.remove() );
 			this.oCurrentWindow.removeFirst();
@@ -62,12 +62,12 @@ public class ContinuousSlidingWindow {
 		 */
 		public void SlideWindowForward() {
 			
-			long lCurrentFrontTS = this.oCurrentWindow.getFirst().GetCalendar().getTimeInMillis();
+			long lCurrentFrontTS = this.oCurrentWindow.getFirst().GetTimeInMillis();
 			this._lCurrentTime = lCurrentFrontTS + this._lSlideIncrement;
 			
 			// now burn off the tail
 			
-			while ( this.oCurrentWindow.getFirst().GetCalendar().getTimeInMillis() < this._lCurrentTime ) {
+			while ( this.oCurrentWindow.getFirst().GetTimeInMillis() < this._lCurrentTime ) {
 
 				this.oCurrentWindow.removeFirst();
 		
@@ -87,7 +87,7 @@ public class SlidingClassifier_1NN_Euc extends Configured implements Tool {
 
 	    	if ( this.iPointTypeID == value.iPointID ) {
 	    		
-	    		output.collect( new Text( CalculateIndexRowKeyString( value.iPointID, value.GetCalendar().getTimeInMillis() ) ), value);
+	    		output.collect( new Text( CalculateIndexRowKeyString( value.iPointID, value.GetTimeInMillis() ) ), value);
 	    		
 	    	} // if
 	    	
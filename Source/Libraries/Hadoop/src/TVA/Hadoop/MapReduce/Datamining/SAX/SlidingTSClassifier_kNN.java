@@ -231,7 +231,7 @@ public class SlidingTSClassifier_kNN extends Configured implements Tool {
 
 		    	if ( this.iPointTypeID == value.iPointID ) {
 		    		
-		    		this.key.set( value.iPointID, value.GetCalendar().getTimeInMillis() );
+		    		this.key.set( value.iPointID, value.GetTimeInMillis() );
 		    		
 		    		output.collect( this.key, value );
 		    		
@@ -448,7 +448,7 @@ public class SlidingTSClassifier_kNN extends Configured implements Tool {
 										
 										if ( iNNClassValue == 1) {
 											iOscillationsFound++;
-											output.collect( new Text("1"), new LongWritable( oWindow.getFirst().GetCalendar().getTimeInMillis() ) );
+											output.collect( new Text("1"), new LongWritable( oWindow.getFirst().GetTimeInMillis() ) );
 										}
 										
 							
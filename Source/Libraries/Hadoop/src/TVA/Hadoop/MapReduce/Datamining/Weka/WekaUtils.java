@@ -51,7 +51,7 @@ public class WekaUtils {
 		for ( int x = 0; x < oPoints.size(); x++ ) {
 		
 			values[x] = Double.valueOf( oPoints.get(x).Value );
-			tstamps[x] = oPoints.get(x).GetCalendar().getTimeInMillis();
+			tstamps[x] = oPoints.get(x).GetTimeInMillis();
 			
 		} // for
 		
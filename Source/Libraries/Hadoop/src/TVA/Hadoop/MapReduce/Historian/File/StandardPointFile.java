@@ -259,6 +259,7 @@ public class StandardPointFile implements Writable, Comparable {
 	public float Value = 0;		// value from disk
 	public int iPointID = 0;	// value from block pointer, allows us to figure out at the MapReduce level what this point belonged to.
 	static private Calendar cBaseDateTime = Calendar.getInstance(); 
+	static private TimeZone tzUTC = TimeZone.getTimeZone("UTC");
 	private static final Log LOG = LogFactory.getLog( StandardPointFile.class );
 	  
 	/**
@@ -268,7 +269,7 @@ public class StandardPointFile implements Writable, Comparable {
 	 */
 	static {
 			 
-		StandardPointFile.cBaseDateTime.setTimeZone(TimeZone.getTimeZone("UTC"));
+		StandardPointFile.cBaseDateTime.setTimeZone(StandardPointFile.tzUTC);
 		StandardPointFile.cBaseDateTime.set(1995, 0, 1, 0, 0, 0);
 		StandardPointFile.cBaseDateTime.set(Calendar.MILLISECOND, 0);
 	
@@ -366,7 +367,7 @@ public class StandardPointFile implements Writable, Comparable {
    	 */
 	public long CalcDeltaInMS( StandardPointFile altPoint ) {
 		
-		return altPoint.GetCalendar().getTimeInMillis() - this.GetCalendar().getTimeInMillis();
+		return altPoint.GetTimeInMillis() - this.GetTimeInMillis();
 		
 	}
 	
@@ -377,22 +378,35 @@ public class StandardPointFile implements Writable, Comparable {
 	}
 
 	/**
-	 * Get this point's Date in milliseconds based off of the standard DatAware reference Date.
+	 * Get this point's Date/Time in milliseconds since the Unix epoch, based off of the standard DatAware reference Date.
+	 * Unlike GetCalendar(), this doesn't allocate anything, so it should be preferred wherever points are processed in bulk.
+	 * @return This point's Date/Time in milliseconds since the Unix epoch.
+	 */
+	public long GetTimeInMillis() {
+	
+		return DatAwareTime.ToEpochMillis( this.iTimeTag, this.Flags );
+		
+	}
+	
+	/**
+	 * Used to get this point's Date/Time in milliseconds since the Unix epoch, based off a specific reference base date.
+	 * @param lBaseMS The reference base date to use, in milliseconds since the Unix epoch.
+	 * @return This point's Date/Time in milliseconds since the Unix epoch.
+	 */
+	public long GetTimeInMillis( long lBaseMS ) {
+	
+		return DatAwareTime.ToEpochMillis( this.iTimeTag, this.Flags, lBaseMS );
+		
+	}
+
+	/**
+	 * Get this point's Date based off of the standard DatAware reference Date.
 	 * @return A Calendar object representing this point's Date/Time.
 	 */
 	public Calendar GetCalendar() {
 	
-		long time = this.iTimeTag;
-		long lTimeTag = (long) (1000 * time);
-				
-		// now get ms from flag
-		int iFlag = this.Flags;
-		int iMS = (iFlag >> 5);
-		long lFlagMS = (long)(iMS);
-		
-		Calendar cResult = Calendar.getInstance();
-		cResult.setTimeZone(TimeZone.getTimeZone("UTC"));
-		cResult.setTimeInMillis( StandardPointFile.cBaseDateTime.getTimeInMillis() + lTimeTag + lFlagMS);
+		Calendar cResult = Calendar.getInstance( StandardPointFile.tzUTC );
+		cResult.setTimeInMillis( this.GetTimeInMillis() );
 				
 		return cResult;
 		   
@@ -405,16 +419,8 @@ public class StandardPointFile implements Writable, Comparable {
 	 */
 	public Calendar GetCalendar( Calendar cBase ) {
 	
-		long time = this.iTimeTag;
-		long lTimeTag = (long) (1000 * time);
-		
-		int iFlag = this.Flags;
-		int iMS = (iFlag >> 5);
-		long lFlagMS = (long)(iMS);
-		
 		Calendar cResult = Calendar.getInstance();
-		
-		cResult.setTimeInMillis( cBase.getTimeInMillis() + lTimeTag + lFlagMS);
+		cResult.setTimeInMillis( this.GetTimeInMillis( cBase.getTimeInMillis() ) );
 		
 		return cResult;
 		
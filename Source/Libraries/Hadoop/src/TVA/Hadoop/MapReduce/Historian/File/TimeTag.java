@@ -250,25 +250,27 @@ public class TimeTag {
 		
 	}
 	
-	public Date GetDate( Calendar cBase ) {
-			
-		long lTest = (long) (1000 * this._dTime);
+	/**
+	 * Gets this time tag in milliseconds since the Unix epoch without allocating a Calendar.
+	 * @param lBaseMS The reference base date, in milliseconds since the Unix epoch.
+	 * @return This time tag in milliseconds since the Unix epoch.
+	 */
+	public long GetTimeInMillis( long lBaseMS ) {
 		
-		long lResult = lTest + cBase.getTimeInMillis();
-		Calendar cResult = Calendar.getInstance();
-		cResult.setTimeInMillis(lResult);
+		return DatAwareTime.ToEpochMillis( this._dTime, lBaseMS );
 		
-		return cResult.getTime();
+	}
+	
+	public Date GetDate( Calendar cBase ) {
+			
+		return new Date( this.GetTimeInMillis( cBase.getTimeInMillis() ) );
 		
 	}
 	
 	public Calendar GetCalendar( Calendar cBase ) {
 			
-		long lTest = (long) (1000 * this._dTime);
-		
-		long lResult = lTest + cBase.getTimeInMillis();
 		Calendar cResult = Calendar.getInstance();
-		cResult.setTimeInMillis(lResult);
+		cResult.setTimeInMillis( this.GetTimeInMillis( cBase.getTimeInMillis() ) );
 
 		return cResult;
 		
@@ -0,0 +1,830 @@
+//******************************************************************************************************
+//  ArchiveFileSink.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimeZone;
+
+import org.gpa.gsf.timeseries.Measurement;
+import org.gpa.gsf.timeseries.MeasurementKey;
+import org.gpa.gsf.timeseries.transport.event.ArchiveFileEvent;
+import org.gpa.gsf.timeseries.transport.event.ArchiveFileListener;
+import org.gpa.gsf.timeseries.transport.event.MeasurementBatchEvent;
+import org.gpa.gsf.timeseries.transport.event.MessageEvent;
+import org.gpa.gsf.timeseries.transport.event.SubscriberAdapter;
+import org.gpa.gsf.timeseries.util.TimeExtensions;
+
+/**
+ * Subscriber listener which writes received measurements directly into
+ * DatAware archive files (.d files), the format read by the Hadoop
+ * {@code HistorianInputFormat}, so that live data does not have to be
+ * landed in another format and converted before it can be processed.
+ * <p>
+ * An archive file is a sequence of fixed-size data blocks, followed by a
+ * block map and a file allocation table. Each data block holds the points of
+ * a single signal, identified by the point ID of its measurement key, and
+ * each point is made up of a 4-byte time tag in seconds since 1/1/1995, a
+ * 2-byte flags word holding the milliseconds and a quality code, and a
+ * 4-byte value. The block map gives the point ID and the time of the first
+ * point of each block, in the order the blocks appear in the file, and the
+ * file allocation table ends the file with its start and end times, point
+ * counts and block size and count. All values are little-endian.
+ * <p>
+ * The sink keeps a block buffer for every signal it receives. Points are
+ * appended to the signal's buffer, and each buffer is written to the file as
+ * a whole block as soon as it fills up. Files are rolled once they reach the
+ * maximum file size or once measurements cross the boundary of the roll
+ * interval; the remaining partial blocks are written, the block map and file
+ * allocation table are appended, and the file is renamed from its active
+ * name, which ends in {@code .d.tmp}, to its final name, which is made up of
+ * the archive name, the start time and the end time of the file. Completed
+ * files are then handed off to the {@link ArchiveFileListener}s.
+ * <p>
+ * The sink can be added directly to a {@link DataSubscriber} as a listener,
+ * in which case it archives each batch of measurements on the thread that
+ * delivers them; the collections of measurements delivered along with each
+ * batch are ignored, so every point is archived once. Calls to the sink are
+ * synchronized.
+ */
+public class ArchiveFileSink extends SubscriberAdapter
+{
+	private File m_directory;
+	private String m_name;
+	private int m_blockSize;
+	private long m_maxFileSize;
+	private long m_rollInterval;
+	private boolean m_closed;
+	
+	// Block buffers of the signals being archived, keyed by point ID
+	private Map<Integer, ArchiveBlock> m_blocks;
+	
+	// Block buffers indexed by signal index in the current signal index cache
+	private ArchiveBlock[] m_blocksBySignalIndex;
+	private SignalIndexCache m_signalIndexCache;
+	
+	// State of the active file
+	private File m_activeFile;
+	private FileOutputStream m_stream;
+	private FileChannel m_channel;
+	private int[] m_blockPointIds;
+	private double[] m_blockTimes;
+	private int m_blockCount;
+	private int m_openBlockCount;
+	private long m_periodEnd;
+	private long m_startTime;
+	private long m_endTime;
+	private int m_pointsReceived;
+	private int m_pointsArchived;
+	
+	private long m_completedFileCount;
+	private long m_archivedPointCount;
+	private long m_discardedPointCount;
+	
+	private SimpleDateFormat m_fileTimeFormat;
+	private Collection<ArchiveFileListener> m_archiveFileListeners;
+	
+	/**
+	 * Constructs a new sink which writes archive files
+	 * with the default data block size of 8 KB.
+	 * 
+	 * @param directory the directory in which archive files are written
+	 * @param name the name of the archive, used as the prefix of the file names
+	 * @throws IllegalArgumentException if {@code directory} or {@code name} is {@code null}
+	 */
+	public ArchiveFileSink(File directory, String name)
+	{
+		this(directory, name, DefaultBlockSize);
+	}
+	
+	/**
+	 * Constructs a new sink which writes archive
+	 * files with the given data block size.
+	 * 
+	 * @param directory the directory in which archive files are written
+	 * @param name the name of the archive, used as the prefix of the file names
+	 * @param blockSize the size of the data blocks, in kilobytes
+	 * @throws IllegalArgumentException if {@code directory} or {@code name}
+	 *         is {@code null} or {@code blockSize} is not between 1 and 1024
+	 */
+	public ArchiveFileSink(File directory, String name, int blockSize)
+	{
+		if (directory == null)
+			throw new IllegalArgumentException("directory cannot be null");
+		
+		if (name == null)
+			throw new IllegalArgumentException("name cannot be null");
+		
+		if (blockSize < 1 || blockSize > MaxBlockSize)
+			throw new IllegalArgumentException("blockSize must be between 1 and " + MaxBlockSize);
+		
+		m_directory = directory;
+		m_name = name;
+		m_blockSize = blockSize;
+		m_maxFileSize = DefaultMaxFileSize;
+		
+		m_blocks = new HashMap<Integer, ArchiveBlock>();
+		m_blockPointIds = new int[InitialBlockMapCapacity];
+		m_blockTimes = new double[InitialBlockMapCapacity];
+		
+		m_fileTimeFormat = new SimpleDateFormat(FileTimeFormat);
+		m_fileTimeFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+		m_archiveFileListeners = new ArrayList<ArchiveFileListener>();
+	}
+	
+	/**
+	 * Adds the given listener to receive the archive files completed by this
+	 * sink. If the {@code listener} is {@code null}, no exception is thrown
+	 * and no action is performed.
+	 * 
+	 * @param archiveFileListener the listener to be added
+	 */
+	public synchronized void addArchiveFileListener(ArchiveFileListener archiveFileListener)
+	{
+		if (archiveFileListener != null)
+			m_archiveFileListeners.add(archiveFileListener);
+	}
+	
+	/**
+	 * Removes the given listener so that it no longer receives archive files
+	 * from this sink. This method performs no function, nor does it throw an
+	 * exception, if {@code archiveFileListener} was not previously added to
+	 * this sink. If {@code archiveFileListener} is {@code null}, no exception
+	 * is thrown and no action is performed.
+	 * 
+	 * @param archiveFileListener the listener to be removed
+	 */
+	public synchronized void removeArchiveFileListener(ArchiveFileListener archiveFileListener)
+	{
+		if (archiveFileListener != null)
+			m_archiveFileListeners.remove(archiveFileListener);
+	}
+	
+	/**
+	 * Gets the directory in which archive files are written.
+	 * 
+	 * @return the archive directory
+	 */
+	public File getDirectory()
+	{
+		return m_directory;
+	}
+	
+	/**
+	 * Gets the name of the archive, which is
+	 * used as the prefix of the file names.
+	 * 
+	 * @return the name of the archive
+	 */
+	public String getName()
+	{
+		return m_name;
+	}
+	
+	/**
+	 * Gets the size of the data blocks, in kilobytes.
+	 * 
+	 * @return the data block size
+	 */
+	public int getBlockSize()
+	{
+		return m_blockSize;
+	}
+	
+	/**
+	 * Gets the size, in bytes, beyond which archive
+	 * files are not allowed to grow before they are rolled.
+	 * 
+	 * @return the maximum file size, or zero if files are not rolled by size
+	 * @see #setMaxFileSize(long)
+	 */
+	public synchronized long getMaxFileSize()
+	{
+		return m_maxFileSize;
+	}
+	
+	/**
+	 * Sets the size, in bytes, beyond which archive files are not allowed
+	 * to grow before they are rolled. The file is rolled before a signal
+	 * starts a new block if the file, including that block and its
+	 * trailing block map and file allocation table, would no longer fit
+	 * in the maximum size. A value of zero means that files are not
+	 * rolled by size. The default is 100 MB.
+	 * 
+	 * @param maxFileSize the new maximum file size, in bytes
+	 * @throws IllegalArgumentException if {@code maxFileSize} is
+	 *         negative, or too small to hold a single data block
+	 */
+	public synchronized void setMaxFileSize(long maxFileSize)
+	{
+		long minFileSize = getFileLength(1);
+		
+		if (maxFileSize < 0L || (maxFileSize > 0L && maxFileSize < minFileSize))
+			throw new IllegalArgumentException("maxFileSize must be zero or at least " + minFileSize + " bytes");
+		
+		m_maxFileSize = maxFileSize;
+	}
+	
+	/**
+	 * Gets the interval, in seconds, at which archive files are rolled.
+	 * 
+	 * @return the roll interval, or zero if files are not rolled by time
+	 * @see #setRollInterval(double)
+	 */
+	public synchronized double getRollInterval()
+	{
+		return m_rollInterval / (double)TicksPerSecond;
+	}
+	
+	/**
+	 * Sets the interval, in seconds, at which archive files are rolled.
+	 * Intervals are aligned to whole multiples of the interval since
+	 * 1/1/0001, so an interval of 3600 rolls files at the top of every
+	 * hour. A file is rolled when the sink receives a measurement with
+	 * a timestamp past the end of the interval in which the file was
+	 * started; measurements that arrive late for an interval are archived
+	 * in the active file. A value of zero, the default, means that files
+	 * are not rolled by time.
+	 * 
+	 * @param rollInterval the new roll interval, in seconds
+	 * @throws IllegalArgumentException if {@code rollInterval} is negative
+	 */
+	public synchronized void setRollInterval(double rollInterval)
+	{
+		if (!(rollInterval >= 0.0D))
+			throw new IllegalArgumentException("rollInterval cannot be negative");
+		
+		m_rollInterval = (long)(rollInterval * TicksPerSecond);
+	}
+	
+	/**
+	 * Gets the archive file currently being written.
+	 * 
+	 * @return the active file, or {@code null} if no file is being written
+	 */
+	public synchronized File getActiveFile()
+	{
+		return m_activeFile;
+	}
+	
+	/**
+	 * Gets the number of archive files that have been completed.
+	 * 
+	 * @return the number of completed files
+	 */
+	public synchronized long getCompletedFileCount()
+	{
+		return m_completedFileCount;
+	}
+	
+	/**
+	 * Gets the number of points that have been archived.
+	 * 
+	 * @return the number of archived points
+	 */
+	public synchronized long getArchivedPointCount()
+	{
+		return m_archivedPointCount;
+	}
+	
+	/**
+	 * Gets the number of measurements that were not archived, either because
+	 * their signal has no point ID or because their timestamp cannot be
+	 * represented in an archive file.
+	 * 
+	 * @return the number of discarded measurements
+	 */
+	public synchronized long getDiscardedPointCount()
+	{
+		return m_discardedPointCount;
+	}
+	
+	/**
+	 * Indicates whether the sink has been closed.
+	 * 
+	 * @return flag indicating whether the sink is closed
+	 */
+	public synchronized boolean isClosed()
+	{
+		return m_closed;
+	}
+	
+	/**
+	 * Archives the measurements in the given batch. Each measurement is
+	 * archived under the point ID of its measurement key, which is looked
+	 * up in the batch's signal index cache. The batch is not retained, so
+	 * it may be reused once this method returns.
+	 * 
+	 * @param batch the batch of measurements to be archived
+	 * @throws IllegalArgumentException if {@code batch} is {@code null}
+	 * @throws IOException if an I/O error occurs while writing the active
+	 *         file, in which case the file is abandoned
+	 */
+	public synchronized void archive(MeasurementBatch batch) throws IOException
+	{
+		SignalIndexCache signalIndexCache;
+		short[] signalIndexes;
+		float[] values;
+		long[] timestamps;
+		int[] flags;
+		ArchiveBlock block;
+		int index;
+		
+		if (batch == null)
+			throw new IllegalArgumentException("batch cannot be null");
+		
+		if (m_closed)
+			return;
+		
+		signalIndexCache = batch.getSignalIndexCache();
+		
+		if (signalIndexCache == null)
+		{
+			m_discardedPointCount += batch.size();
+			return;
+		}
+		
+		if (signalIndexCache != m_signalIndexCache)
+			changeSignalIndexCache(signalIndexCache);
+		
+		signalIndexes = batch.getSignalIndexes();
+		values = batch.getValues();
+		timestamps = batch.getTimestamps();
+		flags = batch.getFlags();
+		
+		try
+		{
+			for (int i = 0; i < batch.size(); i++)
+			{
+				index = signalIndexes[i] & 0xFFFF;
+				block = m_blocksBySignalIndex[index];
+				
+				if (block == null)
+				{
+					block = getBlock(signalIndexCache.getMeasurementKey(signalIndexes[i]));
+					m_blocksBySignalIndex[index] = block;
+				}
+				
+				if (block == null)
+					m_discardedPointCount++;
+				else
+					archivePoint(block, timestamps[i], values[i], flags[i]);
+			}
+		}
+		catch (IOException ex)
+		{
+			abandonFile();
+			throw ex;
+		}
+	}
+	
+	/**
+	 * Archives the given measurements. Each measurement
+	 * is archived under its point ID, using its adjusted value.
+	 * 
+	 * @param measurements the measurements to be archived
+	 * @throws IllegalArgumentException if {@code measurements} is {@code null}
+	 * @throws IOException if an I/O error occurs while writing the active
+	 *         file, in which case the file is abandoned
+	 */
+	public synchronized void archive(Collection<Measurement> measurements) throws IOException
+	{
+		ArchiveBlock block;
+		
+		if (measurements == null)
+			throw new IllegalArgumentException("measurements cannot be null");
+		
+		if (m_closed)
+			return;
+		
+		try
+		{
+			for (Measurement measurement : measurements)
+			{
+				block = getBlock(measurement.getId());
+				
+				if (block == null)
+					m_discardedPointCount++;
+				else
+					archivePoint(block, measurement.getTimestamp(), (float)measurement.getAdjustedValue(), measurement.getFlags());
+			}
+		}
+		catch (IOException ex)
+		{
+			abandonFile();
+			throw ex;
+		}
+	}
+	
+	/**
+	 * Completes the active file, if there is one, and hands it off to the
+	 * listeners. The next measurement received starts a new file.
+	 * 
+	 * @throws IOException if an I/O error occurs while completing the
+	 *         file, in which case the file is abandoned
+	 */
+	public synchronized void roll() throws IOException
+	{
+		if (m_channel == null)
+			return;
+		
+		try
+		{
+			completeFile();
+		}
+		catch (IOException ex)
+		{
+			abandonFile();
+			throw ex;
+		}
+	}
+	
+	/**
+	 * Completes the active file, if there is one, and closes the sink.
+	 * Measurements received after the sink is closed are ignored.
+	 * 
+	 * @throws IOException if an I/O error occurs while completing the
+	 *         file, in which case the file is abandoned
+	 */
+	public synchronized void close() throws IOException
+	{
+		m_closed = true;
+		roll();
+	}
+	
+	/**
+	 * Archives the measurements received by a {@link DataSubscriber}.
+	 * 
+	 * @param evt the event which contains the batch of new measurements
+	 */
+	@Override
+	public void newMeasurementBatchReceived(MeasurementBatchEvent evt)
+	{
+		try
+		{
+			archive(evt.getBatch());
+		}
+		catch (IOException ex)
+		{
+			dispatchException(ex);
+		}
+	}
+	
+	// Appends a point to the given block buffer, opening or rolling
+	// the active file as needed, and writes the block to the file
+	// if the point fills it up.
+	private void archivePoint(ArchiveBlock block, long timestamp, float value, int flags) throws IOException
+	{
+		ByteBuffer buffer = block.m_buffer;
+		long offset = timestamp - TicksAtBaseTime;
+		long timeTag = offset / TicksPerSecond;
+		int milliseconds = (int)(offset % TicksPerSecond / TicksPerMillisecond);
+		
+		if (offset < 0L || timeTag > Integer.MAX_VALUE)
+		{
+			m_discardedPointCount++;
+			return;
+		}
+		
+		if (m_channel != null && timestamp >= m_periodEnd)
+			completeFile();
+		
+		if (m_channel == null)
+			openFile(timestamp);
+		
+		if (buffer.position() == 0)
+		{
+			// Roll the file if the new block would push it past the maximum
+			// size, unless the file is empty and the block could never fit
+			if (m_maxFileSize > 0L && m_blockCount + m_openBlockCount > 0 && getFileLength(m_blockCount + m_openBlockCount + 1) > m_maxFileSize)
+			{
+				completeFile();
+				openFile(timestamp);
+			}
+			
+			block.m_firstTime = timeTag + milliseconds / 1000.0D;
+			m_openBlockCount++;
+		}
+		
+		buffer.putInt((int)timeTag);
+		buffer.putShort((short)((milliseconds << 5) | getQuality(flags)));
+		buffer.putFloat(value);
+		
+		if (timestamp < m_startTime)
+			m_startTime = timestamp;
+		
+		if (timestamp > m_endTime)
+			m_endTime = timestamp;
+		
+		m_pointsReceived++;
+		m_pointsArchived++;
+		m_archivedPointCount++;
+		
+		if (buffer.remaining() < PointSize)
+			writeBlock(block);
+	}
+	
+	// Gets the block buffer for the point ID of the given measurement key.
+	private ArchiveBlock getBlock(MeasurementKey key)
+	{
+		if (key == null)
+			return null;
+		
+		return getBlock(key.getId());
+	}
+	
+	// Gets the block buffer for the given point ID, creating it
+	// if necessary, or null if the point ID cannot be archived.
+	private ArchiveBlock getBlock(int pointId)
+	{
+		ArchiveBlock block;
+		
+		if (pointId <= 0)
+			return null;
+		
+		block = m_blocks.get(pointId);
+		
+		if (block == null)
+		{
+			block = new ArchiveBlock(pointId, m_blockSize * BytesPerKilobyte);
+			m_blocks.put(pointId, block);
+		}
+		
+		return block;
+	}
+	
+	// Forgets the block buffers associated with the signal
+	// indexes of the previous signal index cache.
+	private void changeSignalIndexCache(SignalIndexCache signalIndexCache)
+	{
+		if (m_blocksBySignalIndex == null)
+			m_blocksBySignalIndex = new ArchiveBlock[SignalIndexCount];
+		else
+			Arrays.fill(m_blocksBySignalIndex, null);
+		
+		m_signalIndexCache = signalIndexCache;
+	}
+	
+	// Creates a new active file for points starting at the given timestamp.
+	private void openFile(long timestamp) throws IOException
+	{
+		if (!m_directory.isDirectory() && !m_directory.mkdirs())
+			throw new IOException("Unable to create archive directory: " + m_directory);
+		
+		m_activeFile = new File(m_directory, m_name + "_" + formatTime(timestamp) + ActiveFileExtension);
+		m_stream = new FileOutputStream(m_activeFile);
+		m_channel = m_stream.getChannel();
+		
+		m_blockCount = 0;
+		m_openBlockCount = 0;
+		m_startTime = Long.MAX_VALUE;
+		m_endTime = Long.MIN_VALUE;
+		m_pointsReceived = 0;
+		m_pointsArchived = 0;
+		
+		if (m_rollInterval > 0L)
+			m_periodEnd = (timestamp / m_rollInterval + 1L) * m_rollInterval;
+		else
+			m_periodEnd = Long.MAX_VALUE;
+	}
+	
+	// Writes the given block buffer to the active file as a
+	// whole block, padded with zeros, and adds it to the block map.
+	private void writeBlock(ArchiveBlock block) throws IOException
+	{
+		ByteBuffer buffer = block.m_buffer;
+		
+		Arrays.fill(buffer.array(), buffer.position(), buffer.capacity(), (byte)0);
+		buffer.clear();
+		
+		while (buffer.hasRemaining())
+			m_channel.write(buffer);
+		
+		buffer.clear();
+		
+		if (m_blockCount == m_blockPointIds.length)
+		{
+			m_blockPointIds = Arrays.copyOf(m_blockPointIds, m_blockCount * 2);
+			m_blockTimes = Arrays.copyOf(m_blockTimes, m_blockCount * 2);
+		}
+		
+		m_blockPointIds[m_blockCount] = block.m_pointId;
+		m_blockTimes[m_blockCount] = block.m_firstTime;
+		m_blockCount++;
+		m_openBlockCount--;
+	}
+	
+	// Writes the partial blocks, block map and file allocation table to
+	// the active file, closes it, renames it to its final name and hands
+	// it off to the listeners.
+	private void completeFile() throws IOException
+	{
+		File completedFile;
+		ByteBuffer buffer;
+		ArchiveFileEvent evt;
+		
+		for (ArchiveBlock block : m_blocks.values())
+		{
+			if (block.m_buffer.position() > 0)
+				writeBlock(block);
+		}
+		
+		buffer = ByteBuffer.allocate(BlockMapHeaderSize + m_blockCount * BlockPointerSize + FileAllocationTableSize);
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		
+		// The block map is a one-dimensional, one-based array
+		buffer.putShort((short)1);
+		buffer.putInt(m_blockCount);
+		buffer.putInt(1);
+		
+		for (int i = 0; i < m_blockCount; i++)
+		{
+			buffer.putInt(m_blockPointIds[i]);
+			buffer.putDouble(m_blockTimes[i]);
+		}
+		
+		buffer.putDouble(toArchiveTime(m_startTime));
+		buffer.putDouble(toArchiveTime(m_endTime));
+		buffer.putInt(m_pointsReceived);
+		buffer.putInt(m_pointsArchived);
+		buffer.putInt(m_blockSize);
+		buffer.putInt(m_blockCount);
+		buffer.flip();
+		
+		while (buffer.hasRemaining())
+			m_channel.write(buffer);
+		
+		m_channel.force(false);
+		m_stream.close();
+		m_stream = null;
+		m_channel = null;
+		
+		completedFile = new File(m_directory, m_name + "_" + formatTime(m_startTime) + "_to_" + formatTime(m_endTime) + CompletedFileExtension);
+		
+		if (!m_activeFile.renameTo(completedFile))
+			throw new IOException("Unable to rename " + m_activeFile + " to " + completedFile);
+		
+		m_activeFile = null;
+		m_completedFileCount++;
+		
+		evt = new ArchiveFileEvent(this, completedFile, m_startTime, m_endTime, m_pointsArchived, m_blockCount);
+		
+		for (ArchiveFileListener listener : m_archiveFileListeners)
+			listener.archiveFileCompleted(evt);
+	}
+	
+	// Closes the active file without completing it and discards
+	// the points buffered for it. The file is left in place.
+	private void abandonFile()
+	{
+		for (ArchiveBlock block : m_blocks.values())
+			block.m_buffer.clear();
+		
+		if (m_stream != null)
+		{
+			try
+			{
+				m_stream.close();
+			}
+			catch (IOException ex)
+			{
+				// The file is being abandoned anyway
+			}
+		}
+		
+		m_stream = null;
+		m_channel = null;
+		m_activeFile = null;
+		m_openBlockCount = 0;
+	}
+	
+	// Sends an exception encountered while archiving to the listeners.
+	private synchronized void dispatchException(IOException ex)
+	{
+		MessageEvent evt = new MessageEvent(this, ex);
+		
+		for (ArchiveFileListener listener : m_archiveFileListeners)
+			listener.exceptionEncountered(evt);
+	}
+	
+	// Gets the length, in bytes, of a file with the given number of blocks.
+	private long getFileLength(int blockCount)
+	{
+		return blockCount * (long)m_blockSize * BytesPerKilobyte + BlockMapHeaderSize + blockCount * (long)BlockPointerSize + FileAllocationTableSize;
+	}
+	
+	// Formats the given timestamp for use in a file name.
+	private String formatTime(long timestamp)
+	{
+		return m_fileTimeFormat.format(new Date(TimeExtensions.ticksToMillis(timestamp)));
+	}
+	
+	// Converts the given timestamp to seconds since the archive base time.
+	private static double toArchiveTime(long timestamp)
+	{
+		return (timestamp - TicksAtBaseTime) / (double)TicksPerSecond;
+	}
+	
+	// Maps measurement state flags to an archive quality code.
+	private static int getQuality(int flags)
+	{
+		return ((flags & BadQualityMask) == 0) ? GoodQuality : SuspectDataQuality;
+	}
+	
+	// Block buffer which collects the points of a single signal.
+	private static class ArchiveBlock
+	{
+		private int m_pointId;
+		private ByteBuffer m_buffer;
+		private double m_firstTime;
+		
+		ArchiveBlock(int pointId, int blockSize)
+		{
+			m_pointId = pointId;
+			m_buffer = ByteBuffer.allocate(blockSize);
+			m_buffer.order(ByteOrder.LITTLE_ENDIAN);
+		}
+	}
+	
+	// Default size of the data blocks, in kilobytes.
+	private static final int DefaultBlockSize = 8;
+	
+	// Maximum size of the data blocks, in kilobytes.
+	private static final int MaxBlockSize = 1024;
+	
+	// Default maximum size of an archive file, in bytes.
+	private static final long DefaultMaxFileSize = 100L * 1024L * 1024L;
+	
+	// Initial number of entries allocated for the block map.
+	private static final int InitialBlockMapCapacity = 1024;
+	
+	// Number of possible signal indexes.
+	private static final int SignalIndexCount = 65536;
+	
+	// Size of a point in a data block, in bytes.
+	private static final int PointSize = 10;
+	
+	// Size of the array header which begins the block map, in bytes.
+	private static final int BlockMapHeaderSize = 10;
+	
+	// Size of a block map entry, in bytes.
+	private static final int BlockPointerSize = 12;
+	
+	// Size of the file allocation table which ends the file, in bytes.
+	private static final int FileAllocationTableSize = 32;
+	
+	private static final int BytesPerKilobyte = 1024;
+	
+	// Quality code of points whose state flags are clear.
+	private static final int GoodQuality = 29;
+	
+	// Quality code of points with data range, quality, time quality or system issue flags.
+	private static final int SuspectDataQuality = 14;
+	
+	// State flags which indicate that a point is suspect.
+	private static final int BadQualityMask = CompactMeasurementParser.DataRangeMask | CompactMeasurementParser.DataQualityMask | CompactMeasurementParser.TimeQualityMask | CompactMeasurementParser.SystemIssueMask;
+	
+	// Format of the times in archive file names.
+	private static final String FileTimeFormat = "yyyy-MM-dd HH!mm!ss.SSS";
+	
+	private static final String ActiveFileExtension = ".d.tmp";
+	private static final String CompletedFileExtension = ".d";
+	
+	// Number of ticks between 1/1/0001 and 1/1/1995, the archive base time.
+	private static final long TicksAtBaseTime = 629245152000000000L;
+	
+	private static final long TicksPerMillisecond = 10000L;
+	private static final long TicksPerSecond = 10000000L;
+}
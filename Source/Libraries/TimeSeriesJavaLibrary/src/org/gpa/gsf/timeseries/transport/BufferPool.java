@@ -0,0 +1,633 @@
+//******************************************************************************************************
+//  BufferPool.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of reusable I/O buffers shared by subscribers, so that reading
+ * payloads, sending commands and decompressing data do not allocate new
+ * buffers once the pool has warmed up.
+ * <p>
+ * Buffers are pooled in size classes, each of which holds buffers whose
+ * capacity is a power of two between 256 bytes and 4 MB. A request is
+ * served from the smallest class that can hold it, and larger requests are
+ * allocated without being pooled. The pool hands out either heap or direct
+ * buffers from {@link #acquire(int)}, as chosen when it is constructed;
+ * callers that need a backing array, for instance to read from a stream,
+ * use {@link #acquireHeap(int)}. Released buffers are kept only while the
+ * total capacity of the idle buffers stays within the pool's retention
+ * limit, so an occasional burst of large payloads does not pin memory.
+ * <p>
+ * When leak detection is enabled, the pool records where each buffer was
+ * acquired and notices buffers that are garbage collected without having
+ * been released, as well as buffers that are released twice. Leak detection
+ * is meant for debugging, since it records a stack trace for every buffer
+ * acquired. It can be enabled for the shared pool by setting the system
+ * property {@code org.gpa.gsf.timeseries.transport.BufferPool.leakDetection}
+ * to {@code true}.
+ * <p>
+ * This class is thread-safe.
+ * 
+ * @see DataSubscriber#setBufferPool(BufferPool)
+ */
+public class BufferPool
+{
+	private static BufferPool s_sharedPool = new BufferPool(false, BufferPool.DefaultMaxRetainedBytes, Boolean.getBoolean(BufferPool.LeakDetectionProperty));
+	
+	private boolean m_direct;
+	private long m_maxRetainedBytes;
+	private boolean m_leakDetectionEnabled;
+	
+	// Idle buffers, indexed by size class
+	private SizeClass[] m_heapClasses;
+	private SizeClass[] m_directClasses;
+	private AtomicLong m_retainedBytes;
+	
+	// Utilization metrics
+	private AtomicLong m_acquireCount;
+	private AtomicLong m_releaseCount;
+	private AtomicLong m_hitCount;
+	private AtomicLong m_allocationCount;
+	private AtomicLong m_unpooledCount;
+	private AtomicLong m_discardCount;
+	private AtomicInteger m_outstandingCount;
+	
+	// Leak detection
+	private Map<Integer, List<TrackedBuffer>> m_trackedBuffers;
+	private ReferenceQueue<ByteBuffer> m_collectedBuffers;
+	private AtomicLong m_leakCount;
+	private LinkedList<Exception> m_leakReports;
+	
+	/**
+	 * Constructs a new pool which retains up to 64 MB of idle
+	 * buffers and does not perform leak detection.
+	 * 
+	 * @param direct flag that determines whether {@link #acquire(int)}
+	 *        returns direct buffers rather than heap buffers
+	 */
+	public BufferPool(boolean direct)
+	{
+		this(direct, DefaultMaxRetainedBytes, false);
+	}
+	
+	/**
+	 * Constructs a new pool.
+	 * 
+	 * @param direct flag that determines whether {@link #acquire(int)}
+	 *        returns direct buffers rather than heap buffers
+	 * @param maxRetainedBytes the maximum total capacity, in bytes,
+	 *        of the idle buffers kept by the pool
+	 * @param leakDetectionEnabled flag that determines whether the pool
+	 *        tracks buffers to detect buffers that are never released
+	 * @throws IllegalArgumentException if {@code maxRetainedBytes} is negative
+	 */
+	public BufferPool(boolean direct, long maxRetainedBytes, boolean leakDetectionEnabled)
+	{
+		if (maxRetainedBytes < 0L)
+			throw new IllegalArgumentException("maxRetainedBytes cannot be negative");
+		
+		m_direct = direct;
+		m_maxRetainedBytes = maxRetainedBytes;
+		m_leakDetectionEnabled = leakDetectionEnabled;
+		
+		m_heapClasses = new SizeClass[SizeClassCount];
+		m_directClasses = new SizeClass[SizeClassCount];
+		
+		for (int i = 0; i < SizeClassCount; i++)
+		{
+			m_heapClasses[i] = new SizeClass();
+			m_directClasses[i] = new SizeClass();
+		}
+		
+		m_retainedBytes = new AtomicLong();
+		m_acquireCount = new AtomicLong();
+		m_releaseCount = new AtomicLong();
+		m_hitCount = new AtomicLong();
+		m_allocationCount = new AtomicLong();
+		m_unpooledCount = new AtomicLong();
+		m_discardCount = new AtomicLong();
+		m_outstandingCount = new AtomicInteger();
+		
+		if (leakDetectionEnabled)
+		{
+			m_trackedBuffers = new HashMap<Integer, List<TrackedBuffer>>();
+			m_collectedBuffers = new ReferenceQueue<ByteBuffer>();
+			m_leakReports = new LinkedList<Exception>();
+		}
+		
+		m_leakCount = new AtomicLong();
+	}
+	
+	/**
+	 * Gets the pool shared by subscribers that have not been
+	 * given a pool of their own. The shared pool hands out heap
+	 * buffers and retains up to 64 MB of idle buffers.
+	 * 
+	 * @return the shared pool
+	 */
+	public static BufferPool getSharedPool()
+	{
+		return s_sharedPool;
+	}
+	
+	/**
+	 * Indicates whether {@link #acquire(int)} returns
+	 * direct buffers rather than heap buffers.
+	 * 
+	 * @return flag indicating whether the pool hands out direct buffers
+	 */
+	public boolean isDirect()
+	{
+		return m_direct;
+	}
+	
+	/**
+	 * Gets the maximum total capacity, in bytes,
+	 * of the idle buffers kept by the pool.
+	 * 
+	 * @return the maximum number of retained bytes
+	 */
+	public long getMaxRetainedBytes()
+	{
+		return m_maxRetainedBytes;
+	}
+	
+	/**
+	 * Indicates whether the pool tracks buffers
+	 * to detect buffers that are never released.
+	 * 
+	 * @return flag indicating whether leak detection is enabled
+	 */
+	public boolean isLeakDetectionEnabled()
+	{
+		return m_leakDetectionEnabled;
+	}
+	
+	/**
+	 * Acquires a buffer which can hold at least the given number of bytes.
+	 * The buffer is a direct buffer if the pool was constructed to hand out
+	 * direct buffers. Its position is zero, its limit is the requested size
+	 * and its byte order is big-endian. The buffer should be given back to
+	 * the pool through {@link #release(ByteBuffer)} once it is no longer used.
+	 * 
+	 * @param size the number of bytes needed
+	 * @return a buffer with room for the given number of bytes
+	 * @throws IllegalArgumentException if {@code size} is negative
+	 */
+	public ByteBuffer acquire(int size)
+	{
+		return acquire(size, m_direct);
+	}
+	
+	/**
+	 * Acquires a heap buffer which can hold at least the given number of bytes,
+	 * for callers that need to access the buffer's backing array. The buffer's
+	 * position is zero, its limit is the requested size and its byte order
+	 * is big-endian. The buffer should be given back to the pool through
+	 * {@link #release(ByteBuffer)} once it is no longer used.
+	 * 
+	 * @param size the number of bytes needed
+	 * @return a heap buffer with room for the given number of bytes
+	 * @throws IllegalArgumentException if {@code size} is negative
+	 */
+	public ByteBuffer acquireHeap(int size)
+	{
+		return acquire(size, false);
+	}
+	
+	/**
+	 * Gives a buffer back to the pool so that it can be reused. The buffer must
+	 * not be used by the caller once it has been released. If the {@code buffer}
+	 * is {@code null}, no exception is thrown and no action is performed.
+	 * 
+	 * @param buffer the buffer to be released
+	 * @throws IllegalStateException if leak detection is enabled and the buffer
+	 *         was already released or was not acquired from this pool
+	 */
+	public void release(ByteBuffer buffer)
+	{
+		int sizeClass;
+		int capacity;
+		
+		if (buffer == null)
+			return;
+		
+		if (m_leakDetectionEnabled && !untrack(buffer))
+			throw new IllegalStateException("Buffer was already released or was not acquired from this pool");
+		
+		m_releaseCount.incrementAndGet();
+		m_outstandingCount.decrementAndGet();
+		
+		capacity = buffer.capacity();
+		sizeClass = getSizeClass(capacity);
+		
+		// Only buffers whose capacity matches a size
+		// class exactly were allocated by the pool
+		if (sizeClass < 0 || getClassSize(sizeClass) != capacity)
+			return;
+		
+		if (m_retainedBytes.addAndGet(capacity) > m_maxRetainedBytes)
+		{
+			m_retainedBytes.addAndGet(-capacity);
+			m_discardCount.incrementAndGet();
+			return;
+		}
+		
+		buffer.clear();
+		getSizeClasses(buffer.isDirect())[sizeClass].m_buffers.offer(buffer);
+	}
+	
+	/**
+	 * Gets the number of buffers that have been acquired from the pool.
+	 * 
+	 * @return the number of acquired buffers
+	 */
+	public long getAcquireCount()
+	{
+		return m_acquireCount.get();
+	}
+	
+	/**
+	 * Gets the number of buffers that have been released to the pool.
+	 * 
+	 * @return the number of released buffers
+	 */
+	public long getReleaseCount()
+	{
+		return m_releaseCount.get();
+	}
+	
+	/**
+	 * Gets the number of requests that were served
+	 * by reusing a buffer held by the pool.
+	 * 
+	 * @return the number of requests served from the pool
+	 */
+	public long getHitCount()
+	{
+		return m_hitCount.get();
+	}
+	
+	/**
+	 * Gets the fraction of requests that were
+	 * served by reusing a buffer held by the pool.
+	 * 
+	 * @return the hit ratio, between 0 and 1
+	 */
+	public double getHitRatio()
+	{
+		long acquireCount = m_acquireCount.get();
+		return (acquireCount > 0L) ? m_hitCount.get() / (double)acquireCount : 0.0D;
+	}
+	
+	/**
+	 * Gets the number of buffers that the pool has allocated
+	 * because no idle buffer could serve the request.
+	 * 
+	 * @return the number of allocated buffers
+	 */
+	public long getAllocationCount()
+	{
+		return m_allocationCount.get();
+	}
+	
+	/**
+	 * Gets the number of requests that were too large
+	 * to be pooled. These are included in the allocation count.
+	 * 
+	 * @return the number of unpooled allocations
+	 */
+	public long getUnpooledCount()
+	{
+		return m_unpooledCount.get();
+	}
+	
+	/**
+	 * Gets the number of released buffers that were discarded
+	 * because the pool had already reached its retention limit.
+	 * 
+	 * @return the number of discarded buffers
+	 */
+	public long getDiscardCount()
+	{
+		return m_discardCount.get();
+	}
+	
+	/**
+	 * Gets the number of buffers that have been acquired but not yet released.
+	 * 
+	 * @return the number of outstanding buffers
+	 */
+	public int getOutstandingCount()
+	{
+		return m_outstandingCount.get();
+	}
+	
+	/**
+	 * Gets the number of idle buffers held by the pool.
+	 * 
+	 * @return the number of idle buffers
+	 */
+	public int getIdleCount()
+	{
+		int count = 0;
+		
+		for (int i = 0; i < SizeClassCount; i++)
+			count += m_heapClasses[i].m_buffers.size() + m_directClasses[i].m_buffers.size();
+		
+		return count;
+	}
+	
+	/**
+	 * Gets the total capacity, in bytes, of the idle buffers held by the pool.
+	 * 
+	 * @return the number of retained bytes
+	 */
+	public long getRetainedBytes()
+	{
+		return m_retainedBytes.get();
+	}
+	
+	/**
+	 * Gets the number of buffers that were garbage collected without
+	 * being released. Leaks are only detected if leak detection is
+	 * enabled, and only once the garbage collector has reclaimed the
+	 * leaked buffers.
+	 * 
+	 * @return the number of leaked buffers
+	 */
+	public long getLeakCount()
+	{
+		if (m_leakDetectionEnabled)
+			detectLeaks();
+		
+		return m_leakCount.get();
+	}
+	
+	/**
+	 * Gets reports of the most recently detected leaks. Each report is an
+	 * exception whose stack trace shows where the leaked buffer was acquired.
+	 * 
+	 * @return the leak reports, oldest first, or an empty
+	 *         list if leak detection is not enabled
+	 */
+	public List<Exception> getLeakReports()
+	{
+		if (!m_leakDetectionEnabled)
+			return new ArrayList<Exception>();
+		
+		detectLeaks();
+		
+		synchronized (m_trackedBuffers)
+		{
+			return new ArrayList<Exception>(m_leakReports);
+		}
+	}
+	
+	// Acquires a heap or direct buffer which can
+	// hold at least the given number of bytes.
+	private ByteBuffer acquire(int size, boolean direct)
+	{
+		int sizeClass;
+		ByteBuffer buffer;
+		
+		if (size < 0)
+			throw new IllegalArgumentException("size cannot be negative");
+		
+		sizeClass = getSizeClass(size);
+		m_acquireCount.incrementAndGet();
+		
+		if (sizeClass < 0)
+		{
+			m_unpooledCount.incrementAndGet();
+			buffer = allocate(size, direct);
+		}
+		else
+		{
+			buffer = getSizeClasses(direct)[sizeClass].m_buffers.poll();
+			
+			if (buffer != null)
+			{
+				m_retainedBytes.addAndGet(-buffer.capacity());
+				m_hitCount.incrementAndGet();
+			}
+			else
+			{
+				buffer = allocate(getClassSize(sizeClass), direct);
+			}
+		}
+		
+		buffer.clear();
+		buffer.limit(size);
+		buffer.order(ByteOrder.BIG_ENDIAN);
+		m_outstandingCount.incrementAndGet();
+		
+		if (m_leakDetectionEnabled)
+			track(buffer);
+		
+		return buffer;
+	}
+	
+	// Allocates a new heap or direct buffer of the given capacity.
+	private ByteBuffer allocate(int capacity, boolean direct)
+	{
+		m_allocationCount.incrementAndGet();
+		return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+	}
+	
+	// Gets the size classes which hold heap or direct buffers.
+	private SizeClass[] getSizeClasses(boolean direct)
+	{
+		return direct ? m_directClasses : m_heapClasses;
+	}
+	
+	// Records where the given buffer was acquired so that
+	// it can be reported if it is never released.
+	private void track(ByteBuffer buffer)
+	{
+		Integer identity = System.identityHashCode(buffer);
+		TrackedBuffer trackedBuffer = new TrackedBuffer(buffer, identity, m_collectedBuffers);
+		List<TrackedBuffer> trackedBuffers;
+		
+		detectLeaks();
+		
+		synchronized (m_trackedBuffers)
+		{
+			trackedBuffers = m_trackedBuffers.get(identity);
+			
+			if (trackedBuffers == null)
+			{
+				trackedBuffers = new ArrayList<TrackedBuffer>(1);
+				m_trackedBuffers.put(identity, trackedBuffers);
+			}
+			
+			trackedBuffers.add(trackedBuffer);
+		}
+	}
+	
+	// Stops tracking the given buffer. Returns false
+	// if the buffer was not being tracked.
+	private boolean untrack(ByteBuffer buffer)
+	{
+		Integer identity = System.identityHashCode(buffer);
+		List<TrackedBuffer> trackedBuffers;
+		TrackedBuffer trackedBuffer;
+		
+		synchronized (m_trackedBuffers)
+		{
+			trackedBuffers = m_trackedBuffers.get(identity);
+			
+			if (trackedBuffers == null)
+				return false;
+			
+			for (int i = 0; i < trackedBuffers.size(); i++)
+			{
+				trackedBuffer = trackedBuffers.get(i);
+				
+				if (trackedBuffer.get() == buffer)
+				{
+					trackedBuffer.clear();
+					trackedBuffers.remove(i);
+					
+					if (trackedBuffers.isEmpty())
+						m_trackedBuffers.remove(identity);
+					
+					return true;
+				}
+			}
+		}
+		
+		return false;
+	}
+	
+	// Reports tracked buffers that have been garbage collected
+	// without being released as leaks.
+	private void detectLeaks()
+	{
+		Reference<? extends ByteBuffer> reference;
+		TrackedBuffer trackedBuffer;
+		List<TrackedBuffer> trackedBuffers;
+		
+		while ((reference = m_collectedBuffers.poll()) != null)
+		{
+			trackedBuffer = (TrackedBuffer)reference;
+			
+			synchronized (m_trackedBuffers)
+			{
+				trackedBuffers = m_trackedBuffers.get(trackedBuffer.m_identity);
+				
+				// Released buffers are no longer
+				// tracked, so they are not leaks
+				if (trackedBuffers == null || !trackedBuffers.remove(trackedBuffer))
+					continue;
+				
+				if (trackedBuffers.isEmpty())
+					m_trackedBuffers.remove(trackedBuffer.m_identity);
+				
+				m_outstandingCount.decrementAndGet();
+				m_leakCount.incrementAndGet();
+				m_leakReports.add(trackedBuffer.m_acquisitionSite);
+				
+				if (m_leakReports.size() > MaxLeakReports)
+					m_leakReports.removeFirst();
+			}
+		}
+	}
+	
+	// Gets the index of the smallest size class that can hold
+	// the given number of bytes, or -1 if it is too large to pool.
+	private static int getSizeClass(int size)
+	{
+		int shift;
+		
+		if (size <= MinClassSize)
+			return 0;
+		
+		if (size > MaxClassSize)
+			return -1;
+		
+		shift = Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+		return shift - MinClassShift;
+	}
+	
+	// Gets the capacity of the buffers in the given size class.
+	private static int getClassSize(int sizeClass)
+	{
+		return 1 << (sizeClass + MinClassShift);
+	}
+	
+	// Idle buffers of a single size.
+	private static class SizeClass
+	{
+		private Queue<ByteBuffer> m_buffers = new ConcurrentLinkedQueue<ByteBuffer>();
+	}
+	
+	// Weak reference to an acquired buffer which remembers
+	// where the buffer was acquired, in case it leaks.
+	private static class TrackedBuffer extends WeakReference<ByteBuffer>
+	{
+		private Integer m_identity;
+		private Exception m_acquisitionSite;
+		
+		TrackedBuffer(ByteBuffer buffer, Integer identity, ReferenceQueue<ByteBuffer> queue)
+		{
+			super(buffer, queue);
+			m_identity = identity;
+			m_acquisitionSite = new Exception("Buffer of " + buffer.capacity() + " bytes was garbage collected without being released; it was acquired here");
+		}
+	}
+	
+	// Log base 2 of the smallest pooled buffer size.
+	private static final int MinClassShift = 8;
+	
+	// Log base 2 of the largest pooled buffer size.
+	private static final int MaxClassShift = 22;
+	
+	private static final int MinClassSize = 1 << MinClassShift;
+	private static final int MaxClassSize = 1 << MaxClassShift;
+	private static final int SizeClassCount = MaxClassShift - MinClassShift + 1;
+	
+	// Default maximum total capacity of the idle buffers kept by a pool.
+	private static final long DefaultMaxRetainedBytes = 64L * 1024L * 1024L;
+	
+	// Number of leak reports kept by a pool.
+	private static final int MaxLeakReports = 16;
+	
+	// System property which enables leak detection in the shared pool.
+	private static final String LeakDetectionProperty = "org.gpa.gsf.timeseries.transport.BufferPool.leakDetection";
+}
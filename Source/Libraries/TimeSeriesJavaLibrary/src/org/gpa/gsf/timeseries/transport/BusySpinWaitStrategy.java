@@ -0,0 +1,54 @@
+//******************************************************************************************************
+//  BusySpinWaitStrategy.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+/**
+ * Wait strategy that never gives up the CPU. This offers the lowest
+ * latency, but the callback thread occupies an entire core even when
+ * no data is being received. Only use it when the number of subscribers
+ * is smaller than the number of cores that can be dedicated to them.
+ */
+public class BusySpinWaitStrategy implements WaitStrategy
+{
+	/**
+	 * Returns immediately so that the callback thread keeps spinning.
+	 * 
+	 * @param idleCount the number of times this method has been called
+	 *        since the callback thread last found a callback to execute
+	 */
+	@Override
+	public void idle(int idleCount)
+	{
+	}
+	
+	/**
+	 * Does nothing, since the callback thread never blocks.
+	 * 
+	 * @param callbackThread the thread waiting for callbacks
+	 */
+	@Override
+	public void signal(Thread callbackThread)
+	{
+	}
+}
@@ -0,0 +1,213 @@
+//******************************************************************************************************
+//  CallbackEvent.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+/**
+ * A reusable slot in the {@link CallbackRingBuffer} which holds the data
+ * for a single callback. Measurement slots own a {@link MeasurementBatch}
+ * that is filled in place by the parser and reused once the callback has
+ * been executed.
+ */
+class CallbackEvent
+{
+	private long m_sequence;
+	private long m_publishTime;
+	private int m_type;
+	private String m_message;
+	private Exception m_exception;
+	private long m_dataStartTime;
+	private byte[] m_metadata;
+	private MeasurementBatch m_batch;
+	
+	/**
+	 * Gets the sequence number under which this slot was claimed.
+	 */
+	long getSequence()
+	{
+		return m_sequence;
+	}
+	
+	/**
+	 * Sets the sequence number under which this slot was claimed.
+	 */
+	void setSequence(long sequence)
+	{
+		m_sequence = sequence;
+	}
+	
+	/**
+	 * Gets the value of {@link System#nanoTime()}
+	 * at the time this slot was published.
+	 */
+	long getPublishTime()
+	{
+		return m_publishTime;
+	}
+	
+	/**
+	 * Sets the value of {@link System#nanoTime()}
+	 * at the time this slot was published.
+	 */
+	void setPublishTime(long publishTime)
+	{
+		m_publishTime = publishTime;
+	}
+	
+	/**
+	 * Gets the type of callback held by this slot.
+	 */
+	int getType()
+	{
+		return m_type;
+	}
+	
+	/**
+	 * Sets the type of callback held by this slot.
+	 */
+	void setType(int type)
+	{
+		m_type = type;
+	}
+	
+	/**
+	 * Gets the message of a status message, processing
+	 * complete, or XML metadata callback.
+	 */
+	String getMessage()
+	{
+		return m_message;
+	}
+	
+	/**
+	 * Sets the type and message of a status message,
+	 * processing complete, or XML metadata callback.
+	 */
+	void setMessage(int type, String message)
+	{
+		m_type = type;
+		m_message = message;
+	}
+	
+	/**
+	 * Gets the exception of an exception encountered callback.
+	 */
+	Exception getException()
+	{
+		return m_exception;
+	}
+	
+	/**
+	 * Sets up an exception encountered callback.
+	 */
+	void setException(Exception exception)
+	{
+		m_type = ExceptionEncountered;
+		m_exception = exception;
+	}
+	
+	/**
+	 * Gets the start time of a data start time callback.
+	 */
+	long getDataStartTime()
+	{
+		return m_dataStartTime;
+	}
+	
+	/**
+	 * Sets up a data start time callback.
+	 */
+	void setDataStartTime(long dataStartTime)
+	{
+		m_type = DataStartTime;
+		m_dataStartTime = dataStartTime;
+	}
+	
+	/**
+	 * Gets the compressed metadata of a metadata callback.
+	 */
+	byte[] getMetadata()
+	{
+		return m_metadata;
+	}
+	
+	/**
+	 * Sets up a compressed metadata callback.
+	 */
+	void setMetadata(byte[] metadata)
+	{
+		m_type = CompressedMetadata;
+		m_metadata = metadata;
+	}
+	
+	/**
+	 * Copies a callback other than new measurements from
+	 * the given event, which is not a slot in the ring.
+	 */
+	void setCallback(CallbackEvent event)
+	{
+		m_type = event.m_type;
+		m_message = event.m_message;
+		m_exception = event.m_exception;
+		m_dataStartTime = event.m_dataStartTime;
+		m_metadata = event.m_metadata;
+	}
+	
+	/**
+	 * Gets the batch of measurements owned by this slot,
+	 * creating it the first time it is needed.
+	 */
+	MeasurementBatch getBatch()
+	{
+		if (m_batch == null)
+			m_batch = new MeasurementBatch();
+		
+		return m_batch;
+	}
+	
+	/**
+	 * Clears the slot so that it can be reused, keeping
+	 * the batch of measurements but releasing everything
+	 * else for the garbage collector.
+	 */
+	void clear()
+	{
+		m_type = None;
+		m_message = null;
+		m_exception = null;
+		m_metadata = null;
+		
+		if (m_batch != null)
+			m_batch.clear();
+	}
+	
+	// Callback types
+	static final int None = 0;
+	static final int StatusMessage = 1;
+	static final int ExceptionEncountered = 2;
+	static final int DataStartTime = 3;
+	static final int CompressedMetadata = 4;
+	static final int XmlMetadata = 5;
+	static final int NewMeasurements = 6;
+	static final int ProcessingComplete = 7;
+}
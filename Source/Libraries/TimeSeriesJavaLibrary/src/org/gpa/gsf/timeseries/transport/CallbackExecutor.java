@@ -0,0 +1,264 @@
+//******************************************************************************************************
+//  CallbackExecutor.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.Arrays;
+
+/**
+ * Executes the callbacks of many subscribers on a single shared thread.
+ * Subscribers that are given an executor through
+ * {@link DataSubscriber#setCallbackExecutor(CallbackExecutor)} do not
+ * start their own callback thread; instead, the executor's thread takes
+ * turns draining the callback queue of each connected subscriber, a
+ * limited number of callbacks at a time, so that a busy subscriber cannot
+ * starve the others. When no subscriber has callbacks waiting, the thread
+ * waits using the executor's {@link WaitStrategy}.
+ * <p>
+ * The executor starts its thread when the first subscriber connects and
+ * keeps running until {@link #shutdown()} is called.
+ * 
+ * @see DataSubscriber#setCallbackExecutor(CallbackExecutor)
+ */
+public class CallbackExecutor
+{
+	private volatile DataSubscriber[] m_subscribers;
+	private WaitStrategy m_waitStrategy;
+	private Thread m_thread;
+	private volatile boolean m_running;
+	
+	// Held by the executor thread while it executes callbacks
+	private Object m_drainLock;
+	
+	/**
+	 * Constructs a new executor which uses the {@link ParkingWaitStrategy}.
+	 */
+	public CallbackExecutor()
+	{
+		this(new ParkingWaitStrategy());
+	}
+	
+	/**
+	 * Constructs a new executor which uses the given wait strategy.
+	 * 
+	 * @param waitStrategy the strategy used to wait for callbacks
+	 * @throws IllegalArgumentException if {@code waitStrategy} is {@code null}
+	 */
+	public CallbackExecutor(WaitStrategy waitStrategy)
+	{
+		if (waitStrategy == null)
+			throw new IllegalArgumentException("waitStrategy cannot be null");
+		
+		m_subscribers = new DataSubscriber[0];
+		m_waitStrategy = waitStrategy;
+		m_drainLock = new Object();
+	}
+	
+	/**
+	 * Indicates whether the executor's thread is running.
+	 * 
+	 * @return flag indicating whether the executor is running
+	 */
+	public synchronized boolean isRunning()
+	{
+		return m_running;
+	}
+	
+	/**
+	 * Gets the number of connected subscribers
+	 * whose callbacks are run by this executor.
+	 * 
+	 * @return the number of subscribers
+	 */
+	public int getSubscriberCount()
+	{
+		return m_subscribers.length;
+	}
+	
+	/**
+	 * Starts the executor's thread. This method is called automatically
+	 * when the first subscriber connects, and does nothing if the
+	 * executor is already running.
+	 */
+	public synchronized void start()
+	{
+		if (m_running)
+			return;
+		
+		m_running = true;
+		
+		m_thread = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				runExecutorThread();
+			}
+		}, "CallbackExecutor");
+		
+		m_thread.start();
+	}
+	
+	/**
+	 * Stops the executor's thread and waits for it to finish.
+	 * Subscribers using the executor should be disconnected first;
+	 * their callbacks are no longer executed once it has stopped.
+	 */
+	public void shutdown()
+	{
+		Thread thread;
+		
+		synchronized (this)
+		{
+			if (!m_running)
+				return;
+			
+			m_running = false;
+			thread = m_thread;
+			m_thread = null;
+		}
+		
+		m_waitStrategy.signal(thread);
+		
+		if (thread == Thread.currentThread())
+			return;
+		
+		try
+		{
+			thread.join();
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Adds a subscriber whose callbacks are to be executed,
+	 * starting the executor if it is not already running.
+	 */
+	synchronized void register(DataSubscriber subscriber)
+	{
+		DataSubscriber[] subscribers = Arrays.copyOf(m_subscribers, m_subscribers.length + 1);
+		
+		subscribers[subscribers.length - 1] = subscriber;
+		m_subscribers = subscribers;
+		
+		start();
+		m_waitStrategy.signal(m_thread);
+	}
+	
+	/**
+	 * Removes a subscriber and waits until the executor is
+	 * no longer executing any of the subscriber's callbacks.
+	 */
+	void unregister(DataSubscriber subscriber)
+	{
+		DataSubscriber[] subscribers;
+		int index = -1;
+		
+		synchronized (this)
+		{
+			subscribers = m_subscribers;
+			
+			for (int i = 0; i < subscribers.length && index < 0; i++)
+			{
+				if (subscribers[i] == subscriber)
+					index = i;
+			}
+			
+			if (index < 0)
+				return;
+			
+			subscribers = Arrays.copyOf(subscribers, subscribers.length - 1);
+			System.arraycopy(m_subscribers, index + 1, subscribers, index, subscribers.length - index);
+			m_subscribers = subscribers;
+		}
+		
+		// The executor thread holds this lock while it executes
+		// callbacks, so once it can be acquired, the subscriber's
+		// callbacks are no longer being executed
+		synchronized (m_drainLock)
+		{
+		}
+	}
+	
+	// Takes turns executing the callbacks of each subscriber.
+	private void runExecutorThread()
+	{
+		DataSubscriber[] subscribers;
+		int idleCount = 0;
+		int count;
+		
+		while (m_running)
+		{
+			subscribers = m_subscribers;
+			count = 0;
+			
+			synchronized (m_drainLock)
+			{
+				for (DataSubscriber subscriber : subscribers)
+					count += subscriber.drainCallbacks();
+			}
+			
+			if (count > 0)
+				idleCount = 0;
+			else
+				waitForCallbacks(subscribers, idleCount++);
+		}
+	}
+	
+	// Waits, using the wait strategy, unless one of the
+	// given subscribers has callbacks waiting to be executed.
+	private void waitForCallbacks(DataSubscriber[] subscribers, int idleCount)
+	{
+		// Producers check the waiting flag after publishing a callback,
+		// and the executor checks for callbacks again after setting it,
+		// so a callback is never missed by a blocked executor
+		for (DataSubscriber subscriber : subscribers)
+			subscriber.getCallbackQueue().setConsumerWaiting(true);
+		
+		try
+		{
+			if (m_running && subscribers == m_subscribers && !hasCallbacks(subscribers))
+				m_waitStrategy.idle(idleCount);
+		}
+		finally
+		{
+			for (DataSubscriber subscriber : subscribers)
+				subscriber.getCallbackQueue().setConsumerWaiting(false);
+		}
+	}
+	
+	// Determines whether any of the given subscribers has callbacks waiting.
+	private static boolean hasCallbacks(DataSubscriber[] subscribers)
+	{
+		for (DataSubscriber subscriber : subscribers)
+		{
+			if (subscriber.getCallbackQueue().hasEvents())
+				return true;
+		}
+		
+		return false;
+	}
+}
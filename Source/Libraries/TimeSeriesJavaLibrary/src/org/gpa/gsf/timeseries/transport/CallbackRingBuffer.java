@@ -0,0 +1,430 @@
+//******************************************************************************************************
+//  CallbackRingBuffer.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Preallocated ring of {@link CallbackEvent} slots used to hand callbacks
+ * from the threads that receive data to the subscriber's callback thread
+ * without allocating anything per callback.
+ * <p>
+ * A producer claims a slot, fills it in place, and then publishes it. Slots
+ * are claimed with a compare-and-set on the tail sequence, so any number of
+ * threads may produce callbacks, but only a single thread may consume them.
+ * Each slot carries its own sequence number which tells whether it is free,
+ * claimed, or published, so the consumer never reads a slot that a producer
+ * is still filling. When the ring is full, producers either wait for the
+ * callback thread to free a slot, give up, or discard the oldest callback if
+ * it holds measurements.
+ */
+class CallbackRingBuffer
+{
+	/**
+	 * Handles callbacks drained from the ring buffer.
+	 */
+	interface EventHandler
+	{
+		void onEvent(CallbackEvent event);
+	}
+	
+	private CallbackEvent[] m_slots;
+	private AtomicLongArray m_sequences;
+	private int m_mask;
+	
+	// Next sequence to be claimed by a producer
+	private AtomicLong m_tail;
+	
+	// Next sequence to be consumed; only advanced by the consumer
+	// thread, or by a producer discarding the oldest callback
+	private AtomicLong m_head;
+	
+	private volatile WaitStrategy m_waitStrategy;
+	private volatile Thread m_consumerThread;
+	private volatile boolean m_consumerWaiting;
+	private volatile boolean m_halted;
+	
+	/**
+	 * Creates a new ring buffer with at least the given number of slots.
+	 * The capacity is rounded up to the next power of two.
+	 */
+	CallbackRingBuffer(int capacity, WaitStrategy waitStrategy)
+	{
+		int size = 1;
+		
+		if (capacity < 1)
+			throw new IllegalArgumentException("capacity must be at least 1");
+		
+		if (waitStrategy == null)
+			throw new IllegalArgumentException("waitStrategy cannot be null");
+		
+		while (size < capacity)
+			size <<= 1;
+		
+		m_slots = new CallbackEvent[size];
+		m_sequences = new AtomicLongArray(size);
+		m_mask = size - 1;
+		m_tail = new AtomicLong();
+		m_head = new AtomicLong();
+		m_waitStrategy = waitStrategy;
+		
+		for (int i = 0; i < size; i++)
+		{
+			m_slots[i] = new CallbackEvent();
+			m_sequences.set(i, i);
+		}
+	}
+	
+	/**
+	 * Gets the number of slots in the ring buffer.
+	 */
+	int getCapacity()
+	{
+		return m_slots.length;
+	}
+	
+	/**
+	 * Gets the strategy used by the consumer to wait for callbacks.
+	 */
+	WaitStrategy getWaitStrategy()
+	{
+		return m_waitStrategy;
+	}
+	
+	/**
+	 * Sets the strategy used by the consumer to wait for callbacks.
+	 */
+	void setWaitStrategy(WaitStrategy waitStrategy)
+	{
+		if (waitStrategy == null)
+			throw new IllegalArgumentException("waitStrategy cannot be null");
+		
+		m_waitStrategy = waitStrategy;
+	}
+	
+	/**
+	 * Indicates whether there are no claimed or published callbacks in the ring.
+	 */
+	boolean isEmpty()
+	{
+		return m_tail.get() == m_head.get();
+	}
+	
+	/**
+	 * Gets the number of claimed or published callbacks in the ring.
+	 */
+	int size()
+	{
+		long head = m_head.get();
+		long tail = m_tail.get();
+		
+		return (int)Math.max(tail - head, 0L);
+	}
+	
+	/**
+	 * Claims the next free slot, waiting for the consumer to free one if
+	 * the ring is full. Every claimed slot must be published, even if the
+	 * producer decides not to fill it. Returns null if the ring buffer has
+	 * been halted, or if the ring is full and the calling thread is the
+	 * consumer, since the consumer cannot wait for itself.
+	 */
+	CallbackEvent claim()
+	{
+		return claim(true, null);
+	}
+	
+	/**
+	 * Claims the next free slot, or returns null immediately if the ring is full.
+	 */
+	CallbackEvent tryClaim()
+	{
+		return claim(false, null);
+	}
+	
+	/**
+	 * Claims the next free slot. If the ring is full and the oldest callback
+	 * holds measurements, that callback is discarded and the number of
+	 * measurements it held is added to the given counter. Otherwise, this
+	 * waits for the consumer just like {@link #claim()}.
+	 */
+	CallbackEvent claimDroppingOldest(AtomicLong droppedMeasurements)
+	{
+		return claim(true, droppedMeasurements);
+	}
+	
+	/**
+	 * Claims the next free slot, discarding the oldest callback if the ring
+	 * is full and that callback holds measurements, just like
+	 * {@link #claimDroppingOldest(AtomicLong)}. Returns null immediately
+	 * instead of waiting if the oldest callback cannot be discarded.
+	 */
+	CallbackEvent tryClaimDroppingOldest(AtomicLong droppedMeasurements)
+	{
+		return claim(false, droppedMeasurements);
+	}
+	
+	// Claims the next free slot, handling a full ring as requested by the caller.
+	private CallbackEvent claim(boolean wait, AtomicLong droppedMeasurements)
+	{
+		CallbackEvent event;
+		long sequence;
+		long slotSequence;
+		int index;
+		int attempts = 0;
+		
+		while (!m_halted)
+		{
+			sequence = m_tail.get();
+			index = (int)(sequence & m_mask);
+			slotSequence = m_sequences.get(index);
+			
+			if (slotSequence == sequence)
+			{
+				if (m_tail.compareAndSet(sequence, sequence + 1L))
+				{
+					event = m_slots[index];
+					event.setSequence(sequence);
+					return event;
+				}
+			}
+			else if (slotSequence < sequence)
+			{
+				// The ring is full; the slot has not yet
+				// been consumed since it was last used
+				if (droppedMeasurements != null && discardOldest(sequence, droppedMeasurements))
+					continue;
+				
+				if (!wait || Thread.currentThread() == m_consumerThread)
+					return null;
+				
+				waitForSlot(attempts++);
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Publishes a claimed slot, making it visible to the consumer.
+	 */
+	void publish(CallbackEvent event)
+	{
+		long sequence = event.getSequence();
+		
+		event.setPublishTime(System.nanoTime());
+		
+		// Slot sequence is one greater than the claimed
+		// sequence when the slot has been published
+		m_sequences.set((int)(sequence & m_mask), sequence + 1L);
+		
+		if (m_consumerWaiting)
+			m_waitStrategy.signal(m_consumerThread);
+	}
+	
+	/**
+	 * Executes up to the given number of published callbacks in order,
+	 * freeing each slot once the handler returns. Must only be called
+	 * by the consumer thread.
+	 * 
+	 * @return the number of callbacks executed
+	 */
+	int drain(EventHandler handler, int maxEvents)
+	{
+		CallbackEvent event;
+		long head;
+		int index;
+		int count = 0;
+		
+		m_consumerThread = Thread.currentThread();
+		
+		while (count < maxEvents)
+		{
+			head = m_head.get();
+			index = (int)(head & m_mask);
+			
+			if (m_sequences.get(index) != head + 1L)
+				break;
+			
+			// A producer may discard the oldest callback when
+			// the ring is full, so take ownership of the slot
+			// before using it
+			if (!m_head.compareAndSet(head, head + 1L))
+				continue;
+			
+			event = m_slots[index];
+			
+			try
+			{
+				handler.onEvent(event);
+			}
+			finally
+			{
+				release(event, head);
+				count++;
+			}
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * Waits, using the wait strategy, until a callback has been published
+	 * or the ring buffer is halted. Must only be called by the consumer thread.
+	 */
+	void waitForEvents()
+	{
+		int idleCount = 0;
+		
+		m_consumerThread = Thread.currentThread();
+		
+		while (!m_halted && !isEventAvailable())
+		{
+			// Producers check this flag after publishing, and the
+			// consumer checks for callbacks again after setting it,
+			// so a callback is never missed by a blocked consumer
+			m_consumerWaiting = true;
+			
+			try
+			{
+				if (!m_halted && !isEventAvailable())
+					m_waitStrategy.idle(idleCount++);
+			}
+			finally
+			{
+				m_consumerWaiting = false;
+			}
+		}
+	}
+	
+	/**
+	 * Indicates whether a callback has been published and not yet consumed.
+	 */
+	boolean hasEvents()
+	{
+		return isEventAvailable();
+	}
+	
+	/**
+	 * Sets the flag that tells producers the consumer is waiting to be
+	 * signaled. Used by a consumer that waits on several ring buffers at
+	 * once instead of calling {@link #waitForEvents()}; it must set the
+	 * flag before checking {@link #hasEvents()} one last time.
+	 */
+	void setConsumerWaiting(boolean consumerWaiting)
+	{
+		m_consumerWaiting = consumerWaiting;
+	}
+	
+	/**
+	 * Halts the ring buffer, waking the consumer and any producers
+	 * that are waiting for a free slot. Callbacks can no longer be
+	 * claimed until the ring buffer is reset.
+	 */
+	void halt()
+	{
+		Thread consumerThread = m_consumerThread;
+		
+		m_halted = true;
+		
+		if (consumerThread != null)
+			m_waitStrategy.signal(consumerThread);
+	}
+	
+	/**
+	 * Discards all callbacks and makes the ring buffer usable again after
+	 * it has been halted. Must not be called while other threads are
+	 * producing or consuming callbacks.
+	 */
+	void reset()
+	{
+		for (int i = 0; i < m_slots.length; i++)
+		{
+			m_slots[i].clear();
+			m_sequences.set(i, i);
+		}
+		
+		m_tail.set(0L);
+		m_head.set(0L);
+		m_consumerThread = null;
+		m_halted = false;
+	}
+	
+	// Determines whether the slot at the head of the ring has been published.
+	private boolean isEventAvailable()
+	{
+		long head = m_head.get();
+		return m_sequences.get((int)(head & m_mask)) == head + 1L;
+	}
+	
+	// Discards the oldest callback to free the slot needed to claim the given
+	// sequence, but only if that callback has been published and holds
+	// measurements. Returns true if the callback was discarded.
+	private boolean discardOldest(long sequence, AtomicLong droppedMeasurements)
+	{
+		long head = sequence - m_slots.length;
+		int index = (int)(head & m_mask);
+		CallbackEvent event = m_slots[index];
+		
+		if (m_head.get() != head || m_sequences.get(index) != head + 1L)
+			return false;
+		
+		if (event.getType() != CallbackEvent.NewMeasurements)
+			return false;
+		
+		if (!m_head.compareAndSet(head, head + 1L))
+			return false;
+		
+		droppedMeasurements.addAndGet(event.getBatch().size());
+		release(event, head);
+		
+		return true;
+	}
+	
+	// Clears a consumed or discarded slot and marks it as free
+	// for the producer that will wrap around to it next.
+	private void release(CallbackEvent event, long sequence)
+	{
+		event.clear();
+		m_sequences.set((int)(sequence & m_mask), sequence + m_slots.length);
+	}
+	
+	// Waits for the consumer to free a slot in a full ring.
+	private static void waitForSlot(int attempts)
+	{
+		if (attempts < ProducerYieldTries)
+			Thread.yield();
+		else
+			LockSupport.parkNanos(ProducerParkTime);
+	}
+	
+	// Number of times a producer yields before
+	// parking while waiting for a free slot.
+	private static final int ProducerYieldTries = 100;
+	
+	// Amount of time, in nanoseconds, that a producer
+	// parks at a time while waiting for a free slot.
+	private static final long ProducerParkTime = 50000L;
+}
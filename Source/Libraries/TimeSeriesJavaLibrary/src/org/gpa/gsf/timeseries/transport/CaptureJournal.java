@@ -0,0 +1,267 @@
+//******************************************************************************************************
+//  CaptureJournal.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.gpa.gsf.timeseries.util.TimeExtensions;
+
+/**
+ * Append-only journal of the raw payloads received by a subscriber.
+ * When a journal is given to a subscriber through
+ * {@link DataSubscriber#setCaptureJournal(CaptureJournal)}, every payload
+ * received on the command channel or the data channel is appended to the
+ * journal, along with the time it was received, before the subscriber
+ * processes it. The journal can later be fed back through the subscriber
+ * by a {@link CaptureReplayer}.
+ * <p>
+ * The journal is written through memory-mapped regions of the file, so
+ * appending a payload is a memory copy rather than a system call. The file
+ * begins with a header made up of a 4-byte magic number and a 4-byte format
+ * version, followed by a sequence of records. Each record consists of the
+ * 4-byte length of the payload, the 8-byte receive time in ticks, a 1-byte
+ * record type, and the payload itself, all in big-endian byte order. A record
+ * with a length of zero marks the end of the journal, which is where the
+ * reader stops if the journal was not closed properly.
+ * 
+ * @see CaptureReplayer
+ */
+public class CaptureJournal
+{
+	private File m_file;
+	private RandomAccessFile m_randomAccessFile;
+	private FileChannel m_channel;
+	private int m_regionSize;
+	
+	private MappedByteBuffer m_region;
+	private long m_regionPosition;
+	private long m_recordCount;
+	
+	private long m_startTicks;
+	private long m_startNanos;
+	
+	/**
+	 * Creates a new journal in the given file, replacing the file if it
+	 * exists. The file is mapped into memory 64 MB at a time.
+	 * 
+	 * @param file the file in which the journal is written
+	 * @throws IOException if the file cannot be created or mapped
+	 */
+	public CaptureJournal(File file) throws IOException
+	{
+		this(file, DefaultRegionSize);
+	}
+	
+	/**
+	 * Creates a new journal in the given file, replacing the file if it exists.
+	 * 
+	 * @param file the file in which the journal is written
+	 * @param regionSize the number of bytes of the file mapped into memory at a time
+	 * @throws IllegalArgumentException if {@code file} is {@code null} or {@code regionSize} is too small to hold the header
+	 * @throws IOException if the file cannot be created or mapped
+	 */
+	public CaptureJournal(File file, int regionSize) throws IOException
+	{
+		if (file == null)
+			throw new IllegalArgumentException("file cannot be null");
+		
+		if (regionSize < HeaderSize + RecordHeaderSize)
+			throw new IllegalArgumentException("regionSize must be at least " + (HeaderSize + RecordHeaderSize) + " bytes");
+		
+		m_file = file;
+		m_regionSize = regionSize;
+		m_randomAccessFile = new RandomAccessFile(file, "rw");
+		m_randomAccessFile.setLength(0L);
+		m_channel = m_randomAccessFile.getChannel();
+		
+		m_region = m_channel.map(FileChannel.MapMode.READ_WRITE, 0L, regionSize);
+		m_region.putInt(Magic);
+		m_region.putInt(Version);
+		
+		m_startTicks = TimeExtensions.millisToTicks(System.currentTimeMillis());
+		m_startNanos = System.nanoTime();
+	}
+	
+	/**
+	 * Gets the file in which the journal is written.
+	 * 
+	 * @return the journal file
+	 */
+	public File getFile()
+	{
+		return m_file;
+	}
+	
+	/**
+	 * Gets the number of records appended to the journal.
+	 * 
+	 * @return the number of records
+	 */
+	public synchronized long getRecordCount()
+	{
+		return m_recordCount;
+	}
+	
+	/**
+	 * Gets the number of bytes appended to the journal, including the header.
+	 * 
+	 * @return the length of the journal, in bytes
+	 */
+	public synchronized long getLength()
+	{
+		return (m_region != null) ? m_regionPosition + m_region.position() : m_regionPosition;
+	}
+	
+	/**
+	 * Indicates whether the journal is open for appending.
+	 * 
+	 * @return flag indicating whether the journal is open
+	 */
+	public synchronized boolean isOpen()
+	{
+		return m_channel != null;
+	}
+	
+	/**
+	 * Flushes the journal to disk and closes it, truncating the file to the
+	 * length of the journal. Payloads received after the journal is closed
+	 * are not recorded.
+	 * <p>
+	 * A mapped region is only unmapped once it has been garbage collected,
+	 * and some platforms, such as Windows, cannot truncate a file while any
+	 * part of it is mapped. On those platforms, the file may keep the length
+	 * of the last mapped region. The unused part of the region is filled with
+	 * zeros, which the {@link CaptureReplayer} reads as the end of the journal.
+	 * 
+	 * @throws IOException if an I/O error occurs while closing the file
+	 */
+	public synchronized void close() throws IOException
+	{
+		if (m_channel == null)
+			return;
+		
+		m_region.force();
+		
+		// Release the mapping before truncating
+		// so that it can be unmapped if possible
+		m_regionPosition += m_region.position();
+		m_region = null;
+		
+		try
+		{
+			m_channel.truncate(m_regionPosition);
+		}
+		catch (IOException ex)
+		{
+			// The region is still mapped; leave the file
+			// at its current length, ending in zeros
+		}
+		finally
+		{
+			m_randomAccessFile.close();
+			m_channel = null;
+			m_randomAccessFile = null;
+		}
+	}
+	
+	/**
+	 * Appends a record to the journal, stamped with the current time.
+	 * The position of the payload buffer is not changed. Empty payloads
+	 * are not recorded, since a length of zero marks the end of the journal.
+	 */
+	synchronized void write(byte recordType, ByteBuffer payload) throws IOException
+	{
+		int length = payload.remaining();
+		long receiveTime;
+		
+		if (m_channel == null || length == 0)
+			return;
+		
+		receiveTime = m_startTicks + (System.nanoTime() - m_startNanos) / NanosPerTick;
+		
+		// Records never span regions, and one extra record
+		// header is always left free for the end marker
+		if (m_region.remaining() < RecordHeaderSize + length + RecordHeaderSize)
+			mapNextRegion(RecordHeaderSize + length + RecordHeaderSize);
+		
+		m_region.putInt(length);
+		m_region.putLong(receiveTime);
+		m_region.put(recordType);
+		
+		if (payload.hasArray())
+			m_region.put(payload.array(), payload.arrayOffset() + payload.position(), length);
+		else
+			m_region.put(payload.duplicate());
+		
+		m_recordCount++;
+	}
+	
+	// Maps the next region of the file, starting
+	// where the previous region was filled up to.
+	private void mapNextRegion(int minimumSize) throws IOException
+	{
+		m_regionPosition += m_region.position();
+		m_region = m_channel.map(FileChannel.MapMode.READ_WRITE, m_regionPosition, Math.max(m_regionSize, minimumSize));
+	}
+	
+	// Identifies a capture journal file ("GSFJ").
+	static final int Magic = 0x4753464A;
+	
+	// Version of the journal file format.
+	static final int Version = 1;
+	
+	// Size of the file header, in bytes.
+	static final int HeaderSize = 8;
+	
+	// Size of the header which precedes each payload, in bytes.
+	static final int RecordHeaderSize = 13;
+	
+	// Record of a payload received on the command channel.
+	static final byte CommandChannelRecord = 0;
+	
+	// Record of a payload received on the data channel.
+	static final byte DataChannelRecord = 1;
+	
+	// Record of the subscriber settings needed to parse
+	// the payloads: the operational modes, followed by a
+	// byte of subscription flags.
+	static final byte SubscriberStateRecord = 2;
+	
+	// Subscription flag indicating that time is included in compact measurements.
+	static final byte TimeIncludedFlag = 0x01;
+	
+	// Subscription flag indicating that compact measurements use millisecond resolution.
+	static final byte MillisecondResolutionFlag = 0x02;
+	
+	// Default number of bytes mapped at a time.
+	private static final int DefaultRegionSize = 64 * 1024 * 1024;
+	
+	// Number of nanoseconds in one tick.
+	private static final long NanosPerTick = 100L;
+}
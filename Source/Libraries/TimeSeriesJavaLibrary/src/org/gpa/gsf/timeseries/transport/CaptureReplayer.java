@@ -0,0 +1,327 @@
+//******************************************************************************************************
+//  CaptureReplayer.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Feeds the payloads recorded in a {@link CaptureJournal} back through a
+ * subscriber. Payloads go through the same parsing and dispatch path as
+ * payloads received from a publisher, so the subscriber's listeners, current
+ * value table, statistics and other consumers see the same data they saw
+ * when it was captured, without connecting to a publisher.
+ * <p>
+ * Payloads can be replayed at the pace at which they were received, at a
+ * multiple of that pace, or as fast as the subscriber can process them,
+ * which makes repeatable throughput benchmarks possible.
+ * 
+ * @see DataSubscriber#setCaptureJournal(CaptureJournal)
+ */
+public class CaptureReplayer
+{
+	/**
+	 * Speed at which payloads are replayed as fast as possible.
+	 */
+	public static final double Unthrottled = 0.0D;
+	
+	private File m_file;
+	private DataSubscriber m_subscriber;
+	private double m_speed;
+	
+	private volatile boolean m_stopped;
+	private volatile long m_recordsReplayed;
+	
+	/**
+	 * Constructs a new replayer which replays the given
+	 * journal file through the given subscriber in real time.
+	 * 
+	 * @param file the journal file to be replayed
+	 * @param subscriber the subscriber which processes the payloads
+	 * @throws IllegalArgumentException if {@code file} or {@code subscriber} is {@code null}
+	 */
+	public CaptureReplayer(File file, DataSubscriber subscriber)
+	{
+		if (file == null)
+			throw new IllegalArgumentException("file cannot be null");
+		
+		if (subscriber == null)
+			throw new IllegalArgumentException("subscriber cannot be null");
+		
+		m_file = file;
+		m_subscriber = subscriber;
+		m_speed = 1.0D;
+	}
+	
+	/**
+	 * Gets the speed at which payloads are replayed, as a multiple of the
+	 * pace at which they were received. A speed of {@link #Unthrottled}
+	 * means that payloads are replayed as fast as possible.
+	 * 
+	 * @return the replay speed
+	 */
+	public double getSpeed()
+	{
+		return m_speed;
+	}
+	
+	/**
+	 * Sets the speed at which payloads are replayed, as a multiple of the
+	 * pace at which they were received. For instance, a speed of {@code 1.0}
+	 * replays in real time and a speed of {@code 10.0} replays ten times
+	 * faster. A speed of {@link #Unthrottled} means that payloads are
+	 * replayed as fast as possible.
+	 * 
+	 * @param speed the new replay speed
+	 * @throws IllegalArgumentException if {@code speed} is negative
+	 */
+	public void setSpeed(double speed)
+	{
+		if (speed < 0.0D)
+			throw new IllegalArgumentException("speed cannot be negative");
+		
+		m_speed = speed;
+	}
+	
+	/**
+	 * Gets the number of records replayed by the current or last replay.
+	 * 
+	 * @return the number of records replayed
+	 */
+	public long getRecordsReplayed()
+	{
+		return m_recordsReplayed;
+	}
+	
+	/**
+	 * Stops a replay in progress. The replay ends
+	 * after the payload being replayed is processed.
+	 */
+	public void stop()
+	{
+		m_stopped = true;
+	}
+	
+	/**
+	 * Replays the journal on the calling thread. The subscriber must not be
+	 * connected; it is prepared for the replay before the first payload is
+	 * replayed and disconnected once every payload has been replayed and the
+	 * resulting callbacks have been executed, or once the replay is stopped.
+	 * 
+	 * @return the number of records replayed
+	 * @throws IllegalStateException if the subscriber is connected
+	 * @throws IOException if the file cannot be read or is not a capture journal
+	 */
+	public long replay() throws IOException
+	{
+		RandomAccessFile randomAccessFile = new RandomAccessFile(m_file, "r");
+		
+		try
+		{
+			FileChannel channel = randomAccessFile.getChannel();
+			long size = channel.size();
+			MappedByteBuffer header;
+			
+			if (size < CaptureJournal.HeaderSize)
+				throw new IOException("File is not a capture journal: " + m_file);
+			
+			header = channel.map(FileChannel.MapMode.READ_ONLY, 0L, CaptureJournal.HeaderSize);
+			
+			if (header.getInt() != CaptureJournal.Magic)
+				throw new IOException("File is not a capture journal: " + m_file);
+			
+			if (header.getInt() != CaptureJournal.Version)
+				throw new IOException("Unsupported capture journal version: " + m_file);
+			
+			m_stopped = false;
+			m_recordsReplayed = 0L;
+			m_subscriber.beginReplay();
+			
+			try
+			{
+				replayRecords(channel, size);
+				waitForCallbacks();
+			}
+			finally
+			{
+				m_subscriber.disconnect();
+			}
+			
+			return m_recordsReplayed;
+		}
+		finally
+		{
+			randomAccessFile.close();
+		}
+	}
+	
+	// Reads the records in the journal and passes
+	// them to the subscriber at the configured speed.
+	private void replayRecords(FileChannel channel, long size) throws IOException
+	{
+		ByteBuffer payload = ByteBuffer.allocate(InitialPayloadCapacity);
+		MappedByteBuffer region = null;
+		long regionStart = 0L;
+		long regionEnd = 0L;
+		long position = CaptureJournal.HeaderSize;
+		
+		long startNanos = System.nanoTime();
+		long firstReceiveTime = 0L;
+		long receiveTime;
+		byte recordType;
+		int length;
+		int offset;
+		
+		while (!m_stopped && position + CaptureJournal.RecordHeaderSize <= size)
+		{
+			if (position + CaptureJournal.RecordHeaderSize > regionEnd)
+			{
+				region = mapRegion(channel, position, size, CaptureJournal.RecordHeaderSize);
+				regionStart = position;
+				regionEnd = position + region.capacity();
+			}
+			
+			offset = (int)(position - regionStart);
+			length = region.getInt(offset);
+			
+			// A length of zero marks the end of a journal that
+			// was not closed; a record that runs past the end
+			// of the file was cut off while it was being written
+			if (length <= 0 || position + CaptureJournal.RecordHeaderSize + length > size)
+				break;
+			
+			if (position + CaptureJournal.RecordHeaderSize + length > regionEnd)
+			{
+				region = mapRegion(channel, position, size, CaptureJournal.RecordHeaderSize + length);
+				regionStart = position;
+				regionEnd = position + region.capacity();
+				offset = 0;
+			}
+			
+			receiveTime = region.getLong(offset + 4);
+			recordType = region.get(offset + 12);
+			
+			// Payloads are copied into a reusable heap buffer,
+			// just like payloads read from the command channel
+			if (length > payload.capacity())
+				payload = ByteBuffer.allocate(length);
+			
+			payload.clear();
+			region.limit(offset + CaptureJournal.RecordHeaderSize + length);
+			region.position(offset + CaptureJournal.RecordHeaderSize);
+			payload.put(region);
+			payload.flip();
+			region.limit(region.capacity());
+			
+			if (m_recordsReplayed == 0L)
+				firstReceiveTime = receiveTime;
+			else
+				waitUntil(startNanos + (long)((receiveTime - firstReceiveTime) * NanosPerTick / m_speed));
+			
+			m_subscriber.replayPayload(recordType, payload);
+			m_recordsReplayed++;
+			position += CaptureJournal.RecordHeaderSize + length;
+		}
+	}
+	
+	// Maps a region of the journal which starts at the given
+	// position and holds at least the given number of bytes.
+	private MappedByteBuffer mapRegion(FileChannel channel, long position, long size, int minimumSize) throws IOException
+	{
+		long regionSize = Math.min(size - position, Math.max(ReadRegionSize, minimumSize));
+		return channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+	}
+	
+	// Waits until System.nanoTime() reaches the given time, unless the
+	// replay is unthrottled. Sleeps while the wait is long enough to
+	// tolerate the imprecision of sleep, then yields until the time.
+	private void waitUntil(long time)
+	{
+		long remaining;
+		
+		if (m_speed == Unthrottled)
+			return;
+		
+		remaining = time - System.nanoTime();
+		
+		while (remaining > 0L && !m_stopped)
+		{
+			if (remaining > SleepThreshold)
+			{
+				try
+				{
+					Thread.sleep((remaining - SleepThreshold) / NanosPerMillisecond);
+				}
+				catch (InterruptedException ex)
+				{
+					Thread.currentThread().interrupt();
+					m_stopped = true;
+				}
+			}
+			else
+			{
+				Thread.yield();
+			}
+			
+			remaining = time - System.nanoTime();
+		}
+	}
+	
+	// Waits for the subscriber to execute the
+	// callbacks queued by the replayed payloads.
+	private void waitForCallbacks()
+	{
+		while (!m_stopped && m_subscriber.getCallbackQueueDepth() > 0)
+		{
+			try
+			{
+				Thread.sleep(1L);
+			}
+			catch (InterruptedException ex)
+			{
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+	
+	// Initial size of the buffer into which payloads are copied.
+	private static final int InitialPayloadCapacity = 65536;
+	
+	// Number of bytes of the journal mapped at a time.
+	private static final int ReadRegionSize = 64 * 1024 * 1024;
+	
+	// Number of nanoseconds in one tick.
+	private static final double NanosPerTick = 100.0D;
+	
+	// Number of nanoseconds in one millisecond.
+	private static final long NanosPerMillisecond = 1000000L;
+	
+	// Remaining wait, in nanoseconds, below which the replayer yields instead of sleeping.
+	private static final long SleepThreshold = 2000000L;
+}
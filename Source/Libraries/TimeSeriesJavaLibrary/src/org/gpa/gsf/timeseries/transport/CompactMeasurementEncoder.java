@@ -0,0 +1,361 @@
+//******************************************************************************************************
+//  CompactMeasurementEncoder.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Serializes measurements in the compact measurement format understood by
+ * {@link CompactMeasurementParser}. Measurements are written directly into
+ * a caller-supplied {@link ByteBuffer}, and no objects are created while
+ * encoding, so the same encoder and buffers can be reused for every frame.
+ * <p>
+ * When timestamps are included and base time offsets have been set, each
+ * timestamp is written as an offset from the base time selected by the
+ * current time index, and the measurement is marked with
+ * {@link CompactMeasurementParser#CompactBaseTimeOffsetFlag} and, for
+ * time index 1, {@link CompactMeasurementParser#CompactTimeIndexFlag}.
+ * Timestamps which precede the base time or are too far past it to fit
+ * in the offset field are written in full instead. Publishers keep base
+ * times current by calling {@link #updateBaseTimes(long, long)} before
+ * encoding, and send them to subscribers whenever they are rotated.
+ * <p>
+ * The encoder also writes the headers which frame data packets and other
+ * responses, so that every publisher produces packets the same way.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class CompactMeasurementEncoder
+{
+	private boolean m_includeTime;
+	private boolean m_useMillisecondResolution;
+	private long[] m_baseTimeOffsets;
+	private int m_timeIndex;
+	
+	/**
+	 * Constructs a new compact measurement encoder.
+	 * 
+	 * @param includeTime determines whether timestamps are included in the serialized measurements
+	 * @param useMillisecondResolution determines whether timestamps are further compacted
+	 *        by serializing base time offsets in millisecond resolution
+	 */
+	public CompactMeasurementEncoder(boolean includeTime, boolean useMillisecondResolution)
+	{
+		m_includeTime = includeTime;
+		m_useMillisecondResolution = useMillisecondResolution;
+		m_baseTimeOffsets = new long[2];
+	}
+	
+	/**
+	 * Indicates whether timestamps are included in the serialized measurements.
+	 * 
+	 * @return flag indicating whether timestamps are included
+	 */
+	public boolean isIncludeTime()
+	{
+		return m_includeTime;
+	}
+	
+	/**
+	 * Indicates whether base time offsets are serialized in millisecond resolution.
+	 * 
+	 * @return flag indicating whether millisecond resolution is used
+	 */
+	public boolean isUseMillisecondResolution()
+	{
+		return m_useMillisecondResolution;
+	}
+	
+	/**
+	 * Sets the base times from which timestamps are offset, and the index
+	 * of the base time used for measurements encoded from now on. The base
+	 * times are copied, so the given array may be reused by the caller.
+	 * A base time of zero means that the base time has not been defined,
+	 * in which case timestamps are written in full.
+	 * 
+	 * @param baseTimeOffsets the two base times, in ticks
+	 * @param timeIndex the index of the base time to be used, either 0 or 1
+	 * @throws IllegalArgumentException if {@code baseTimeOffsets} does not contain
+	 *         two base times or {@code timeIndex} is neither 0 nor 1
+	 */
+	public void setBaseTimeOffsets(long[] baseTimeOffsets, int timeIndex)
+	{
+		if (baseTimeOffsets == null || baseTimeOffsets.length != 2)
+			throw new IllegalArgumentException("baseTimeOffsets must contain two base times");
+		
+		if (timeIndex != 0 && timeIndex != 1)
+			throw new IllegalArgumentException("timeIndex must be either 0 or 1");
+		
+		m_baseTimeOffsets[0] = baseTimeOffsets[0];
+		m_baseTimeOffsets[1] = baseTimeOffsets[1];
+		m_timeIndex = timeIndex;
+	}
+	
+	/**
+	 * Gets the index of the base time used for measurements encoded from now on.
+	 * 
+	 * @return the current time index, either 0 or 1
+	 */
+	public int getTimeIndex()
+	{
+		return m_timeIndex;
+	}
+	
+	/**
+	 * Gets the base time used for measurements encoded from now on.
+	 * 
+	 * @return the current base time, in ticks, or 0 if it has not been defined
+	 */
+	public long getBaseTime()
+	{
+		return m_baseTimeOffsets[m_timeIndex];
+	}
+	
+	/**
+	 * Rotates the base times, if necessary, so that offsets from the current
+	 * base time fit in the compact timestamp field for measurements with
+	 * timestamps in the given range. If base times have not been defined,
+	 * they are defined starting at the earliest timestamp. Base times are
+	 * rotated well before offsets overflow, so that subscribers receive the
+	 * new base times before measurements are offset from them.
+	 * 
+	 * @param earliest the earliest timestamp to be encoded, in ticks
+	 * @param latest the latest timestamp to be encoded, in ticks
+	 * @return true if the base times were changed and must be sent to
+	 *         subscribers; false if the current base times can be used
+	 */
+	public boolean updateBaseTimes(long earliest, long latest)
+	{
+		long baseTimeInterval = m_useMillisecondResolution ? MillisecondBaseTimeInterval : TickBaseTimeInterval;
+		long[] baseTimes = m_baseTimeOffsets;
+		int timeIndex = m_timeIndex;
+		
+		if (baseTimes[timeIndex] != 0L && latest - baseTimes[timeIndex] < baseTimeInterval)
+			return false;
+		
+		if (baseTimes[timeIndex] == 0L)
+		{
+			timeIndex = 0;
+			baseTimes[timeIndex] = earliest;
+		}
+		else
+		{
+			timeIndex ^= 1;
+			
+			// Start over if the next base time is already too old
+			if (latest - baseTimes[timeIndex] >= baseTimeInterval)
+				baseTimes[timeIndex] = earliest;
+		}
+		
+		baseTimes[timeIndex ^ 1] = baseTimes[timeIndex] + baseTimeInterval;
+		m_timeIndex = timeIndex;
+		
+		return true;
+	}
+	
+	/**
+	 * Writes the current time index and base times at the buffer's current
+	 * position, in the format of the payload of an {@code UpdateBaseTimes}
+	 * response, which is {@link #BaseTimesPayloadSize} bytes long.
+	 * 
+	 * @param buffer the buffer into which the base times are written
+	 */
+	public void writeBaseTimes(ByteBuffer buffer)
+	{
+		buffer.putInt(m_timeIndex);
+		buffer.putLong(m_baseTimeOffsets[0]);
+		buffer.putLong(m_baseTimeOffsets[1]);
+	}
+	
+	/**
+	 * Gets the byte length of measurements serialized by this encoder.
+	 * 
+	 * @param usingBaseTimeOffset If false, measurement timestamps are 8 bytes; otherwise, they're smaller.
+	 * @return the byte length of measurements serialized by this encoder
+	 */
+	public int getMeasurementByteLength(boolean usingBaseTimeOffset)
+	{
+		return CompactMeasurementFormat.getMeasurementByteLength(m_includeTime, m_useMillisecondResolution, usingBaseTimeOffset);
+	}
+	
+	/**
+	 * Writes a single measurement at the buffer's current position. If
+	 * the buffer does not have enough room left for the measurement,
+	 * nothing is written and the buffer is left unchanged.
+	 * 
+	 * @param buffer the buffer into which the measurement is written
+	 * @param signalIndex the 16-bit index which identifies the measurement in the signal index cache
+	 * @param value the value of the measurement
+	 * @param timestamp the timestamp of the measurement, in ticks
+	 * @param flags the full 32-bit state flags of the measurement
+	 * @return true if the measurement was written; false if the buffer is full
+	 */
+	public boolean encode(ByteBuffer buffer, short signalIndex, float value, long timestamp, int flags)
+	{
+		long baseTime = m_baseTimeOffsets[m_timeIndex];
+		byte compactFlags = mapToCompactFlags(flags);
+		boolean usingBaseTimeOffset = false;
+		long offset = 0L;
+		
+		if (m_includeTime && baseTime != 0L && timestamp >= baseTime)
+		{
+			offset = timestamp - baseTime;
+			
+			if (m_useMillisecondResolution)
+			{
+				offset /= TicksPerMillisecond;
+				usingBaseTimeOffset = offset <= MaxMillisecondOffset;
+			}
+			else
+			{
+				usingBaseTimeOffset = offset <= MaxTickOffset;
+			}
+		}
+		
+		if (buffer.remaining() < getMeasurementByteLength(usingBaseTimeOffset))
+			return false;
+		
+		if (usingBaseTimeOffset)
+		{
+			compactFlags |= CompactMeasurementParser.CompactBaseTimeOffsetFlag;
+			
+			if (m_timeIndex != 0)
+				compactFlags |= CompactMeasurementParser.CompactTimeIndexFlag;
+		}
+		
+		buffer.put(compactFlags);
+		buffer.putShort(signalIndex);
+		buffer.putFloat(value);
+		
+		if (m_includeTime)
+		{
+			if (!usingBaseTimeOffset)
+				buffer.putLong(timestamp);
+			else if (!m_useMillisecondResolution)
+				buffer.putInt((int)offset);
+			else
+				buffer.putShort((short)offset);
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Writes measurements from a batch, starting at the given position in the
+	 * batch, until either all remaining measurements have been written or
+	 * the buffer does not have enough room left for the next measurement.
+	 * 
+	 * @param buffer the buffer into which the measurements are written
+	 * @param batch the batch containing the measurements to be written
+	 * @param offset the position in the batch of the first measurement to be written
+	 * @return the number of measurements written
+	 */
+	public int encode(ByteBuffer buffer, MeasurementBatch batch, int offset)
+	{
+		short[] signalIndexes = batch.getSignalIndexes();
+		float[] values = batch.getValues();
+		long[] timestamps = batch.getTimestamps();
+		int[] flags = batch.getFlags();
+		int size = batch.size();
+		int index = offset;
+		
+		while (index < size && encode(buffer, signalIndexes[index], values[index], timestamps[index], flags[index]))
+			index++;
+		
+		return index - offset;
+	}
+	
+	/**
+	 * Writes the payload header and the response header at the beginning
+	 * of the given buffer, for a response whose payload of the given length
+	 * starts at {@link #ResponseHeaderSize}. The payload header is not sent
+	 * when the response is a data packet sent over the data channel.
+	 * 
+	 * @param buffer the buffer containing the response
+	 * @param responseCode the code which identifies the response
+	 * @param commandCode the code of the command to which the server is responding
+	 * @param length the length of the payload, in bytes
+	 */
+	public static void writeResponseHeader(ByteBuffer buffer, byte responseCode, byte commandCode, int length)
+	{
+		int packetSize = 6 + length;
+		
+		buffer.put(0, (byte)0xAA);
+		buffer.put(1, (byte)0xBB);
+		buffer.put(2, (byte)0xCC);
+		buffer.put(3, (byte)0xDD);
+		buffer.put(4, (byte)packetSize);
+		buffer.put(5, (byte)(packetSize >> 8));
+		buffer.put(6, (byte)(packetSize >> 16));
+		buffer.put(7, (byte)(packetSize >> 24));
+		buffer.put(8, responseCode);
+		buffer.put(9, commandCode);
+		buffer.putInt(10, length);
+	}
+	
+	/**
+	 * Maps the 32-bit full flag format to the 8-bit compact flag format.
+	 * 
+	 * @param fullFlags the full 32-bit state flags of a measurement
+	 * @return the compact flags, without the time flags
+	 */
+	public static byte mapToCompactFlags(int fullFlags)
+	{
+		return CompactMeasurementFormat.mapToCompactFlags(fullFlags);
+	}
+	
+	/**
+	 * Size of the header that precedes each response on the command channel.
+	 */
+	public static final int PayloadHeaderSize = 8;
+	
+	/**
+	 * Size of the payload header and the response code, command code and
+	 * payload length, which together precede the payload of a response.
+	 */
+	public static final int ResponseHeaderSize = PayloadHeaderSize + 6;
+	
+	/**
+	 * Size of the largest data packet, excluding the payload header,
+	 * that a subscriber can receive on its data channel.
+	 */
+	public static final int MaxPacketSize = 32767;
+	
+	/**
+	 * Size of the payload of an {@code UpdateBaseTimes} response.
+	 */
+	public static final int BaseTimesPayloadSize = 20;
+	
+	// Largest offsets that fit in the unsigned 16-bit
+	// millisecond and 32-bit tick time fields
+	private static final long MaxMillisecondOffset = 0xFFFFL;
+	private static final long MaxTickOffset = 0xFFFFFFFFL;
+	
+	// Base times are rotated before offsets overflow the
+	// 16-bit millisecond or 32-bit tick time fields
+	private static final long MillisecondBaseTimeInterval = 60L * 10000000L;
+	private static final long TickBaseTimeInterval = 420L * 10000000L;
+	
+	private static final long TicksPerMillisecond = 10000L;
+}
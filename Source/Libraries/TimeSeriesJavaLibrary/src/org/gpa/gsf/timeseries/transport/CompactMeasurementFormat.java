@@ -0,0 +1,127 @@
+//******************************************************************************************************
+//  CompactMeasurementFormat.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+/**
+ * Conversions shared by the classes which read and write
+ * measurements serialized in the compact measurement format.
+ * 
+ * @see CompactMeasurementParser
+ * @see CompactMeasurementEncoder
+ * @see MeasurementCursor
+ */
+final class CompactMeasurementFormat
+{
+	private CompactMeasurementFormat()
+	{
+	}
+	
+	/**
+	 * Gets the byte length of a serialized measurement.
+	 * 
+	 * @param includeTime indicates whether timestamps are included in the measurements
+	 * @param useMillisecondResolution indicates whether timestamp offsets are in millisecond resolution
+	 * @param usingBaseTimeOffset indicates whether the timestamp of the
+	 *        measurement is serialized as an offset from a base time
+	 * @return the byte length of the measurement
+	 */
+	static int getMeasurementByteLength(boolean includeTime, boolean useMillisecondResolution, boolean usingBaseTimeOffset)
+	{
+		int byteLength = 7;
+		
+		if (includeTime)
+		{
+			if (!usingBaseTimeOffset)
+				byteLength += 8;
+			else if (!useMillisecondResolution)
+				byteLength += 4;
+			else
+				byteLength += 2;
+		}
+		
+		return byteLength;
+	}
+	
+	/**
+	 * Maps the 8-bit compact flag format to the 32-bit full flag format.
+	 * 
+	 * @param compactFlags the compact flags of a serialized measurement
+	 * @return the full 32-bit state flags
+	 */
+	static int mapToFullFlags(byte compactFlags)
+	{
+		int fullFlags = 0;
+		
+		if ((compactFlags & CompactMeasurementParser.CompactDataRangeFlag) != 0)
+			fullFlags |= CompactMeasurementParser.DataRangeMask;
+		
+		if ((compactFlags & CompactMeasurementParser.CompactDataQualityFlag) != 0)
+			fullFlags |= CompactMeasurementParser.DataQualityMask;
+		
+		if ((compactFlags & CompactMeasurementParser.CompactTimeQualityFlag) != 0)
+			fullFlags |= CompactMeasurementParser.TimeQualityMask;
+		
+		if ((compactFlags & CompactMeasurementParser.CompactSystemIssueFlag) != 0)
+			fullFlags |= CompactMeasurementParser.SystemIssueMask;
+		
+		if ((compactFlags & CompactMeasurementParser.CompactCalculatedValueFlag) != 0)
+			fullFlags |= CompactMeasurementParser.CalculatedValueMask;
+		
+		if ((compactFlags & CompactMeasurementParser.CompactDiscardedValueFlag) != 0)
+			fullFlags |= CompactMeasurementParser.DiscardedValueMask;
+		
+		return fullFlags;
+	}
+	
+	/**
+	 * Maps the 32-bit full flag format to the 8-bit compact flag format.
+	 * 
+	 * @param fullFlags the full 32-bit state flags of a measurement
+	 * @return the compact flags, without the time flags
+	 */
+	static byte mapToCompactFlags(int fullFlags)
+	{
+		byte compactFlags = 0;
+		
+		if ((fullFlags & CompactMeasurementParser.DataRangeMask) != 0)
+			compactFlags |= CompactMeasurementParser.CompactDataRangeFlag;
+		
+		if ((fullFlags & CompactMeasurementParser.DataQualityMask) != 0)
+			compactFlags |= CompactMeasurementParser.CompactDataQualityFlag;
+		
+		if ((fullFlags & CompactMeasurementParser.TimeQualityMask) != 0)
+			compactFlags |= CompactMeasurementParser.CompactTimeQualityFlag;
+		
+		if ((fullFlags & CompactMeasurementParser.SystemIssueMask) != 0)
+			compactFlags |= CompactMeasurementParser.CompactSystemIssueFlag;
+		
+		if ((fullFlags & CompactMeasurementParser.CalculatedValueMask) != 0)
+			compactFlags |= CompactMeasurementParser.CompactCalculatedValueFlag;
+		
+		if ((fullFlags & CompactMeasurementParser.DiscardedValueMask) != 0)
+			compactFlags |= CompactMeasurementParser.CompactDiscardedValueFlag;
+		
+		return compactFlags;
+	}
+}
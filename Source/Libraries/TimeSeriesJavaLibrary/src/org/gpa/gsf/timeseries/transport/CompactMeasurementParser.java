@@ -24,23 +24,24 @@
 package org.gpa.gsf.timeseries.transport;
 
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 
 import org.gpa.gsf.timeseries.Measurement;
-import org.gpa.gsf.timeseries.MeasurementKey;
 import org.gpa.gsf.timeseries.util.Masks;
 
 /**
  * Implementation of {@link GatewayMeasurementParser} that parses
  * measurements serialized using the compact measurement format.
+ * Measurements can also be parsed into a reusable {@link MeasurementBatch}.
  */
-public class CompactMeasurementParser implements GatewayMeasurementParser
+public class CompactMeasurementParser implements GatewayMeasurementParser, MeasurementBatchParser
 {
 	private SignalIndexCache m_signalIndexCache;
 	private long[] m_baseTimeOffsets;
 	private boolean m_includeTime;
 	private boolean m_useMillisecondResolution;
+	private BitSet m_signalIndexFilter;
 	
 	/**
 	 * Constructs a new compact measurement parser with the given signal index cache.
@@ -65,6 +66,27 @@ public class CompactMeasurementParser implements GatewayMeasurementParser
 	 * @throws IllegalArgumentException if {@code signalIndexCache} is {@code null}
 	 */
 	public CompactMeasurementParser(SignalIndexCache signalIndexCache, long[] baseTimeOffsets, boolean includeTime, boolean useMillisecondResolution)
+	{
+		this(signalIndexCache, baseTimeOffsets, includeTime, useMillisecondResolution, null);
+	}
+	
+	/**
+	 * Constructs a new compact measurement parser with the given signal index
+	 * cache and base time offsets which only parses the measurements whose
+	 * signal indexes are set in the given filter. Other measurements are
+	 * skipped over without being decoded.
+	 * 
+	 * @param signalIndexCache the cache used to compact measurement IDs during serialization
+	 * @param baseTimeOffsets the offsets used to compact measurement timestamps during serialization
+	 * @param includeTime indicates whether timestamps were included when serializing the measurements
+	 * @param useMillisecondResolution determines whether measurement timestamps were further compacted
+	 *        during serialization by specifying them to be in millisecond resolution
+	 * @param signalIndexFilter the set of unsigned signal indexes to be parsed,
+	 *        or {@code null} to parse every measurement
+	 * @throws IllegalArgumentException if {@code signalIndexCache} is {@code null}
+	 * @see SignalFilter#compile(SignalIndexCache)
+	 */
+	public CompactMeasurementParser(SignalIndexCache signalIndexCache, long[] baseTimeOffsets, boolean includeTime, boolean useMillisecondResolution, BitSet signalIndexFilter)
 	{
 		if(signalIndexCache == null)
 			throw new IllegalArgumentException("signalIndexCache cannot be null");
@@ -73,6 +95,7 @@ public class CompactMeasurementParser implements GatewayMeasurementParser
 		m_baseTimeOffsets = baseTimeOffsets;
 		m_includeTime = includeTime;
 		m_useMillisecondResolution = useMillisecondResolution;
+		m_signalIndexFilter = signalIndexFilter;
 	}
 
 	/**
@@ -90,9 +113,17 @@ public class CompactMeasurementParser implements GatewayMeasurementParser
 	@Override
 	public Collection<Measurement> parseMeasurements(ByteBuffer serializedMeasurementBuffer)
 	{
-		Collection<Measurement> measurements = new ArrayList<Measurement>();
-		Measurement parsedMeasurement;
-		
+		MeasurementBatch batch = new MeasurementBatch();
+		parseMeasurements(serializedMeasurementBuffer, batch);
+		return batch.toMeasurements();
+	}
+	
+	/**
+	 * Parses serialized measurements into a reusable measurement batch.
+	 */
+	@Override
+	public int parseMeasurements(ByteBuffer serializedMeasurementBuffer, MeasurementBatch batch)
+	{
 		// Parsed from serialized measurement
 		byte compactFlags;
 		short signalIndex;
@@ -102,9 +133,9 @@ public class CompactMeasurementParser implements GatewayMeasurementParser
 		// Used for base time offsets
 		boolean usingBaseTimeOffset;
 		int timeIndex;
-
-		// Obtained from signal index cache
-		MeasurementKey key;
+		
+		batch.clear();
+		batch.setSignalIndexCache(m_signalIndexCache);
 		
 		while (serializedMeasurementBuffer.hasRemaining())
 		{
@@ -125,6 +156,13 @@ public class CompactMeasurementParser implements GatewayMeasurementParser
 			if (!m_signalIndexCache.contains(signalIndex))
 				break;
 			
+			// Skip over measurements excluded by the filter
+			if (m_signalIndexFilter != null && !m_signalIndexFilter.get(signalIndex & 0xFFFF))
+			{
+				serializedMeasurementBuffer.position(serializedMeasurementBuffer.position() + getMeasurementByteLength(usingBaseTimeOffset) - 3);
+				continue;
+			}
+			
 			// Get measurement value and timestamp
 			measurementValue = serializedMeasurementBuffer.getFloat();
 			
@@ -147,21 +185,28 @@ public class CompactMeasurementParser implements GatewayMeasurementParser
 				}
 			}
 			
-			// Construct the parsed measurement and add it to the collection
-			key = m_signalIndexCache.getMeasurementKey(signalIndex);
-			parsedMeasurement = new Measurement();
-			
-			parsedMeasurement.setFlags(mapToFullFlags(compactFlags));
-			parsedMeasurement.setSignalId(key.getSignalId());
-			parsedMeasurement.setSource(key.getSource());
-			parsedMeasurement.setId(key.getId());
-			parsedMeasurement.setValue(measurementValue);
-			parsedMeasurement.setTimestamp(timestamp);
-			
-			measurements.add(parsedMeasurement);
+			batch.add(signalIndex, measurementValue, timestamp, CompactMeasurementFormat.mapToFullFlags(compactFlags));
 		}
 		
-		return measurements;
+		return batch.size();
+	}
+	
+	/**
+	 * Determines whether this parser was configured with the given settings. Used
+	 * to decide whether an existing parser can be reused for another data packet.
+	 * 
+	 * @param signalIndexCache the cache used to compact measurement IDs during serialization
+	 * @param baseTimeOffsets the offsets used to compact measurement timestamps during serialization
+	 * @param includeTime indicates whether timestamps were included when serializing the measurements
+	 * @param useMillisecondResolution indicates whether timestamps were serialized in millisecond resolution
+	 * @return true if this parser uses exactly the given settings; false otherwise
+	 */
+	boolean isConfiguredWith(SignalIndexCache signalIndexCache, long[] baseTimeOffsets, boolean includeTime, boolean useMillisecondResolution)
+	{
+		return m_signalIndexCache == signalIndexCache
+			&& m_baseTimeOffsets == baseTimeOffsets
+			&& m_includeTime == includeTime
+			&& m_useMillisecondResolution == useMillisecondResolution;
 	}
 	
 	/**
@@ -174,47 +219,9 @@ public class CompactMeasurementParser implements GatewayMeasurementParser
 	 */
 	public int getMeasurementByteLength(boolean usingBaseTimeOffset)
 	{
-		int byteLength = 7;
-		
-		if (m_includeTime)
-		{
-			if (!usingBaseTimeOffset)
-				byteLength += 8;
-			else if(!m_useMillisecondResolution)
-				byteLength += 4;
-			else
-				byteLength += 2;
-		}
-		
-		return byteLength;
+		return CompactMeasurementFormat.getMeasurementByteLength(m_includeTime, m_useMillisecondResolution, usingBaseTimeOffset);
 	}
 	
-	// Maps the 8-bit compact flag format to the 32-bit full flag format.
-	private int mapToFullFlags(byte compactFlags)
-	{
-		int fullFlags = 0;
-		
-		if ((compactFlags & CompactDataRangeFlag) != 0)
-			fullFlags |= DataRangeMask;
-
-		if ((compactFlags & CompactDataQualityFlag) != 0)
-			fullFlags |= DataQualityMask;
-
-		if ((compactFlags & CompactTimeQualityFlag) != 0)
-			fullFlags |= TimeQualityMask;
-
-		if ((compactFlags & CompactSystemIssueFlag) != 0)
-			fullFlags |= SystemIssueMask;
-
-		if ((compactFlags & CompactCalculatedValueFlag) != 0)
-			fullFlags |= CalculatedValueMask;
-
-		if ((compactFlags & CompactDiscardedValueFlag) != 0)
-			fullFlags |= DiscardedValueMask;
-		
-		return fullFlags;
-	}
-
 	/**
 	 * A data range flag was set.
 	 */
@@ -0,0 +1,423 @@
+//******************************************************************************************************
+//  CurrentValueTable.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.gpa.gsf.timeseries.Measurement;
+import org.gpa.gsf.timeseries.MeasurementKey;
+
+/**
+ * Table holding the latest value, timestamp and state flags of every
+ * signal received by a {@link DataSubscriber}, for consumers that only
+ * need the current value of each signal rather than every measurement.
+ * <p>
+ * The table is indexed by signal index. Each signal occupies a fixed slot
+ * in a single primitive array, made up of a sequence number followed by the
+ * signal's ID, value, timestamp, flags and update count. The writer makes the
+ * sequence number odd while it updates a slot and even again once it is done,
+ * so readers can take a consistent snapshot of a signal without locking by
+ * reading the slot between two reads of the sequence number and retrying if
+ * they overlapped an update. Readers never block the writer or each other,
+ * and they only retry when they race with an update of the same signal.
+ * <p>
+ * The table must only be updated by a single thread at a time. A
+ * {@link DataSubscriber} updates its table from the thread that parses
+ * data packets, before the measurements are queued for listeners, so the
+ * table stays current even when listeners fall behind. Any number of
+ * threads may read the table concurrently.
+ * 
+ * @see DataSubscriber#setCurrentValueTable(CurrentValueTable)
+ */
+public class CurrentValueTable
+{
+	private volatile AtomicLongArray m_slots;
+	private volatile SignalIndexCache m_signalIndexCache;
+	
+	/**
+	 * Constructs a new, empty current value table.
+	 */
+	public CurrentValueTable()
+	{
+		m_slots = new AtomicLongArray(0);
+	}
+	
+	/**
+	 * Updates the table with the measurements in the given batch.
+	 * Measurements are applied in order, so the last measurement
+	 * for a signal in the batch becomes its current value.
+	 * <p>
+	 * If the batch was parsed with a different signal index cache than
+	 * the previous batch, signals whose index now refers to a different
+	 * signal are cleared before the batch is applied.
+	 * 
+	 * @param batch the batch of new measurements
+	 */
+	public void update(MeasurementBatch batch)
+	{
+		SignalIndexCache signalIndexCache = batch.getSignalIndexCache();
+		AtomicLongArray slots;
+		short[] signalIndexes;
+		float[] values;
+		long[] timestamps;
+		int[] flags;
+		int slotCount;
+		int base;
+		long sequence;
+		
+		if (signalIndexCache == null)
+			return;
+		
+		if (signalIndexCache != m_signalIndexCache)
+			remap(signalIndexCache);
+		
+		slots = m_slots;
+		slotCount = slots.length() / SlotSize;
+		signalIndexes = batch.getSignalIndexes();
+		values = batch.getValues();
+		timestamps = batch.getTimestamps();
+		flags = batch.getFlags();
+		
+		for (int i = 0; i < batch.size(); i++)
+		{
+			base = signalIndexes[i] & 0xFFFF;
+			
+			if (base >= slotCount)
+				continue;
+			
+			base *= SlotSize;
+			sequence = beginWrite(slots, base);
+			slots.lazySet(base + ValueOffset, (Float.floatToRawIntBits(values[i]) & 0xFFFFFFFFL) | ((long)flags[i] << 32));
+			slots.lazySet(base + TimestampOffset, timestamps[i]);
+			slots.lazySet(base + UpdateCountOffset, slots.get(base + UpdateCountOffset) + 1L);
+			endWrite(slots, base, sequence);
+		}
+	}
+	
+	/**
+	 * Reads a consistent snapshot of the current value of the signal
+	 * identified by the given signal index into the given measurement.
+	 * 
+	 * @param signalIndex the signal index of the signal to be read
+	 * @param measurement the measurement that receives the signal's
+	 *        ID, source, numeric ID, value, timestamp and flags
+	 * @return true if the signal has a value; false if the signal index
+	 *         is not in the signal index cache or no measurement has been
+	 *         received for it yet
+	 * @throws IllegalArgumentException if {@code measurement} is {@code null}
+	 */
+	public boolean read(short signalIndex, Measurement measurement)
+	{
+		SignalIndexCache signalIndexCache = m_signalIndexCache;
+		
+		if (measurement == null)
+			throw new IllegalArgumentException("measurement cannot be null");
+		
+		if (signalIndexCache == null)
+			return false;
+		
+		return read(signalIndex, signalIndexCache.getMeasurementKey(signalIndex), measurement);
+	}
+	
+	/**
+	 * Reads a consistent snapshot of the current value of the signal
+	 * identified by the given measurement key into the given measurement.
+	 * 
+	 * @param key the measurement key of the signal to be read
+	 * @param measurement the measurement that receives the signal's
+	 *        ID, source, numeric ID, value, timestamp and flags
+	 * @return true if the signal has a value; false if the signal is
+	 *         not in the signal index cache or no measurement has been
+	 *         received for it yet
+	 * @throws IllegalArgumentException if {@code key} or {@code measurement} is {@code null}
+	 */
+	public boolean read(MeasurementKey key, Measurement measurement)
+	{
+		SignalIndexCache signalIndexCache = m_signalIndexCache;
+		int signalIndex;
+		
+		if (key == null)
+			throw new IllegalArgumentException("key cannot be null");
+		
+		if (measurement == null)
+			throw new IllegalArgumentException("measurement cannot be null");
+		
+		if (signalIndexCache == null)
+			return false;
+		
+		signalIndex = signalIndexCache.getSignalIndex(key.getSignalId());
+		
+		if (signalIndex == -1)
+			return false;
+		
+		return read((short)signalIndex, key, measurement);
+	}
+	
+	/**
+	 * Copies a consistent snapshot of the current value of every signal
+	 * that has a value into the given batch, in signal index order. The
+	 * batch is cleared first and is given the signal index cache the
+	 * values belong to, so that the signals can be resolved with
+	 * {@link MeasurementBatch#getMeasurementKey(int)}. Each signal is
+	 * individually consistent, but signals updated while the export is
+	 * in progress may or may not reflect those updates.
+	 * 
+	 * @param batch the batch that receives the current values
+	 * @return the number of signals copied into the batch
+	 * @throws IllegalArgumentException if {@code batch} is {@code null}
+	 */
+	public int export(MeasurementBatch batch)
+	{
+		SignalIndexCache signalIndexCache = m_signalIndexCache;
+		AtomicLongArray slots = m_slots;
+		int slotCount = slots.length() / SlotSize;
+		MeasurementKey key;
+		UUID signalId;
+		int base;
+		long sequence;
+		long value;
+		long timestamp;
+		long updateCount;
+		long signalIdHighBits;
+		long signalIdLowBits;
+		
+		if (batch == null)
+			throw new IllegalArgumentException("batch cannot be null");
+		
+		batch.clear();
+		batch.setSignalIndexCache(signalIndexCache);
+		
+		if (signalIndexCache == null)
+			return 0;
+		
+		for (int i = 0; i < slotCount; i++)
+		{
+			key = signalIndexCache.getMeasurementKey((short)i);
+			
+			if (key == null)
+				continue;
+			
+			signalId = key.getSignalId();
+			base = i * SlotSize;
+			
+			do
+			{
+				sequence = beginRead(slots, base);
+				signalIdHighBits = slots.get(base + SignalIdHighBitsOffset);
+				signalIdLowBits = slots.get(base + SignalIdLowBitsOffset);
+				value = slots.get(base + ValueOffset);
+				timestamp = slots.get(base + TimestampOffset);
+				updateCount = slots.get(base + UpdateCountOffset);
+			}
+			while (slots.get(base) != sequence);
+			
+			// Skip signals that have no value yet or whose slot was remapped
+			// to a different signal after the cache was captured
+			if (updateCount == 0L || signalIdHighBits != signalId.getMostSignificantBits() || signalIdLowBits != signalId.getLeastSignificantBits())
+				continue;
+			
+			batch.add((short)i, Float.intBitsToFloat((int)value), timestamp, (int)(value >>> 32));
+		}
+		
+		return batch.size();
+	}
+	
+	/**
+	 * Gets the number of times the signal identified by the given
+	 * signal index has been updated since it was added to the table.
+	 * 
+	 * @param signalIndex the signal index of the signal
+	 * @return the number of updates, or zero if the signal has no value
+	 */
+	public long getUpdateCount(short signalIndex)
+	{
+		AtomicLongArray slots = m_slots;
+		int index = signalIndex & 0xFFFF;
+		
+		if (index >= slots.length() / SlotSize)
+			return 0L;
+		
+		return slots.get(index * SlotSize + UpdateCountOffset);
+	}
+	
+	/**
+	 * Gets the signal index cache that maps the signal
+	 * indexes of the table to measurement keys.
+	 * 
+	 * @return the signal index cache, or {@code null} if
+	 *         the table has not received any measurements
+	 */
+	public SignalIndexCache getSignalIndexCache()
+	{
+		return m_signalIndexCache;
+	}
+	
+	// Reads a consistent snapshot of the given signal into the given measurement,
+	// verifying that the slot still belongs to the signal with the given key.
+	private boolean read(short signalIndex, MeasurementKey key, Measurement measurement)
+	{
+		AtomicLongArray slots = m_slots;
+		int index = signalIndex & 0xFFFF;
+		UUID signalId;
+		int base;
+		long sequence;
+		long value;
+		long timestamp;
+		long updateCount;
+		long signalIdHighBits;
+		long signalIdLowBits;
+		
+		if (key == null || index >= slots.length() / SlotSize)
+			return false;
+		
+		signalId = key.getSignalId();
+		base = index * SlotSize;
+		
+		do
+		{
+			sequence = beginRead(slots, base);
+			signalIdHighBits = slots.get(base + SignalIdHighBitsOffset);
+			signalIdLowBits = slots.get(base + SignalIdLowBitsOffset);
+			value = slots.get(base + ValueOffset);
+			timestamp = slots.get(base + TimestampOffset);
+			updateCount = slots.get(base + UpdateCountOffset);
+		}
+		while (slots.get(base) != sequence);
+		
+		if (updateCount == 0L || signalIdHighBits != signalId.getMostSignificantBits() || signalIdLowBits != signalId.getLeastSignificantBits())
+			return false;
+		
+		measurement.setSignalId(signalId);
+		measurement.setSource(key.getSource());
+		measurement.setId(key.getId());
+		measurement.setValue(Float.intBitsToFloat((int)value));
+		measurement.setTimestamp(timestamp);
+		measurement.setFlags((int)(value >>> 32));
+		
+		return true;
+	}
+	
+	// Adopts a new signal index cache. The slot array is grown if the
+	// cache contains higher signal indexes than the table can hold, and
+	// slots whose signal index now refers to a different signal, or to
+	// no signal at all, are reassigned and cleared.
+	private void remap(SignalIndexCache signalIndexCache)
+	{
+		AtomicLongArray slots = m_slots;
+		int slotCount = slots.length() / SlotSize;
+		int maxSignalIndex = -1;
+		AtomicLongArray grownSlots;
+		MeasurementKey key;
+		long signalIdHighBits;
+		long signalIdLowBits;
+		int base;
+		long sequence;
+		
+		for (int i = 0; i < MaxSignalCount; i++)
+		{
+			if (signalIndexCache.contains((short)i))
+				maxSignalIndex = i;
+		}
+		
+		if (maxSignalIndex >= slotCount)
+		{
+			// This is the only thread that writes to the slots,
+			// so the old array can be copied without tearing
+			grownSlots = new AtomicLongArray((maxSignalIndex + 1) * SlotSize);
+			
+			for (int i = 0; i < slots.length(); i++)
+				grownSlots.lazySet(i, slots.get(i));
+			
+			slots = grownSlots;
+			slotCount = maxSignalIndex + 1;
+		}
+		
+		for (int i = 0; i < slotCount; i++)
+		{
+			key = signalIndexCache.getMeasurementKey((short)i);
+			signalIdHighBits = (key != null) ? key.getSignalId().getMostSignificantBits() : 0L;
+			signalIdLowBits = (key != null) ? key.getSignalId().getLeastSignificantBits() : 0L;
+			base = i * SlotSize;
+			
+			if (slots.get(base + SignalIdHighBitsOffset) == signalIdHighBits && slots.get(base + SignalIdLowBitsOffset) == signalIdLowBits)
+				continue;
+			
+			sequence = beginWrite(slots, base);
+			slots.lazySet(base + SignalIdHighBitsOffset, signalIdHighBits);
+			slots.lazySet(base + SignalIdLowBitsOffset, signalIdLowBits);
+			slots.lazySet(base + ValueOffset, 0L);
+			slots.lazySet(base + TimestampOffset, 0L);
+			slots.lazySet(base + UpdateCountOffset, 0L);
+			endWrite(slots, base, sequence);
+		}
+		
+		m_slots = slots;
+		m_signalIndexCache = signalIndexCache;
+	}
+	
+	// Marks the slot at the given base offset as being written by making its
+	// sequence number odd. The volatile store keeps the data stores that follow
+	// from becoming visible before the sequence number.
+	private static long beginWrite(AtomicLongArray slots, int base)
+	{
+		long sequence = slots.get(base) + 1L;
+		slots.set(base, sequence);
+		return sequence;
+	}
+	
+	// Marks the slot at the given base offset as consistent again. The
+	// ordered store keeps it from becoming visible before the data stores.
+	private static void endWrite(AtomicLongArray slots, int base, long sequence)
+	{
+		slots.lazySet(base, sequence + 1L);
+	}
+	
+	// Waits until the slot at the given base offset is not being
+	// written and returns the sequence number at that time.
+	private static long beginRead(AtomicLongArray slots, int base)
+	{
+		long sequence;
+		
+		while (((sequence = slots.get(base)) & 1L) != 0L)
+			Thread.yield();
+		
+		return sequence;
+	}
+	
+	// Layout of the slot that holds the current value of a signal. The
+	// sequence number is the first element. The value is stored in the low
+	// 32 bits and the flags in the high 32 bits of the same element. Slots
+	// are padded to eight elements, 64 bytes, to limit false sharing
+	// between readers of one signal and the writer of its neighbours.
+	private static final int SignalIdHighBitsOffset = 1;
+	private static final int SignalIdLowBitsOffset = 2;
+	private static final int ValueOffset = 3;
+	private static final int TimestampOffset = 4;
+	private static final int UpdateCountOffset = 5;
+	private static final int SlotSize = 8;
+	
+	// Number of distinct 16-bit signal indexes.
+	private static final int MaxSignalCount = 65536;
+}
@@ -0,0 +1,968 @@
+//******************************************************************************************************
+//  DataPublisher.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.gpa.gsf.timeseries.MeasurementKey;
+import org.gpa.gsf.timeseries.transport.constant.DataPacketFlags;
+import org.gpa.gsf.timeseries.transport.constant.ServerCommand;
+import org.gpa.gsf.timeseries.transport.constant.ServerResponse;
+
+/**
+ * Publishes measurements to any number of {@link DataSubscriber}s using the
+ * Gateway Exchange Protocol. Every subscriber is served by a single event
+ * loop thread which accepts connections, processes the
+ * {@code DefineOperationalModes}, {@code MetadataRefresh}, {@code Subscribe}
+ * and {@code Unsubscribe} commands, and writes queued responses and data
+ * packets with non-blocking I/O.
+ * <p>
+ * Signals are registered through {@link #addSignal(UUID, String, int)}
+ * before the publisher is started, and each one is identified in published
+ * batches by the signal index returned at registration. Every subscriber
+ * receives the same signal index cache, containing all registered signals,
+ * so filter expressions in the subscriber's connection string are ignored.
+ * <p>
+ * Measurements passed to {@link #publish(MeasurementBatch)} are serialized
+ * once in the compact format for each combination of time settings in use by
+ * the current subscribers, directly into pooled buffers, and the resulting
+ * packets are shared by all subscribers that requested those settings. Base
+ * times are shared by those subscribers as well, and are rotated before
+ * offsets from them overflow the compact timestamp field. Packets are sent
+ * over the command channel, or over the subscriber's UDP data channel if
+ * one was requested.
+ * <p>
+ * A subscriber that falls so far behind that its queue of unsent packets is
+ * full is disconnected, so that a slow subscriber cannot hold an unbounded
+ * number of buffers or delay the other subscribers. Packets waiting for the
+ * event loop are held in a bounded queue, and a publishing thread that gets
+ * that far ahead of the event loop waits for room in the queue.
+ */
+public class DataPublisher
+{
+	private SignalIndexCache m_signalIndexCache;
+	private Map<UUID, Short> m_signalIndexes;
+	private volatile String m_metadata;
+	private BufferPool m_bufferPool;
+	
+	// Event loop
+	private Selector m_selector;
+	private volatile ServerSocketChannel m_serverChannel;
+	private DatagramChannel m_dataChannel;
+	private Thread m_eventLoopThread;
+	private volatile boolean m_running;
+	private List<DataPublisherConnection> m_connections;
+	private BlockingQueue<Packet> m_pendingPackets;
+	private BlockingQueue<Packet> m_packetPool;
+	private volatile int m_subscriberCount;
+	
+	// Encoding state for each combination of time settings
+	private Object m_publishLock;
+	private Object m_baseTimesLock;
+	private CompactMeasurementEncoder[] m_encoders;
+	private AtomicIntegerArray m_subscriptionCounts;
+	
+	// Statistics counters
+	private AtomicLong m_totalMeasurementsPublished;
+	private AtomicLong m_totalBytesSent;
+	
+	/**
+	 * Constructs a new data publisher with no signals.
+	 */
+	public DataPublisher()
+	{
+		m_signalIndexCache = new SignalIndexCache();
+		m_signalIndexes = new HashMap<UUID, Short>();
+		m_bufferPool = new BufferPool(true);
+		m_connections = new ArrayList<DataPublisherConnection>();
+		m_pendingPackets = new ArrayBlockingQueue<Packet>(MaxPendingPackets);
+		m_packetPool = new ArrayBlockingQueue<Packet>(PacketPoolCapacity);
+		
+		m_publishLock = new Object();
+		m_baseTimesLock = new Object();
+		m_encoders = new CompactMeasurementEncoder[EncodingCount];
+		m_encoders[NoTimeEncoding] = new CompactMeasurementEncoder(false, false);
+		m_encoders[TickEncoding] = new CompactMeasurementEncoder(true, false);
+		m_encoders[MillisecondEncoding] = new CompactMeasurementEncoder(true, true);
+		m_subscriptionCounts = new AtomicIntegerArray(EncodingCount);
+		
+		m_totalMeasurementsPublished = new AtomicLong();
+		m_totalBytesSent = new AtomicLong();
+	}
+	
+	/**
+	 * Registers a signal to be published, and assigns it the next signal index.
+	 * 
+	 * @param signalId the globally unique identifier of the signal
+	 * @param source the source of the signal's measurement key
+	 * @param id the numeric identifier of the signal's measurement key
+	 * @return the signal index used to identify the signal in published batches
+	 * @throws IllegalArgumentException if {@code signalId} or {@code source} is {@code null},
+	 *         or the signal has already been registered
+	 * @throws IllegalStateException if the publisher is running, or 65535 signals have already been registered
+	 */
+	public synchronized short addSignal(UUID signalId, String source, int id)
+	{
+		short signalIndex;
+		
+		if (signalId == null)
+			throw new IllegalArgumentException("signalId cannot be null");
+		
+		if (source == null)
+			throw new IllegalArgumentException("source cannot be null");
+		
+		if (m_signalIndexes.containsKey(signalId))
+			throw new IllegalArgumentException("Signal " + signalId + " has already been added");
+		
+		if (m_running)
+			throw new IllegalStateException("Cannot change signals while running; stop first");
+		
+		if (m_signalIndexes.size() >= MaxSignalCount)
+			throw new IllegalStateException("Cannot add more than " + MaxSignalCount + " signals");
+		
+		signalIndex = (short)m_signalIndexes.size();
+		m_signalIndexCache.addMeasurementKey(signalIndex, signalId, source, id);
+		m_signalIndexes.put(signalId, signalIndex);
+		
+		return signalIndex;
+	}
+	
+	/**
+	 * Gets the signal index assigned to the given signal.
+	 * 
+	 * @param signalId the signal ID of a registered signal
+	 * @return the signal index, or -1 if the signal has not been registered
+	 */
+	public synchronized int getSignalIndex(UUID signalId)
+	{
+		Short signalIndex = m_signalIndexes.get(signalId);
+		return (signalIndex != null) ? (signalIndex & 0xFFFF) : -1;
+	}
+	
+	/**
+	 * Gets the measurement key of the signal with the given signal index.
+	 * 
+	 * @param signalIndex the signal index assigned to the signal
+	 * @return the signal's measurement key, or {@code null} if no signal has the given index
+	 */
+	public synchronized MeasurementKey getMeasurementKey(short signalIndex)
+	{
+		return m_signalIndexCache.getMeasurementKey(signalIndex);
+	}
+	
+	/**
+	 * Gets the number of signals registered with the publisher.
+	 * 
+	 * @return the number of signals
+	 */
+	public synchronized int getSignalCount()
+	{
+		return m_signalIndexes.size();
+	}
+	
+	/**
+	 * Gets the metadata sent to subscribers that request it.
+	 * 
+	 * @return the metadata XML, or {@code null} if no metadata is available
+	 */
+	public String getMetadata()
+	{
+		return m_metadata;
+	}
+	
+	/**
+	 * Sets the metadata sent to subscribers that request it. The metadata
+	 * is an XML data set in the form expected by {@link MetadataCatalog}.
+	 * Subscribers that request metadata while none is available receive
+	 * a failure response.
+	 * 
+	 * @param metadata the metadata XML, or {@code null} if no metadata is available
+	 */
+	public void setMetadata(String metadata)
+	{
+		m_metadata = metadata;
+	}
+	
+	/**
+	 * Gets the pool from which buffers for packets and commands are taken.
+	 * 
+	 * @return the publisher's buffer pool
+	 */
+	public BufferPool getBufferPool()
+	{
+		return m_bufferPool;
+	}
+	
+	/**
+	 * Sets the pool from which buffers for packets and commands are taken.
+	 * By default, the publisher uses a pool of its own which hands out
+	 * direct buffers, so that packets are written to sockets without
+	 * being copied.
+	 * 
+	 * @param bufferPool the buffer pool to be used
+	 * @throws IllegalArgumentException if {@code bufferPool} is {@code null}
+	 * @throws IllegalStateException if the publisher is running
+	 */
+	public synchronized void setBufferPool(BufferPool bufferPool)
+	{
+		if (bufferPool == null)
+			throw new IllegalArgumentException("bufferPool cannot be null");
+		
+		if (m_running)
+			throw new IllegalStateException("Cannot change buffer pool while running; stop first");
+		
+		m_bufferPool = bufferPool;
+	}
+	
+	/**
+	 * Starts listening for subscribers on an available port.
+	 * 
+	 * @throws IllegalStateException if the publisher is already running
+	 * @throws IOException if the server socket could not be opened
+	 * @see #getPort()
+	 */
+	public void start() throws IOException
+	{
+		start(0);
+	}
+	
+	/**
+	 * Starts listening for subscribers on the given port.
+	 * 
+	 * @param port the port to listen on, or zero to use any available port
+	 * @throws IllegalStateException if the publisher is already running
+	 * @throws IOException if the server socket could not be opened
+	 * @see #stop()
+	 */
+	public synchronized void start(int port) throws IOException
+	{
+		Packet packet;
+		
+		if (m_running)
+			throw new IllegalStateException("Publisher is already running; stop first");
+		
+		// Discard packets queued by publishing threads
+		// after the previous event loop shut down
+		while ((packet = m_pendingPackets.poll()) != null)
+			releasePacket(packet);
+		
+		try
+		{
+			m_selector = Selector.open();
+			m_serverChannel = ServerSocketChannel.open();
+			m_serverChannel.socket().bind(new InetSocketAddress(port));
+			m_serverChannel.configureBlocking(false);
+			m_serverChannel.register(m_selector, SelectionKey.OP_ACCEPT);
+			m_dataChannel = DatagramChannel.open();
+			m_dataChannel.configureBlocking(false);
+		}
+		catch (IOException ex)
+		{
+			closeChannels();
+			throw ex;
+		}
+		
+		for (int i = 0; i < EncodingCount; i++)
+		{
+			m_encoders[i].setBaseTimeOffsets(new long[2], 0);
+			m_subscriptionCounts.set(i, 0);
+		}
+		
+		m_totalMeasurementsPublished.set(0L);
+		m_totalBytesSent.set(0L);
+		m_running = true;
+		
+		m_eventLoopThread = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				runEventLoop();
+			}
+		}, "DataPublisherEventLoop");
+		
+		m_eventLoopThread.setDaemon(true);
+		m_eventLoopThread.start();
+	}
+	
+	/**
+	 * Stops listening for subscribers and disconnects all subscribers.
+	 * This method does not return until the event loop has shut down.
+	 * 
+	 * @see #start(int)
+	 */
+	public void stop()
+	{
+		Thread eventLoopThread;
+		
+		synchronized (this)
+		{
+			if (!m_running)
+				return;
+			
+			m_running = false;
+			eventLoopThread = m_eventLoopThread;
+			m_eventLoopThread = null;
+			m_selector.wakeup();
+		}
+		
+		try
+		{
+			if (eventLoopThread != Thread.currentThread())
+				eventLoopThread.join();
+		}
+		catch (InterruptedException ex)
+		{
+			// Ignore exception and
+			// continue shutdown procedure
+		}
+	}
+	
+	/**
+	 * Indicates whether the publisher is running.
+	 * 
+	 * @return flag indicating whether the publisher is running
+	 */
+	public boolean isRunning()
+	{
+		return m_running;
+	}
+	
+	/**
+	 * Gets the port on which the publisher is listening for subscribers.
+	 * 
+	 * @return the port, or -1 if the publisher is not running
+	 */
+	public int getPort()
+	{
+		ServerSocketChannel serverChannel = m_serverChannel;
+		return (serverChannel != null) ? serverChannel.socket().getLocalPort() : -1;
+	}
+	
+	/**
+	 * Gets the number of subscribers currently connected.
+	 * 
+	 * @return the number of connected subscribers
+	 */
+	public int getSubscriberCount()
+	{
+		return m_subscriberCount;
+	}
+	
+	/**
+	 * Gets the total number of measurements published
+	 * since the publisher was started.
+	 * 
+	 * @return the total number of measurements published
+	 */
+	public long getTotalMeasurementsPublished()
+	{
+		return m_totalMeasurementsPublished.get();
+	}
+	
+	/**
+	 * Gets the total number of bytes sent to all subscribers, on both
+	 * the command and data channels, since the publisher was started.
+	 * 
+	 * @return the total number of bytes sent
+	 */
+	public long getTotalBytesSent()
+	{
+		return m_totalBytesSent.get();
+	}
+	
+	/**
+	 * Publishes a batch of measurements to all subscribers. The signal
+	 * indexes in the batch must be those returned by
+	 * {@link #addSignal(UUID, String, int)}, and timestamps are in ticks.
+	 * The measurements are serialized before this method returns, so the
+	 * batch may be cleared and reused immediately afterwards. Measurements
+	 * published while no subscriber is subscribed are discarded.
+	 * <p>
+	 * This method may be called from any thread. Batches published
+	 * concurrently are serialized one at a time.
+	 * 
+	 * @param batch the measurements to be published
+	 * @throws IllegalArgumentException if {@code batch} is {@code null}
+	 */
+	public void publish(MeasurementBatch batch)
+	{
+		boolean published = false;
+		
+		if (batch == null)
+			throw new IllegalArgumentException("batch cannot be null");
+		
+		if (!m_running || batch.size() == 0)
+			return;
+		
+		synchronized (m_publishLock)
+		{
+			for (int encoding = 0; encoding < EncodingCount; encoding++)
+			{
+				if (m_subscriptionCounts.get(encoding) > 0)
+				{
+					encodeBatch(encoding, batch);
+					published = true;
+				}
+			}
+		}
+		
+		if (published)
+		{
+			m_totalMeasurementsPublished.addAndGet(batch.size());
+			m_selector.wakeup();
+		}
+	}
+	
+	/**
+	 * Gets the signal index cache sent to subscribers.
+	 */
+	SignalIndexCache getSignalIndexCache()
+	{
+		return m_signalIndexCache;
+	}
+	
+	/**
+	 * Gets the payload of an {@code UpdateBaseTimes} response containing
+	 * the current base times of the given encoding. Called on the event
+	 * loop thread when a subscriber subscribes. The publish lock is not
+	 * taken, since a publishing thread may be waiting for the event loop.
+	 * 
+	 * @return the base times payload, or {@code null} if base times have not been defined yet
+	 */
+	byte[] getBaseTimesPayload(int encoding)
+	{
+		ByteBuffer payload = ByteBuffer.allocate(CompactMeasurementEncoder.BaseTimesPayloadSize);
+		
+		synchronized (m_baseTimesLock)
+		{
+			if (m_encoders[encoding].getBaseTime() == 0L)
+				return null;
+			
+			m_encoders[encoding].writeBaseTimes(payload);
+		}
+		
+		return payload.array();
+	}
+	
+	/**
+	 * Updates the number of subscribers using each encoding when a subscriber
+	 * subscribes, unsubscribes or disconnects. Encodings are identified by the
+	 * values returned by {@link #getEncoding(boolean, boolean)}, or -1 if the
+	 * subscriber is not subscribed.
+	 */
+	void subscriptionChanged(int oldEncoding, int newEncoding)
+	{
+		if (oldEncoding >= 0)
+			m_subscriptionCounts.decrementAndGet(oldEncoding);
+		
+		if (newEncoding >= 0)
+			m_subscriptionCounts.incrementAndGet(newEncoding);
+	}
+	
+	/**
+	 * Removes a connection once its subscriber has disconnected.
+	 * Must be called on the event loop thread.
+	 */
+	void connectionClosed(DataPublisherConnection connection)
+	{
+		m_connections.remove(connection);
+		m_subscriberCount = m_connections.size();
+	}
+	
+	/**
+	 * Acquires a packet with room for a response with the given payload size.
+	 * The packet's position is left at the start of the payload, and it holds
+	 * a single reference which belongs to the caller. Packets are taken from
+	 * a pool, so a new one is only created when every pooled packet is in use.
+	 */
+	Packet acquirePacket(int payloadSize)
+	{
+		ByteBuffer buffer = m_bufferPool.acquire(CompactMeasurementEncoder.ResponseHeaderSize + payloadSize);
+		Packet packet = m_packetPool.poll();
+		
+		if (packet == null)
+			packet = new Packet();
+		
+		buffer.position(CompactMeasurementEncoder.ResponseHeaderSize);
+		packet.reset(buffer);
+		
+		return packet;
+	}
+	
+	/**
+	 * Writes the payload and response headers at the beginning of a packet
+	 * whose payload ends at the packet's current position, and marks the
+	 * packet as complete.
+	 */
+	void finishPacket(Packet packet, byte responseCode, byte commandCode)
+	{
+		ByteBuffer buffer = packet.m_buffer;
+		int length = buffer.position() - CompactMeasurementEncoder.ResponseHeaderSize;
+		
+		CompactMeasurementEncoder.writeResponseHeader(buffer, responseCode, commandCode, length);
+		packet.m_length = buffer.position();
+		packet.m_isDataPacket = (responseCode == ServerResponse.DataPacket);
+	}
+	
+	/**
+	 * Releases one reference to a packet, giving it and its buffer back
+	 * to their pools once no references remain. Must be called on the
+	 * event loop thread, unless the caller holds the only reference.
+	 */
+	void releasePacket(Packet packet)
+	{
+		if (--packet.m_references == 0)
+		{
+			m_bufferPool.release(packet.m_buffer);
+			packet.m_buffer = null;
+			m_packetPool.offer(packet);
+		}
+	}
+	
+	/**
+	 * Sends a data packet to a subscriber's UDP data channel. Datagrams are
+	 * sent on a best-effort basis, so a datagram is dropped if the socket's
+	 * send buffer is full. Must be called on the event loop thread.
+	 */
+	void sendDatagram(Packet packet, SocketAddress address)
+	{
+		ByteBuffer buffer = packet.m_buffer;
+		
+		// Datagrams do not include the payload header
+		buffer.limit(packet.m_length);
+		buffer.position(CompactMeasurementEncoder.PayloadHeaderSize);
+		
+		try
+		{
+			m_totalBytesSent.addAndGet(m_dataChannel.send(buffer, address));
+		}
+		catch (IOException ex)
+		{
+			// The subscriber's data channel is
+			// unreachable; drop the datagram
+		}
+	}
+	
+	/**
+	 * Updates statistics after bytes have been sent to a subscriber.
+	 */
+	void bytesSent(long byteCount)
+	{
+		m_totalBytesSent.addAndGet(byteCount);
+	}
+	
+	// Serializes a batch using the given encoding, splitting it into as many
+	// data packets as necessary, and queues the packets for the event loop.
+	private void encodeBatch(int encoding, MeasurementBatch batch)
+	{
+		CompactMeasurementEncoder encoder = m_encoders[encoding];
+		int size = batch.size();
+		int offset = 0;
+		int count;
+		Packet packet;
+		ByteBuffer buffer;
+		
+		if (encoder.isIncludeTime())
+			updateBaseTimes(encoding, batch);
+		
+		while (offset < size)
+		{
+			packet = acquirePacket(CompactMeasurementEncoder.MaxPacketSize - 6);
+			buffer = packet.m_buffer;
+			buffer.put(DataPacketFlags.Compact);
+			buffer.putInt(0);
+			
+			count = encoder.encode(buffer, batch, offset);
+			buffer.putInt(CompactMeasurementEncoder.ResponseHeaderSize + 1, count);
+			finishPacket(packet, ServerResponse.DataPacket, ServerCommand.Subscribe);
+			
+			packet.m_encoding = encoding;
+			packet.m_firstTimestamp = batch.getTimestamp(offset);
+			queuePacket(packet);
+			offset += count;
+		}
+	}
+	
+	// Rotates the base times of the given encoding if offsets from the current
+	// base time would overflow the compact timestamp field, and queues the new
+	// base times for the subscribers that use the encoding.
+	private void updateBaseTimes(int encoding, MeasurementBatch batch)
+	{
+		CompactMeasurementEncoder encoder = m_encoders[encoding];
+		long[] timestamps = batch.getTimestamps();
+		long earliest = Long.MAX_VALUE;
+		long latest = Long.MIN_VALUE;
+		Packet packet;
+		
+		for (int i = 0; i < batch.size(); i++)
+		{
+			earliest = Math.min(earliest, timestamps[i]);
+			latest = Math.max(latest, timestamps[i]);
+		}
+		
+		synchronized (m_baseTimesLock)
+		{
+			if (!encoder.updateBaseTimes(earliest, latest))
+				return;
+		}
+		
+		packet = acquirePacket(CompactMeasurementEncoder.BaseTimesPayloadSize);
+		encoder.writeBaseTimes(packet.m_buffer);
+		finishPacket(packet, ServerResponse.UpdateBaseTimes, ServerCommand.Subscribe);
+		packet.m_encoding = encoding;
+		queuePacket(packet);
+	}
+	
+	// Queues a packet for the event loop, waiting for room in the queue
+	// unless the publisher is stopped in the meantime. Must be called
+	// while holding the publish lock.
+	private void queuePacket(Packet packet)
+	{
+		boolean interrupted = false;
+		
+		try
+		{
+			while (true)
+			{
+				try
+				{
+					if (m_pendingPackets.offer(packet, PollTimeout, PollTimeoutUnit))
+						return;
+				}
+				catch (InterruptedException ex)
+				{
+					// Finish queuing the packet so that
+					// subscribers do not miss base times
+					interrupted = true;
+				}
+				
+				if (!m_running)
+				{
+					releasePacket(packet);
+					return;
+				}
+				
+				m_selector.wakeup();
+			}
+		}
+		finally
+		{
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
+	
+	// Accepts connections and processes commands and writes
+	// for all subscribers until the publisher is stopped.
+	private void runEventLoop()
+	{
+		Iterator<SelectionKey> keyIterator;
+		SelectionKey key;
+		
+		try
+		{
+			while (m_running)
+			{
+				m_selector.select();
+				keyIterator = m_selector.selectedKeys().iterator();
+				
+				while (keyIterator.hasNext())
+				{
+					key = keyIterator.next();
+					keyIterator.remove();
+					
+					if (!key.isValid())
+						continue;
+					
+					if (key.channel() == m_serverChannel)
+						acceptConnections();
+					else
+						((DataPublisherConnection)key.attachment()).processKey(key);
+				}
+				
+				dispatchPendingPackets();
+				flushConnections();
+			}
+		}
+		catch (IOException ex)
+		{
+			// The selector itself failed, so there is nothing more
+			// that this loop can do; channels are closed below
+		}
+		catch (ClosedSelectorException ex)
+		{
+			// Selector was closed; shut down
+		}
+		finally
+		{
+			// The loop may have failed rather than been stopped, so mark
+			// the publisher stopped before discarding packets; publishing
+			// threads then stop waiting for room in the queue, and the
+			// publisher cannot be started again until its channels are closed
+			synchronized (this)
+			{
+				m_running = false;
+				closeAll();
+			}
+		}
+	}
+	
+	// Accepts all pending connections from subscribers.
+	private void acceptConnections() throws IOException
+	{
+		SocketChannel channel;
+		DataPublisherConnection connection;
+		
+		while ((channel = m_serverChannel.accept()) != null)
+		{
+			try
+			{
+				channel.configureBlocking(false);
+				channel.socket().setTcpNoDelay(true);
+				connection = new DataPublisherConnection(this, channel);
+				connection.setSelectionKey(channel.register(m_selector, SelectionKey.OP_READ, connection));
+				m_connections.add(connection);
+				m_subscriberCount = m_connections.size();
+			}
+			catch (IOException ex)
+			{
+				closeQuietly(channel);
+			}
+		}
+	}
+	
+	// Hands each packet queued by the publishing thread to every
+	// subscriber using the packet's encoding, serializing it only once.
+	private void dispatchPendingPackets()
+	{
+		Packet packet;
+		DataPublisherConnection connection;
+		
+		while ((packet = m_pendingPackets.poll()) != null)
+		{
+			for (int i = m_connections.size() - 1; i >= 0; i--)
+			{
+				connection = m_connections.get(i);
+				
+				if (connection.getEncoding() != packet.m_encoding)
+					continue;
+				
+				try
+				{
+					connection.send(packet);
+				}
+				catch (RuntimeException ex)
+				{
+					// One failed subscriber should not
+					// bring down the event loop
+					connection.close();
+				}
+			}
+			
+			releasePacket(packet);
+		}
+	}
+	
+	// Writes the packets queued for each subscriber.
+	private void flushConnections()
+	{
+		DataPublisherConnection connection;
+		
+		// Connections may close while flushing, so
+		// iterate backwards to tolerate removal
+		for (int i = m_connections.size() - 1; i >= 0; i--)
+		{
+			connection = m_connections.get(i);
+			
+			try
+			{
+				connection.flush();
+			}
+			catch (RuntimeException ex)
+			{
+				// One failed subscriber should not
+				// bring down the event loop
+				connection.close();
+			}
+		}
+	}
+	
+	// Disconnects all subscribers, discards unsent packets and closes
+	// the publisher's channels. Called when the event loop exits.
+	private void closeAll()
+	{
+		Packet packet;
+		
+		for (int i = m_connections.size() - 1; i >= 0; i--)
+			m_connections.get(i).close();
+		
+		while ((packet = m_pendingPackets.poll()) != null)
+			releasePacket(packet);
+		
+		closeChannels();
+	}
+	
+	// Closes the selector, server channel and data channel.
+	private void closeChannels()
+	{
+		closeQuietly(m_serverChannel);
+		closeQuietly(m_dataChannel);
+		
+		try
+		{
+			if (m_selector != null)
+				m_selector.close();
+		}
+		catch (IOException ex)
+		{
+			// Ignore exceptions and
+			// continue shutdown procedure
+		}
+		
+		m_serverChannel = null;
+		m_dataChannel = null;
+	}
+	
+	/**
+	 * Gets the encoding used for subscribers with the given time settings.
+	 */
+	static int getEncoding(boolean includeTime, boolean useMillisecondResolution)
+	{
+		if (!includeTime)
+			return NoTimeEncoding;
+		
+		return useMillisecondResolution ? MillisecondEncoding : TickEncoding;
+	}
+	
+	// Closes the given channel, ignoring exceptions.
+	private static void closeQuietly(Channel channel)
+	{
+		try
+		{
+			if (channel != null)
+				channel.close();
+		}
+		catch (IOException ex)
+		{
+			// Ignore exceptions and
+			// continue shutdown procedure
+		}
+	}
+	
+	/**
+	 * A complete response, including its payload header, in a pooled buffer.
+	 * A data packet is shared by every subscriber it is sent to, so it is
+	 * reference counted, and its buffer's position and limit are only set
+	 * by the event loop thread immediately before the buffer is written.
+	 */
+	static class Packet
+	{
+		private ByteBuffer m_buffer;
+		private int m_length;
+		private boolean m_isDataPacket;
+		private int m_encoding;
+		private long m_firstTimestamp;
+		private int m_references;
+		
+		// Prepares the packet to hold a new response in the given buffer.
+		void reset(ByteBuffer buffer)
+		{
+			m_buffer = buffer;
+			m_length = 0;
+			m_isDataPacket = false;
+			m_encoding = -1;
+			m_firstTimestamp = 0L;
+			m_references = 1;
+		}
+		
+		// Gets the buffer containing the packet.
+		ByteBuffer getBuffer()
+		{
+			return m_buffer;
+		}
+		
+		// Gets the length of the packet, including its payload header.
+		int getLength()
+		{
+			return m_length;
+		}
+		
+		// Indicates whether the packet is a data packet.
+		boolean isDataPacket()
+		{
+			return m_isDataPacket;
+		}
+		
+		// Gets the timestamp of the first measurement in a data packet.
+		long getFirstTimestamp()
+		{
+			return m_firstTimestamp;
+		}
+		
+		// Adds a reference to the packet. Must be called on the event loop thread.
+		void retain()
+		{
+			m_references++;
+		}
+	}
+	
+	// Identifiers of the combinations of time settings requested by subscribers.
+	private static final int NoTimeEncoding = 0;
+	private static final int TickEncoding = 1;
+	private static final int MillisecondEncoding = 2;
+	private static final int EncodingCount = 3;
+	
+	// Largest number of signals that can be identified by a 16-bit signal index.
+	private static final int MaxSignalCount = 65535;
+	
+	// Number of packets that can wait for the event loop before publishing
+	// threads must wait, and number of free packets kept for reuse.
+	private static final int MaxPendingPackets = 4096;
+	private static final int PacketPoolCapacity = 4096;
+	
+	private static final long PollTimeout = 100L;
+	private static final TimeUnit PollTimeoutUnit = TimeUnit.MILLISECONDS;
+}
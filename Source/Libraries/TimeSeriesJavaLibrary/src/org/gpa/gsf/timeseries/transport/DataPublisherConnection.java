@@ -0,0 +1,628 @@
+//******************************************************************************************************
+//  DataPublisherConnection.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import org.gpa.gsf.timeseries.MeasurementKey;
+import org.gpa.gsf.timeseries.transport.constant.CompressionMode;
+import org.gpa.gsf.timeseries.transport.constant.OperationalEncoding;
+import org.gpa.gsf.timeseries.transport.constant.OperationalModes;
+import org.gpa.gsf.timeseries.transport.constant.ServerCommand;
+import org.gpa.gsf.timeseries.transport.constant.ServerResponse;
+
+/**
+ * Connection between a {@link DataPublisher} and one subscriber. All methods
+ * are called on the publisher's event loop thread, which reads commands from
+ * the subscriber and writes the packets queued for it.
+ * <p>
+ * Packets are queued in a fixed-size ring and written with gathering writes,
+ * so that many small packets cost a single system call. Data packets are
+ * shared with the other subscribers; the connection holds a reference to each
+ * queued packet until it has been written completely.
+ */
+class DataPublisherConnection
+{
+	private DataPublisher m_publisher;
+	private BufferPool m_bufferPool;
+	
+	// Command channel
+	private SocketChannel m_channel;
+	private SelectionKey m_selectionKey;
+	private ByteBuffer m_readBuffer;
+	private boolean m_closed;
+	
+	// Outgoing packets
+	private DataPublisher.Packet[] m_queue;
+	private int m_queueHead;
+	private int m_queueSize;
+	private int m_headOffset;
+	private ByteBuffer[] m_writeBuffers;
+	
+	// Settings defined by the subscriber
+	private int m_operationalModes;
+	private Charset m_characterEncoding;
+	private int m_encoding;
+	private InetSocketAddress m_dataChannelAddress;
+	private boolean m_dataStartTimeSent;
+	
+	/**
+	 * Creates a new connection for the subscriber connected to the given channel.
+	 */
+	DataPublisherConnection(DataPublisher publisher, SocketChannel channel)
+	{
+		m_publisher = publisher;
+		m_bufferPool = publisher.getBufferPool();
+		m_channel = channel;
+		m_readBuffer = m_bufferPool.acquire(InitialCommandBufferSize);
+		m_readBuffer.clear();
+		
+		m_queue = new DataPublisher.Packet[MaxQueuedPackets];
+		m_writeBuffers = new ByteBuffer[MaxGatheredPackets];
+		
+		m_characterEncoding = getCharacterEncoding(OperationalEncoding.Unicode);
+		m_encoding = -1;
+	}
+	
+	/**
+	 * Sets the key which registers the command channel with the selector.
+	 */
+	void setSelectionKey(SelectionKey selectionKey)
+	{
+		m_selectionKey = selectionKey;
+	}
+	
+	/**
+	 * Gets the encoding of the data packets sent to this subscriber.
+	 * 
+	 * @return the encoding, or -1 if the subscriber is not subscribed
+	 */
+	int getEncoding()
+	{
+		return m_encoding;
+	}
+	
+	/**
+	 * Handles a key selected by the event loop.
+	 */
+	void processKey(SelectionKey key)
+	{
+		try
+		{
+			if (key.isReadable())
+				readCommandChannel();
+			
+			if (key.isValid() && key.isWritable())
+				flush();
+		}
+		catch (IOException ex)
+		{
+			close();
+		}
+		catch (RuntimeException ex)
+		{
+			// Malformed commands should not bring down the event loop
+			close();
+		}
+	}
+	
+	/**
+	 * Queues a packet to be sent to the subscriber. Data packets are sent
+	 * over the data channel instead if the subscriber requested one. The
+	 * packet is written by the next call to {@link #flush()}.
+	 */
+	void send(DataPublisher.Packet packet)
+	{
+		if (m_closed)
+			return;
+		
+		if (packet.isDataPacket() && !m_dataStartTimeSent)
+		{
+			m_dataStartTimeSent = true;
+			sendResponse(ServerResponse.DataStartTime, ServerCommand.Subscribe, ByteBuffer.allocate(8).putLong(packet.getFirstTimestamp()).array());
+		}
+		
+		if (packet.isDataPacket() && m_dataChannelAddress != null)
+		{
+			m_publisher.sendDatagram(packet, m_dataChannelAddress);
+			return;
+		}
+		
+		if (m_queueSize == m_queue.length)
+		{
+			// The subscriber is not keeping up, so disconnect it rather than
+			// letting it hold on to an ever-growing number of buffers
+			close();
+			return;
+		}
+		
+		packet.retain();
+		m_queue[(m_queueHead + m_queueSize) % m_queue.length] = packet;
+		m_queueSize++;
+	}
+	
+	/**
+	 * Writes queued packets to the command channel until the queue is
+	 * empty or the socket's send buffer is full, in which case the
+	 * connection waits for the channel to become writable.
+	 */
+	void flush()
+	{
+		DataPublisher.Packet packet;
+		ByteBuffer buffer;
+		int count;
+		int completed;
+		
+		try
+		{
+			while (m_queueSize > 0 && !m_closed)
+			{
+				count = Math.min(m_queueSize, m_writeBuffers.length);
+				
+				// Data packet buffers are shared with other connections, so
+				// their positions are set immediately before each write
+				for (int i = 0; i < count; i++)
+				{
+					packet = m_queue[(m_queueHead + i) % m_queue.length];
+					buffer = packet.getBuffer();
+					buffer.limit(packet.getLength());
+					buffer.position((i == 0) ? m_headOffset : 0);
+					m_writeBuffers[i] = buffer;
+				}
+				
+				m_publisher.bytesSent(m_channel.write(m_writeBuffers, 0, count));
+				
+				for (completed = 0; completed < count && !m_writeBuffers[completed].hasRemaining(); completed++)
+					dequeue();
+				
+				if (completed < count)
+				{
+					// Remember how much of the packet has been written,
+					// since other connections reuse the buffer's position
+					m_headOffset = m_writeBuffers[completed].position();
+					setWriteInterest(true);
+					return;
+				}
+			}
+			
+			setWriteInterest(false);
+		}
+		catch (IOException ex)
+		{
+			close();
+		}
+	}
+	
+	/**
+	 * Closes the command channel and gives queued packets and
+	 * the read buffer back to the publisher and buffer pool.
+	 */
+	void close()
+	{
+		if (m_closed)
+			return;
+		
+		m_closed = true;
+		
+		if (m_selectionKey != null)
+			m_selectionKey.cancel();
+		
+		try
+		{
+			m_channel.close();
+		}
+		catch (IOException ex)
+		{
+			// Ignore exceptions and
+			// continue shutdown procedure
+		}
+		
+		while (m_queueSize > 0)
+			dequeue();
+		
+		m_bufferPool.release(m_readBuffer);
+		m_readBuffer = null;
+		
+		m_publisher.subscriptionChanged(m_encoding, -1);
+		m_encoding = -1;
+		m_publisher.connectionClosed(this);
+	}
+	
+	// Reads as much data as is available from the command channel
+	// and processes every complete command that has been received.
+	private void readCommandChannel() throws IOException
+	{
+		ByteBuffer grownBuffer;
+		int packetSize;
+		int start;
+		int end;
+		int limit;
+		
+		if (m_channel.read(m_readBuffer) < 0)
+			throw new EOFException("Subscriber closed the command channel");
+		
+		m_readBuffer.flip();
+		
+		while (m_readBuffer.remaining() >= PayloadHeaderSize && !m_closed)
+		{
+			// Skip the 4-byte sync pattern; the size is little-endian
+			packetSize = Integer.reverseBytes(m_readBuffer.getInt(m_readBuffer.position() + 4));
+			
+			if (packetSize < 1 || packetSize > MaxCommandSize)
+				throw new IOException("Invalid command size received from subscriber: " + packetSize);
+			
+			if (m_readBuffer.remaining() < PayloadHeaderSize + packetSize)
+				break;
+			
+			start = m_readBuffer.position() + PayloadHeaderSize;
+			end = start + packetSize;
+			limit = m_readBuffer.limit();
+			
+			m_readBuffer.limit(end);
+			m_readBuffer.position(start);
+			processCommand(m_readBuffer.get(), m_readBuffer);
+			m_readBuffer.limit(limit);
+			m_readBuffer.position(end);
+		}
+		
+		if (m_closed)
+			return;
+		
+		m_readBuffer.compact();
+		
+		// Increase the buffer size if a command does not fit
+		if (!m_readBuffer.hasRemaining())
+		{
+			grownBuffer = m_bufferPool.acquire(m_readBuffer.capacity() * 2);
+			grownBuffer.clear();
+			m_readBuffer.flip();
+			grownBuffer.put(m_readBuffer);
+			m_bufferPool.release(m_readBuffer);
+			m_readBuffer = grownBuffer;
+		}
+	}
+	
+	// Delegates commands received from the subscriber to the proper handler.
+	private void processCommand(byte commandCode, ByteBuffer buffer) throws IOException
+	{
+		switch (commandCode)
+		{
+		case ServerCommand.DefineOperationalModes:
+			handleDefineOperationalModes(buffer);
+			break;
+			
+		case ServerCommand.MetadataRefresh:
+			handleMetadataRefresh();
+			break;
+			
+		case ServerCommand.Subscribe:
+			handleSubscribe(buffer);
+			break;
+			
+		case ServerCommand.Unsubscribe:
+			handleUnsubscribe();
+			break;
+			
+		default:
+			sendResponse(ServerResponse.Failed, commandCode, encodeString("Command not supported by the publisher"));
+			break;
+		}
+	}
+	
+	// Handles the operational modes defined by the subscriber.
+	private void handleDefineOperationalModes(ByteBuffer buffer)
+	{
+		if (buffer.remaining() < 4)
+			return;
+		
+		m_operationalModes = buffer.getInt();
+		m_characterEncoding = getCharacterEncoding(m_operationalModes & OperationalModes.EncodingMask);
+	}
+	
+	// Sends the publisher's metadata.
+	private void handleMetadataRefresh() throws IOException
+	{
+		String metadata = m_publisher.getMetadata();
+		byte[] data;
+		
+		if (metadata == null)
+		{
+			sendResponse(ServerResponse.Failed, ServerCommand.MetadataRefresh, encodeString("No metadata is available from the publisher"));
+			return;
+		}
+		
+		data = encodeString(metadata);
+		
+		if ((m_operationalModes & OperationalModes.CompressMetadata) != 0 && isGZipRequested())
+			data = compress(data);
+		
+		sendResponse(ServerResponse.Succeeded, ServerCommand.MetadataRefresh, data);
+	}
+	
+	// Starts a new subscription with the settings defined
+	// by the connection string sent by the subscriber.
+	private void handleSubscribe(ByteBuffer buffer) throws IOException
+	{
+		Map<String, String> settings;
+		Map<String, String> dataChannelSettings;
+		String dataChannel;
+		int connectionStringLength;
+		ByteBuffer connectionStringBuffer;
+		String connectionString;
+		boolean includeTime;
+		boolean useMillisecondResolution;
+		int encoding;
+		byte[] baseTimes;
+		
+		// Skip data packet flags
+		buffer.get();
+		connectionStringLength = buffer.getInt();
+		connectionStringBuffer = buffer.slice();
+		connectionStringBuffer.limit(connectionStringLength);
+		connectionString = m_characterEncoding.decode(connectionStringBuffer).toString();
+		settings = parseConnectionString(connectionString);
+		
+		includeTime = !"false".equalsIgnoreCase(settings.get("includetime"));
+		useMillisecondResolution = "true".equalsIgnoreCase(settings.get("usemillisecondresolution"));
+		encoding = DataPublisher.getEncoding(includeTime, useMillisecondResolution);
+		dataChannel = settings.get("datachannel");
+		
+		// Stop sending data for the previous subscription
+		m_publisher.subscriptionChanged(m_encoding, -1);
+		m_encoding = -1;
+		m_dataChannelAddress = null;
+		m_dataStartTimeSent = false;
+		
+		if (dataChannel != null)
+		{
+			dataChannelSettings = parseConnectionString(dataChannel);
+			m_dataChannelAddress = new InetSocketAddress(m_channel.socket().getInetAddress(), Integer.parseInt(dataChannelSettings.get("localport")));
+		}
+		
+		sendResponse(ServerResponse.Succeeded, ServerCommand.Subscribe, encodeString("Client subscribed to " + m_publisher.getSignalCount() + " signals."));
+		sendSignalIndexCache();
+		
+		if (includeTime)
+		{
+			baseTimes = m_publisher.getBaseTimesPayload(encoding);
+			
+			if (baseTimes != null)
+				sendResponse(ServerResponse.UpdateBaseTimes, ServerCommand.Subscribe, baseTimes);
+		}
+		
+		m_encoding = encoding;
+		m_publisher.subscriptionChanged(-1, encoding);
+	}
+	
+	// Stops the current subscription.
+	private void handleUnsubscribe()
+	{
+		m_publisher.subscriptionChanged(m_encoding, -1);
+		m_encoding = -1;
+		m_dataChannelAddress = null;
+		sendResponse(ServerResponse.Succeeded, ServerCommand.Unsubscribe, encodeString("Client unsubscribed."));
+	}
+	
+	// Sends the signal index cache for all signals registered with the publisher.
+	private void sendSignalIndexCache() throws IOException
+	{
+		SignalIndexCache signalIndexCache = m_publisher.getSignalIndexCache();
+		int signalCount = m_publisher.getSignalCount();
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		ByteBuffer entryBuffer = ByteBuffer.allocate(MaxCacheEntrySize);
+		MeasurementKey key;
+		byte[] source;
+		byte[] cache;
+		
+		// Length and subscriber ID are skipped by
+		// the subscriber, so they are left as zero
+		entryBuffer.putInt(0).put(new byte[16]).putInt(signalCount);
+		stream.write(entryBuffer.array(), 0, entryBuffer.position());
+		
+		for (int i = 0; i < signalCount; i++)
+		{
+			key = signalIndexCache.getMeasurementKey((short)i);
+			source = encodeString(key.getSource());
+			
+			if (source.length + 30 > entryBuffer.capacity())
+				entryBuffer = ByteBuffer.allocate(source.length + 30);
+			
+			entryBuffer.clear();
+			entryBuffer.putShort((short)i);
+			entryBuffer.putLong(key.getSignalId().getMostSignificantBits());
+			entryBuffer.putLong(key.getSignalId().getLeastSignificantBits());
+			entryBuffer.putInt(source.length);
+			entryBuffer.put(source);
+			entryBuffer.putInt(key.getId());
+			stream.write(entryBuffer.array(), 0, entryBuffer.position());
+		}
+		
+		cache = stream.toByteArray();
+		
+		if ((m_operationalModes & OperationalModes.CompressSignalIndexCache) != 0 && isGZipRequested())
+			cache = compress(cache);
+		
+		sendResponse(ServerResponse.UpdateSignalIndexCache, ServerCommand.Subscribe, cache);
+	}
+	
+	// Queues a response to be sent to the subscriber over the command channel.
+	private void sendResponse(byte responseCode, byte commandCode, byte[] data)
+	{
+		DataPublisher.Packet packet = m_publisher.acquirePacket(data.length);
+		
+		packet.getBuffer().put(data);
+		m_publisher.finishPacket(packet, responseCode, commandCode);
+		send(packet);
+		m_publisher.releasePacket(packet);
+	}
+	
+	// Removes the packet at the head of the queue and
+	// releases this connection's reference to it.
+	private void dequeue()
+	{
+		DataPublisher.Packet packet = m_queue[m_queueHead];
+		
+		m_queue[m_queueHead] = null;
+		m_queueHead = (m_queueHead + 1) % m_queue.length;
+		m_queueSize--;
+		m_headOffset = 0;
+		m_publisher.releasePacket(packet);
+	}
+	
+	// Adds or removes write interest on the command channel's key.
+	private void setWriteInterest(boolean enabled)
+	{
+		int interestOps;
+		
+		if (m_selectionKey == null || !m_selectionKey.isValid())
+			return;
+		
+		interestOps = m_selectionKey.interestOps();
+		
+		if (enabled)
+			m_selectionKey.interestOps(interestOps | SelectionKey.OP_WRITE);
+		else if ((interestOps & SelectionKey.OP_WRITE) != 0)
+			m_selectionKey.interestOps(interestOps & ~SelectionKey.OP_WRITE);
+	}
+	
+	// Indicates whether the subscriber requested GZIP compression.
+	private boolean isGZipRequested()
+	{
+		return (m_operationalModes & OperationalModes.CompressionModeMask) == CompressionMode.GZIP;
+	}
+	
+	// Encodes a string using the character encoding defined by the subscriber.
+	private byte[] encodeString(String str)
+	{
+		ByteBuffer buffer = m_characterEncoding.encode(str);
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		return bytes;
+	}
+	
+	// Compresses data using GZIP.
+	private static byte[] compress(byte[] data) throws IOException
+	{
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		GZIPOutputStream gzipStream = new GZIPOutputStream(stream);
+		
+		gzipStream.write(data);
+		gzipStream.close();
+		
+		return stream.toByteArray();
+	}
+	
+	// Parses a connection string into a map of lower case keys to values,
+	// removing the braces around values that contain nested settings.
+	private static Map<String, String> parseConnectionString(String connectionString)
+	{
+		Map<String, String> settings = new HashMap<String, String>();
+		int depth = 0;
+		int start = 0;
+		char c;
+		
+		for (int i = 0; i <= connectionString.length(); i++)
+		{
+			c = (i < connectionString.length()) ? connectionString.charAt(i) : ';';
+			
+			if (c == '{')
+				depth++;
+			else if (c == '}')
+				depth--;
+			else if (c == ';' && depth == 0)
+			{
+				addSetting(settings, connectionString.substring(start, i));
+				start = i + 1;
+			}
+		}
+		
+		return settings;
+	}
+	
+	// Adds a single key=value setting to the map.
+	private static void addSetting(Map<String, String> settings, String setting)
+	{
+		int separatorIndex = setting.indexOf('=');
+		String key;
+		String value;
+		
+		if (separatorIndex < 0)
+			return;
+		
+		key = setting.substring(0, separatorIndex).trim().toLowerCase();
+		value = setting.substring(separatorIndex + 1).trim();
+		
+		if (value.startsWith("{") && value.endsWith("}"))
+			value = value.substring(1, value.length() - 1);
+		
+		settings.put(key, value);
+	}
+	
+	// Gets the character set identified by the given operational encoding.
+	private static Charset getCharacterEncoding(int operationalEncoding)
+	{
+		switch (operationalEncoding)
+		{
+		case OperationalEncoding.BigEndianUnicode:
+			return Charset.forName("UTF-16BE");
+			
+		case OperationalEncoding.UTF8:
+			return Charset.forName("UTF-8");
+			
+		case OperationalEncoding.OperatingSystemDefault:
+			return Charset.defaultCharset();
+			
+		default:
+			return Charset.forName("UTF-16LE");
+		}
+	}
+	
+	// Size of the header that precedes each payload on the command channel.
+	private static final int PayloadHeaderSize = 8;
+	
+	// Largest command accepted from a subscriber.
+	private static final int MaxCommandSize = 1048576;
+	
+	private static final int InitialCommandBufferSize = 1024;
+	
+	// Size of a signal index cache entry with a short source.
+	private static final int MaxCacheEntrySize = 1024;
+	
+	// Number of packets that can be queued before
+	// the subscriber is considered too slow
+	private static final int MaxQueuedPackets = 1024;
+	
+	// Largest number of packets written by a single gathering write.
+	private static final int MaxGatheredPackets = 64;
+}
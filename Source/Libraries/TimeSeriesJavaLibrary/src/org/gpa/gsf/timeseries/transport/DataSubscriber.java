@@ -24,9 +24,11 @@
 package org.gpa.gsf.timeseries.transport;
 
 import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetAddress;
@@ -36,30 +38,43 @@ import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.Charset;
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
-import java.util.zip.GZIPInputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 
 import org.gpa.gsf.timeseries.Measurement;
 import org.gpa.gsf.timeseries.transport.constant.CompressionMode;
 import org.gpa.gsf.timeseries.transport.constant.DataPacketFlags;
 import org.gpa.gsf.timeseries.transport.constant.OperationalEncoding;
 import org.gpa.gsf.timeseries.transport.constant.OperationalModes;
+import org.gpa.gsf.timeseries.transport.constant.OverloadPolicy;
 import org.gpa.gsf.timeseries.transport.constant.ServerCommand;
 import org.gpa.gsf.timeseries.transport.constant.ServerResponse;
+import org.gpa.gsf.timeseries.transport.event.MeasurementBatchEvent;
+import org.gpa.gsf.timeseries.transport.event.MeasurementBatchListener;
+import org.gpa.gsf.timeseries.transport.event.MeasurementCursorListener;
 import org.gpa.gsf.timeseries.transport.event.MeasurementEvent;
 import org.gpa.gsf.timeseries.transport.event.MessageEvent;
 import org.gpa.gsf.timeseries.transport.event.MetadataEvent;
+import org.gpa.gsf.timeseries.transport.event.MetadataStreamListener;
 import org.gpa.gsf.timeseries.transport.event.StartTimeEvent;
 import org.gpa.gsf.timeseries.transport.event.SubscriberListener;
-import org.gpa.gsf.timeseries.util.ArrayExtensions;
 import org.gpa.gsf.timeseries.util.InputStreamExtensions;
 import org.gpa.gsf.timeseries.util.Masks;
 import org.gpa.gsf.timeseries.util.StringExtensions;
+import org.gpa.gsf.timeseries.util.TimeExtensions;
 
 /**
  * Implementation of the Subscriber API that will connect
@@ -67,6 +82,9 @@ import org.gpa.gsf.timeseries.util.StringExtensions;
  */
 public class DataSubscriber
 {
+	// Used to give each subscriber a unique statistics name
+	private static AtomicInteger s_instanceCount = new AtomicInteger();
+	
 	private SubscriptionInfo m_currentSubscription;
 	private InetAddress[] m_allHostAddresses;
 	private InetAddress m_hostAddress;
@@ -76,23 +94,51 @@ public class DataSubscriber
 	private boolean m_disconnecting;
 	
 	// Statistics counters
-	private long m_totalCommandChannelBytesReceived;
-	private long m_totalDataChannelBytesReceived;
-	private long m_totalMeasurementsReceived;
+	private AtomicLong m_totalCommandChannelBytesReceived;
+	private AtomicLong m_totalDataChannelBytesReceived;
+	private AtomicLong m_totalMeasurementsReceived;
+	private AtomicLong m_totalMeasurementsDropped;
+	private AtomicLong m_totalMeasurementsCoalesced;
+	private DataSubscriberStatistics m_statistics;
+	private String m_statisticsName;
+	private ObjectName m_statisticsObjectName;
 	private boolean m_connected;
 	private boolean m_subscribed;
 	
 	// Measurement parsing
-	private SignalIndexCache m_signalIndexCache;
-	private long[] m_baseTimeOffsets;
+	// Replaced, never modified, by the command channel
+	// thread while the data channel thread reads them
+	private volatile SignalIndexCache m_signalIndexCache;
+	private volatile long[] m_baseTimeOffsets;
+	private CompactMeasurementParser m_compactMeasurementParser;
+	private volatile SignalFilter m_signalFilter;
+	
+	// Signal filter compiled against a signal index cache,
+	// used only by the thread that parses data packets
+	private SignalFilter m_compiledSignalFilter;
+	private SignalIndexCache m_compiledSignalFilterCache;
+	private BitSet m_signalIndexFilter;
+	private boolean m_measurementBatchMode;
+	private CurrentValueTable m_currentValueTable;
+	private MeasurementBatch m_currentValueBatch;
+	private volatile boolean m_standby;
+	private CaptureJournal m_captureJournal;
 	
 	// Command thread members
 	private Thread m_commandThread;
-	private BlockingQueue<byte[]> m_commandQueue;
+	private BlockingQueue<ByteBuffer> m_commandQueue;
 	
 	// Callback thread members
 	private Thread m_callbackThread;
-	private BlockingQueue<Runnable> m_callbackQueue;
+	private CallbackRingBuffer m_callbackQueue;
+	private CallbackRingBuffer.EventHandler m_callbackHandler;
+	private int m_overloadPolicy;
+	private MeasurementCoalescer m_measurementCoalescer;
+	private Queue<CallbackEvent> m_deferredCallbacks;
+	
+	// Parallel measurement dispatch
+	private int m_parallelDispatchThreadCount;
+	private ParallelMeasurementDispatcher m_parallelDispatcher;
 	
 	// Command channel
 	private Thread m_commandChannelResponseThread;
@@ -102,17 +148,63 @@ public class DataSubscriber
 	private Thread m_dataChannelResponseThread;
 	private DatagramSocket m_dataChannelSocket;
 	
+	// Non-blocking transport
+	private NioSubscriberEngine m_nioEngine;
+	private NioSubscriberConnection m_nioConnection;
+	private CallbackExecutor m_callbackExecutor;
+	
+	// I/O buffers and decompression
+	private BufferPool m_bufferPool;
+	private GZipDecompressor m_decompressor;
+	
+	// Metadata catalog
+	private MetadataCatalog m_metadataCatalog;
+	private String m_publisherKey;
+	private volatile boolean m_metadataReceived;
+	
+	// Warm start
+	private SubscriptionStateCache m_subscriptionStateCache;
+	private String m_subscriptionStateKey;
+	private volatile SignalIndexCache m_restoredSignalIndexCache;
+	private volatile boolean m_restoredBaseTimes;
+	private Object m_baseTimeLock;
+	
 	// Callbacks
 	private Collection<SubscriberListener> m_subscriberListeners;
+	private MetadataStreamListener m_metadataStreamListener;
+	private volatile MeasurementCursorListener m_measurementCursorListener;
+	private MeasurementCursor m_measurementCursor;
 	
 	/**
 	 * Constructs a new data subscriber.
 	 */
 	public DataSubscriber()
 	{
-		m_commandQueue = new LinkedBlockingQueue<byte[]>();
-		m_callbackQueue = new LinkedBlockingQueue<Runnable>();
-		m_subscriberListeners = new ArrayList<SubscriberListener>();
+		m_commandQueue = new LinkedBlockingQueue<ByteBuffer>();
+		m_callbackQueue = new CallbackRingBuffer(CallbackQueueCapacity, new ParkingWaitStrategy());
+		m_deferredCallbacks = new ConcurrentLinkedQueue<CallbackEvent>();
+		// Listeners may be added or removed, for instance by a
+		// subscriber connector, while callbacks are being delivered
+		m_subscriberListeners = new CopyOnWriteArrayList<SubscriberListener>();
+		m_bufferPool = BufferPool.getSharedPool();
+		m_baseTimeLock = new Object();
+		m_decompressor = new GZipDecompressor(m_bufferPool);
+		m_totalCommandChannelBytesReceived = new AtomicLong();
+		m_totalDataChannelBytesReceived = new AtomicLong();
+		m_totalMeasurementsReceived = new AtomicLong();
+		m_totalMeasurementsDropped = new AtomicLong();
+		m_totalMeasurementsCoalesced = new AtomicLong();
+		m_statistics = new DataSubscriberStatistics(this);
+		m_statisticsName = "DataSubscriber-" + s_instanceCount.incrementAndGet();
+		
+		m_callbackHandler = new CallbackRingBuffer.EventHandler()
+		{
+			@Override
+			public void onEvent(CallbackEvent event)
+			{
+				executeCallback(event);
+			}
+		};
 		
 		setOperationalModes(OperationalModes.UseCommonSerializationFormat | OperationalEncoding.Unicode | OperationalModes.CompressMetadata);
 	}
@@ -145,6 +237,582 @@ public class DataSubscriber
 			m_subscriberListeners.remove(subscriberListener);
 	}
 
+	/**
+	 * Gets the engine used to drive this subscriber's
+	 * command and data channels with non-blocking I/O.
+	 * 
+	 * @return the NIO engine, or {@code null} if the subscriber uses blocking I/O
+	 * @see #setNioEngine(NioSubscriberEngine)
+	 */
+	public NioSubscriberEngine getNioEngine()
+	{
+		return m_nioEngine;
+	}
+	
+	/**
+	 * Sets the engine used to drive this subscriber's command and data
+	 * channels with non-blocking I/O. By default, each subscriber uses
+	 * its own threads to send commands and to receive data from the
+	 * command and data channels. When an engine is set, those threads
+	 * are not created; instead, the engine's selector threads handle
+	 * the channels of every subscriber that shares the engine. Only
+	 * the callback thread remains, so listeners are unaffected.
+	 * <p>
+	 * Selector threads are shared by many subscribers and never wait for
+	 * room in the callback queue, so a subscriber with an engine cannot use
+	 * the {@link OverloadPolicy#Block} policy, which is the default. Choose
+	 * another policy with {@link #setOverloadPolicy(int)} before connecting.
+	 * 
+	 * @param nioEngine the engine to be used, or {@code null} to use blocking I/O
+	 * @throws IllegalStateException if the subscriber is connected
+	 */
+	public void setNioEngine(NioSubscriberEngine nioEngine)
+	{
+		if (m_connected)
+			throw new IllegalStateException("Cannot change I/O engine while connected; disconnect first");
+		
+		m_nioEngine = nioEngine;
+	}
+	
+	/**
+	 * Gets the executor that runs this subscriber's callbacks.
+	 * 
+	 * @return the callback executor, or {@code null} if the
+	 *         subscriber uses its own callback thread
+	 * @see #setCallbackExecutor(CallbackExecutor)
+	 */
+	public CallbackExecutor getCallbackExecutor()
+	{
+		return m_callbackExecutor;
+	}
+	
+	/**
+	 * Sets the executor that runs this subscriber's callbacks. By default,
+	 * each subscriber starts its own callback thread. When an executor is
+	 * set, that thread is not created; instead, the executor's thread
+	 * delivers the callbacks of every subscriber that shares the executor,
+	 * so listeners shared by those subscribers are never called concurrently
+	 * unless parallel dispatch is enabled.
+	 * 
+	 * @param callbackExecutor the executor to be used, or {@code null} to use a callback thread
+	 * @throws IllegalStateException if the subscriber is connected
+	 */
+	public void setCallbackExecutor(CallbackExecutor callbackExecutor)
+	{
+		if (m_connected)
+			throw new IllegalStateException("Cannot change callback executor while connected; disconnect first");
+		
+		m_callbackExecutor = callbackExecutor;
+	}
+	
+	/**
+	 * Gets the pool from which the subscriber takes
+	 * the buffers used to send and receive payloads.
+	 * 
+	 * @return the buffer pool
+	 * @see #setBufferPool(BufferPool)
+	 */
+	public BufferPool getBufferPool()
+	{
+		return m_bufferPool;
+	}
+	
+	/**
+	 * Sets the pool from which the subscriber takes the buffers used to
+	 * read payloads from the command and data channels, to send commands
+	 * and to decompress payloads. Buffers are given back to the pool once
+	 * they have been used, so a subscriber does not allocate I/O buffers
+	 * once the pool holds buffers of the sizes it needs. By default, the
+	 * subscriber uses the pool returned by {@link BufferPool#getSharedPool()}.
+	 * 
+	 * @param bufferPool the buffer pool to be used
+	 * @throws IllegalArgumentException if {@code bufferPool} is {@code null}
+	 * @throws IllegalStateException if the subscriber is connected
+	 */
+	public void setBufferPool(BufferPool bufferPool)
+	{
+		if (bufferPool == null)
+			throw new IllegalArgumentException("bufferPool cannot be null");
+		
+		if (m_connected)
+			throw new IllegalStateException("Cannot change buffer pool while connected; disconnect first");
+		
+		m_decompressor.close();
+		m_decompressor = new GZipDecompressor(bufferPool);
+		m_bufferPool = bufferPool;
+	}
+	
+	/**
+	 * Gets the listener that consumes metadata as a stream.
+	 * 
+	 * @return the metadata stream listener, or {@code null} if none is set
+	 * @see #setMetadataStreamListener(MetadataStreamListener)
+	 */
+	public MetadataStreamListener getMetadataStreamListener()
+	{
+		return m_metadataStreamListener;
+	}
+	
+	/**
+	 * Sets the listener that consumes metadata as a stream. When a metadata
+	 * stream listener is set, metadata received from the publisher is
+	 * decompressed on demand while the listener reads it, and the whole
+	 * payload is never decoded into a string. In that case,
+	 * {@link SubscriberListener#metadataReceived(MetadataEvent)} is not
+	 * raised. The listener is called on the thread that receives data from
+	 * the command channel, so it should consume the metadata promptly.
+	 * 
+	 * @param metadataStreamListener the new metadata stream listener,
+	 *        or {@code null} to deliver metadata to subscriber listeners
+	 */
+	public void setMetadataStreamListener(MetadataStreamListener metadataStreamListener)
+	{
+		m_metadataStreamListener = metadataStreamListener;
+	}
+	
+	/**
+	 * Gets the listener that consumes measurements in place.
+	 * 
+	 * @return the measurement cursor listener, or {@code null} if none is set
+	 * @see #setMeasurementCursorListener(MeasurementCursorListener)
+	 */
+	public MeasurementCursorListener getMeasurementCursorListener()
+	{
+		return m_measurementCursorListener;
+	}
+	
+	/**
+	 * Sets the listener that consumes measurements in place. When a
+	 * measurement cursor listener is set, each data packet is handed to the
+	 * listener through a {@link MeasurementCursor} over the buffer it was
+	 * received into, and its measurements are neither copied into a batch
+	 * nor queued for the callback thread. In that case,
+	 * {@link SubscriberListener#newMeasurementsReceived(MeasurementEvent)}
+	 * and {@link MeasurementBatchListener#newMeasurementBatchReceived(MeasurementBatchEvent)}
+	 * are not raised, and the current value table is not updated. The signal
+	 * filter still applies, and no measurements are handed over while the
+	 * subscriber is in standby.
+	 * <p>
+	 * The listener is called on the thread that receives data packets, so
+	 * it gets each measurement with the lowest possible latency, but it
+	 * holds up the reception of further data until it returns. It should be
+	 * reserved for consumers that handle measurements quickly, such as
+	 * threshold checks. The listener may be changed at any time.
+	 * 
+	 * @param measurementCursorListener the new measurement cursor listener,
+	 *        or {@code null} to deliver measurements to subscriber listeners
+	 */
+	public void setMeasurementCursorListener(MeasurementCursorListener measurementCursorListener)
+	{
+		m_measurementCursorListener = measurementCursorListener;
+	}
+	
+	/**
+	 * Gets the catalog into which metadata is loaded.
+	 * 
+	 * @return the metadata catalog, or {@code null} if none is set
+	 * @see #setMetadataCatalog(MetadataCatalog)
+	 */
+	public MetadataCatalog getMetadataCatalog()
+	{
+		return m_metadataCatalog;
+	}
+	
+	/**
+	 * Sets the catalog into which metadata is loaded. When a metadata catalog
+	 * is set, metadata received from the publisher is loaded into the catalog
+	 * instead of being delivered to the metadata stream listener or raised
+	 * through {@link SubscriberListener#metadataReceived(MetadataEvent)}.
+	 * <p>
+	 * If the catalog caches its contents, it is loaded from the cache with the
+	 * metadata last received from the same publisher when the subscriber
+	 * connects, so that it can be used right away. When the publisher sends
+	 * its first signal index cache, the subscriber requests metadata from the
+	 * publisher, unless metadata has already been received on the connection,
+	 * so that changes made on the publisher to the cached metadata are picked
+	 * up; if the metadata has not changed, the catalog is not parsed again.
+	 * Applications that use a catalog therefore do not need to request
+	 * metadata themselves.
+	 * 
+	 * @param metadataCatalog the new metadata catalog, or {@code null} to
+	 *        deliver metadata to listeners
+	 */
+	public void setMetadataCatalog(MetadataCatalog metadataCatalog)
+	{
+		m_metadataCatalog = metadataCatalog;
+	}
+	
+	/**
+	 * Gets the cache in which the signal index cache
+	 * and base times are kept between subscriptions.
+	 * 
+	 * @return the subscription state cache, or {@code null} if state is not kept
+	 * @see #setSubscriptionStateCache(SubscriptionStateCache)
+	 */
+	public SubscriptionStateCache getSubscriptionStateCache()
+	{
+		return m_subscriptionStateCache;
+	}
+	
+	/**
+	 * Sets the cache in which the signal index cache and base times are kept
+	 * between subscriptions. By default, state is not kept, and data packets
+	 * are dropped after subscribing until the publisher sends its signal index
+	 * cache. When a state cache is set, the subscriber saves the signal index
+	 * cache and base times whenever the publisher sends them, and restores
+	 * those saved for the same publisher and subscription when it subscribes,
+	 * so that the first data packet can be parsed.
+	 * <p>
+	 * Restored state is validated as the publisher's own state arrives. Until
+	 * the publisher sends its signal index cache, measurements are identified
+	 * using the restored cache, so if the publisher's signal indexes have
+	 * changed since the cache was saved, data received before validation may
+	 * be misattributed to the wrong signals. If the first signal index cache
+	 * received does not match the restored cache, an
+	 * {@link IllegalStateException} is raised through
+	 * {@link SubscriberListener#exceptionEncountered(MessageEvent)} so that
+	 * listeners can discard or correct that data.
+	 * <p>
+	 * Restored base times are only used if the first timestamp parsed with
+	 * them is close to the local clock; otherwise they are discarded until
+	 * the publisher sends its base times. Base times are not restored for
+	 * subscriptions with a start time.
+	 * 
+	 * @param subscriptionStateCache the cache in which state is kept,
+	 *        or {@code null} to keep no state
+	 * @throws IllegalStateException if the subscriber is connected
+	 */
+	public void setSubscriptionStateCache(SubscriptionStateCache subscriptionStateCache)
+	{
+		if (m_connected)
+			throw new IllegalStateException("Cannot change subscription state cache while connected; disconnect first");
+		
+		m_subscriptionStateCache = subscriptionStateCache;
+	}
+	
+	/**
+	 * Indicates whether the subscriber is in measurement batch mode.
+	 * 
+	 * @return flag indicating whether measurements are only delivered as batches
+	 * @see #setMeasurementBatchMode(boolean)
+	 */
+	public boolean isMeasurementBatchMode()
+	{
+		return m_measurementBatchMode;
+	}
+	
+	/**
+	 * Sets the flag that determines whether the subscriber is in measurement batch mode.
+	 * <p>
+	 * Measurements received from the publisher are always parsed into reusable,
+	 * columnar {@link MeasurementBatch}es and delivered to
+	 * {@link MeasurementBatchListener#newMeasurementBatchReceived(MeasurementBatchEvent)}.
+	 * When batch mode is disabled (the default), a {@link Measurement} object is
+	 * also created for each measurement in the batch and the resulting collection
+	 * is delivered to {@link SubscriberListener#newMeasurementsReceived(MeasurementEvent)}.
+	 * When batch mode is enabled, no per-measurement objects are created and
+	 * {@code newMeasurementsReceived} is never called.
+	 * 
+	 * @param measurementBatchMode the new value for the batch mode flag
+	 * @see #isMeasurementBatchMode()
+	 */
+	public void setMeasurementBatchMode(boolean measurementBatchMode)
+	{
+		m_measurementBatchMode = measurementBatchMode;
+	}
+	
+	/**
+	 * Gets the strategy used by the callback thread
+	 * to wait for callbacks when none are available.
+	 * 
+	 * @return the callback wait strategy
+	 * @see #setCallbackWaitStrategy(WaitStrategy)
+	 */
+	public WaitStrategy getCallbackWaitStrategy()
+	{
+		return m_callbackQueue.getWaitStrategy();
+	}
+	
+	/**
+	 * Sets the strategy used by the callback thread to wait for callbacks
+	 * when none are available. The default, {@link ParkingWaitStrategy},
+	 * uses no CPU while idle. {@link YieldingWaitStrategy} and
+	 * {@link BusySpinWaitStrategy} deliver callbacks with lower latency
+	 * at the cost of keeping the callback thread busy.
+	 * 
+	 * @param waitStrategy the callback wait strategy
+	 * @throws IllegalArgumentException if {@code waitStrategy} is null
+	 * @throws IllegalStateException if the subscriber is connected
+	 */
+	public void setCallbackWaitStrategy(WaitStrategy waitStrategy)
+	{
+		if (m_connected)
+			throw new IllegalStateException("Cannot change callback wait strategy while connected; disconnect first");
+		
+		m_callbackQueue.setWaitStrategy(waitStrategy);
+	}
+	
+	/**
+	 * Gets the number of callbacks that can be queued for
+	 * the callback thread before the overload policy applies.
+	 * 
+	 * @return the capacity of the callback queue
+	 * @see #setCallbackQueueCapacity(int)
+	 */
+	public int getCallbackQueueCapacity()
+	{
+		return m_callbackQueue.getCapacity();
+	}
+	
+	/**
+	 * Sets the number of callbacks that can be queued for the callback
+	 * thread before the overload policy applies. The capacity is rounded
+	 * up to the next power of two. Each queued callback holds the
+	 * measurements of one data packet.
+	 * 
+	 * @param capacity the capacity of the callback queue
+	 * @throws IllegalArgumentException if {@code capacity} is less than one
+	 * @throws IllegalStateException if the subscriber is connected
+	 * @see #setOverloadPolicy(int)
+	 */
+	public void setCallbackQueueCapacity(int capacity)
+	{
+		if (m_connected)
+			throw new IllegalStateException("Cannot change callback queue capacity while connected; disconnect first");
+		
+		m_callbackQueue = new CallbackRingBuffer(capacity, m_callbackQueue.getWaitStrategy());
+	}
+	
+	/**
+	 * Gets the policy which determines what happens to new
+	 * measurements when the callback queue is full.
+	 * 
+	 * @return the overload policy
+	 * @see OverloadPolicy
+	 */
+	public int getOverloadPolicy()
+	{
+		return m_overloadPolicy;
+	}
+	
+	/**
+	 * Sets the policy which determines what happens to new measurements
+	 * when the callback queue is full because listeners are not keeping
+	 * up. By default, the thread receiving data waits for room in the
+	 * queue. Other callbacks, such as status messages and exceptions,
+	 * always wait for room regardless of this policy.
+	 * <p>
+	 * When an NIO engine is used, data is received on selector threads
+	 * shared by many subscribers, which never wait. The
+	 * {@link OverloadPolicy#Block} policy cannot be used with an engine,
+	 * and other callbacks are held back until the queue has room.
+	 * 
+	 * @param overloadPolicy one of the values defined in {@link OverloadPolicy}
+	 * @throws IllegalArgumentException if {@code overloadPolicy} is not valid
+	 * @throws IllegalStateException if the subscriber is connected
+	 * @see #getTotalMeasurementsDropped()
+	 * @see #getTotalMeasurementsCoalesced()
+	 */
+	public void setOverloadPolicy(int overloadPolicy)
+	{
+		if (m_connected)
+			throw new IllegalStateException("Cannot change overload policy while connected; disconnect first");
+		
+		switch (overloadPolicy)
+		{
+		case OverloadPolicy.Block:
+		case OverloadPolicy.DropOldest:
+			m_measurementCoalescer = null;
+			break;
+			
+		case OverloadPolicy.CoalesceLatest:
+			m_measurementCoalescer = new MeasurementCoalescer();
+			break;
+			
+		default:
+			throw new IllegalArgumentException("Unknown overload policy: " + overloadPolicy);
+		}
+		
+		m_overloadPolicy = overloadPolicy;
+	}
+	
+	/**
+	 * Gets the number of threads used to deliver measurements to listeners.
+	 * 
+	 * @return the number of parallel dispatch threads, or zero if
+	 *         measurements are delivered by the callback thread
+	 * @see #setParallelDispatchThreadCount(int)
+	 */
+	public int getParallelDispatchThreadCount()
+	{
+		return m_parallelDispatchThreadCount;
+	}
+	
+	/**
+	 * Sets the number of threads used to deliver measurements to listeners.
+	 * By default, this is zero and the callback thread delivers every
+	 * measurement to every listener in turn.
+	 * <p>
+	 * When set to a positive number, the callback thread splits each batch
+	 * of measurements by signal index and hands each part to one of a pool
+	 * of dispatch threads. Measurements for the same signal are always
+	 * delivered by the same thread in the order they were received, but
+	 * {@link SubscriberListener#newMeasurementsReceived(MeasurementEvent)}
+	 * and {@link MeasurementBatchListener#newMeasurementBatchReceived(MeasurementBatchEvent)}
+	 * are then called concurrently, each time with only part of a data packet,
+	 * so listeners must be thread-safe. Exceptions thrown by listeners on a
+	 * dispatch thread are reported to
+	 * {@link SubscriberListener#exceptionEncountered(MessageEvent)}
+	 * on that same thread. All other callbacks are still executed by the
+	 * callback thread.
+	 * 
+	 * @param threadCount the number of parallel dispatch threads,
+	 *        or zero to deliver measurements on the callback thread
+	 * @throws IllegalArgumentException if {@code threadCount} is negative
+	 * @throws IllegalStateException if the subscriber is connected
+	 */
+	public void setParallelDispatchThreadCount(int threadCount)
+	{
+		if (threadCount < 0)
+			throw new IllegalArgumentException("threadCount cannot be negative");
+		
+		if (m_connected)
+			throw new IllegalStateException("Cannot change parallel dispatch thread count while connected; disconnect first");
+		
+		m_parallelDispatchThreadCount = threadCount;
+	}
+	
+	/**
+	 * Gets the filter that selects which measurements are parsed and
+	 * delivered to listeners, independently of the filter expression
+	 * evaluated by the publisher.
+	 * 
+	 * @return a copy of the signal filter, or {@code null} if every measurement is parsed
+	 * @see #setSignalFilter(SignalFilter)
+	 */
+	public SignalFilter getSignalFilter()
+	{
+		SignalFilter signalFilter = m_signalFilter;
+		return (signalFilter != null) ? new SignalFilter(signalFilter) : null;
+	}
+	
+	/**
+	 * Sets the filter that selects which measurements are parsed and
+	 * delivered to listeners. By default, every measurement sent by the
+	 * publisher is parsed. When a filter is set, it is compiled against the
+	 * signal index cache into a bit set over signal indexes, and measurements
+	 * for signals that do not match are skipped over in the data packet
+	 * without being decoded. The filter is compiled again automatically
+	 * whenever the publisher sends a new signal index cache.
+	 * <p>
+	 * This allows a single wide subscription to feed several consumers which
+	 * are each interested in only some of its signals, without every consumer
+	 * paying to decode every measurement. The filter may be changed at any
+	 * time; it is copied, so later changes to the given filter have no effect
+	 * unless it is set again.
+	 * 
+	 * @param signalFilter the signal filter, or {@code null} to parse every measurement
+	 */
+	public void setSignalFilter(SignalFilter signalFilter)
+	{
+		m_signalFilter = (signalFilter != null) ? new SignalFilter(signalFilter) : null;
+	}
+	
+	/**
+	 * Gets the table that holds the current value of each signal.
+	 * 
+	 * @return the current value table, or {@code null} if none is maintained
+	 * @see #setCurrentValueTable(CurrentValueTable)
+	 */
+	public CurrentValueTable getCurrentValueTable()
+	{
+		return m_currentValueTable;
+	}
+	
+	/**
+	 * Sets the table that holds the current value of each signal. By
+	 * default, no table is maintained. When a table is set, it is updated
+	 * with every data packet on the thread that receives the packet, before
+	 * and regardless of whether the measurements can be queued for
+	 * listeners, so consumers that only need the latest value of each
+	 * signal can read it from the table at any time instead of registering
+	 * a listener. The table stays current even while the callback queue is
+	 * full and measurements are dropped or coalesced. The table keeps its
+	 * values when the subscriber disconnects.
+	 * <p>
+	 * A table must not be shared by more than one subscriber.
+	 * 
+	 * @param currentValueTable the table to be updated, or {@code null} to maintain none
+	 * @throws IllegalStateException if the subscriber is connected
+	 */
+	public void setCurrentValueTable(CurrentValueTable currentValueTable)
+	{
+		if (m_connected)
+			throw new IllegalStateException("Cannot change current value table while connected; disconnect first");
+		
+		m_currentValueTable = currentValueTable;
+		m_currentValueBatch = (currentValueTable != null) ? new MeasurementBatch() : null;
+	}
+	
+	/**
+	 * Indicates whether the subscriber is in standby.
+	 * 
+	 * @return flag indicating whether measurements are withheld from listeners
+	 * @see #setStandby(boolean)
+	 */
+	public boolean isStandby()
+	{
+		return m_standby;
+	}
+	
+	/**
+	 * Sets the flag that determines whether the subscriber is in standby. A
+	 * subscriber in standby keeps receiving and parsing data, so its signal
+	 * index cache, base times, statistics and current value table stay up to
+	 * date, but it does not deliver measurements to its listeners. Other
+	 * events are still delivered. The flag may be changed at any time and
+	 * takes effect with the next batch of measurements to be delivered.
+	 * 
+	 * @param standby the new value for the standby flag
+	 * @see SubscriberConnector#connect(DataSubscriber, DataSubscriber, SubscriptionInfo)
+	 */
+	public void setStandby(boolean standby)
+	{
+		m_standby = standby;
+	}
+	
+	/**
+	 * Gets the journal to which received payloads are captured.
+	 * 
+	 * @return the capture journal, or {@code null} if payloads are not captured
+	 * @see #setCaptureJournal(CaptureJournal)
+	 */
+	public CaptureJournal getCaptureJournal()
+	{
+		return m_captureJournal;
+	}
+	
+	/**
+	 * Sets the journal to which received payloads are captured. By default,
+	 * payloads are not captured. When a journal is set, every payload received
+	 * on the command channel or the data channel is appended to the journal,
+	 * stamped with the time it was received, before it is processed, along with
+	 * the settings needed to parse the payloads again when they are replayed
+	 * by a {@link CaptureReplayer}. Errors writing to the journal are reported
+	 * to {@link SubscriberListener#exceptionEncountered(MessageEvent)} and do not
+	 * interrupt processing.
+	 * 
+	 * @param captureJournal the journal to be appended to, or {@code null} to capture nothing
+	 * @throws IllegalStateException if the subscriber is connected
+	 */
+	public void setCaptureJournal(CaptureJournal captureJournal)
+	{
+		if (m_connected)
+			throw new IllegalStateException("Cannot change capture journal while connected; disconnect first");
+		
+		m_captureJournal = captureJournal;
+	}
+	
 	/**
 	 * Gets the operational modes currently in use by this subscriber.
 	 * 
@@ -213,21 +881,33 @@ public class DataSubscriber
 	 * 
 	 * @param hostname name or address of the machine hosting the publisher
 	 * @param port the port that the publisher is listening on
-	 * @throws IllegalStateException if the subscriber is already connected
+	 * @throws IllegalStateException if the subscriber is already connected, or an NIO
+	 *         engine is set and the overload policy is {@link OverloadPolicy#Block}
 	 * @throws IOException if an I/O error occurs when creating the socket
 	 * @see #disconnect()
 	 */
 	public void connect(String hostname, int port) throws IOException
 	{
-		m_totalCommandChannelBytesReceived = 0L;
-		m_totalDataChannelBytesReceived = 0L;
-		m_totalMeasurementsReceived = 0L;
-		
 		if (m_connected)
 			throw new IllegalStateException("Subscriber is already connected; disconnect first");
 		
-		m_commandChannelSocket = new Socket(hostname, port);
-		m_hostAddress = m_commandChannelSocket.getInetAddress();
+		if (m_nioEngine != null && m_overloadPolicy == OverloadPolicy.Block)
+			throw new IllegalStateException("Block overload policy cannot be used with an NIO engine; choose another overload policy");
+		
+		resetStatistics();
+		m_publisherKey = hostname + ":" + port;
+		m_metadataReceived = false;
+		
+		if (m_nioEngine != null)
+		{
+			m_nioConnection = m_nioEngine.connect(hostname, port, this);
+			m_hostAddress = m_nioConnection.getRemoteAddress();
+		}
+		else
+		{
+			m_commandChannelSocket = new Socket(hostname, port);
+			m_hostAddress = m_commandChannelSocket.getInetAddress();
+		}
 
 		if (m_hostAddress.isAnyLocalAddress())
 			m_hostAddress = InetAddress.getLocalHost();
@@ -241,12 +921,25 @@ public class DataSubscriber
 			m_allHostAddresses = new InetAddress[0];
 		}
 		
-		startCommandThread();
-		startCallbackThread();
-		startCommandChannelResponseThread();
-
-		sendOperationalModes();
+		startParallelDispatcher();
+		
+		if (m_callbackExecutor != null)
+			m_callbackExecutor.register(this);
+		else
+			startCallbackThread();
+		
+		registerStatistics();
+		
+		if (m_nioConnection == null)
+		{
+			startCommandThread();
+			startCommandChannelResponseThread();
+		}
+
+		sendOperationalModes();
 		m_connected = true;
+		
+		loadCachedMetadata();
 	}
 	
 	/**
@@ -263,6 +956,10 @@ public class DataSubscriber
 		// the subscriber is disconnecting
 		m_unsubscribing = true;
 		m_disconnecting = true;
+		
+		// Wake the callback thread and any
+		// threads waiting to queue callbacks
+		m_callbackQueue.halt();
 
 		try
 		{
@@ -279,7 +976,22 @@ public class DataSubscriber
 		
 		if (m_dataChannelSocket != null)
 			m_dataChannelSocket.close();
+		
+		if (m_nioConnection != null)
+			m_nioConnection.close();
+		
+		unregisterStatistics();
 
+		// Stop the dispatch threads first since the callback
+		// thread may be waiting for room in their queues
+		if (m_parallelDispatcher != null)
+			m_parallelDispatcher.shutdown();
+		
+		// Make sure the executor is no longer executing
+		// this subscriber's callbacks before going on
+		if (m_callbackExecutor != null)
+			m_callbackExecutor.unregister(this);
+		
 		// Join with all threads to guarantee their completion
 		// before returning control to the caller
 		joinThread(m_commandThread);
@@ -288,8 +1000,17 @@ public class DataSubscriber
 		joinThread(m_dataChannelResponseThread);
 		
 		// Empty queues so they can be used again later
-		m_commandQueue.clear();
-		m_callbackQueue.clear();
+		releaseQueuedCommands();
+		m_callbackQueue.reset();
+		m_deferredCallbacks.clear();
+		
+		if (m_measurementCoalescer != null)
+		{
+			synchronized (m_measurementCoalescer)
+			{
+				m_measurementCoalescer.clear();
+			}
+		}
 		
 		// Release references to threads and
 		// sockets that we are no longer using
@@ -299,6 +1020,8 @@ public class DataSubscriber
 		m_dataChannelResponseThread = null;
 		m_commandChannelSocket = null;
 		m_dataChannelSocket = null;
+		m_nioConnection = null;
+		m_parallelDispatcher = null;
 		
 		// Disconnect completed
 		m_unsubscribing = false;
@@ -320,6 +1043,7 @@ public class DataSubscriber
 	public void subscribe(SubscriptionInfo info) throws SocketException
 	{
 		StringBuilder connectionStringBuilder = new StringBuilder();
+		String connectionString;
 		byte[] connectionStringBytes;
 		ByteBuffer packetData;
 		int packetDataSize;
@@ -330,7 +1054,10 @@ public class DataSubscriber
 			unsubscribe();
 		
 		m_currentSubscription = new SubscriptionInfo(info);
-		m_totalMeasurementsReceived = 0L;
+		m_totalMeasurementsReceived.set(0L);
+		
+		if (m_captureJournal != null)
+			captureSubscriberState();
 		
 		connectionStringBuilder.append("trackLatestMeasurements").append(info.isThrottled()).append(';');
 		connectionStringBuilder.append("includeTime=").append(info.isTimeIncluded()).append(';');
@@ -346,8 +1073,16 @@ public class DataSubscriber
 		
 		if (info.isUdpDataChannel())
 		{
-			m_dataChannelSocket = new DatagramSocket(info.getDataChannelLocalPort(), m_commandChannelSocket.getLocalAddress());
-			startDataChannelResponseThread();
+			if (m_nioConnection != null)
+			{
+				openNioDataChannel(info.getDataChannelLocalPort());
+			}
+			else
+			{
+				m_dataChannelSocket = new DatagramSocket(info.getDataChannelLocalPort(), m_commandChannelSocket.getLocalAddress());
+				startDataChannelResponseThread();
+			}
+			
 			connectionStringBuilder.append("dataChannel={localport=").append(info.getDataChannelLocalPort()).append("};");
 		}
 		
@@ -369,15 +1104,19 @@ public class DataSubscriber
 		if (!StringExtensions.isNullOrWhitespace(info.getExtraConnectionStringParameters()))
 			connectionStringBuilder.append(info.getExtraConnectionStringParameters()).append(';');
 
-		connectionStringBytes = connectionStringBuilder.toString().getBytes(m_characterEncoding);
+		connectionString = connectionStringBuilder.toString();
+		connectionStringBytes = connectionString.getBytes(m_characterEncoding);
+		restoreSubscriptionState(connectionString, info);
+		
 		packetDataSize = 5 + connectionStringBytes.length;
-		packetData = ByteBuffer.allocate(packetDataSize);
+		packetData = m_bufferPool.acquireHeap(packetDataSize);
 		
 		packetData.put((byte)(DataPacketFlags.Compact | (info.isRemotelySynchronized() ? DataPacketFlags.Synchronized : DataPacketFlags.NoFlags)));
 		packetData.putInt(connectionStringBytes.length);
 		packetData.put(connectionStringBytes);
 		
 		sendServerCommand(ServerCommand.Subscribe, packetData.array(), 0, packetDataSize);
+		m_bufferPool.release(packetData);
 	}
 	
 	/**
@@ -404,6 +1143,9 @@ public class DataSubscriber
 		if (m_dataChannelSocket != null)
 			m_dataChannelSocket.close();
 		
+		if (m_nioConnection != null)
+			m_nioConnection.closeDataChannel();
+		
 		// Join with data channel response thread to ensure
 		// that it finishes before returning from this method
 		joinThread(m_dataChannelResponseThread);
@@ -439,27 +1181,40 @@ public class DataSubscriber
 		
 		int packetSize = 1 + length;
 		int payloadSize = PayloadHeaderSize + packetSize;
-		byte[] command = new byte[payloadSize];
+		NioSubscriberConnection nioConnection = m_nioConnection;
+		ByteBuffer command;
+		
+		// The command thread writes commands to a stream, so it needs
+		// heap buffers; the NIO engine can write any kind of buffer
+		if (nioConnection != null)
+			command = m_bufferPool.acquire(payloadSize);
+		else
+			command = m_bufferPool.acquireHeap(payloadSize);
 		
 		// Insert payload marker
-		command[0] = (byte)0xAA;
-		command[1] = (byte)0xBB;
-		command[2] = (byte)0xCC;
-		command[3] = (byte)0xDD;
+		command.put((byte)0xAA);
+		command.put((byte)0xBB);
+		command.put((byte)0xCC);
+		command.put((byte)0xDD);
 		
 		// Insert packet size
-		command[4] = (byte)packetSize;
-		command[5] = (byte)(packetSize >> 8);
-		command[6] = (byte)(packetSize >> 16);
-		command[7] = (byte)(packetSize >> 24);
+		command.put((byte)packetSize);
+		command.put((byte)(packetSize >> 8));
+		command.put((byte)(packetSize >> 16));
+		command.put((byte)(packetSize >> 24));
 		
 		// Insert command code
-		command[8] = commandCode;
+		command.put(commandCode);
 		
 		if (data != null)
-			ArrayExtensions.blockCopy(data, offset, command, PayloadHeaderSize + 1, length);
-
-		m_commandQueue.add(command);
+			command.put(data, offset, length);
+		
+		command.flip();
+		
+		if (nioConnection != null)
+			nioConnection.send(command);
+		else
+			m_commandQueue.add(command);
 	}
 	
 	/**
@@ -470,8 +1225,14 @@ public class DataSubscriber
 	 */
 	public void sendOperationalModes()
 	{
-		byte[] commandData = ByteBuffer.allocate(4).putInt(m_operationalModes).array();
-		sendServerCommand(ServerCommand.DefineOperationalModes, commandData, 0, 4);
+		ByteBuffer commandData = m_bufferPool.acquireHeap(4);
+		
+		commandData.putInt(m_operationalModes);
+		sendServerCommand(ServerCommand.DefineOperationalModes, commandData.array(), 0, 4);
+		m_bufferPool.release(commandData);
+		
+		if (m_captureJournal != null)
+			captureSubscriberState();
 	}
 	
 	/**
@@ -482,7 +1243,7 @@ public class DataSubscriber
 	 */
 	public long getTotalCommandChannelBytesReceived()
 	{
-		return m_totalCommandChannelBytesReceived;
+		return m_totalCommandChannelBytesReceived.get();
 	}
 	
 	/**
@@ -493,7 +1254,7 @@ public class DataSubscriber
 	 */
 	public long getTotalDataChannelBytesReceived()
 	{
-		return m_totalDataChannelBytesReceived;
+		return m_totalDataChannelBytesReceived.get();
 	}
 	
 	/**
@@ -504,7 +1265,83 @@ public class DataSubscriber
 	 */
 	public long getTotalMeasurementsReceived()
 	{
-		return m_totalMeasurementsReceived;
+		return m_totalMeasurementsReceived.get();
+	}
+	
+	/**
+	 * Gets the total number of measurements that were discarded
+	 * because the callback queue was full. Measurements are only
+	 * discarded by the {@link OverloadPolicy#DropOldest} policy,
+	 * by the {@link OverloadPolicy#CoalesceLatest} policy if the
+	 * signal index cache changes while the queue is full, or by the
+	 * {@link OverloadPolicy#Block} policy when an NIO engine is used.
+	 * 
+	 * @return the total number of measurements dropped
+	 */
+	public long getTotalMeasurementsDropped()
+	{
+		return m_totalMeasurementsDropped.get();
+	}
+	
+	/**
+	 * Gets the total number of measurements that were replaced by a
+	 * newer measurement for the same signal before they could be
+	 * delivered, under the {@link OverloadPolicy#CoalesceLatest} policy.
+	 * 
+	 * @return the total number of measurements coalesced
+	 */
+	public long getTotalMeasurementsCoalesced()
+	{
+		return m_totalMeasurementsCoalesced.get();
+	}
+	
+	/**
+	 * Gets the statistics gathered by this subscriber. These are
+	 * also registered with the platform MBean server while the
+	 * subscriber is connected.
+	 * 
+	 * @return the statistics gathered by this subscriber
+	 * @see #setStatisticsName(String)
+	 */
+	public DataSubscriberStatistics getStatistics()
+	{
+		return m_statistics;
+	}
+	
+	/**
+	 * Gets the name under which this subscriber's statistics are
+	 * registered with the platform MBean server.
+	 * 
+	 * @return the name of the statistics MBean, or null if
+	 *         the statistics are not registered
+	 * @see #setStatisticsName(String)
+	 */
+	public String getStatisticsName()
+	{
+		return m_statisticsName;
+	}
+	
+	/**
+	 * Sets the name under which this subscriber's statistics are registered
+	 * with the platform MBean server. The statistics are registered when the
+	 * subscriber connects, with the object name
+	 * {@code org.gpa.gsf.timeseries:type=DataSubscriber,name=<name>}, and
+	 * unregistered when it disconnects. By default, each subscriber is given
+	 * a unique name of the form {@code DataSubscriber-<n>}. If the name is
+	 * already in use when connecting, the error is reported to
+	 * {@link SubscriberListener#exceptionEncountered(MessageEvent)} and the
+	 * subscriber connects without registering its statistics.
+	 * 
+	 * @param name the name of the statistics MBean,
+	 *        or null to not register the statistics
+	 * @throws IllegalStateException if the subscriber is connected
+	 */
+	public void setStatisticsName(String name)
+	{
+		if (m_connected)
+			throw new IllegalStateException("Cannot change statistics name while connected; disconnect first");
+		
+		m_statisticsName = name;
 	}
 	
 	/**
@@ -556,6 +1393,16 @@ public class DataSubscriber
 		}
 	}
 	
+	// Returns commands that were never sent
+	// to the publisher back to the buffer pool.
+	private void releaseQueuedCommands()
+	{
+		ByteBuffer command;
+		
+		while ((command = m_commandQueue.poll()) != null)
+			m_bufferPool.release(command);
+	}
+	
 	// Creates and starts the command thread.
 	private void startCommandThread()
 	{
@@ -622,14 +1469,23 @@ public class DataSubscriber
 		try
 		{
 			OutputStream out = m_commandChannelSocket.getOutputStream();
-			byte[] command;
+			ByteBuffer command;
 			
 			while (!m_disconnecting)
 			{
 				command = m_commandQueue.poll(PollTimeout, PollTimeoutUnit);
 				
 				if (command != null)
-					out.write(command);
+				{
+					try
+					{
+						out.write(command.array(), command.arrayOffset() + command.position(), command.remaining());
+					}
+					finally
+					{
+						m_bufferPool.release(command);
+					}
+				}
 			}
 		}
 		catch (InterruptedException ex)
@@ -645,41 +1501,236 @@ public class DataSubscriber
 		}
 	}
 	
+	// Starts the threads which deliver measurements
+	// to listeners, if parallel dispatch is enabled.
+	private void startParallelDispatcher()
+	{
+		if (m_parallelDispatchThreadCount == 0)
+			return;
+		
+		m_parallelDispatcher = new ParallelMeasurementDispatcher(m_parallelDispatchThreadCount, ParallelDispatchQueueCapacity, new ParallelMeasurementDispatcher.BatchHandler()
+		{
+			@Override
+			public void handle(MeasurementBatch batch)
+			{
+				try
+				{
+					deliverNewMeasurements(batch);
+				}
+				catch (Exception ex)
+				{
+					// Report directly on this thread, since the callback
+					// thread may be waiting for this one to make room
+					for (SubscriberListener listener : m_subscriberListeners)
+						listener.exceptionEncountered(new MessageEvent(DataSubscriber.this, ex));
+				}
+			}
+		});
+		
+		m_parallelDispatcher.start();
+	}
+	
+	// Registers the statistics with the platform MBean server.
+	private void registerStatistics()
+	{
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName objectName;
+		
+		if (m_statisticsName == null)
+			return;
+		
+		try
+		{
+			objectName = new ObjectName(StatisticsDomain + ":type=DataSubscriber,name=" + ObjectName.quote(m_statisticsName));
+			server.registerMBean(m_statistics, objectName);
+			m_statisticsObjectName = objectName;
+		}
+		catch (JMException ex)
+		{
+			dispatchException(ex);
+		}
+	}
+	
+	// Unregisters the statistics from the platform MBean server.
+	private void unregisterStatistics()
+	{
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		
+		if (m_statisticsObjectName == null)
+			return;
+		
+		try
+		{
+			server.unregisterMBean(m_statisticsObjectName);
+		}
+		catch (JMException ex)
+		{
+			// Ignore exceptions and
+			// continue shutdown procedure
+		}
+		
+		m_statisticsObjectName = null;
+	}
+	
+	// Gets the number of callbacks waiting in the callback queue.
+	int getCallbackQueueDepth()
+	{
+		return m_callbackQueue.size();
+	}
+	
+	// Gets the queue of callbacks waiting to be executed.
+	CallbackRingBuffer getCallbackQueue()
+	{
+		return m_callbackQueue;
+	}
+	
+	// Executes a limited number of queued callbacks on the calling thread,
+	// which is either the callback thread or a callback executor thread.
+	// Returns the number of callbacks executed.
+	int drainCallbacks()
+	{
+		MeasurementCoalescer coalescer;
+		int count;
+		
+		if (m_disconnecting)
+			return 0;
+		
+		count = m_callbackQueue.drain(m_callbackHandler, CallbackDrainCount);
+		
+		// Slots have been freed, so measurements coalesced
+		// while the queue was full can now be delivered
+		coalescer = m_measurementCoalescer;
+		
+		if (coalescer != null)
+		{
+			synchronized (coalescer)
+			{
+				flushCoalescedMeasurements(coalescer);
+			}
+		}
+		
+		// Likewise for callbacks deferred by an NIO engine
+		if (!m_deferredCallbacks.isEmpty())
+		{
+			synchronized (m_deferredCallbacks)
+			{
+				flushDeferredCallbacks();
+			}
+		}
+		
+		return count;
+	}
+	
 	// Executes callbacks queued by other threads.
 	private void runCallbackThread()
 	{
+		while (!m_disconnecting)
+		{
+			m_callbackQueue.waitForEvents();
+			drainCallbacks();
+		}
+	}
+	
+	// Executes a single callback taken from the callback queue.
+	private void executeCallback(CallbackEvent event)
+	{
+		if (event.getType() != CallbackEvent.None)
+			m_statistics.recordDispatchLag(System.nanoTime() - event.getPublishTime());
+		
 		try
 		{
-			Runnable callback;
-			
-			while (!m_disconnecting)
+			switch (event.getType())
 			{
-				callback = m_callbackQueue.poll(PollTimeout, PollTimeoutUnit);
+			case CallbackEvent.StatusMessage:
+				for (SubscriberListener listener : m_subscriberListeners)
+					listener.statusMessageReceived(new MessageEvent(this, event.getMessage()));
 				
-				if (callback != null)
-				{
-					try
-					{
-						callback.run();
-					}
-					catch (Exception ex)
-					{
-						dispatchException(ex);
-					}
-				}
+				break;
+				
+			case CallbackEvent.ExceptionEncountered:
+				for (SubscriberListener listener : m_subscriberListeners)
+					listener.exceptionEncountered(new MessageEvent(this, event.getException()));
+				
+				break;
+				
+			case CallbackEvent.DataStartTime:
+				for (SubscriberListener listener : m_subscriberListeners)
+					listener.dataStartTimeReceived(new StartTimeEvent(this, event.getDataStartTime()));
+				
+				break;
+				
+			case CallbackEvent.CompressedMetadata:
+				for (SubscriberListener listener : m_subscriberListeners)
+					listener.metadataReceived(new MetadataEvent(this, event.getMetadata()));
+				
+				break;
+				
+			case CallbackEvent.XmlMetadata:
+				for (SubscriberListener listener : m_subscriberListeners)
+					listener.metadataReceived(new MetadataEvent(this, event.getMessage()));
+				
+				break;
+				
+			case CallbackEvent.NewMeasurements:
+				executeNewMeasurements(event.getBatch());
+				break;
+				
+			case CallbackEvent.ProcessingComplete:
+				for (SubscriberListener listener : m_subscriberListeners)
+					listener.processingCompleteCallback(new MessageEvent(this, event.getMessage()));
+				
+				break;
 			}
 		}
-		catch (InterruptedException ex)
+		catch (Exception ex)
 		{
-			// This thread is internal and
-			// should never be interrupted
-			throw new IllegalStateException(ex);
+			dispatchException(ex);
+		}
+	}
+	
+	// Executes a new measurements callback. The batch is owned
+	// by the callback queue and is reused once this returns.
+	private void executeNewMeasurements(MeasurementBatch batch)
+	{
+		ParallelMeasurementDispatcher parallelDispatcher = m_parallelDispatcher;
+		
+		if (parallelDispatcher != null)
+			parallelDispatcher.dispatch(batch);
+		else
+			deliverNewMeasurements(batch);
+	}
+	
+	// Delivers a batch of new measurements to the listeners.
+	private void deliverNewMeasurements(MeasurementBatch batch)
+	{
+		MeasurementBatchEvent batchEvent;
+		Collection<Measurement> newMeasurements = null;
+		
+		if (m_standby)
+			return;
+		
+		batchEvent = new MeasurementBatchEvent(this, batch);
+		
+		// Measurement objects are only created
+		// when not operating in batch mode
+		if (!m_measurementBatchMode)
+			newMeasurements = batch.toMeasurements();
+		
+		for (SubscriberListener listener : m_subscriberListeners)
+		{
+			if (newMeasurements != null)
+				listener.newMeasurementsReceived(new MeasurementEvent(this, newMeasurements));
+			
+			if (listener instanceof MeasurementBatchListener)
+				((MeasurementBatchListener)listener).newMeasurementBatchReceived(batchEvent);
 		}
 	}
 	
 	// Processes data received from the publisher on the command channel.
 	private void runCommandChannelResponseThread()
 	{
+		ByteBuffer bigEndianBuffer = m_bufferPool.acquireHeap(MaxPacketSize);
+		
 		try
 		{
 			final int PayloadHeaderSize = 8;
@@ -687,7 +1738,6 @@ public class DataSubscriber
 			InputStream in = m_commandChannelSocket.getInputStream();
 
 			ByteBuffer littleEndianBuffer = ByteBuffer.allocate(PayloadHeaderSize);
-			ByteBuffer bigEndianBuffer = ByteBuffer.allocate(MaxPacketSize);
 			int bytesRead;
 			
 			int payloadBodySize;
@@ -699,28 +1749,47 @@ public class DataSubscriber
 			{
 				// Read the payload header from the input stream
 				bytesRead = InputStreamExtensions.read(in, littleEndianBuffer.array(), 0, PayloadHeaderSize);
-				m_totalCommandChannelBytesReceived += bytesRead;
 				
-				if (m_disconnecting || bytesRead < PayloadHeaderSize)
+				if (m_disconnecting)
 					break;
+				
+				// A short read means the publisher closed the connection,
+				// which must be reported so that the subscriber can fail
+				// over or reconnect when the publisher is restarted
+				if (bytesRead < PayloadHeaderSize)
+					throw new EOFException("Publisher closed the command channel");
+				
+				m_totalCommandChannelBytesReceived.addAndGet(bytesRead);
 
 				// Skip the 4-byte sync pattern
 				payloadBodySize = littleEndianBuffer.getInt(4);
 				
 				// Increase the buffer size, if necessary
 				if (payloadBodySize > bigEndianBuffer.capacity())
-					bigEndianBuffer = ByteBuffer.allocate(payloadBodySize);
+				{
+					m_bufferPool.release(bigEndianBuffer);
+					bigEndianBuffer = null;
+					bigEndianBuffer = m_bufferPool.acquireHeap(payloadBodySize);
+				}
 				
 				// Read the packet from the input stream
 				bytesRead = InputStreamExtensions.read(in, bigEndianBuffer.array(), 0, payloadBodySize);
-				m_totalCommandChannelBytesReceived += bytesRead;
 				
-				if (m_disconnecting || bytesRead < payloadBodySize)
+				if (m_disconnecting)
 					break;
 				
+				if (bytesRead < payloadBodySize)
+					throw new EOFException("Publisher closed the command channel");
+				
+				m_totalCommandChannelBytesReceived.addAndGet(bytesRead);
+				
 				// Set the limit on the buffer, process the
 				// buffer, and then rewind the buffer
 				bigEndianBuffer.limit(payloadBodySize);
+				
+				if (m_captureJournal != null)
+					capturePayload(CaptureJournal.CommandChannelRecord, bigEndianBuffer);
+				
 				processServerResponse(bigEndianBuffer);
 				bigEndianBuffer.rewind();
 			}
@@ -730,12 +1799,17 @@ public class DataSubscriber
 			if (!m_disconnecting)
 				dispatchConnectionTerminated(ex);
 		}
+		finally
+		{
+			m_bufferPool.release(bigEndianBuffer);
+		}
 	}
 	
 	// Processes data received by the publisher on the data channel.
 	private void runDataChannelResponseThread()
 	{
-		DatagramPacket packet = new DatagramPacket(new byte[MaxPacketSize], MaxPacketSize);
+		ByteBuffer packetBuffer = m_bufferPool.acquireHeap(MaxPacketSize);
+		DatagramPacket packet = new DatagramPacket(packetBuffer.array(), packetBuffer.arrayOffset(), MaxPacketSize);
 		
 		try
 		{
@@ -746,11 +1820,7 @@ public class DataSubscriber
 				if (m_unsubscribing)
 					break;
 				
-				if (isValidHostAddress(packet.getAddress()))
-				{
-					m_totalDataChannelBytesReceived += packet.getLength();
-					processServerResponse(ByteBuffer.wrap(packet.getData(), packet.getOffset(), packet.getLength()));
-				}
+				handleDataChannelPacket(packet.getAddress(), ByteBuffer.wrap(packet.getData(), packet.getOffset(), packet.getLength()));
 			}
 		}
 		catch (IOException ex)
@@ -758,48 +1828,219 @@ public class DataSubscriber
 			if (!m_unsubscribing)
 				dispatchException(ex);
 		}
+		finally
+		{
+			m_bufferPool.release(packetBuffer);
+		}
 	}
 	
-	// Delegates data received from the publisher to the proper handler.
-	private void processServerResponse(ByteBuffer buffer)
+	// Opens the UDP data channel through the NIO engine,
+	// reporting errors the same way as the blocking transport.
+	private void openNioDataChannel(int localPort) throws SocketException
 	{
-		byte responseCode = buffer.get();
-		byte commandCode = buffer.get();
-		
-		// Skip length field in packet header,
-		// as length has already been determined
-		// by checking the payload header
-		buffer.getInt();
+		SocketException socketException;
 		
-		switch (responseCode)
+		try
 		{
-		case ServerResponse.Succeeded:
-			handleSucceeded(commandCode, buffer);
-			break;
-			
-		case ServerResponse.Failed:
-			handleFailed(commandCode, buffer);
-			break;
-			
-		case ServerResponse.DataPacket:
-			handleDataPacket(buffer);
-			break;
-			
-		case ServerResponse.DataStartTime:
-			handleDataStartTime(buffer);
-			break;
-			
-		case ServerResponse.ProcessingComplete:
-			handleProcessingComplete(buffer);
-			break;
-			
-		case ServerResponse.UpdateSignalIndexCache:
-			handleUpdateSignalIndexCache(buffer);
-			break;
-			
-		case ServerResponse.UpdateBaseTimes:
-			handleUpdateBaseTimes(buffer);
-			break;
+			m_nioConnection.openDataChannel(localPort, m_nioConnection.getLocalAddress());
+		}
+		catch (SocketException ex)
+		{
+			throw ex;
+		}
+		catch (IOException ex)
+		{
+			socketException = new SocketException(ex.getMessage());
+			socketException.initCause(ex);
+			throw socketException;
+		}
+	}
+	
+	// Resets the counters and statistics kept since the last connection.
+	private void resetStatistics()
+	{
+		m_totalCommandChannelBytesReceived.set(0L);
+		m_totalDataChannelBytesReceived.set(0L);
+		m_totalMeasurementsReceived.set(0L);
+		m_totalMeasurementsDropped.set(0L);
+		m_totalMeasurementsCoalesced.set(0L);
+		m_statistics.reset();
+	}
+	
+	// Processes a complete payload received on the command channel.
+	void handleCommandChannelPayload(ByteBuffer payload)
+	{
+		if (m_captureJournal != null)
+			capturePayload(CaptureJournal.CommandChannelRecord, payload);
+		
+		processServerResponse(payload);
+	}
+	
+	// Updates statistics for bytes received on the command channel.
+	void handleCommandChannelBytesReceived(int byteCount)
+	{
+		m_totalCommandChannelBytesReceived.addAndGet(byteCount);
+	}
+	
+	// Processes a packet received on the data channel.
+	void handleDataChannelPacket(InetAddress address, ByteBuffer packet)
+	{
+		if (m_unsubscribing)
+			return;
+		
+		if (!isValidHostAddress(address))
+		{
+			m_statistics.dataPacketRejected();
+			return;
+		}
+		
+		m_totalDataChannelBytesReceived.addAndGet(packet.remaining());
+		
+		if (m_captureJournal != null)
+			capturePayload(CaptureJournal.DataChannelRecord, packet);
+		
+		processServerResponse(packet);
+	}
+	
+	// Prepares the subscriber to process payloads read from a
+	// capture journal instead of payloads received from a publisher.
+	// The replay is ended by disconnecting the subscriber.
+	void beginReplay()
+	{
+		if (m_connected)
+			throw new IllegalStateException("Subscriber is already connected; disconnect first");
+		
+		resetStatistics();
+		m_currentSubscription = new SubscriptionInfo();
+		startParallelDispatcher();
+		
+		if (m_callbackExecutor != null)
+			m_callbackExecutor.register(this);
+		else
+			startCallbackThread();
+		
+		registerStatistics();
+		m_connected = true;
+	}
+	
+	// Processes a payload read from a capture journal.
+	void replayPayload(byte recordType, ByteBuffer payload)
+	{
+		if (recordType == CaptureJournal.SubscriberStateRecord)
+		{
+			replaySubscriberState(payload);
+			return;
+		}
+		
+		if (recordType == CaptureJournal.DataChannelRecord)
+			m_totalDataChannelBytesReceived.addAndGet(payload.remaining());
+		else
+			m_totalCommandChannelBytesReceived.addAndGet(payload.remaining());
+		
+		processServerResponse(payload);
+	}
+	
+	// Appends a payload received from the publisher to the capture journal.
+	private void capturePayload(byte recordType, ByteBuffer payload)
+	{
+		try
+		{
+			m_captureJournal.write(recordType, payload);
+		}
+		catch (IOException ex)
+		{
+			dispatchException(ex);
+		}
+	}
+	
+	// Appends the settings needed to parse payloads to the capture journal.
+	private void captureSubscriberState()
+	{
+		ByteBuffer state = m_bufferPool.acquire(5);
+		byte flags = 0;
+		
+		if (m_currentSubscription != null && m_currentSubscription.isTimeIncluded())
+			flags |= CaptureJournal.TimeIncludedFlag;
+		
+		if (m_currentSubscription != null && m_currentSubscription.isMillisecondResolution())
+			flags |= CaptureJournal.MillisecondResolutionFlag;
+		
+		state.putInt(m_operationalModes);
+		state.put(flags);
+		state.flip();
+		
+		capturePayload(CaptureJournal.SubscriberStateRecord, state);
+		m_bufferPool.release(state);
+	}
+	
+	// Restores the settings needed to parse payloads from a capture journal.
+	private void replaySubscriberState(ByteBuffer state)
+	{
+		SubscriptionInfo info = new SubscriptionInfo();
+		byte flags;
+		
+		m_operationalModes = state.getInt();
+		flags = state.get();
+		
+		info.setTimeIncluded((flags & CaptureJournal.TimeIncludedFlag) != 0);
+		info.setMillisecondResolution((flags & CaptureJournal.MillisecondResolutionFlag) != 0);
+		m_currentSubscription = info;
+	}
+	
+	// Handles termination of the command channel connection.
+	void handleCommandChannelTerminated(IOException ex)
+	{
+		if (!m_disconnecting)
+			dispatchConnectionTerminated(ex);
+	}
+	
+	// Handles exceptions encountered while processing channel data.
+	void handleChannelException(Exception ex)
+	{
+		if (!m_unsubscribing)
+			dispatchException(ex);
+	}
+	
+	// Delegates data received from the publisher to the proper handler.
+	private void processServerResponse(ByteBuffer buffer)
+	{
+		byte responseCode = buffer.get();
+		byte commandCode = buffer.get();
+		
+		// Skip length field in packet header,
+		// as length has already been determined
+		// by checking the payload header
+		buffer.getInt();
+		
+		switch (responseCode)
+		{
+		case ServerResponse.Succeeded:
+			handleSucceeded(commandCode, buffer);
+			break;
+			
+		case ServerResponse.Failed:
+			handleFailed(commandCode, buffer);
+			break;
+			
+		case ServerResponse.DataPacket:
+			handleDataPacket(buffer);
+			break;
+			
+		case ServerResponse.DataStartTime:
+			handleDataStartTime(buffer);
+			break;
+			
+		case ServerResponse.ProcessingComplete:
+			handleProcessingComplete(buffer);
+			break;
+			
+		case ServerResponse.UpdateSignalIndexCache:
+			handleUpdateSignalIndexCache(buffer);
+			break;
+			
+		case ServerResponse.UpdateBaseTimes:
+			handleUpdateBaseTimes(buffer);
+			break;
 		}
 	}
 	
@@ -858,28 +2099,151 @@ public class DataSubscriber
 	private void handleMetadataRefresh(ByteBuffer buffer)
 	{
 		ByteBuffer buf = buffer;
+		boolean compressed = false;
 		
 		if ((m_operationalModes & OperationalModes.CompressMetadata) != 0)
 		{
 			if ((m_operationalModes & OperationalModes.CompressionModeMask) == CompressionMode.GZIP)
 			{
-				buf = decompress(buffer);
+				compressed = true;
 			}
 		}
 		
-		dispatchMetadata(m_characterEncoding.decode(buf).toString());
+		if (m_metadataCatalog != null)
+		{
+			updateMetadataCatalog(buffer, compressed);
+			return;
+		}
+		
+		if (m_metadataStreamListener != null)
+		{
+			streamMetadata(buffer, compressed);
+			return;
+		}
+		
+		if (compressed)
+			buf = decompress(buffer);
+		
+		try
+		{
+			dispatchMetadata(m_characterEncoding.decode(buf).toString());
+		}
+		finally
+		{
+			m_decompressor.releaseBuffers();
+		}
+	}
+	
+	// Loads metadata into the metadata catalog,
+	// decompressing it first if necessary.
+	private void updateMetadataCatalog(ByteBuffer buffer, boolean compressed)
+	{
+		MetadataCatalog metadataCatalog = m_metadataCatalog;
+		ByteBuffer buf = buffer;
+		
+		m_metadataReceived = true;
+		
+		try
+		{
+			if (compressed)
+				buf = decompress(buffer);
+			
+			metadataCatalog.update(buf, m_characterEncoding, m_publisherKey);
+		}
+		catch (Exception ex)
+		{
+			dispatchException(ex);
+		}
+		finally
+		{
+			m_decompressor.releaseBuffers();
+		}
+	}
+	
+	// Loads the metadata catalog from its cache with the
+	// metadata last received from the connected publisher.
+	private void loadCachedMetadata()
+	{
+		MetadataCatalog metadataCatalog = m_metadataCatalog;
+		
+		if (metadataCatalog == null)
+			return;
+		
+		try
+		{
+			metadataCatalog.loadCached(m_publisherKey);
+		}
+		catch (IOException ex)
+		{
+			dispatchException(ex);
+		}
+	}
+	
+	// Requests metadata from the publisher once per connection, even if
+	// the cached metadata describes every measurement in the signal index
+	// cache, since the publisher may have changed existing measurements.
+	// The catalog recognizes unchanged metadata by its hash, so serving
+	// the cached catalog until the refresh arrives costs only the request.
+	private void refreshMetadataCatalog()
+	{
+		if (m_metadataCatalog == null || !m_connected || m_metadataReceived)
+			return;
+		
+		m_metadataReceived = true;
+		sendServerCommand(ServerCommand.MetadataRefresh);
+	}
+	
+	// Streams metadata to the metadata stream listener,
+	// decompressing it on demand if necessary.
+	private void streamMetadata(ByteBuffer buffer, boolean compressed)
+	{
+		InputStream metadataStream;
+		ByteBuffer heapBuffer = null;
+		
+		try
+		{
+			if (compressed)
+			{
+				metadataStream = m_decompressor.openStream(buffer);
+			}
+			else if (buffer.hasArray())
+			{
+				metadataStream = new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+			}
+			else
+			{
+				// Payloads read into direct buffers are copied
+				// so that they can be read through a stream
+				heapBuffer = m_bufferPool.acquireHeap(buffer.remaining());
+				heapBuffer.put(buffer.duplicate());
+				metadataStream = new ByteArrayInputStream(heapBuffer.array(), heapBuffer.arrayOffset(), heapBuffer.position());
+			}
+			
+			m_metadataStreamListener.metadataReceived(this, metadataStream, m_characterEncoding);
+		}
+		catch (Exception ex)
+		{
+			dispatchException(ex);
+		}
+		finally
+		{
+			m_bufferPool.release(heapBuffer);
+			m_decompressor.releaseBuffers();
+		}
 	}
 	
 	// Handle data packets received from the publisher.
 	private void handleDataPacket(ByteBuffer buffer)
 	{
 		GatewayMeasurementParser parser;
-		Collection<Measurement> newMeasurements;
+		CallbackEvent event;
+		SignalIndexCache signalIndexCache;
 		
 		byte dataPacketFlags;
 		boolean compactFlag;
 		boolean syncFlag;
 		long frameLevelTimestamp = 0L;
+		int measurementCount;
 		
 		SubscriptionInfo info;
 		boolean includeTime;
@@ -902,16 +2266,31 @@ public class DataSubscriber
 		}
 		
 		// Gather statistics
-		m_totalMeasurementsReceived += buffer.getInt();
+		measurementCount = buffer.getInt();
+		m_totalMeasurementsReceived.addAndGet(measurementCount);
 		
 		if (compactFlag)
 		{
 			// If signal index cache is null, we
 			// cannot parse compact measurements
-			if (m_signalIndexCache == null)
+			signalIndexCache = m_signalIndexCache;
+			
+			if (signalIndexCache == null)
 				return;
 			
-			parser = new CompactMeasurementParser(m_signalIndexCache, m_baseTimeOffsets, includeTime, useMillisecondResolution);
+			if (m_restoredBaseTimes && includeTime)
+				validateRestoredBaseTimes(buffer, useMillisecondResolution);
+			
+			parser = getCompactMeasurementParser(signalIndexCache, m_baseTimeOffsets, includeTime, useMillisecondResolution);
+			
+			if (m_currentValueTable != null)
+				updateCurrentValueTable(parser, buffer, syncFlag, frameLevelTimestamp);
+			
+			if (m_measurementCursorListener != null)
+			{
+				deliverMeasurementCursor(buffer, signalIndexCache, includeTime, useMillisecondResolution, syncFlag, frameLevelTimestamp);
+				return;
+			}
 		}
 		else
 		{
@@ -920,26 +2299,257 @@ public class DataSubscriber
 			return;
 		}
 		
+		if (m_measurementCoalescer != null)
+		{
+			coalesceMeasurements(parser, buffer, syncFlag, frameLevelTimestamp);
+			return;
+		}
+		
+		// Measurements are parsed directly into the batch owned by a slot in
+		// the callback queue. Data packets received by an NIO engine arrive on
+		// a selector thread shared with other subscribers, which must never
+		// wait for this subscriber's listeners, so the packet is dropped instead.
+		if (m_nioConnection != null)
+			event = m_callbackQueue.tryClaimDroppingOldest(m_totalMeasurementsDropped);
+		else if (m_overloadPolicy == OverloadPolicy.DropOldest)
+			event = m_callbackQueue.claimDroppingOldest(m_totalMeasurementsDropped);
+		else
+			event = m_callbackQueue.claim();
+		
+		if (event != null)
+			parseMeasurements(parser, buffer, syncFlag, frameLevelTimestamp, event);
+		else if (m_nioConnection != null)
+			m_totalMeasurementsDropped.addAndGet(measurementCount);
+	}
+	
+	// Hands the measurements in a data packet to the measurement cursor
+	// listener in place, on the thread that received the data packet.
+	private void deliverMeasurementCursor(ByteBuffer buffer, SignalIndexCache signalIndexCache, boolean includeTime, boolean useMillisecondResolution, boolean syncFlag, long frameLevelTimestamp)
+	{
+		MeasurementCursorListener listener = m_measurementCursorListener;
+		MeasurementCursor cursor = m_measurementCursor;
+		
+		if (listener == null || m_standby)
+			return;
+		
+		if (cursor == null)
+		{
+			cursor = new MeasurementCursor();
+			m_measurementCursor = cursor;
+		}
+		
+		// The signal index filter was compiled along with the parser
+		cursor.reset(buffer, signalIndexCache, m_baseTimeOffsets, includeTime, useMillisecondResolution, m_signalIndexFilter, syncFlag, frameLevelTimestamp);
+		
+		try
+		{
+			listener.measurementsReceived(this, cursor);
+		}
+		catch (RuntimeException ex)
+		{
+			dispatchException(ex);
+		}
+		finally
+		{
+			cursor.invalidate();
+		}
+	}
+	
+	// Parses measurements into the batch owned by the
+	// given slot in the callback queue and publishes it.
+	private void parseMeasurements(GatewayMeasurementParser parser, ByteBuffer buffer, boolean syncFlag, long frameLevelTimestamp, CallbackEvent event)
+	{
+		MeasurementBatch batch = event.getBatch();
+		Exception parseException = null;
+		
 		try
 		{
 			// Parse measurements and expose them via listener
-			newMeasurements = parser.parseMeasurements(buffer);
+			parseMeasurements(parser, buffer, syncFlag, frameLevelTimestamp, batch);
+			
+			if (batch.size() > 0)
+				event.setType(CallbackEvent.NewMeasurements);
+		}
+		catch (Exception ex)
+		{
+			parseException = ex;
+		}
+		finally
+		{
+			// The slot must be published even if it is empty,
+			// otherwise the callback thread would wait on it
+			m_callbackQueue.publish(event);
+		}
+		
+		// Notify of exceptions during parse
+		if (parseException != null)
+			dispatchException(parseException);
+	}
+	
+	// Parses measurements into the given batch.
+	private void parseMeasurements(GatewayMeasurementParser parser, ByteBuffer buffer, boolean syncFlag, long frameLevelTimestamp, MeasurementBatch batch)
+	{
+		long startTime = System.nanoTime();
+		
+		if (parser instanceof MeasurementBatchParser)
+			((MeasurementBatchParser)parser).parseMeasurements(buffer, batch);
+		else
+			toMeasurementBatch(parser.parseMeasurements(buffer), batch);
+		
+		m_statistics.recordParseLatency(System.nanoTime() - startTime);
+		
+		// Apply frame-level timestamp
+		if (syncFlag)
+			batch.setTimestamps(frameLevelTimestamp);
+	}
+	
+	// Applies the measurements in a data packet to the current value table
+	// before they are handed to listeners, whether or not the callback
+	// queue has room for them. The measurements are parsed into a scratch
+	// batch, and the buffer is rewound so they can be parsed again.
+	private void updateCurrentValueTable(GatewayMeasurementParser parser, ByteBuffer buffer, boolean syncFlag, long frameLevelTimestamp)
+	{
+		MeasurementBatch batch = m_currentValueBatch;
+		int position = buffer.position();
+		
+		try
+		{
+			if (parser instanceof MeasurementBatchParser)
+				((MeasurementBatchParser)parser).parseMeasurements(buffer, batch);
+			else
+				toMeasurementBatch(parser.parseMeasurements(buffer), batch);
 			
 			if (syncFlag)
+				batch.setTimestamps(frameLevelTimestamp);
+			
+			m_currentValueTable.update(batch);
+		}
+		catch (Exception ex)
+		{
+			// Ignore exceptions; they are reported once
+			// the measurements are parsed for listeners
+		}
+		finally
+		{
+			buffer.position(position);
+		}
+	}
+	
+	// Copies measurements parsed by a parser that cannot fill a batch
+	// directly into the given batch, skipping measurements whose signal
+	// is not in the signal index cache.
+	private void toMeasurementBatch(Collection<Measurement> measurements, MeasurementBatch batch)
+	{
+		SignalIndexCache signalIndexCache = m_signalIndexCache;
+		int signalIndex;
+		
+		batch.clear();
+		batch.setSignalIndexCache(signalIndexCache);
+		
+		for (Measurement measurement : measurements)
+		{
+			signalIndex = signalIndexCache.getSignalIndex(measurement.getSignalId());
+			
+			if (signalIndex != -1)
+				batch.add((short)signalIndex, (float)measurement.getValue(), measurement.getTimestamp(), measurement.getFlags());
+		}
+	}
+	
+	// Parses measurements under the CoalesceLatest overload policy. While
+	// the callback queue has room, measurements are parsed directly into
+	// a slot. Once it is full, they are merged into the coalescer, which
+	// keeps only the latest measurement per signal until a slot is free.
+	private void coalesceMeasurements(GatewayMeasurementParser parser, ByteBuffer buffer, boolean syncFlag, long frameLevelTimestamp)
+	{
+		MeasurementCoalescer coalescer = m_measurementCoalescer;
+		MeasurementBatch batch;
+		CallbackEvent event = null;
+		Exception parseException = null;
+		
+		synchronized (coalescer)
+		{
+			// Measurements can only bypass the coalescer
+			// if no older measurements are still pending
+			if (coalescer.isEmpty())
+				event = m_callbackQueue.tryClaim();
+			
+			if (event != null)
 			{
-				// Apply frame-level timestamp
-				for (Measurement newMeasurement : newMeasurements)
-					newMeasurement.setTimestamp(frameLevelTimestamp);
+				parseMeasurements(parser, buffer, syncFlag, frameLevelTimestamp, event);
+				return;
 			}
 			
-			if (newMeasurements.size() > 0)
-				dispatchNewMeasurements(newMeasurements);
+			try
+			{
+				batch = coalescer.getParseBatch();
+				parseMeasurements(parser, buffer, syncFlag, frameLevelTimestamp, batch);
+				
+				// Pending measurements cannot be matched by signal
+				// index once the signal index cache has changed
+				if (!coalescer.isEmpty() && coalescer.getSignalIndexCache() != batch.getSignalIndexCache())
+				{
+					m_totalMeasurementsDropped.addAndGet(coalescer.size());
+					coalescer.clear();
+				}
+				
+				m_totalMeasurementsCoalesced.addAndGet(coalescer.merge(batch));
+			}
+			catch (Exception ex)
+			{
+				parseException = ex;
+			}
+			
+			flushCoalescedMeasurements(coalescer);
 		}
-		catch (Exception ex)
+		
+		// Notify of exceptions during parse
+		if (parseException != null)
+			dispatchException(parseException);
+	}
+	
+	// Moves coalesced measurements into a slot in the callback queue if one
+	// is free. Must be called while holding the lock on the coalescer.
+	private void flushCoalescedMeasurements(MeasurementCoalescer coalescer)
+	{
+		CallbackEvent event;
+		
+		if (coalescer.isEmpty())
+			return;
+		
+		event = m_callbackQueue.tryClaim();
+		
+		if (event == null)
+			return;
+		
+		coalescer.transferTo(event.getBatch());
+		event.setType(CallbackEvent.NewMeasurements);
+		m_callbackQueue.publish(event);
+	}
+	
+	// Gets a compact measurement parser for the given signal index cache
+	// and base time offsets, creating a new one only if those have changed.
+	private CompactMeasurementParser getCompactMeasurementParser(SignalIndexCache signalIndexCache, long[] baseTimeOffsets, boolean includeTime, boolean useMillisecondResolution)
+	{
+		CompactMeasurementParser parser = m_compactMeasurementParser;
+		SignalFilter signalFilter = m_signalFilter;
+		
+		// The signal filter is compiled against the signal index cache,
+		// so it is compiled again whenever either of them changes
+		if (signalFilter != m_compiledSignalFilter || (signalFilter != null && signalIndexCache != m_compiledSignalFilterCache))
 		{
-			// Notify of exceptions during parse
-			dispatchException(ex);
+			m_signalIndexFilter = (signalFilter != null) ? signalFilter.compile(signalIndexCache) : null;
+			m_compiledSignalFilter = signalFilter;
+			m_compiledSignalFilterCache = signalIndexCache;
+			parser = null;
 		}
+		
+		if (parser == null || !parser.isConfiguredWith(signalIndexCache, baseTimeOffsets, includeTime, useMillisecondResolution))
+		{
+			parser = new CompactMeasurementParser(signalIndexCache, baseTimeOffsets, includeTime, useMillisecondResolution, m_signalIndexFilter);
+			m_compactMeasurementParser = parser;
+		}
+		
+		return parser;
 	}
 	
 	// Handles data start time message received from publisher.
@@ -975,131 +2585,326 @@ public class DataSubscriber
 			}
 		}
 		
-		// Skip 4-byte length and 16-byte subscriber ID
-		// We may need to parse these in the future...
-		buf.position(buf.position() + 20);
-		
-		referenceCount = buf.getInt();
-		
-		for (int i = 0; i < referenceCount; i++)
+		try
 		{
-			signalIndex = buf.getShort();
-			signalId = new UUID(buf.getLong(), buf.getLong());
-			sourceSize = buf.getInt();
-			source = m_characterEncoding.decode((ByteBuffer)buf.slice().limit(sourceSize)).toString();
-			id = ((ByteBuffer)buf.position(buf.position() + sourceSize)).getInt();
+			// Skip 4-byte length and 16-byte subscriber ID
+			// We may need to parse these in the future...
+			buf.position(buf.position() + 20);
+			
+			referenceCount = buf.getInt();
 			
-			newCache.addMeasurementKey(signalIndex, signalId, source, id);
+			for (int i = 0; i < referenceCount; i++)
+			{
+				signalIndex = buf.getShort();
+				signalId = new UUID(buf.getLong(), buf.getLong());
+				sourceSize = buf.getInt();
+				source = m_characterEncoding.decode((ByteBuffer)buf.slice().limit(sourceSize)).toString();
+				id = ((ByteBuffer)buf.position(buf.position() + sourceSize)).getInt();
+				
+				newCache.addMeasurementKey(signalIndex, signalId, source, id);
+			}
+		}
+		finally
+		{
+			m_decompressor.releaseBuffers();
 		}
 		
+		// Publish the new cache only after it has been fully
+		// built so the data channel thread never sees it partially
+		// populated; packets already being parsed keep the old one
 		m_signalIndexCache = newCache;
+		m_statistics.signalIndexCacheUpdated();
+		refreshMetadataCatalog();
+		saveSignalIndexCache(newCache);
 	}
 	
 	// Updates the base times with new values received from the publisher.
 	private void handleUpdateBaseTimes(ByteBuffer buffer)
 	{
+		long[] baseTimeOffsets;
+		
 		// Skip time index
 		buffer.getInt();
 		
-		m_baseTimeOffsets = new long[] { buffer.getLong(), buffer.getLong() };
+		baseTimeOffsets = new long[] { buffer.getLong(), buffer.getLong() };
+		
+		synchronized (m_baseTimeLock)
+		{
+			m_restoredBaseTimes = false;
+			m_baseTimeOffsets = baseTimeOffsets;
+		}
+		
+		m_statistics.baseTimesUpdated();
+		saveBaseTimeOffsets(baseTimeOffsets);
 	}
 	
-	// Queues a status message callback.
-	private void dispatchStatusMessage(final String message)
+	// Restores the signal index cache and base times last received for
+	// the subscription, so that data packets can be parsed before the
+	// publisher sends them again.
+	private void restoreSubscriptionState(String connectionString, SubscriptionInfo info)
 	{
-		m_callbackQueue.add(new Runnable()
+		SignalIndexCache signalIndexCache;
+		long[] baseTimeOffsets = null;
+		
+		m_subscriptionStateKey = null;
+		m_restoredSignalIndexCache = null;
+		m_restoredBaseTimes = false;
+		
+		if (m_subscriptionStateCache == null)
+			return;
+		
+		m_subscriptionStateKey = m_publisherKey + ";" + connectionString;
+		
+		try
 		{
-			@Override
-			public void run()
+			signalIndexCache = m_subscriptionStateCache.loadSignalIndexCache(m_subscriptionStateKey);
+			
+			// Restored base times can only be validated
+			// against the local clock if data is real-time
+			if (signalIndexCache != null && StringExtensions.isNullOrWhitespace(info.getStartTime()))
+				baseTimeOffsets = m_subscriptionStateCache.loadBaseTimeOffsets(m_subscriptionStateKey);
+		}
+		catch (IOException ex)
+		{
+			dispatchException(ex);
+			return;
+		}
+		
+		if (signalIndexCache == null)
+			return;
+		
+		m_restoredSignalIndexCache = signalIndexCache;
+		m_signalIndexCache = signalIndexCache;
+		
+		if (baseTimeOffsets != null)
+		{
+			synchronized (m_baseTimeLock)
 			{
-				for (SubscriberListener listener : m_subscriberListeners)
-					listener.statusMessageReceived(new MessageEvent(DataSubscriber.this, message));
+				m_baseTimeOffsets = baseTimeOffsets;
+				m_restoredBaseTimes = true;
 			}
-		});
+		}
+	}
+	
+	// Checks the restored signal index cache against the first cache received
+	// from the publisher, then saves the received cache for the next subscription.
+	private void saveSignalIndexCache(SignalIndexCache signalIndexCache)
+	{
+		SignalIndexCache restoredSignalIndexCache = m_restoredSignalIndexCache;
+		
+		if (restoredSignalIndexCache != null)
+		{
+			m_restoredSignalIndexCache = null;
+			
+			if (!restoredSignalIndexCache.matches(signalIndexCache))
+				dispatchException(new IllegalStateException("Restored signal index cache does not match the cache received from the publisher; measurements received before it may have been misidentified"));
+		}
+		
+		if (m_subscriptionStateKey == null)
+			return;
+		
+		try
+		{
+			m_subscriptionStateCache.saveSignalIndexCache(m_subscriptionStateKey, signalIndexCache);
+		}
+		catch (IOException ex)
+		{
+			dispatchException(ex);
+		}
+	}
+	
+	// Saves the base times received from the publisher for the next subscription.
+	private void saveBaseTimeOffsets(long[] baseTimeOffsets)
+	{
+		if (m_subscriptionStateKey == null)
+			return;
+		
+		try
+		{
+			m_subscriptionStateCache.saveBaseTimeOffsets(m_subscriptionStateKey, baseTimeOffsets);
+		}
+		catch (IOException ex)
+		{
+			dispatchException(ex);
+		}
+	}
+	
+	// Checks the timestamp of the first measurement in a data packet which
+	// is stored as an offset from the restored base times. If it is not close
+	// to the local clock, the publisher has moved on to new base times, so
+	// the restored ones are discarded until the new ones are received.
+	private void validateRestoredBaseTimes(ByteBuffer buffer, boolean useMillisecondResolution)
+	{
+		int position = buffer.position();
+		byte compactFlags;
+		int timeIndex;
+		long timestamp;
+		long now;
+		
+		if (!buffer.hasRemaining())
+			return;
+		
+		compactFlags = buffer.get(position);
+		
+		if ((compactFlags & CompactMeasurementParser.CompactBaseTimeOffsetFlag) == 0)
+			return;
+		
+		// Flags, signal index and value precede the time offset
+		if (buffer.remaining() < 7 + (useMillisecondResolution ? 2 : 4))
+			return;
+		
+		timeIndex = ((compactFlags & CompactMeasurementParser.CompactTimeIndexFlag) != 0) ? 1 : 0;
+		
+		if (useMillisecondResolution)
+			timestamp = (buffer.getShort(position + 7) & 0xFFFFL) * TicksPerMillisecond;
+		else
+			timestamp = buffer.getInt(position + 7) & 0xFFFFFFFFL;
+		
+		now = TimeExtensions.millisToTicks(System.currentTimeMillis());
+		
+		synchronized (m_baseTimeLock)
+		{
+			if (!m_restoredBaseTimes)
+				return;
+			
+			m_restoredBaseTimes = false;
+			timestamp += m_baseTimeOffsets[timeIndex];
+			
+			if (Math.abs(timestamp - now) > RestoredBaseTimeTolerance)
+				m_baseTimeOffsets = null;
+		}
+	}
+	
+	// Queues a status message callback.
+	private void dispatchStatusMessage(String message)
+	{
+		CallbackEvent event = claimCallback();
+		
+		if (event != null)
+		{
+			event.setMessage(CallbackEvent.StatusMessage, message);
+			publishCallback(event);
+		}
 	}
 	
 	// Queues an exception encountered callback.
-	private void dispatchException(final Exception exception)
+	private void dispatchException(Exception exception)
 	{
-		m_callbackQueue.add(new Runnable()
+		CallbackEvent event = claimCallback();
+		
+		if (event != null)
 		{
-			@Override
-			public void run()
-			{
-				for (SubscriberListener listener : m_subscriberListeners)
-					listener.exceptionEncountered(new MessageEvent(DataSubscriber.this, exception));
-			}
-		});
+			event.setException(exception);
+			publishCallback(event);
+		}
 	}
 	
 	// Queues a data start time received callback.
-	private void dispatchDataStartTime(final long dataStartTime)
+	private void dispatchDataStartTime(long dataStartTime)
 	{
-		m_callbackQueue.add(new Runnable()
+		CallbackEvent event = claimCallback();
+		
+		if (event != null)
 		{
-			@Override
-			public void run()
-			{
-				for (SubscriberListener listener : m_subscriberListeners)
-					listener.dataStartTimeReceived(new StartTimeEvent(DataSubscriber.this, dataStartTime));
-			}
-		});
+			event.setDataStartTime(dataStartTime);
+			publishCallback(event);
+		}
 	}
 	
 	// Queues a metadata received callback.
-	private void dispatchMetadata(final byte[] compressedMetadata)
+	private void dispatchMetadata(byte[] compressedMetadata)
 	{
-		m_callbackQueue.add(new Runnable()
+		CallbackEvent event = claimCallback();
+		
+		if (event != null)
 		{
-			@Override
-			public void run()
-			{
-				for (SubscriberListener listener : m_subscriberListeners)
-					listener.metadataReceived(new MetadataEvent(DataSubscriber.this, compressedMetadata));
-			}
-		});
+			event.setMetadata(compressedMetadata);
+			publishCallback(event);
+		}
 	}
 	
 	// Queues a metadata received callback.
-	private void dispatchMetadata(final String xmlMetadata)
+	private void dispatchMetadata(String xmlMetadata)
 	{
-		m_callbackQueue.add(new Runnable()
+		CallbackEvent event = claimCallback();
+		
+		if (event != null)
 		{
-			@Override
-			public void run()
-			{
-				for (SubscriberListener listener : m_subscriberListeners)
-					listener.metadataReceived(new MetadataEvent(DataSubscriber.this, xmlMetadata));
-			}
-		});
+			event.setMessage(CallbackEvent.XmlMetadata, xmlMetadata);
+			publishCallback(event);
+		}
 	}
 	
-	// Queues a new measurements callback.
-	private void dispatchNewMeasurements(final Collection<Measurement> newMeasurements)
+	// Queues a processing complete callback.
+	private void dispatchProcessingComplete(String message)
 	{
-		m_callbackQueue.add(new Runnable()
+		CallbackEvent event = claimCallback();
+		
+		if (event != null)
 		{
-			@Override
-			public void run()
-			{
-				for (SubscriberListener listener : m_subscriberListeners)
-					listener.newMeasurementsReceived(new MeasurementEvent(DataSubscriber.this, newMeasurements));
-			}
-		});
+			event.setMessage(CallbackEvent.ProcessingComplete, message);
+			publishCallback(event);
+		}
 	}
 	
-	// Queues a processing complete callback.
-	private void dispatchProcessingComplete(final String message)
+	// Claims a slot in the callback queue for a callback other than new
+	// measurements. Threads of an NIO engine are shared with other
+	// subscribers and must never wait for this subscriber's listeners,
+	// so if the queue is full, or earlier callbacks are already waiting
+	// for room, the callback is deferred until a slot is freed instead.
+	private CallbackEvent claimCallback()
 	{
-		m_callbackQueue.add(new Runnable()
+		CallbackEvent event = null;
+		
+		if (m_nioConnection == null)
+			return m_callbackQueue.claim();
+		
+		if (m_deferredCallbacks.isEmpty())
+			event = m_callbackQueue.tryClaim();
+		
+		if (event == null)
 		{
-			@Override
-			public void run()
-			{
-				for (SubscriberListener listener : m_subscriberListeners)
-					listener.processingCompleteCallback(new MessageEvent(DataSubscriber.this, message));
-			}
-		});
+			event = new CallbackEvent();
+			event.setSequence(DeferredSequence);
+		}
+		
+		return event;
+	}
+	
+	// Publishes a callback claimed by claimCallback(),
+	// or defers it if it was not given a slot.
+	private void publishCallback(CallbackEvent event)
+	{
+		if (event.getSequence() != DeferredSequence)
+		{
+			m_callbackQueue.publish(event);
+			return;
+		}
+		
+		synchronized (m_deferredCallbacks)
+		{
+			m_deferredCallbacks.add(event);
+			flushDeferredCallbacks();
+		}
+	}
+	
+	// Moves deferred callbacks into free slots in the callback queue, in the
+	// order they were deferred. Must be called while holding the lock on the
+	// deferred callbacks.
+	private void flushDeferredCallbacks()
+	{
+		CallbackEvent event;
+		
+		while (!m_deferredCallbacks.isEmpty())
+		{
+			event = m_callbackQueue.tryClaim();
+			
+			if (event == null)
+				return;
+			
+			event.setCallback(m_deferredCallbacks.poll());
+			m_callbackQueue.publish(event);
+		}
 	}
 	
 	// Executes a connection terminated callback on a separate thread.
@@ -1120,62 +2925,25 @@ public class DataSubscriber
 		connectionTerminatedThread.start();
 	}
 	
-	// Decompresses the data in the given buffer.
+	// Decompresses the data in the given buffer. The returned buffer
+	// is reused by the decompressor the next time it is called, so
+	// the decompressed data must be consumed before then, after which
+	// the decompressor's buffers should be given back to the pool.
 	private ByteBuffer decompress(ByteBuffer buffer)
 	{
-		ByteArrayInputStream inputStream = null;
-		GZIPInputStream inflater = null;
-		ArrayList<Byte> byteList;
-		byte[] swap;
-		int bytesRead;
+		long startTime = System.nanoTime();
+		ByteBuffer decompressedBuffer;
 		
 		try
 		{
-			inputStream = new ByteArrayInputStream(buffer.array(), buffer.position() + buffer.arrayOffset(), buffer.remaining());
-			inflater = new GZIPInputStream(inputStream);
-			byteList = new ArrayList<Byte>((int)(buffer.remaining() * 1.5));
-			swap = new byte[1024];
-			
-			do
-			{
-				// Decompress data and place it into swap array.
-				bytesRead = inflater.read(swap, 0, swap.length);
-
-				// Swap the decompressed data into the byte list.
-				for (int i = 0; i < bytesRead; i++)
-					byteList.add(swap[i]);
-			} while (bytesRead > 0);
-			
-			// Increase swap size to contain the fully decompressed data.
-			swap = new byte[byteList.size()];
-			
-			// Copy the data into the swap array.
-			for (int i = 0; i < swap.length; i++)
-				swap[i] = byteList.get(i);
-			
-			return ByteBuffer.wrap(swap);
+			decompressedBuffer = m_decompressor.decompress(buffer);
+			m_statistics.recordDecompressionTime(System.nanoTime() - startTime);
+			return decompressedBuffer;
 		}
 		catch (IOException ex)
 		{
-			
 			dispatchException(ex);
 		}
-		finally
-		{
-			try
-			{
-				// Attempt to close the input
-				// streams to release resources.
-				if (inflater != null)
-					inflater.close();
-				
-				if (inputStream != null)
-					inputStream.close();
-			} catch (IOException ex)
-			{
-				dispatchException(ex);
-			}
-		}
 		
 		return buffer;
 	}
@@ -1207,6 +2975,30 @@ public class DataSubscriber
 	// Maximum possible packet size to be received on the data channel.
 	private static final int MaxPacketSize = 32767;
 	
+	// Number of slots in the callback queue.
+	private static final int CallbackQueueCapacity = 1024;
+	
+	// Maximum number of callbacks executed between checks for disconnect.
+	private static final int CallbackDrainCount = 256;
+	
+	// Marks callbacks that were deferred rather than given a slot in the callback queue
+	private static final long DeferredSequence = -1L;
+	
+	// Number of partial batches that can be queued for each parallel dispatch thread.
+	private static final int ParallelDispatchQueueCapacity = 256;
+	
+	// Domain of the object names under which statistics are registered.
+	private static final String StatisticsDomain = "org.gpa.gsf.timeseries";
+	
+	// Maximum difference, in ticks, between the local clock and the first timestamp
+	// parsed with restored base times for those base times to be kept. Base times are
+	// usually chosen anew for each subscription, so this is kept small to avoid
+	// accepting base times that are only slightly out of date.
+	private static final long RestoredBaseTimeTolerance = 10000000L;
+	
+	// Number of ticks in one millisecond.
+	private static final long TicksPerMillisecond = 10000L;
+	
 	private static final long PollTimeout = 1L;
 	private static final TimeUnit PollTimeoutUnit = TimeUnit.SECONDS;
 }
@@ -0,0 +1,347 @@
+//******************************************************************************************************
+//  DataSubscriberStatistics.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics gathered by a {@link DataSubscriber}. The subscriber
+ * registers its statistics with the platform MBean server while it
+ * is connected; they can also be read directly through
+ * {@link DataSubscriber#getStatistics()}. All methods are thread-safe.
+ */
+public class DataSubscriberStatistics implements DataSubscriberStatisticsMBean
+{
+	private DataSubscriber m_subscriber;
+	
+	// Durations
+	private LatencyHistogram m_parseLatency;
+	private LatencyHistogram m_dispatchLag;
+	private LatencyHistogram m_decompressionTime;
+	
+	// Counters
+	private AtomicLong m_signalIndexCacheUpdates;
+	private AtomicLong m_baseTimeUpdates;
+	private AtomicLong m_dataPacketsRejected;
+	
+	// Rates, calculated from the difference between two
+	// samples of the counters taken at least a second apart
+	private long m_rateSampleTime;
+	private long m_commandChannelBytesSample;
+	private long m_dataChannelBytesSample;
+	private long m_measurementsSample;
+	private double m_commandChannelByteRate;
+	private double m_dataChannelByteRate;
+	private double m_measurementRate;
+	
+	/**
+	 * Creates the statistics for the given subscriber.
+	 */
+	DataSubscriberStatistics(DataSubscriber subscriber)
+	{
+		m_subscriber = subscriber;
+		m_parseLatency = new LatencyHistogram();
+		m_dispatchLag = new LatencyHistogram();
+		m_decompressionTime = new LatencyHistogram();
+		m_signalIndexCacheUpdates = new AtomicLong();
+		m_baseTimeUpdates = new AtomicLong();
+		m_dataPacketsRejected = new AtomicLong();
+		m_rateSampleTime = System.nanoTime();
+	}
+	
+	@Override
+	public long getCommandChannelBytesReceived()
+	{
+		return m_subscriber.getTotalCommandChannelBytesReceived();
+	}
+	
+	@Override
+	public long getDataChannelBytesReceived()
+	{
+		return m_subscriber.getTotalDataChannelBytesReceived();
+	}
+	
+	@Override
+	public long getMeasurementsReceived()
+	{
+		return m_subscriber.getTotalMeasurementsReceived();
+	}
+	
+	@Override
+	public long getMeasurementsDropped()
+	{
+		return m_subscriber.getTotalMeasurementsDropped();
+	}
+	
+	@Override
+	public long getMeasurementsCoalesced()
+	{
+		return m_subscriber.getTotalMeasurementsCoalesced();
+	}
+	
+	@Override
+	public synchronized double getCommandChannelByteRate()
+	{
+		updateRates();
+		return m_commandChannelByteRate;
+	}
+	
+	@Override
+	public synchronized double getDataChannelByteRate()
+	{
+		updateRates();
+		return m_dataChannelByteRate;
+	}
+	
+	@Override
+	public synchronized double getMeasurementRate()
+	{
+		updateRates();
+		return m_measurementRate;
+	}
+	
+	@Override
+	public long getDataPacketsParsed()
+	{
+		return m_parseLatency.getCount();
+	}
+	
+	@Override
+	public double getParseLatencyMean()
+	{
+		return m_parseLatency.getMean();
+	}
+	
+	@Override
+	public double getParseLatencyMax()
+	{
+		return m_parseLatency.getMax();
+	}
+	
+	@Override
+	public double getParseLatency99thPercentile()
+	{
+		return m_parseLatency.getPercentile(99.0D);
+	}
+	
+	@Override
+	public long[] getParseLatencyHistogram()
+	{
+		return m_parseLatency.getCounts();
+	}
+	
+	@Override
+	public int getCallbackQueueDepth()
+	{
+		return m_subscriber.getCallbackQueueDepth();
+	}
+	
+	@Override
+	public int getCallbackQueueCapacity()
+	{
+		return m_subscriber.getCallbackQueueCapacity();
+	}
+	
+	@Override
+	public double getDispatchLagMean()
+	{
+		return m_dispatchLag.getMean();
+	}
+	
+	@Override
+	public double getDispatchLagMax()
+	{
+		return m_dispatchLag.getMax();
+	}
+	
+	@Override
+	public double getDispatchLag99thPercentile()
+	{
+		return m_dispatchLag.getPercentile(99.0D);
+	}
+	
+	@Override
+	public long[] getDispatchLagHistogram()
+	{
+		return m_dispatchLag.getCounts();
+	}
+	
+	@Override
+	public long getPayloadsDecompressed()
+	{
+		return m_decompressionTime.getCount();
+	}
+	
+	@Override
+	public double getDecompressionTimeMean()
+	{
+		return m_decompressionTime.getMean();
+	}
+	
+	@Override
+	public double getDecompressionTimeMax()
+	{
+		return m_decompressionTime.getMax();
+	}
+	
+	@Override
+	public long[] getDecompressionTimeHistogram()
+	{
+		return m_decompressionTime.getCounts();
+	}
+	
+	@Override
+	public long getSignalIndexCacheUpdates()
+	{
+		return m_signalIndexCacheUpdates.get();
+	}
+	
+	@Override
+	public long getBaseTimeUpdates()
+	{
+		return m_baseTimeUpdates.get();
+	}
+	
+	@Override
+	public long getDataPacketsRejected()
+	{
+		return m_dataPacketsRejected.get();
+	}
+	
+	@Override
+	public void resetHistograms()
+	{
+		m_parseLatency.reset();
+		m_dispatchLag.reset();
+		m_decompressionTime.reset();
+	}
+	
+	/**
+	 * Records the time taken to parse a data packet.
+	 */
+	void recordParseLatency(long nanos)
+	{
+		m_parseLatency.record(nanos);
+	}
+	
+	/**
+	 * Records the time a callback spent in the callback queue.
+	 */
+	void recordDispatchLag(long nanos)
+	{
+		m_dispatchLag.record(nanos);
+	}
+	
+	/**
+	 * Records the time taken to decompress a payload.
+	 */
+	void recordDecompressionTime(long nanos)
+	{
+		m_decompressionTime.record(nanos);
+	}
+	
+	/**
+	 * Counts a signal index cache update.
+	 */
+	void signalIndexCacheUpdated()
+	{
+		m_signalIndexCacheUpdates.incrementAndGet();
+	}
+	
+	/**
+	 * Counts a base time update.
+	 */
+	void baseTimesUpdated()
+	{
+		m_baseTimeUpdates.incrementAndGet();
+	}
+	
+	/**
+	 * Counts a packet rejected by the data channel.
+	 */
+	void dataPacketRejected()
+	{
+		m_dataPacketsRejected.incrementAndGet();
+	}
+	
+	/**
+	 * Resets the statistics gathered by this object
+	 * when the subscriber establishes a new connection.
+	 */
+	synchronized void reset()
+	{
+		resetHistograms();
+		m_signalIndexCacheUpdates.set(0L);
+		m_baseTimeUpdates.set(0L);
+		m_dataPacketsRejected.set(0L);
+		m_rateSampleTime = System.nanoTime();
+		m_commandChannelBytesSample = 0L;
+		m_dataChannelBytesSample = 0L;
+		m_measurementsSample = 0L;
+		m_commandChannelByteRate = 0.0D;
+		m_dataChannelByteRate = 0.0D;
+		m_measurementRate = 0.0D;
+	}
+	
+	// Recalculates the rates if the last sample is old enough.
+	// Must be called while holding the lock on this object.
+	private void updateRates()
+	{
+		long now = System.nanoTime();
+		double seconds = (now - m_rateSampleTime) / NanosPerSecond;
+		long commandChannelBytes;
+		long dataChannelBytes;
+		long measurements;
+		
+		if (seconds < RateSampleInterval)
+			return;
+		
+		commandChannelBytes = getCommandChannelBytesReceived();
+		dataChannelBytes = getDataChannelBytesReceived();
+		measurements = getMeasurementsReceived();
+		
+		m_commandChannelByteRate = getRate(commandChannelBytes, m_commandChannelBytesSample, seconds);
+		m_dataChannelByteRate = getRate(dataChannelBytes, m_dataChannelBytesSample, seconds);
+		m_measurementRate = getRate(measurements, m_measurementsSample, seconds);
+		
+		m_rateSampleTime = now;
+		m_commandChannelBytesSample = commandChannelBytes;
+		m_dataChannelBytesSample = dataChannelBytes;
+		m_measurementsSample = measurements;
+	}
+	
+	// Calculates the rate at which a counter increased between two samples.
+	// The counter may have been reset in between, in which case its
+	// current value is all that was counted since the last sample.
+	private static double getRate(long value, long sample, double seconds)
+	{
+		long difference = (value >= sample) ? value - sample : value;
+		return difference / seconds;
+	}
+	
+	// Minimum number of seconds between rate samples.
+	private static final double RateSampleInterval = 1.0D;
+	
+	private static final double NanosPerSecond = 1000000000.0D;
+}
@@ -0,0 +1,184 @@
+//******************************************************************************************************
+//  DataSubscriberStatisticsMBean.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+/**
+ * Management interface exposing the statistics of a {@link DataSubscriber}.
+ * Durations are reported in microseconds and rates per second. Histograms
+ * are reported as an array of counts where element {@code i} counts the
+ * durations of at least 2<sup>i-1</sup> and less than 2<sup>i</sup>
+ * nanoseconds; percentiles are estimated from these buckets, so they
+ * can be up to twice the actual value.
+ */
+public interface DataSubscriberStatisticsMBean
+{
+	/**
+	 * Gets the total number of bytes received on
+	 * the command channel since last connection.
+	 */
+	long getCommandChannelBytesReceived();
+	
+	/**
+	 * Gets the total number of bytes received on
+	 * the data channel since last connection.
+	 */
+	long getDataChannelBytesReceived();
+	
+	/**
+	 * Gets the total number of measurements
+	 * received since last subscription.
+	 */
+	long getMeasurementsReceived();
+	
+	/**
+	 * Gets the total number of measurements discarded
+	 * because the callback queue was full.
+	 */
+	long getMeasurementsDropped();
+	
+	/**
+	 * Gets the total number of measurements replaced by a newer
+	 * measurement for the same signal before they could be delivered.
+	 */
+	long getMeasurementsCoalesced();
+	
+	/**
+	 * Gets the number of bytes received per second on the command channel.
+	 */
+	double getCommandChannelByteRate();
+	
+	/**
+	 * Gets the number of bytes received per second on the data channel.
+	 */
+	double getDataChannelByteRate();
+	
+	/**
+	 * Gets the number of measurements received per second.
+	 */
+	double getMeasurementRate();
+	
+	/**
+	 * Gets the number of data packets parsed since last connection.
+	 */
+	long getDataPacketsParsed();
+	
+	/**
+	 * Gets the mean time taken to parse a data packet.
+	 */
+	double getParseLatencyMean();
+	
+	/**
+	 * Gets the longest time taken to parse a data packet.
+	 */
+	double getParseLatencyMax();
+	
+	/**
+	 * Gets the 99th percentile of the time taken to parse a data packet.
+	 */
+	double getParseLatency99thPercentile();
+	
+	/**
+	 * Gets the histogram of the time taken to parse a data packet.
+	 */
+	long[] getParseLatencyHistogram();
+	
+	/**
+	 * Gets the number of callbacks waiting in the callback queue.
+	 */
+	int getCallbackQueueDepth();
+	
+	/**
+	 * Gets the maximum number of callbacks the callback queue can hold.
+	 */
+	int getCallbackQueueCapacity();
+	
+	/**
+	 * Gets the mean time callbacks spend in the
+	 * callback queue before they are executed.
+	 */
+	double getDispatchLagMean();
+	
+	/**
+	 * Gets the longest time a callback spent in
+	 * the callback queue before it was executed.
+	 */
+	double getDispatchLagMax();
+	
+	/**
+	 * Gets the 99th percentile of the time callbacks spend
+	 * in the callback queue before they are executed.
+	 */
+	double getDispatchLag99thPercentile();
+	
+	/**
+	 * Gets the histogram of the time callbacks spend in
+	 * the callback queue before they are executed.
+	 */
+	long[] getDispatchLagHistogram();
+	
+	/**
+	 * Gets the number of payloads decompressed since last connection.
+	 */
+	long getPayloadsDecompressed();
+	
+	/**
+	 * Gets the mean time taken to decompress a payload.
+	 */
+	double getDecompressionTimeMean();
+	
+	/**
+	 * Gets the longest time taken to decompress a payload.
+	 */
+	double getDecompressionTimeMax();
+	
+	/**
+	 * Gets the histogram of the time taken to decompress a payload.
+	 */
+	long[] getDecompressionTimeHistogram();
+	
+	/**
+	 * Gets the number of signal index cache updates
+	 * received from the publisher since last connection.
+	 */
+	long getSignalIndexCacheUpdates();
+	
+	/**
+	 * Gets the number of base time updates received
+	 * from the publisher since last connection.
+	 */
+	long getBaseTimeUpdates();
+	
+	/**
+	 * Gets the number of packets received on the data channel since
+	 * last connection that were discarded because they were not sent
+	 * by the host the subscriber is connected to.
+	 */
+	long getDataPacketsRejected();
+	
+	/**
+	 * Discards the durations recorded by the histograms so that
+	 * they only reflect durations recorded from now on.
+	 */
+	void resetHistograms();
+}
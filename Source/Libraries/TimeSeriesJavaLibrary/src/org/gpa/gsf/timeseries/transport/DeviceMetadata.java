@@ -0,0 +1,148 @@
+//******************************************************************************************************
+//  DeviceMetadata.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.UUID;
+
+/**
+ * Describes a device as defined by a {@code DeviceDetail}
+ * record in the metadata received from the publisher.
+ * 
+ * @see MetadataCatalog
+ */
+public class DeviceMetadata
+{
+	private UUID m_uniqueId;
+	private String m_acronym;
+	private String m_name;
+	private int m_accessId;
+	private String m_parentAcronym;
+	private String m_protocolName;
+	private int m_framesPerSecond;
+	private boolean m_enabled;
+	
+	/**
+	 * Constructs a new instance.
+	 */
+	DeviceMetadata(UUID uniqueId, String acronym, String name, int accessId, String parentAcronym, String protocolName, int framesPerSecond, boolean enabled)
+	{
+		m_uniqueId = uniqueId;
+		m_acronym = acronym;
+		m_name = name;
+		m_accessId = accessId;
+		m_parentAcronym = parentAcronym;
+		m_protocolName = protocolName;
+		m_framesPerSecond = framesPerSecond;
+		m_enabled = enabled;
+	}
+	
+	/**
+	 * Gets the globally unique identifier of the device.
+	 * 
+	 * @return the device's unique ID, or {@code null} if none was defined
+	 */
+	public UUID getUniqueId()
+	{
+		return m_uniqueId;
+	}
+	
+	/**
+	 * Gets the acronym which identifies the device.
+	 * 
+	 * @return the device's acronym
+	 */
+	public String getAcronym()
+	{
+		return m_acronym;
+	}
+	
+	/**
+	 * Gets the descriptive name of the device.
+	 * 
+	 * @return the device's name, or {@code null} if none was defined
+	 */
+	public String getName()
+	{
+		return m_name;
+	}
+	
+	/**
+	 * Gets the ID code used to access the device.
+	 * 
+	 * @return the device's access ID
+	 */
+	public int getAccessId()
+	{
+		return m_accessId;
+	}
+	
+	/**
+	 * Gets the acronym of the concentrator to which the device belongs.
+	 * 
+	 * @return the parent device's acronym, or {@code null} if the device has no parent
+	 */
+	public String getParentAcronym()
+	{
+		return m_parentAcronym;
+	}
+	
+	/**
+	 * Gets the name of the protocol used to communicate with the device.
+	 * 
+	 * @return the device's protocol name, or {@code null} if none was defined
+	 */
+	public String getProtocolName()
+	{
+		return m_protocolName;
+	}
+	
+	/**
+	 * Gets the rate at which the device produces data.
+	 * 
+	 * @return the device's frame rate, in frames per second
+	 */
+	public int getFramesPerSecond()
+	{
+		return m_framesPerSecond;
+	}
+	
+	/**
+	 * Indicates whether the device is enabled.
+	 * 
+	 * @return flag indicating whether the device is enabled
+	 */
+	public boolean isEnabled()
+	{
+		return m_enabled;
+	}
+	
+	/**
+	 * Returns the acronym of the device.
+	 */
+	@Override
+	public String toString()
+	{
+		return m_acronym;
+	}
+}
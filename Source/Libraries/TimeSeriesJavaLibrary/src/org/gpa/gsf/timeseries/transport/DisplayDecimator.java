@@ -0,0 +1,757 @@
+//******************************************************************************************************
+//  DisplayDecimator.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.gpa.gsf.timeseries.transport.constant.DecimationMethod;
+import org.gpa.gsf.timeseries.transport.event.DisplayListener;
+import org.gpa.gsf.timeseries.transport.event.MeasurementBatchEvent;
+import org.gpa.gsf.timeseries.transport.event.MeasurementCursorListener;
+import org.gpa.gsf.timeseries.transport.event.SubscriberAdapter;
+
+/**
+ * Subscriber-side stage which reduces each signal to a target number of
+ * points per second for display, while preserving the visual features of
+ * the trend, and publishes the reduced stream to {@link DisplayListener}s.
+ * <p>
+ * Each signal's measurements are grouped into buckets of measurement time,
+ * aligned to whole multiples of the bucket length, and a bucket is reduced
+ * when the signal's first measurement in a later bucket arrives. With the
+ * {@link DecimationMethod#MinMax} method, the smallest and largest values
+ * in each bucket are kept, so buckets are two target intervals long. With
+ * the {@link DecimationMethod#LargestTriangleThreeBuckets} method, one point
+ * is kept from each bucket, chosen using the point kept from the previous
+ * bucket and the average of the next one, so each bucket is only reduced
+ * once the bucket after it has closed as well.
+ * <p>
+ * The decimator keeps a fixed amount of state for each signal, in primitive
+ * arrays indexed by signal index. For the Largest-Triangle-Three-Buckets
+ * method, this includes the measurements of the two most recent buckets, up
+ * to a fixed number of measurements per bucket; measurements beyond that
+ * number still count towards the bucket's average but cannot be chosen for
+ * display. Values that are not numbers are never displayed. Measurements
+ * that arrive after their bucket has been reduced are counted as late and
+ * discarded. So that a single measurement from a device with a bad clock
+ * cannot blank out its signal's trend, measurements timestamped further
+ * ahead of the local clock than the lead time are counted as future
+ * measurements and discarded as well.
+ * <p>
+ * The decimator can be added directly to a {@link DataSubscriber} as a
+ * listener, or set as its {@link MeasurementCursorListener} so that
+ * measurements are read in place without being copied into a batch. In
+ * either case, the display points selected from each batch of measurements
+ * are published together, on the thread that delivers measurements. Calls
+ * to the decimator are synchronized, so it may also be fed by parallel
+ * dispatch threads.
+ */
+public class DisplayDecimator extends SubscriberAdapter implements MeasurementCursorListener
+{
+	private double m_pointsPerSecond;
+	private int m_decimationMethod;
+	private int m_bucketCapacity;
+	private long m_bucketTicks;
+	private LeadTimeFilter m_leadTimeFilter;
+	
+	// State of each signal, stored at its signal index
+	private int m_signalCapacity;
+	private long[] m_currentBuckets;
+	
+	// Smallest and largest values of the current
+	// bucket, used by the min/max method
+	private float[] m_minimumValues;
+	private long[] m_minimumTimes;
+	private int[] m_minimumFlags;
+	private float[] m_maximumValues;
+	private long[] m_maximumTimes;
+	private int[] m_maximumFlags;
+	
+	// Measurements of the current and pending buckets, used by the
+	// largest-triangle method. Each signal has two halves of the sample
+	// arrays, starting at (signal * 2 + half) * bucket capacity, and
+	// the current bucket is in the half given by m_currentHalves.
+	private float[] m_sampleValues;
+	private long[] m_sampleTimes;
+	private int[] m_sampleFlags;
+	private byte[] m_currentHalves;
+	private int[] m_currentSizes;
+	private int[] m_currentCounts;
+	private double[] m_currentTimeSums;
+	private double[] m_currentValueSums;
+	private int[] m_pendingSizes;
+	private long[] m_anchorTimes;
+	private float[] m_anchorValues;
+	
+	private MeasurementBatch m_displayPoints;
+	private SignalIndexCache m_signalIndexCache;
+	
+	private AtomicLong m_receivedMeasurementCount;
+	private AtomicLong m_publishedPointCount;
+	private AtomicLong m_lateMeasurementCount;
+	
+	private Collection<DisplayListener> m_displayListeners;
+	
+	/**
+	 * Constructs a new display decimator which keeps at most 64
+	 * candidate measurements per bucket when the
+	 * {@link DecimationMethod#LargestTriangleThreeBuckets} method is used.
+	 * 
+	 * @param pointsPerSecond the target number of display points per second for each signal
+	 * @param decimationMethod one of the values defined in {@link DecimationMethod}
+	 * @throws IllegalArgumentException if {@code pointsPerSecond} is not
+	 *         positive or {@code decimationMethod} is not valid
+	 */
+	public DisplayDecimator(double pointsPerSecond, int decimationMethod)
+	{
+		this(pointsPerSecond, decimationMethod, DefaultBucketCapacity);
+	}
+	
+	/**
+	 * Constructs a new display decimator. The bucket capacity should be at
+	 * least the rate at which each signal is received divided by the target
+	 * number of points per second; it is not used by the
+	 * {@link DecimationMethod#MinMax} method, which keeps no measurements.
+	 * 
+	 * @param pointsPerSecond the target number of display points per second for each signal
+	 * @param decimationMethod one of the values defined in {@link DecimationMethod}
+	 * @param bucketCapacity the number of measurements per bucket that are candidates for display
+	 * @throws IllegalArgumentException if {@code pointsPerSecond} or
+	 *         {@code bucketCapacity} is not positive or {@code decimationMethod}
+	 *         is not valid
+	 */
+	public DisplayDecimator(double pointsPerSecond, int decimationMethod, int bucketCapacity)
+	{
+		if (!(pointsPerSecond > 0.0D))
+			throw new IllegalArgumentException("pointsPerSecond must be positive");
+		
+		if (bucketCapacity <= 0)
+			throw new IllegalArgumentException("bucketCapacity must be positive");
+		
+		switch (decimationMethod)
+		{
+		case DecimationMethod.MinMax:
+			m_bucketTicks = (long)(2.0D * TicksPerSecond / pointsPerSecond);
+			break;
+			
+		case DecimationMethod.LargestTriangleThreeBuckets:
+			m_bucketTicks = (long)(TicksPerSecond / pointsPerSecond);
+			break;
+			
+		default:
+			throw new IllegalArgumentException("Unknown decimation method: " + decimationMethod);
+		}
+		
+		if (m_bucketTicks <= 0L)
+			throw new IllegalArgumentException("pointsPerSecond is too large");
+		
+		m_pointsPerSecond = pointsPerSecond;
+		m_decimationMethod = decimationMethod;
+		m_bucketCapacity = bucketCapacity;
+		m_leadTimeFilter = new LeadTimeFilter(LeadTimeFilter.DefaultLeadTime);
+		
+		// Start from empty arrays so that allocate only ever has to grow them
+		m_currentBuckets = new long[0];
+		
+		if (decimationMethod == DecimationMethod.MinMax)
+		{
+			m_minimumValues = new float[0];
+			m_minimumTimes = new long[0];
+			m_minimumFlags = new int[0];
+			m_maximumValues = new float[0];
+			m_maximumTimes = new long[0];
+			m_maximumFlags = new int[0];
+		}
+		else
+		{
+			m_sampleValues = new float[0];
+			m_sampleTimes = new long[0];
+			m_sampleFlags = new int[0];
+			m_currentHalves = new byte[0];
+			m_currentSizes = new int[0];
+			m_currentCounts = new int[0];
+			m_currentTimeSums = new double[0];
+			m_currentValueSums = new double[0];
+			m_pendingSizes = new int[0];
+			m_anchorTimes = new long[0];
+			m_anchorValues = new float[0];
+		}
+		
+		allocate(DefaultSignalCapacity);
+		
+		m_displayPoints = new MeasurementBatch();
+		
+		m_receivedMeasurementCount = new AtomicLong();
+		m_publishedPointCount = new AtomicLong();
+		m_lateMeasurementCount = new AtomicLong();
+		
+		m_displayListeners = new ArrayList<DisplayListener>();
+	}
+	
+	/**
+	 * Adds the given listener to receive display points from this decimator.
+	 * If the {@code listener} is {@code null}, no exception is thrown
+	 * and no action is performed.
+	 * 
+	 * @param displayListener the listener to be added
+	 */
+	public synchronized void addDisplayListener(DisplayListener displayListener)
+	{
+		if (displayListener != null)
+			m_displayListeners.add(displayListener);
+	}
+	
+	/**
+	 * Removes the given listener so that it no longer receives display
+	 * points from this decimator. This method performs no function, nor
+	 * does it throw an exception, if {@code displayListener} was not
+	 * previously added to this decimator. If {@code displayListener} is
+	 * {@code null}, no exception is thrown and no action is performed.
+	 * 
+	 * @param displayListener the listener to be removed
+	 */
+	public synchronized void removeDisplayListener(DisplayListener displayListener)
+	{
+		if (displayListener != null)
+			m_displayListeners.remove(displayListener);
+	}
+	
+	/**
+	 * Gets the target number of display points per second for each signal.
+	 * 
+	 * @return the target number of points per second
+	 */
+	public double getPointsPerSecond()
+	{
+		return m_pointsPerSecond;
+	}
+	
+	/**
+	 * Gets the method used to choose which measurements are displayed.
+	 * 
+	 * @return one of the values defined in {@link DecimationMethod}
+	 */
+	public int getDecimationMethod()
+	{
+		return m_decimationMethod;
+	}
+	
+	/**
+	 * Gets the number of measurements per bucket that are candidates for display.
+	 * 
+	 * @return the bucket capacity
+	 */
+	public int getBucketCapacity()
+	{
+		return m_bucketCapacity;
+	}
+	
+	/**
+	 * Gets the time, in seconds, that measurement timestamps may
+	 * be ahead of the local clock before they are discarded.
+	 * 
+	 * @return the lead time, in seconds
+	 * @see #setLeadTime(double)
+	 */
+	public synchronized double getLeadTime()
+	{
+		return m_leadTimeFilter.getLeadTime();
+	}
+	
+	/**
+	 * Sets the time, in seconds, that measurement timestamps may be ahead
+	 * of the local clock before they are discarded. The default lead time
+	 * is five seconds. Measurements beyond the lead time are counted as
+	 * future measurements rather than closing their signal's buckets.
+	 * 
+	 * @param leadTime the new lead time, in seconds
+	 * @throws IllegalArgumentException if {@code leadTime} is not positive
+	 * @see #getFutureMeasurementCount()
+	 */
+	public synchronized void setLeadTime(double leadTime)
+	{
+		m_leadTimeFilter.setLeadTime(leadTime);
+	}
+	
+	/**
+	 * Gets the number of measurements received by the decimator.
+	 * 
+	 * @return the number of measurements received
+	 */
+	public long getReceivedMeasurementCount()
+	{
+		return m_receivedMeasurementCount.get();
+	}
+	
+	/**
+	 * Gets the number of display points published by the decimator.
+	 * 
+	 * @return the number of display points published
+	 */
+	public long getPublishedPointCount()
+	{
+		return m_publishedPointCount.get();
+	}
+	
+	/**
+	 * Gets the number of measurements that arrived
+	 * after their bucket had already been reduced.
+	 * 
+	 * @return the number of late measurements
+	 */
+	public long getLateMeasurementCount()
+	{
+		return m_lateMeasurementCount.get();
+	}
+	
+	/**
+	 * Gets the number of measurements that were discarded because they
+	 * were timestamped further ahead of the local clock than the lead time.
+	 * 
+	 * @return the number of future measurements
+	 * @see #setLeadTime(double)
+	 */
+	public long getFutureMeasurementCount()
+	{
+		return m_leadTimeFilter.getRejectedCount();
+	}
+	
+	/**
+	 * Reduces the measurements in the given batch, then publishes
+	 * the display points selected from any buckets that closed.
+	 * 
+	 * @param batch the batch of measurements to be decimated
+	 * @throws IllegalArgumentException if {@code batch} is {@code null}
+	 */
+	public synchronized void decimate(MeasurementBatch batch)
+	{
+		short[] signalIndexes;
+		float[] values;
+		long[] timestamps;
+		int[] flags;
+		
+		if (batch == null)
+			throw new IllegalArgumentException("batch cannot be null");
+		
+		if (batch.getSignalIndexCache() != m_signalIndexCache)
+			changeSignalIndexCache(batch.getSignalIndexCache());
+		
+		signalIndexes = batch.getSignalIndexes();
+		values = batch.getValues();
+		timestamps = batch.getTimestamps();
+		flags = batch.getFlags();
+		m_leadTimeFilter.update();
+		
+		for (int i = 0; i < batch.size(); i++)
+			decimate(signalIndexes[i], values[i], timestamps[i], flags[i]);
+		
+		m_receivedMeasurementCount.addAndGet(batch.size());
+		publishDisplayPoints();
+	}
+	
+	/**
+	 * Reduces the measurements remaining in the given cursor, then
+	 * publishes the display points selected from any buckets that closed.
+	 * 
+	 * @param cursor the cursor over the measurements to be decimated
+	 * @throws IllegalArgumentException if {@code cursor} is {@code null}
+	 */
+	public synchronized void decimate(MeasurementCursor cursor)
+	{
+		int count = 0;
+		
+		if (cursor == null)
+			throw new IllegalArgumentException("cursor cannot be null");
+		
+		if (cursor.getSignalIndexCache() != m_signalIndexCache)
+			changeSignalIndexCache(cursor.getSignalIndexCache());
+		
+		m_leadTimeFilter.update();
+		
+		while (cursor.next())
+		{
+			decimate(cursor.signalIndex(), cursor.value(), cursor.timestamp(), cursor.flags());
+			count++;
+		}
+		
+		m_receivedMeasurementCount.addAndGet(count);
+		publishDisplayPoints();
+	}
+	
+	/**
+	 * Reduces every open bucket, regardless of whether later measurements
+	 * have arrived, publishes the selected display points, and resets the
+	 * decimator so that the next measurement of each signal starts a new
+	 * trend. Counts are not reset.
+	 */
+	public synchronized void flush()
+	{
+		for (int signal = 0; signal < m_signalCapacity; signal++)
+		{
+			if (m_currentBuckets[signal] == NotStarted)
+				continue;
+			
+			if (m_decimationMethod == DecimationMethod.MinMax)
+				closeMinMaxBucket(signal);
+			else
+				flushTriangleBuckets(signal);
+		}
+		
+		resetSignals();
+		publishDisplayPoints();
+	}
+	
+	/**
+	 * Decimates the measurements received by a {@link DataSubscriber}.
+	 * 
+	 * @param evt the event which contains the batch of new measurements
+	 */
+	@Override
+	public void newMeasurementBatchReceived(MeasurementBatchEvent evt)
+	{
+		decimate(evt.getBatch());
+	}
+	
+	/**
+	 * Decimates the measurements received by a {@link DataSubscriber}
+	 * directly from the buffer they were received into.
+	 * 
+	 * @param source the subscriber which received the measurements
+	 * @param cursor the cursor over the measurements in the data packet
+	 */
+	@Override
+	public void measurementsReceived(DataSubscriber source, MeasurementCursor cursor)
+	{
+		decimate(cursor);
+	}
+	
+	// Adds a single measurement to its signal's current bucket,
+	// closing the bucket first if the measurement belongs to a later one.
+	private void decimate(short signalIndex, float value, long timestamp, int flags)
+	{
+		int signal = signalIndex & 0xFFFF;
+		long bucket = timestamp / m_bucketTicks;
+		long currentBucket;
+		
+		if (Float.isNaN(value))
+			return;
+		
+		if (!m_leadTimeFilter.accept(timestamp))
+			return;
+		
+		if (signal >= m_signalCapacity)
+			allocate(Math.min(Math.max(signal + 1, m_signalCapacity * 2), MaxSignalCapacity));
+		
+		currentBucket = m_currentBuckets[signal];
+		
+		if (bucket < currentBucket)
+		{
+			m_lateMeasurementCount.incrementAndGet();
+			return;
+		}
+		
+		if (m_decimationMethod == DecimationMethod.MinMax)
+		{
+			if (currentBucket != NotStarted && bucket > currentBucket)
+				closeMinMaxBucket(signal);
+			
+			addMinMaxSample(signal, bucket, value, timestamp, flags);
+		}
+		else
+		{
+			if (currentBucket != NotStarted && bucket > currentBucket)
+				closeTriangleBucket(signal);
+			
+			addTriangleSample(signal, bucket, value, timestamp, flags);
+		}
+	}
+	
+	// Updates the smallest and largest values of the signal's current bucket.
+	private void addMinMaxSample(int signal, long bucket, float value, long timestamp, int flags)
+	{
+		if (bucket != m_currentBuckets[signal])
+		{
+			m_currentBuckets[signal] = bucket;
+			m_minimumValues[signal] = value;
+			m_minimumTimes[signal] = timestamp;
+			m_minimumFlags[signal] = flags;
+			m_maximumValues[signal] = value;
+			m_maximumTimes[signal] = timestamp;
+			m_maximumFlags[signal] = flags;
+			return;
+		}
+		
+		if (value < m_minimumValues[signal])
+		{
+			m_minimumValues[signal] = value;
+			m_minimumTimes[signal] = timestamp;
+			m_minimumFlags[signal] = flags;
+		}
+		
+		if (value > m_maximumValues[signal])
+		{
+			m_maximumValues[signal] = value;
+			m_maximumTimes[signal] = timestamp;
+			m_maximumFlags[signal] = flags;
+		}
+	}
+	
+	// Selects the smallest and largest values of the signal's current
+	// bucket for display, in time order, and empties the bucket.
+	private void closeMinMaxBucket(int signal)
+	{
+		short signalIndex = (short)signal;
+		boolean sameSample = m_minimumTimes[signal] == m_maximumTimes[signal] && m_minimumValues[signal] == m_maximumValues[signal];
+		
+		if (sameSample)
+		{
+			m_displayPoints.add(signalIndex, m_minimumValues[signal], m_minimumTimes[signal], m_minimumFlags[signal]);
+		}
+		else if (m_minimumTimes[signal] <= m_maximumTimes[signal])
+		{
+			m_displayPoints.add(signalIndex, m_minimumValues[signal], m_minimumTimes[signal], m_minimumFlags[signal]);
+			m_displayPoints.add(signalIndex, m_maximumValues[signal], m_maximumTimes[signal], m_maximumFlags[signal]);
+		}
+		else
+		{
+			m_displayPoints.add(signalIndex, m_maximumValues[signal], m_maximumTimes[signal], m_maximumFlags[signal]);
+			m_displayPoints.add(signalIndex, m_minimumValues[signal], m_minimumTimes[signal], m_minimumFlags[signal]);
+		}
+		
+		m_currentBuckets[signal] = NotStarted;
+	}
+	
+	// Adds a measurement to the signal's current bucket, keeping it as a
+	// candidate for display if there is room, and adding it to the average.
+	private void addTriangleSample(int signal, long bucket, float value, long timestamp, int flags)
+	{
+		int size;
+		int position;
+		
+		if (bucket != m_currentBuckets[signal])
+		{
+			m_currentBuckets[signal] = bucket;
+			m_currentSizes[signal] = 0;
+			m_currentCounts[signal] = 0;
+			m_currentTimeSums[signal] = 0.0D;
+			m_currentValueSums[signal] = 0.0D;
+		}
+		
+		size = m_currentSizes[signal];
+		
+		if (size < m_bucketCapacity)
+		{
+			position = getSamplePosition(signal, m_currentHalves[signal], size);
+			m_sampleValues[position] = value;
+			m_sampleTimes[position] = timestamp;
+			m_sampleFlags[position] = flags;
+			m_currentSizes[signal] = size + 1;
+		}
+		
+		// Times are summed relative to the start of the bucket to keep their precision
+		m_currentCounts[signal]++;
+		m_currentTimeSums[signal] += timestamp - bucket * m_bucketTicks;
+		m_currentValueSums[signal] += value;
+	}
+	
+	// Closes the signal's current bucket, which completes the bucket before it so that
+	// a point can be selected from that one. The current bucket then becomes pending.
+	private void closeTriangleBucket(int signal)
+	{
+		int count = m_currentCounts[signal];
+		long averageTime = m_currentBuckets[signal] * m_bucketTicks + (long)(m_currentTimeSums[signal] / count);
+		double averageValue = m_currentValueSums[signal] / count;
+		
+		if (m_pendingSizes[signal] > 0)
+			selectPendingPoint(signal, averageTime, averageValue);
+		
+		m_pendingSizes[signal] = m_currentSizes[signal];
+		m_currentHalves[signal] ^= 1;
+		m_currentBuckets[signal] = NotStarted;
+	}
+	
+	// Selects points from both of the signal's open buckets. The last bucket
+	// has no successor, so its last candidate is kept to end the trend.
+	private void flushTriangleBuckets(int signal)
+	{
+		int last;
+		
+		closeTriangleBucket(signal);
+		last = getSamplePosition(signal, m_currentHalves[signal] ^ 1, m_pendingSizes[signal] - 1);
+		
+		if (m_anchorTimes[signal] != m_sampleTimes[last])
+			m_displayPoints.add((short)signal, m_sampleValues[last], m_sampleTimes[last], m_sampleFlags[last]);
+	}
+	
+	// Selects the candidate in the signal's pending bucket which forms the largest triangle
+	// with the previously selected point and the average of the bucket that follows. The
+	// very first bucket of a trend has no previous point, so its first candidate is kept.
+	private void selectPendingPoint(int signal, long averageTime, double averageValue)
+	{
+		int half = m_currentHalves[signal] ^ 1;
+		int size = m_pendingSizes[signal];
+		long anchorTime = m_anchorTimes[signal];
+		double anchorValue = m_anchorValues[signal];
+		double averageOffset = averageTime - anchorTime;
+		double averageRise = averageValue - anchorValue;
+		int selected = getSamplePosition(signal, half, 0);
+		double largestArea = -1.0D;
+		double area;
+		int position;
+		
+		if (anchorTime != NotStarted)
+		{
+			// Twice the area of the triangle, with the previous point as the origin
+			for (int i = 0; i < size; i++)
+			{
+				position = getSamplePosition(signal, half, i);
+				area = Math.abs((m_sampleTimes[position] - anchorTime) * averageRise - averageOffset * (m_sampleValues[position] - anchorValue));
+				
+				if (area > largestArea)
+				{
+					largestArea = area;
+					selected = position;
+				}
+			}
+		}
+		
+		m_displayPoints.add((short)signal, m_sampleValues[selected], m_sampleTimes[selected], m_sampleFlags[selected]);
+		m_anchorTimes[signal] = m_sampleTimes[selected];
+		m_anchorValues[signal] = m_sampleValues[selected];
+		m_pendingSizes[signal] = 0;
+	}
+	
+	// Sends the display points selected so far to the display listeners.
+	private void publishDisplayPoints()
+	{
+		MeasurementBatchEvent evt;
+		
+		if (m_displayPoints.size() == 0)
+			return;
+		
+		evt = new MeasurementBatchEvent(this, m_displayPoints);
+		m_publishedPointCount.addAndGet(m_displayPoints.size());
+		
+		try
+		{
+			for (DisplayListener listener : m_displayListeners)
+				listener.displayPointsReceived(evt);
+		}
+		finally
+		{
+			m_displayPoints.clear();
+		}
+	}
+	
+	// Discards the state of every signal, which can no longer be
+	// attributed to signals once the signal index cache has changed.
+	private void changeSignalIndexCache(SignalIndexCache signalIndexCache)
+	{
+		m_signalIndexCache = signalIndexCache;
+		m_displayPoints.clear();
+		m_displayPoints.setSignalIndexCache(signalIndexCache);
+		resetSignals();
+	}
+	
+	// Forgets the open buckets and previously selected points of every signal.
+	private void resetSignals()
+	{
+		Arrays.fill(m_currentBuckets, NotStarted);
+		
+		if (m_decimationMethod == DecimationMethod.LargestTriangleThreeBuckets)
+		{
+			Arrays.fill(m_pendingSizes, 0);
+			Arrays.fill(m_anchorTimes, NotStarted);
+		}
+	}
+	
+	// Grows the state arrays to hold the given number of signals. Only
+	// the arrays used by the decimation method are allocated.
+	private void allocate(int signalCapacity)
+	{
+		m_currentBuckets = grow(m_currentBuckets, signalCapacity, NotStarted);
+		
+		if (m_decimationMethod == DecimationMethod.MinMax)
+		{
+			m_minimumValues = Arrays.copyOf(m_minimumValues, signalCapacity);
+			m_minimumTimes = grow(m_minimumTimes, signalCapacity, 0L);
+			m_minimumFlags = Arrays.copyOf(m_minimumFlags, signalCapacity);
+			m_maximumValues = Arrays.copyOf(m_maximumValues, signalCapacity);
+			m_maximumTimes = grow(m_maximumTimes, signalCapacity, 0L);
+			m_maximumFlags = Arrays.copyOf(m_maximumFlags, signalCapacity);
+		}
+		else
+		{
+			// Each signal's samples are contiguous, so the existing
+			// samples stay at the same positions when the arrays grow
+			m_sampleValues = Arrays.copyOf(m_sampleValues, signalCapacity * 2 * m_bucketCapacity);
+			m_sampleTimes = grow(m_sampleTimes, signalCapacity * 2 * m_bucketCapacity, 0L);
+			m_sampleFlags = Arrays.copyOf(m_sampleFlags, signalCapacity * 2 * m_bucketCapacity);
+			m_currentHalves = Arrays.copyOf(m_currentHalves, signalCapacity);
+			m_currentSizes = Arrays.copyOf(m_currentSizes, signalCapacity);
+			m_currentCounts = Arrays.copyOf(m_currentCounts, signalCapacity);
+			m_currentTimeSums = Arrays.copyOf(m_currentTimeSums, signalCapacity);
+			m_currentValueSums = Arrays.copyOf(m_currentValueSums, signalCapacity);
+			m_pendingSizes = Arrays.copyOf(m_pendingSizes, signalCapacity);
+			m_anchorTimes = grow(m_anchorTimes, signalCapacity, NotStarted);
+			m_anchorValues = Arrays.copyOf(m_anchorValues, signalCapacity);
+		}
+		
+		m_signalCapacity = signalCapacity;
+	}
+	
+	// Gets the position in the sample arrays of the
+	// given sample in the given half of a signal's samples.
+	private int getSamplePosition(int signal, int half, int sample)
+	{
+		return ((signal << 1) + half) * m_bucketCapacity + sample;
+	}
+	
+	// Copies the given array into a new array of the given
+	// length, filling the new elements with the given value.
+	private static long[] grow(long[] array, int length, long fillValue)
+	{
+		int oldLength = array.length;
+		long[] newArray = Arrays.copyOf(array, length);
+		
+		Arrays.fill(newArray, oldLength, length, fillValue);
+		
+		return newArray;
+	}
+	
+	// Marks a signal as not having an open bucket or a previously selected point.
+	private static final long NotStarted = Long.MIN_VALUE;
+	
+	// Default number of candidate measurements per bucket.
+	private static final int DefaultBucketCapacity = 64;
+	
+	// Number of signals the state arrays hold before growing, and the
+	// most they ever need to hold, one for each 16-bit signal index.
+	private static final int DefaultSignalCapacity = 64;
+	private static final int MaxSignalCapacity = 65536;
+	
+	private static final long TicksPerSecond = 10000000L;
+}
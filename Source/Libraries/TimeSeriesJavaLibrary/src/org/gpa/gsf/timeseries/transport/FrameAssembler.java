@@ -0,0 +1,494 @@
+//******************************************************************************************************
+//  FrameAssembler.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.gpa.gsf.timeseries.transport.event.FrameEvent;
+import org.gpa.gsf.timeseries.transport.event.FrameListener;
+import org.gpa.gsf.timeseries.transport.event.MeasurementBatchEvent;
+import org.gpa.gsf.timeseries.transport.event.SubscriberAdapter;
+import org.gpa.gsf.timeseries.util.TimeExtensions;
+
+/**
+ * Subscriber-side concentrator which groups measurements into frames of
+ * time-aligned measurements, for subscriptions that are not remotely
+ * synchronized and therefore receive measurements in arrival order.
+ * <p>
+ * Each measurement is assigned to the frame whose timestamp is nearest
+ * to its own, given the configured number of frames per second. Frames
+ * are held in a ring allocated up front, large enough to cover the lag
+ * time and lead time, and each frame is published to the
+ * {@link FrameListener}s once real time has moved past the frame's
+ * timestamp by the lag time. Frames are always published in timestamp
+ * order, and frames that received no measurements are skipped.
+ * <p>
+ * Measurements whose frame has already been published are counted as
+ * late, and measurements timestamped further ahead of the local clock
+ * than the lead time are counted as discarded; neither is published.
+ * <p>
+ * Real time is either the local clock or the latest measurement timestamp
+ * received. When it is the latest timestamp, frames are only published as
+ * measurements arrive. The assembler can be added directly to a
+ * {@link DataSubscriber} as a listener, in which case frames are published
+ * on the thread that delivers measurements. Calls to the assembler are
+ * synchronized, so it may also be fed by parallel dispatch threads.
+ * 
+ * @see SubscriptionInfo#setRemotelySynchronized(boolean)
+ */
+public class FrameAssembler extends SubscriberAdapter
+{
+	private int m_framesPerSecond;
+	private long m_lagTicks;
+	private LeadTimeFilter m_leadTimeFilter;
+	private boolean m_localClockAsRealTime;
+	
+	// Ring of frames, indexed by frame number modulo the ring size
+	private MeasurementBatch[] m_frames;
+	private long m_nextFrameNumber;
+	private long m_latestTimestamp;
+	private int m_pendingCount;
+	private SignalIndexCache m_signalIndexCache;
+	
+	private AtomicLong m_publishedFrameCount;
+	private AtomicLong m_lateMeasurementCount;
+	private AtomicLong m_discardedMeasurementCount;
+	
+	private Collection<FrameListener> m_frameListeners;
+	
+	/**
+	 * Constructs a new frame assembler.
+	 * 
+	 * @param framesPerSecond the number of frames per second
+	 * @param lagTime the time, in seconds, to wait past a frame's
+	 *        timestamp for its measurements to arrive
+	 * @param leadTime the time, in seconds, that measurement timestamps
+	 *        may be ahead of the local clock before they are discarded
+	 * @throws IllegalArgumentException if {@code framesPerSecond} is not
+	 *         between 1 and 1000 or {@code lagTime} or {@code leadTime}
+	 *         is not positive
+	 */
+	public FrameAssembler(int framesPerSecond, double lagTime, double leadTime)
+	{
+		int frameCount;
+		
+		if (framesPerSecond < 1 || framesPerSecond > MaxFramesPerSecond)
+			throw new IllegalArgumentException("framesPerSecond must be between 1 and " + MaxFramesPerSecond);
+		
+		if (!(lagTime > 0.0D))
+			throw new IllegalArgumentException("lagTime must be positive");
+		
+		m_framesPerSecond = framesPerSecond;
+		m_lagTicks = (long)(lagTime * TicksPerSecond);
+		m_leadTimeFilter = new LeadTimeFilter(leadTime);
+		
+		// The ring has to hold every frame from the
+		// oldest unpublished one to the lead time
+		frameCount = (int)Math.ceil((lagTime + leadTime) * framesPerSecond) + 2;
+		m_frames = new MeasurementBatch[frameCount];
+		
+		for (int i = 0; i < frameCount; i++)
+			m_frames[i] = new MeasurementBatch();
+		
+		m_nextFrameNumber = NotStarted;
+		m_latestTimestamp = Long.MIN_VALUE;
+		
+		m_publishedFrameCount = new AtomicLong();
+		m_lateMeasurementCount = new AtomicLong();
+		m_discardedMeasurementCount = new AtomicLong();
+		
+		m_frameListeners = new ArrayList<FrameListener>();
+	}
+	
+	/**
+	 * Constructs a new frame assembler which uses the lag time, lead time
+	 * and real-time clock requested by the given subscription.
+	 * 
+	 * @param info the subscription whose measurements are to be assembled
+	 * @param framesPerSecond the number of frames per second
+	 * @throws IllegalArgumentException if {@code info} is {@code null},
+	 *         {@code framesPerSecond} is not between 1 and 1000, or the
+	 *         subscription's lag time or lead time is not positive
+	 * @see SubscriptionInfo#getLagTime()
+	 * @see SubscriptionInfo#getLeadTime()
+	 * @see SubscriptionInfo#isLocalClockAsRealTime()
+	 */
+	public FrameAssembler(SubscriptionInfo info, int framesPerSecond)
+	{
+		this(framesPerSecond, checkNotNull(info).getLagTime(), info.getLeadTime());
+		m_localClockAsRealTime = info.isLocalClockAsRealTime();
+	}
+	
+	/**
+	 * Adds the given listener to receive frames from this assembler.
+	 * If the {@code listener} is {@code null}, no exception is thrown
+	 * and no action is performed.
+	 * 
+	 * @param frameListener the listener to be added
+	 */
+	public synchronized void addFrameListener(FrameListener frameListener)
+	{
+		if (frameListener != null)
+			m_frameListeners.add(frameListener);
+	}
+	
+	/**
+	 * Removes the given listener so that it no longer receives frames
+	 * from this assembler. This method performs no function, nor does
+	 * it throw an exception, if {@code frameListener} was not previously
+	 * added to this assembler. If {@code frameListener} is {@code null},
+	 * no exception is thrown and no action is performed.
+	 * 
+	 * @param frameListener the listener to be removed
+	 */
+	public synchronized void removeFrameListener(FrameListener frameListener)
+	{
+		if (frameListener != null)
+			m_frameListeners.remove(frameListener);
+	}
+	
+	/**
+	 * Gets the number of frames per second.
+	 * 
+	 * @return the number of frames per second
+	 */
+	public int getFramesPerSecond()
+	{
+		return m_framesPerSecond;
+	}
+	
+	/**
+	 * Gets the time, in seconds, to wait past a
+	 * frame's timestamp for its measurements to arrive.
+	 * 
+	 * @return the lag time, in seconds
+	 */
+	public double getLagTime()
+	{
+		return m_lagTicks / (double)TicksPerSecond;
+	}
+	
+	/**
+	 * Gets the time, in seconds, that measurement timestamps may
+	 * be ahead of the local clock before they are discarded.
+	 * 
+	 * @return the lead time, in seconds
+	 */
+	public double getLeadTime()
+	{
+		return m_leadTimeFilter.getLeadTime();
+	}
+	
+	/**
+	 * Gets the flag that indicates whether the local clock is used as
+	 * real-time. Otherwise, the latest measurement timestamp is used.
+	 * 
+	 * @return the flag that indicates whether the local clock is used as real-time
+	 * @see #setLocalClockAsRealTime(boolean)
+	 */
+	public synchronized boolean isLocalClockAsRealTime()
+	{
+		return m_localClockAsRealTime;
+	}
+	
+	/**
+	 * Sets the flag that determines whether the local clock is used as
+	 * real-time. By default, the latest measurement timestamp is used, so
+	 * frames are published as soon as newer measurements show that the
+	 * lag time has passed. When the local clock is used, frames are also
+	 * published on schedule by {@link #publishExpiredFrames()}, even if no
+	 * measurements arrive, but the local clock must be synchronized with
+	 * the publisher's.
+	 * 
+	 * @param localClockAsRealTime the new value for the flag
+	 */
+	public synchronized void setLocalClockAsRealTime(boolean localClockAsRealTime)
+	{
+		m_localClockAsRealTime = localClockAsRealTime;
+	}
+	
+	/**
+	 * Gets the number of frames that have been published.
+	 * 
+	 * @return the number of frames published
+	 */
+	public long getPublishedFrameCount()
+	{
+		return m_publishedFrameCount.get();
+	}
+	
+	/**
+	 * Gets the number of measurements that arrived
+	 * after their frame had already been published.
+	 * 
+	 * @return the number of late measurements
+	 */
+	public long getLateMeasurementCount()
+	{
+		return m_lateMeasurementCount.get();
+	}
+	
+	/**
+	 * Gets the number of measurements that were discarded because they
+	 * were timestamped too far ahead of the local clock, or because they
+	 * were still pending when the signal index cache changed.
+	 * 
+	 * @return the number of discarded measurements
+	 */
+	public long getDiscardedMeasurementCount()
+	{
+		return m_discardedMeasurementCount.get() + m_leadTimeFilter.getRejectedCount();
+	}
+	
+	/**
+	 * Gets the number of measurements held in frames
+	 * that have not yet been published.
+	 * 
+	 * @return the number of pending measurements
+	 */
+	public synchronized int getPendingMeasurementCount()
+	{
+		return m_pendingCount;
+	}
+	
+	/**
+	 * Assigns the measurements in the given batch to frames, then
+	 * publishes any frames whose lag time has expired. The batch
+	 * is copied, so it may be reused once this method returns.
+	 * 
+	 * @param batch the batch of measurements to be assembled
+	 * @throws IllegalArgumentException if {@code batch} is {@code null}
+	 */
+	public synchronized void assemble(MeasurementBatch batch)
+	{
+		long localClock;
+		long[] timestamps;
+		long timestamp;
+		long frameNumber;
+		MeasurementBatch frame;
+		
+		if (batch == null)
+			throw new IllegalArgumentException("batch cannot be null");
+		
+		if (batch.getSignalIndexCache() != m_signalIndexCache)
+			changeSignalIndexCache(batch.getSignalIndexCache());
+		
+		localClock = m_leadTimeFilter.update();
+		timestamps = batch.getTimestamps();
+		
+		for (int i = 0; i < batch.size(); i++)
+		{
+			timestamp = timestamps[i];
+			
+			if (!m_leadTimeFilter.accept(timestamp))
+				continue;
+			
+			if (timestamp > m_latestTimestamp)
+				m_latestTimestamp = timestamp;
+			
+			if (m_nextFrameNumber == NotStarted)
+				m_nextFrameNumber = getFrameNumber(getRealTime(localClock) - m_lagTicks);
+			
+			frameNumber = getFrameNumber(timestamp);
+			
+			// Make room for the new measurement if its frame
+			// is newer than the ring can currently hold
+			if (frameNumber >= m_nextFrameNumber + m_frames.length)
+				publishExpiredFrames(getRealTime(localClock));
+			
+			if (frameNumber < m_nextFrameNumber)
+			{
+				m_lateMeasurementCount.incrementAndGet();
+				continue;
+			}
+			
+			if (frameNumber >= m_nextFrameNumber + m_frames.length)
+			{
+				m_discardedMeasurementCount.incrementAndGet();
+				continue;
+			}
+			
+			frame = m_frames[(int)(frameNumber % m_frames.length)];
+			frame.add(batch, i);
+			m_pendingCount++;
+		}
+		
+		// Nothing is pending if every measurement was discarded
+		if (m_nextFrameNumber != NotStarted)
+			publishExpiredFrames(getRealTime(localClock));
+	}
+	
+	/**
+	 * Publishes any frames whose lag time has expired. This only needs to
+	 * be called when the local clock is used as real-time and frames must
+	 * be published on schedule even if no measurements arrive; otherwise,
+	 * frames are published as measurements are assembled.
+	 */
+	public synchronized void publishExpiredFrames()
+	{
+		if (m_nextFrameNumber != NotStarted)
+			publishExpiredFrames(getRealTime(TimeExtensions.getLocalClockTicks()));
+	}
+	
+	/**
+	 * Publishes every pending frame, regardless of its lag time,
+	 * and resets the assembler so that the next measurement starts
+	 * a new sequence of frames. Counts are not reset.
+	 */
+	public synchronized void flush()
+	{
+		if (m_nextFrameNumber != NotStarted)
+			publishFrames(m_nextFrameNumber + m_frames.length - 1);
+		
+		m_nextFrameNumber = NotStarted;
+		m_latestTimestamp = Long.MIN_VALUE;
+	}
+	
+	/**
+	 * Assembles the measurements received by a {@link DataSubscriber}.
+	 * 
+	 * @param evt the event which contains the batch of new measurements
+	 */
+	@Override
+	public void newMeasurementBatchReceived(MeasurementBatchEvent evt)
+	{
+		assemble(evt.getBatch());
+	}
+	
+	// Publishes, in order, every frame whose timestamp
+	// is at least the lag time older than the given time.
+	private void publishExpiredFrames(long realTime)
+	{
+		long expiredTime = realTime - m_lagTicks;
+		long lastFrameNumber = getFrameNumber(expiredTime);
+		
+		if (getFrameTimestamp(lastFrameNumber) > expiredTime)
+			lastFrameNumber--;
+		
+		publishFrames(lastFrameNumber);
+	}
+	
+	// Publishes, in order, every pending frame up to and including the given frame
+	// number. Frames beyond the end of the ring cannot hold any measurements, so the
+	// next frame number can skip straight past them once the ring has been emptied.
+	private void publishFrames(long lastFrameNumber)
+	{
+		long lastRingFrameNumber = Math.min(lastFrameNumber, m_nextFrameNumber + m_frames.length - 1);
+		MeasurementBatch frame;
+		
+		for (long frameNumber = m_nextFrameNumber; frameNumber <= lastRingFrameNumber; frameNumber++)
+		{
+			frame = m_frames[(int)(frameNumber % m_frames.length)];
+			
+			if (frame.size() == 0)
+				continue;
+			
+			// Advance before publishing so that a listener which
+			// throws does not cause the frame to be published again
+			m_nextFrameNumber = frameNumber + 1;
+			m_pendingCount -= frame.size();
+			
+			try
+			{
+				publishFrame(getFrameTimestamp(frameNumber), frame);
+			}
+			finally
+			{
+				frame.clear();
+			}
+		}
+		
+		if (lastFrameNumber >= m_nextFrameNumber)
+			m_nextFrameNumber = lastFrameNumber + 1;
+	}
+	
+	// Sends a frame to the frame listeners.
+	private void publishFrame(long timestamp, MeasurementBatch frame)
+	{
+		FrameEvent evt = new FrameEvent(this, timestamp, frame);
+		
+		m_publishedFrameCount.incrementAndGet();
+		
+		for (FrameListener listener : m_frameListeners)
+			listener.frameReceived(evt);
+	}
+	
+	// Discards pending measurements, which can no longer be
+	// resolved once the signal index cache has changed.
+	private void changeSignalIndexCache(SignalIndexCache signalIndexCache)
+	{
+		m_discardedMeasurementCount.addAndGet(m_pendingCount);
+		m_pendingCount = 0;
+		m_signalIndexCache = signalIndexCache;
+		
+		for (MeasurementBatch frame : m_frames)
+		{
+			frame.clear();
+			frame.setSignalIndexCache(signalIndexCache);
+		}
+	}
+	
+	// Gets the current real time, in ticks.
+	private long getRealTime(long localClock)
+	{
+		return m_localClockAsRealTime ? localClock : m_latestTimestamp;
+	}
+	
+	// Gets the number of the frame nearest to the given timestamp.
+	private long getFrameNumber(long timestamp)
+	{
+		long second = timestamp / TicksPerSecond;
+		long subsecond = timestamp % TicksPerSecond;
+		long frameIndex = (subsecond * m_framesPerSecond + TicksPerSecond / 2L) / TicksPerSecond;
+		
+		return second * m_framesPerSecond + frameIndex;
+	}
+	
+	// Gets the timestamp of the frame with the given frame number.
+	private long getFrameTimestamp(long frameNumber)
+	{
+		long second = frameNumber / m_framesPerSecond;
+		long frameIndex = frameNumber % m_framesPerSecond;
+		
+		return second * TicksPerSecond + frameIndex * TicksPerSecond / m_framesPerSecond;
+	}
+	
+	// Throws an exception if the given subscription is null.
+	private static SubscriptionInfo checkNotNull(SubscriptionInfo info)
+	{
+		if (info == null)
+			throw new IllegalArgumentException("info cannot be null");
+		
+		return info;
+	}
+	
+	// Marks the assembler as not having received any measurements.
+	private static final long NotStarted = Long.MIN_VALUE;
+	
+	private static final int MaxFramesPerSecond = 1000;
+	
+	private static final long TicksPerSecond = 10000000L;
+}
@@ -0,0 +1,399 @@
+//******************************************************************************************************
+//  GZipDecompressor.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decompresses GZIP payloads received from the publisher using a single
+ * {@link Inflater} and a growable output buffer that are both reused from
+ * one payload to the next. Payloads can either be inflated into the reusable
+ * buffer all at once or streamed to a consumer through an {@link InputStream}
+ * so that the decompressed data never needs to be held in memory as a whole.
+ * <p>
+ * The output buffer is taken from a {@link BufferPool} when it is first
+ * needed, and it is swapped for a larger pooled buffer when a payload does
+ * not fit. {@link #releaseBuffers()} gives it back to the pool while the
+ * decompressor is idle.
+ * <p>
+ * Instances of this class are not thread-safe. The buffer returned by
+ * {@link #decompress(ByteBuffer)} and the stream returned by
+ * {@link #openStream(ByteBuffer)} are only valid until the next call
+ * to either method.
+ */
+public class GZipDecompressor
+{
+	private Inflater m_inflater;
+	private CRC32 m_checksum;
+	private BufferPool m_bufferPool;
+	private ByteBuffer m_inputBuffer;
+	private ByteBuffer m_outputBuffer;
+	
+	// Input of the GZIP member currently being decompressed
+	private byte[] m_input;
+	private int m_inputEnd;
+	
+	/**
+	 * Constructs a new GZIP decompressor which
+	 * takes its buffers from the shared buffer pool.
+	 * 
+	 * @see BufferPool#getSharedPool()
+	 */
+	public GZipDecompressor()
+	{
+		this(BufferPool.getSharedPool());
+	}
+	
+	/**
+	 * Constructs a new GZIP decompressor which
+	 * takes its buffers from the given pool.
+	 * 
+	 * @param bufferPool the pool from which buffers are taken
+	 * @throws IllegalArgumentException if {@code bufferPool} is {@code null}
+	 */
+	public GZipDecompressor(BufferPool bufferPool)
+	{
+		if (bufferPool == null)
+			throw new IllegalArgumentException("bufferPool cannot be null");
+		
+		m_inflater = new Inflater(true);
+		m_checksum = new CRC32();
+		m_bufferPool = bufferPool;
+	}
+	
+	/**
+	 * Decompresses the remaining data in the given buffer. The returned
+	 * buffer is owned by this decompressor and is reused by the next call
+	 * to this method, so it must not be used after that call or after
+	 * {@link #releaseBuffers()} is called.
+	 * 
+	 * @param compressedBuffer buffer containing a GZIP member from its
+	 *        position to its limit; the buffer's position is not changed
+	 * @return a buffer containing the decompressed data
+	 * @throws IOException if the data is not in the GZIP format or is corrupt
+	 */
+	public ByteBuffer decompress(ByteBuffer compressedBuffer) throws IOException
+	{
+		int expectedSize = getExpectedSize(compressedBuffer);
+		int length = 0;
+		int bytesInflated;
+		byte[] output;
+		
+		startMember(compressedBuffer);
+		
+		// The trailer records the decompressed size, so in the common case
+		// the output buffer only needs to grow once, and then only if the
+		// previous payload was smaller than this one. Larger payloads are
+		// handled by doubling the buffer as output is produced.
+		if (m_outputBuffer == null || expectedSize > m_outputBuffer.capacity())
+			replaceOutputBuffer(Math.max(expectedSize, InitialOutputBufferSize), 0);
+		
+		output = m_outputBuffer.array();
+		
+		try
+		{
+			while (!m_inflater.finished())
+			{
+				if (length == output.length)
+				{
+					replaceOutputBuffer(length * 2, length);
+					output = m_outputBuffer.array();
+				}
+				
+				bytesInflated = m_inflater.inflate(output, length, output.length - length);
+				
+				if (bytesInflated == 0 && (m_inflater.needsInput() || m_inflater.needsDictionary()))
+					throw new ZipException("Unexpected end of GZIP data");
+				
+				length += bytesInflated;
+			}
+		}
+		catch (DataFormatException ex)
+		{
+			throw new ZipException(ex.getMessage());
+		}
+		
+		m_checksum.update(output, 0, length);
+		verifyTrailer();
+		
+		m_outputBuffer.clear();
+		m_outputBuffer.limit(length);
+		return m_outputBuffer;
+	}
+	
+	/**
+	 * Opens a stream which inflates the remaining data in the given buffer
+	 * on demand. The stream shares this decompressor's {@link Inflater}, so
+	 * it must be fully consumed or abandoned before this decompressor is
+	 * used again.
+	 * 
+	 * @param compressedBuffer buffer containing a GZIP member from its
+	 *        position to its limit; the buffer's position is not changed
+	 * @return a stream over the decompressed data
+	 * @throws IOException if the GZIP header is invalid
+	 */
+	public InputStream openStream(ByteBuffer compressedBuffer) throws IOException
+	{
+		startMember(compressedBuffer);
+		return new InflatingInputStream();
+	}
+	
+	/**
+	 * Gives the decompressor's buffers back to its pool. The buffers
+	 * are acquired again the next time they are needed, so this can
+	 * be called whenever the decompressor is expected to sit idle.
+	 */
+	public void releaseBuffers()
+	{
+		m_bufferPool.release(m_inputBuffer);
+		m_bufferPool.release(m_outputBuffer);
+		m_inputBuffer = null;
+		m_outputBuffer = null;
+	}
+	
+	/**
+	 * Releases the native resources held by the decompressor and gives
+	 * its buffers back to its pool. The decompressor cannot be used
+	 * after this method is called.
+	 */
+	public void close()
+	{
+		releaseBuffers();
+		m_inflater.end();
+	}
+	
+	// Parses the GZIP header and prepares the inflater
+	// to decompress the member in the given buffer.
+	private void startMember(ByteBuffer compressedBuffer) throws IOException
+	{
+		byte[] input;
+		int offset;
+		int length = compressedBuffer.remaining();
+		int end;
+		int flags;
+		
+		if (compressedBuffer.hasArray())
+		{
+			input = compressedBuffer.array();
+			offset = compressedBuffer.arrayOffset() + compressedBuffer.position();
+		}
+		else
+		{
+			if (m_inputBuffer == null || m_inputBuffer.capacity() < length)
+			{
+				m_bufferPool.release(m_inputBuffer);
+				m_inputBuffer = m_bufferPool.acquireHeap(length);
+			}
+			
+			input = m_inputBuffer.array();
+			compressedBuffer.duplicate().get(input, 0, length);
+			offset = 0;
+		}
+		
+		end = offset + length;
+		
+		if (length < HeaderSize + TrailerSize || (input[offset] & 0xFF) != Magic1 || (input[offset + 1] & 0xFF) != Magic2)
+			throw new ZipException("Not in GZIP format");
+		
+		if (input[offset + 2] != DeflateMethod)
+			throw new ZipException("Unsupported GZIP compression method");
+		
+		flags = input[offset + 3] & 0xFF;
+		offset += HeaderSize;
+		
+		// Skip optional extra field, file name, comment and header checksum
+		if ((flags & ExtraFieldFlag) != 0)
+			offset += 2 + ((input[offset] & 0xFF) | ((input[offset + 1] & 0xFF) << 8));
+		
+		if ((flags & FileNameFlag) != 0)
+			offset = skipZeroTerminated(input, offset, end);
+		
+		if ((flags & CommentFlag) != 0)
+			offset = skipZeroTerminated(input, offset, end);
+		
+		if ((flags & HeaderChecksumFlag) != 0)
+			offset += 2;
+		
+		if (offset > end - TrailerSize)
+			throw new ZipException("Corrupt GZIP header");
+		
+		m_input = input;
+		m_inputEnd = end;
+		m_inflater.reset();
+		m_inflater.setInput(input, offset, end - offset);
+		m_checksum.reset();
+	}
+	
+	// Verifies the checksum and size stored in the GZIP trailer, which
+	// immediately follows the data that has been consumed by the inflater.
+	private void verifyTrailer() throws IOException
+	{
+		int trailerOffset = m_inputEnd - m_inflater.getRemaining();
+		long checksum;
+		long size;
+		
+		if (m_inflater.getRemaining() < TrailerSize)
+			throw new ZipException("Corrupt GZIP trailer");
+		
+		checksum = readUnsignedInt(m_input, trailerOffset);
+		size = readUnsignedInt(m_input, trailerOffset + 4);
+		
+		if (checksum != m_checksum.getValue() || size != (m_inflater.getBytesWritten() & 0xFFFFFFFFL))
+			throw new ZipException("Corrupt GZIP trailer");
+	}
+	
+	// Replaces the output buffer with a pooled buffer which can hold at least
+	// the given number of bytes, keeping the given number of bytes of output.
+	private void replaceOutputBuffer(int size, int length)
+	{
+		ByteBuffer newBuffer = m_bufferPool.acquireHeap(size);
+		
+		if (length > 0)
+			System.arraycopy(m_outputBuffer.array(), 0, newBuffer.array(), 0, length);
+		
+		m_bufferPool.release(m_outputBuffer);
+		newBuffer.limit(newBuffer.capacity());
+		m_outputBuffer = newBuffer;
+	}
+	
+	// Gets the decompressed size recorded in the GZIP trailer, which
+	// is stored in the last four bytes of the member, for use as a hint
+	// for the output buffer size. The trailer comes from the publisher,
+	// so a size which the compressed data could not possibly expand to
+	// is ignored, and any other size is capped so that a few bytes of
+	// input can never force a large allocation up front.
+	private static int getExpectedSize(ByteBuffer compressedBuffer)
+	{
+		long compressedSize = compressedBuffer.remaining();
+		long size;
+		
+		if (compressedSize < HeaderSize + TrailerSize)
+			return 0;
+		
+		size = compressedBuffer.duplicate().order(ByteOrder.LITTLE_ENDIAN).getInt(compressedBuffer.limit() - 4) & 0xFFFFFFFFL;
+		
+		if (size > compressedSize * MaxCompressionRatio)
+			return 0;
+		
+		return (int)Math.min(size, MaxExpectedSizeHint);
+	}
+	
+	// Skips past the zero-terminated string at the given offset.
+	private static int skipZeroTerminated(byte[] input, int offset, int end) throws IOException
+	{
+		while (offset < end && input[offset] != 0)
+			offset++;
+		
+		if (offset == end)
+			throw new ZipException("Corrupt GZIP header");
+		
+		return offset + 1;
+	}
+	
+	// Reads a little-endian, unsigned 32-bit integer.
+	private static long readUnsignedInt(byte[] input, int offset)
+	{
+		return ((input[offset] & 0xFFL))
+			| ((input[offset + 1] & 0xFFL) << 8)
+			| ((input[offset + 2] & 0xFFL) << 16)
+			| ((input[offset + 3] & 0xFFL) << 24);
+	}
+	
+	// Input stream which inflates data from the current GZIP member on demand.
+	private class InflatingInputStream extends InputStream
+	{
+		private byte[] m_singleByte = new byte[1];
+		private boolean m_finished;
+		
+		@Override
+		public int read() throws IOException
+		{
+			return (read(m_singleByte, 0, 1) < 0) ? -1 : (m_singleByte[0] & 0xFF);
+		}
+		
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException
+		{
+			int bytesInflated = 0;
+			
+			if (m_finished)
+				return -1;
+			
+			if (length == 0)
+				return 0;
+			
+			try
+			{
+				while (bytesInflated == 0)
+				{
+					if (m_inflater.finished())
+					{
+						verifyTrailer();
+						m_finished = true;
+						return -1;
+					}
+					
+					bytesInflated = m_inflater.inflate(buffer, offset, length);
+					
+					if (bytesInflated == 0 && (m_inflater.needsInput() || m_inflater.needsDictionary()))
+						throw new ZipException("Unexpected end of GZIP data");
+				}
+			}
+			catch (DataFormatException ex)
+			{
+				throw new ZipException(ex.getMessage());
+			}
+			
+			m_checksum.update(buffer, offset, bytesInflated);
+			return bytesInflated;
+		}
+	}
+	
+	// GZIP header constants (RFC 1952)
+	private static final int Magic1 = 0x1F;
+	private static final int Magic2 = 0x8B;
+	private static final byte DeflateMethod = 8;
+	private static final int HeaderChecksumFlag = 0x02;
+	private static final int ExtraFieldFlag = 0x04;
+	private static final int FileNameFlag = 0x08;
+	private static final int CommentFlag = 0x10;
+	private static final int HeaderSize = 10;
+	private static final int TrailerSize = 8;
+	
+	// Initial size of the reusable output buffer.
+	private static final int InitialOutputBufferSize = 64 * 1024;
+	
+	// Largest output buffer allocated up front from the size hint.
+	private static final int MaxExpectedSizeHint = 4 * 1024 * 1024;
+	
+	// Largest ratio of decompressed to compressed size that DEFLATE can achieve.
+	private static final int MaxCompressionRatio = 1032;
+}
@@ -0,0 +1,174 @@
+//******************************************************************************************************
+//  LatencyHistogram.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of durations measured in nanoseconds, using one bucket per
+ * power of two. Bucket {@code i} counts durations of at least
+ * 2<sup>i-1</sup> and less than 2<sup>i</sup> nanoseconds, and bucket
+ * zero counts durations of zero. Durations can be recorded by any
+ * number of threads without locking.
+ */
+class LatencyHistogram
+{
+	private AtomicLongArray m_counts;
+	private AtomicLong m_total;
+	private AtomicLong m_max;
+	
+	/**
+	 * Creates a new, empty histogram.
+	 */
+	LatencyHistogram()
+	{
+		m_counts = new AtomicLongArray(BucketCount);
+		m_total = new AtomicLong();
+		m_max = new AtomicLong();
+	}
+	
+	/**
+	 * Records a duration. Negative durations are recorded as zero.
+	 */
+	void record(long nanos)
+	{
+		long max;
+		
+		if (nanos < 0L)
+			nanos = 0L;
+		
+		m_counts.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(nanos));
+		m_total.addAndGet(nanos);
+		
+		max = m_max.get();
+		
+		while (nanos > max && !m_max.compareAndSet(max, nanos))
+			max = m_max.get();
+	}
+	
+	/**
+	 * Gets a copy of the count in each bucket.
+	 */
+	long[] getCounts()
+	{
+		long[] counts = new long[BucketCount];
+		
+		for (int i = 0; i < BucketCount; i++)
+			counts[i] = m_counts.get(i);
+		
+		return counts;
+	}
+	
+	/**
+	 * Gets the number of recorded durations.
+	 */
+	long getCount()
+	{
+		long count = 0L;
+		
+		for (int i = 0; i < BucketCount; i++)
+			count += m_counts.get(i);
+		
+		return count;
+	}
+	
+	/**
+	 * Gets the mean of the recorded durations, in microseconds.
+	 */
+	double getMean()
+	{
+		long count = getCount();
+		
+		if (count == 0L)
+			return 0.0D;
+		
+		return m_total.get() / (double)count / NanosPerMicrosecond;
+	}
+	
+	/**
+	 * Gets the longest recorded duration, in microseconds.
+	 */
+	double getMax()
+	{
+		return m_max.get() / NanosPerMicrosecond;
+	}
+	
+	/**
+	 * Gets an upper bound on the given percentile of the recorded
+	 * durations, in microseconds. Since buckets are a power of two
+	 * wide, the result can be up to twice the actual percentile.
+	 */
+	double getPercentile(double percentile)
+	{
+		long[] counts = getCounts();
+		long count = 0L;
+		long threshold;
+		long seen = 0L;
+		
+		for (int i = 0; i < BucketCount; i++)
+			count += counts[i];
+		
+		if (count == 0L)
+			return 0.0D;
+		
+		threshold = (long)Math.ceil(count * percentile / 100.0D);
+		
+		for (int i = 0; i < BucketCount; i++)
+		{
+			seen += counts[i];
+			
+			if (seen >= threshold && seen > 0L)
+				return Math.min(getUpperBound(i), m_max.get()) / NanosPerMicrosecond;
+		}
+		
+		return getMax();
+	}
+	
+	/**
+	 * Discards all recorded durations.
+	 */
+	void reset()
+	{
+		for (int i = 0; i < BucketCount; i++)
+			m_counts.set(i, 0L);
+		
+		m_total.set(0L);
+		m_max.set(0L);
+	}
+	
+	// Gets the largest duration counted by the given bucket.
+	private static long getUpperBound(int bucket)
+	{
+		if (bucket >= Long.SIZE - 1)
+			return Long.MAX_VALUE;
+		
+		return (1L << bucket) - 1L;
+	}
+	
+	// One bucket for zero plus one for each bit of a positive long.
+	private static final int BucketCount = Long.SIZE;
+	
+	private static final double NanosPerMicrosecond = 1000.0D;
+}
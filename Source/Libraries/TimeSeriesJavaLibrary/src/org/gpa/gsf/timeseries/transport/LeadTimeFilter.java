@@ -0,0 +1,117 @@
+//******************************************************************************************************
+//  LeadTimeFilter.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.gpa.gsf.timeseries.util.TimeExtensions;
+
+/**
+ * Filter which rejects measurements timestamped further ahead of the local
+ * clock than a lead time, used by the stages that are driven forward by
+ * measurement timestamps so that a single device with a bad clock cannot
+ * push them ahead of real time. The local clock is read once per batch by
+ * {@link #update()} rather than once per measurement. Calls to the filter
+ * must be synchronized by its owner, except for reading the rejected count.
+ */
+class LeadTimeFilter
+{
+	private long m_leadTicks;
+	private long m_latestAllowedTimestamp;
+	private AtomicLong m_rejectedCount;
+	
+	/**
+	 * Creates a new filter with the given lead time, in seconds.
+	 * 
+	 * @throws IllegalArgumentException if {@code leadTime} is not positive
+	 */
+	LeadTimeFilter(double leadTime)
+	{
+		setLeadTime(leadTime);
+		m_rejectedCount = new AtomicLong();
+	}
+	
+	/**
+	 * Gets the lead time, in seconds.
+	 */
+	double getLeadTime()
+	{
+		return m_leadTicks / (double)TicksPerSecond;
+	}
+	
+	/**
+	 * Sets the lead time, in seconds. The new lead time
+	 * takes effect the next time the filter is updated.
+	 * 
+	 * @throws IllegalArgumentException if {@code leadTime} is not positive
+	 */
+	void setLeadTime(double leadTime)
+	{
+		if (!(leadTime > 0.0D))
+			throw new IllegalArgumentException("leadTime must be positive");
+		
+		m_leadTicks = (long)(leadTime * TicksPerSecond);
+	}
+	
+	/**
+	 * Gets the number of measurements the filter has rejected.
+	 */
+	long getRejectedCount()
+	{
+		return m_rejectedCount.get();
+	}
+	
+	/**
+	 * Reads the local clock and moves the latest allowed timestamp
+	 * along with it. Called before filtering each batch.
+	 * 
+	 * @return the local clock, in ticks
+	 */
+	long update()
+	{
+		long localClock = TimeExtensions.getLocalClockTicks();
+		m_latestAllowedTimestamp = localClock + m_leadTicks;
+		return localClock;
+	}
+	
+	/**
+	 * Determines whether a measurement with the given timestamp is within
+	 * the lead time, counting it as rejected if it is not.
+	 */
+	boolean accept(long timestamp)
+	{
+		if (timestamp <= m_latestAllowedTimestamp)
+			return true;
+		
+		m_rejectedCount.incrementAndGet();
+		return false;
+	}
+	
+	/**
+	 * Lead time, in seconds, used by stages which do not take it from a subscription.
+	 */
+	static final double DefaultLeadTime = 5.0D;
+	
+	private static final long TicksPerSecond = 10000000L;
+}
@@ -0,0 +1,349 @@
+//******************************************************************************************************
+//  MeasurementBatch.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.gpa.gsf.timeseries.Measurement;
+import org.gpa.gsf.timeseries.MeasurementKey;
+
+/**
+ * Reusable, columnar collection of measurements. Measurements are stored
+ * in parallel primitive arrays so that a batch can be filled and read
+ * repeatedly without creating any per-measurement objects.
+ * <p>
+ * The measurement at position {@code i} is described by the values at
+ * index {@code i} of each of the arrays returned by
+ * {@link #getSignalIndexes()}, {@link #getValues()},
+ * {@link #getTimestamps()} and {@link #getFlags()}. Only the first
+ * {@link #size()} elements of those arrays are valid.
+ * 
+ * @see CompactMeasurementParser#parseMeasurements(java.nio.ByteBuffer, MeasurementBatch)
+ */
+public class MeasurementBatch
+{
+	private short[] m_signalIndexes;
+	private float[] m_values;
+	private long[] m_timestamps;
+	private int[] m_flags;
+	private int m_size;
+	
+	private SignalIndexCache m_signalIndexCache;
+	
+	/**
+	 * Constructs a new measurement batch with the default initial capacity.
+	 */
+	public MeasurementBatch()
+	{
+		this(DefaultCapacity);
+	}
+	
+	/**
+	 * Constructs a new measurement batch with the given initial capacity.
+	 * The batch grows automatically if more measurements are added.
+	 * 
+	 * @param initialCapacity the number of measurements the batch can hold before growing
+	 * @throws IllegalArgumentException if {@code initialCapacity} is negative
+	 */
+	public MeasurementBatch(int initialCapacity)
+	{
+		if (initialCapacity < 0)
+			throw new IllegalArgumentException("initialCapacity cannot be negative");
+		
+		m_signalIndexes = new short[initialCapacity];
+		m_values = new float[initialCapacity];
+		m_timestamps = new long[initialCapacity];
+		m_flags = new int[initialCapacity];
+	}
+	
+	/**
+	 * Removes all measurements from the batch. The
+	 * backing arrays are retained for reuse.
+	 */
+	public void clear()
+	{
+		m_size = 0;
+	}
+	
+	/**
+	 * Appends a measurement to the end of the batch.
+	 * 
+	 * @param signalIndex the 16-bit index which identifies the measurement in the signal index cache
+	 * @param value the value of the measurement
+	 * @param timestamp the timestamp of the measurement, in ticks
+	 * @param flags the full 32-bit state flags of the measurement
+	 */
+	public void add(short signalIndex, float value, long timestamp, int flags)
+	{
+		if (m_size == m_signalIndexes.length)
+			ensureCapacity(m_size + 1);
+		
+		m_signalIndexes[m_size] = signalIndex;
+		m_values[m_size] = value;
+		m_timestamps[m_size] = timestamp;
+		m_flags[m_size] = flags;
+		m_size++;
+	}
+	
+	/**
+	 * Appends the measurement at the given position of another batch to the end of this batch.
+	 * 
+	 * @param batch the batch containing the measurement to be copied
+	 * @param index the position of the measurement in the other batch
+	 */
+	public void add(MeasurementBatch batch, int index)
+	{
+		add(batch.m_signalIndexes[index], batch.m_values[index], batch.m_timestamps[index], batch.m_flags[index]);
+	}
+	
+	/**
+	 * Replaces the measurement at the given position with
+	 * the measurement at the given position of another batch.
+	 * 
+	 * @param position the position of the measurement to be replaced
+	 * @param batch the batch containing the measurement to be copied
+	 * @param index the position of the measurement in the other batch
+	 */
+	public void set(int position, MeasurementBatch batch, int index)
+	{
+		m_signalIndexes[position] = batch.m_signalIndexes[index];
+		m_values[position] = batch.m_values[index];
+		m_timestamps[position] = batch.m_timestamps[index];
+		m_flags[position] = batch.m_flags[index];
+	}
+	
+	/**
+	 * Makes sure the batch can hold at least the given
+	 * number of measurements without growing again.
+	 * 
+	 * @param capacity the minimum required capacity
+	 */
+	public void ensureCapacity(int capacity)
+	{
+		int newCapacity;
+		
+		if (capacity <= m_signalIndexes.length)
+			return;
+		
+		newCapacity = Math.max(capacity, m_signalIndexes.length * 2);
+		m_signalIndexes = Arrays.copyOf(m_signalIndexes, newCapacity);
+		m_values = Arrays.copyOf(m_values, newCapacity);
+		m_timestamps = Arrays.copyOf(m_timestamps, newCapacity);
+		m_flags = Arrays.copyOf(m_flags, newCapacity);
+	}
+	
+	/**
+	 * Gets the number of measurements in the batch.
+	 * 
+	 * @return the number of measurements in the batch
+	 */
+	public int size()
+	{
+		return m_size;
+	}
+	
+	/**
+	 * Gets the number of measurements the batch can hold before it needs to grow.
+	 * 
+	 * @return the capacity of the batch
+	 */
+	public int capacity()
+	{
+		return m_signalIndexes.length;
+	}
+	
+	/**
+	 * Gets the signal index of the measurement at the given position.
+	 * 
+	 * @param index the position of the measurement in the batch
+	 * @return the signal index of the measurement
+	 */
+	public short getSignalIndex(int index)
+	{
+		return m_signalIndexes[index];
+	}
+	
+	/**
+	 * Gets the value of the measurement at the given position.
+	 * 
+	 * @param index the position of the measurement in the batch
+	 * @return the value of the measurement
+	 */
+	public float getValue(int index)
+	{
+		return m_values[index];
+	}
+	
+	/**
+	 * Gets the timestamp, in ticks, of the measurement at the given position.
+	 * 
+	 * @param index the position of the measurement in the batch
+	 * @return the timestamp of the measurement
+	 */
+	public long getTimestamp(int index)
+	{
+		return m_timestamps[index];
+	}
+	
+	/**
+	 * Gets the state flags of the measurement at the given position.
+	 * 
+	 * @param index the position of the measurement in the batch
+	 * @return the state flags of the measurement
+	 */
+	public int getFlags(int index)
+	{
+		return m_flags[index];
+	}
+	
+	/**
+	 * Gets the measurement key of the measurement at the given position
+	 * by looking up its signal index in the batch's signal index cache.
+	 * 
+	 * @param index the position of the measurement in the batch
+	 * @return the measurement key, or {@code null} if the batch has no
+	 *         signal index cache or the signal index is not in the cache
+	 */
+	public MeasurementKey getMeasurementKey(int index)
+	{
+		if (m_signalIndexCache == null)
+			return null;
+		
+		return m_signalIndexCache.getMeasurementKey(m_signalIndexes[index]);
+	}
+	
+	/**
+	 * Gets the array which backs the signal index column of the batch.
+	 * Only the first {@link #size()} elements are valid.
+	 * 
+	 * @return the signal index column
+	 */
+	public short[] getSignalIndexes()
+	{
+		return m_signalIndexes;
+	}
+	
+	/**
+	 * Gets the array which backs the value column of the batch.
+	 * Only the first {@link #size()} elements are valid.
+	 * 
+	 * @return the value column
+	 */
+	public float[] getValues()
+	{
+		return m_values;
+	}
+	
+	/**
+	 * Gets the array which backs the timestamp column of the batch.
+	 * Only the first {@link #size()} elements are valid.
+	 * 
+	 * @return the timestamp column
+	 */
+	public long[] getTimestamps()
+	{
+		return m_timestamps;
+	}
+	
+	/**
+	 * Gets the array which backs the flags column of the batch.
+	 * Only the first {@link #size()} elements are valid.
+	 * 
+	 * @return the flags column
+	 */
+	public int[] getFlags()
+	{
+		return m_flags;
+	}
+	
+	/**
+	 * Gets the signal index cache used to resolve the
+	 * signal indexes of the measurements in this batch.
+	 * 
+	 * @return the signal index cache
+	 */
+	public SignalIndexCache getSignalIndexCache()
+	{
+		return m_signalIndexCache;
+	}
+	
+	/**
+	 * Sets the signal index cache used to resolve the
+	 * signal indexes of the measurements in this batch.
+	 * 
+	 * @param signalIndexCache the signal index cache
+	 */
+	public void setSignalIndexCache(SignalIndexCache signalIndexCache)
+	{
+		m_signalIndexCache = signalIndexCache;
+	}
+	
+	/**
+	 * Overwrites the timestamp of every measurement in the batch.
+	 * 
+	 * @param timestamp the new timestamp, in ticks
+	 */
+	public void setTimestamps(long timestamp)
+	{
+		for (int i = 0; i < m_size; i++)
+			m_timestamps[i] = timestamp;
+	}
+	
+	/**
+	 * Creates a {@link Measurement} object for each measurement in the batch.
+	 * Measurements whose signal index cannot be resolved are skipped.
+	 * 
+	 * @return the collection of newly created measurements
+	 */
+	public Collection<Measurement> toMeasurements()
+	{
+		Collection<Measurement> measurements = new ArrayList<Measurement>(m_size);
+		Measurement measurement;
+		MeasurementKey key;
+		
+		for (int i = 0; i < m_size; i++)
+		{
+			key = getMeasurementKey(i);
+			
+			if (key == null)
+				continue;
+			
+			measurement = new Measurement();
+			measurement.setFlags(m_flags[i]);
+			measurement.setSignalId(key.getSignalId());
+			measurement.setSource(key.getSource());
+			measurement.setId(key.getId());
+			measurement.setValue(m_values[i]);
+			measurement.setTimestamp(m_timestamps[i]);
+			measurements.add(measurement);
+		}
+		
+		return measurements;
+	}
+	
+	// Initial capacity used by the default constructor.
+	private static final int DefaultCapacity = 256;
+}
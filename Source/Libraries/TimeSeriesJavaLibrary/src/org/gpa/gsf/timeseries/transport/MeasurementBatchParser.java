@@ -0,0 +1,51 @@
+//******************************************************************************************************
+//  MeasurementBatchParser.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interface implemented by measurement parsers which can parse measurements
+ * into a reusable, columnar {@link MeasurementBatch} rather than creating a
+ * {@code Measurement} object for each of them. The {@link DataSubscriber}
+ * parses data packets with this method when its parser implements this
+ * interface, in addition to {@link GatewayMeasurementParser}.
+ * 
+ * @see CompactMeasurementParser
+ */
+public interface MeasurementBatchParser
+{
+	/**
+	 * Parses serialized measurements from a byte buffer into a reusable
+	 * measurement batch. The batch is cleared before parsing begins, so
+	 * this method never creates any per-measurement objects.
+	 * 
+	 * @param serializedMeasurementBuffer The serialized measurements to be parsed.
+	 *        This method uses relative get operations on the buffer until there is
+	 *        no longer enough data left to parse any more measurements.
+	 * @param batch the batch to be filled with the parsed measurements
+	 * @return the number of measurements parsed into the batch
+	 */
+	int parseMeasurements(ByteBuffer serializedMeasurementBuffer, MeasurementBatch batch);
+}
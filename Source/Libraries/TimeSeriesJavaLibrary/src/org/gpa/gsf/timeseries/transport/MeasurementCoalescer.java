@@ -0,0 +1,151 @@
+//******************************************************************************************************
+//  MeasurementCoalescer.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+/**
+ * Table of pending measurements which holds only the latest measurement
+ * for each signal index. Used by the {@code CoalesceLatest} overload policy
+ * to hold measurements while the callback queue is full. Instances of this
+ * class are not thread-safe.
+ */
+class MeasurementCoalescer
+{
+	private MeasurementBatch m_pending;
+	private MeasurementBatch m_parseBatch;
+	
+	// Position plus one of each signal index in
+	// the pending batch, or zero if not present
+	private int[] m_positions;
+	
+	/**
+	 * Creates a new, empty table.
+	 */
+	MeasurementCoalescer()
+	{
+		m_pending = new MeasurementBatch();
+		m_parseBatch = new MeasurementBatch();
+		m_positions = new int[SignalIndexCount];
+	}
+	
+	/**
+	 * Indicates whether there are no pending measurements.
+	 */
+	boolean isEmpty()
+	{
+		return m_pending.size() == 0;
+	}
+	
+	/**
+	 * Gets the number of pending measurements.
+	 */
+	int size()
+	{
+		return m_pending.size();
+	}
+	
+	/**
+	 * Gets the signal index cache used to
+	 * interpret the pending measurements.
+	 */
+	SignalIndexCache getSignalIndexCache()
+	{
+		return m_pending.getSignalIndexCache();
+	}
+	
+	/**
+	 * Gets a batch into which measurements can be
+	 * parsed before they are merged into the table.
+	 */
+	MeasurementBatch getParseBatch()
+	{
+		return m_parseBatch;
+	}
+	
+	/**
+	 * Merges a batch of measurements into the table, replacing any
+	 * pending measurement for the same signal index. The batch must
+	 * use the same signal index cache as the pending measurements.
+	 * 
+	 * @return the number of pending measurements that were replaced
+	 */
+	int merge(MeasurementBatch batch)
+	{
+		int replacedCount = 0;
+		int signalIndex;
+		int position;
+		
+		if (isEmpty())
+			m_pending.setSignalIndexCache(batch.getSignalIndexCache());
+		
+		for (int i = 0; i < batch.size(); i++)
+		{
+			signalIndex = batch.getSignalIndex(i) & 0xFFFF;
+			position = m_positions[signalIndex] - 1;
+			
+			if (position >= 0)
+			{
+				m_pending.set(position, batch, i);
+				replacedCount++;
+			}
+			else
+			{
+				m_pending.add(batch, i);
+				m_positions[signalIndex] = m_pending.size();
+			}
+		}
+		
+		return replacedCount;
+	}
+	
+	/**
+	 * Moves all pending measurements into the given batch,
+	 * leaving the table empty.
+	 */
+	void transferTo(MeasurementBatch batch)
+	{
+		batch.clear();
+		batch.ensureCapacity(m_pending.size());
+		batch.setSignalIndexCache(m_pending.getSignalIndexCache());
+		
+		for (int i = 0; i < m_pending.size(); i++)
+			batch.add(m_pending, i);
+		
+		clear();
+	}
+	
+	/**
+	 * Discards all pending measurements.
+	 */
+	void clear()
+	{
+		for (int i = 0; i < m_pending.size(); i++)
+			m_positions[m_pending.getSignalIndex(i) & 0xFFFF] = 0;
+		
+		m_pending.clear();
+		m_pending.setSignalIndexCache(null);
+	}
+	
+	// Number of distinct 16-bit signal indexes.
+	private static final int SignalIndexCount = 65536;
+}
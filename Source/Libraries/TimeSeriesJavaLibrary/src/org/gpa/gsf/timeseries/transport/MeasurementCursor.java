@@ -0,0 +1,294 @@
+//******************************************************************************************************
+//  MeasurementCursor.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+import org.gpa.gsf.timeseries.MeasurementKey;
+import org.gpa.gsf.timeseries.transport.event.MeasurementCursorListener;
+import org.gpa.gsf.timeseries.util.Masks;
+
+/**
+ * Flyweight view over the compact measurements in a received data packet.
+ * The cursor reads measurements in place from the buffer the packet was
+ * received into, following the layout parsed by {@link CompactMeasurementParser},
+ * so no measurement is ever copied. Only the flags and signal index of each
+ * measurement are read as the cursor advances; its value and timestamp are
+ * decoded when they are requested.
+ * <p>
+ * A cursor is positioned before the first measurement when it is handed to
+ * a {@link MeasurementCursorListener}, and {@link #next()} must be called to
+ * move to each measurement in turn:
+ * 
+ * <pre>
+ * while (cursor.next())
+ * {
+ *     if (cursor.value() &gt; threshold)
+ *         trip(cursor.key());
+ * }
+ * </pre>
+ * 
+ * The cursor and the buffer beneath it are reused for the next data packet,
+ * so a cursor is only valid until the listener it was handed to returns.
+ * Using it afterwards throws an {@link IllegalStateException}. Values that
+ * must outlive the callback have to be copied out of the cursor.
+ * 
+ * @see DataSubscriber#setMeasurementCursorListener(MeasurementCursorListener)
+ */
+public class MeasurementCursor
+{
+	private ByteBuffer m_buffer;
+	private SignalIndexCache m_signalIndexCache;
+	private long[] m_baseTimeOffsets;
+	private boolean m_includeTime;
+	private boolean m_useMillisecondResolution;
+	private BitSet m_signalIndexFilter;
+	private boolean m_frameLevelTime;
+	private long m_frameLevelTimestamp;
+	
+	// Position of the current measurement and the next one
+	private int m_position;
+	private int m_nextPosition;
+	private byte m_compactFlags;
+	private short m_signalIndex;
+	
+	/**
+	 * Constructs a new cursor which is not yet positioned over any data packet.
+	 */
+	MeasurementCursor()
+	{
+	}
+	
+	/**
+	 * Positions the cursor before the first measurement in the given
+	 * buffer, which extends from its position to its limit.
+	 */
+	void reset(ByteBuffer buffer, SignalIndexCache signalIndexCache, long[] baseTimeOffsets, boolean includeTime, boolean useMillisecondResolution, BitSet signalIndexFilter, boolean frameLevelTime, long frameLevelTimestamp)
+	{
+		m_buffer = buffer;
+		m_signalIndexCache = signalIndexCache;
+		m_baseTimeOffsets = baseTimeOffsets;
+		m_includeTime = includeTime;
+		m_useMillisecondResolution = useMillisecondResolution;
+		m_signalIndexFilter = signalIndexFilter;
+		m_frameLevelTime = frameLevelTime;
+		m_frameLevelTimestamp = frameLevelTimestamp;
+		m_position = -1;
+		m_nextPosition = buffer.position();
+	}
+	
+	/**
+	 * Detaches the cursor from its buffer once the listener has returned.
+	 */
+	void invalidate()
+	{
+		m_buffer = null;
+		m_signalIndexCache = null;
+		m_baseTimeOffsets = null;
+		m_signalIndexFilter = null;
+	}
+	
+	/**
+	 * Moves the cursor to the next measurement in the data packet. Measurements
+	 * excluded by the subscriber's signal filter are skipped without being decoded.
+	 * 
+	 * @return true if the cursor is positioned over a measurement; false if
+	 *         there are no more measurements in the data packet
+	 * @throws IllegalStateException if the callback the cursor was handed to has returned
+	 */
+	public boolean next()
+	{
+		ByteBuffer buffer = getBuffer();
+		int limit = buffer.limit();
+		int position = m_nextPosition;
+		boolean usingBaseTimeOffset;
+		int timeIndex;
+		int length;
+		
+		m_position = -1;
+		
+		while (position < limit)
+		{
+			// Validate the compact measurement flags
+			m_compactFlags = buffer.get(position);
+			usingBaseTimeOffset = (m_compactFlags & CompactMeasurementParser.CompactBaseTimeOffsetFlag) != 0;
+			timeIndex = ((m_compactFlags & CompactMeasurementParser.CompactTimeIndexFlag) != 0) ? 1 : 0;
+			length = getMeasurementByteLength(usingBaseTimeOffset);
+			
+			if (usingBaseTimeOffset && (m_baseTimeOffsets == null || m_baseTimeOffsets[timeIndex] == 0))
+				break;
+			
+			if (limit - position < length)
+				break;
+			
+			// Validate the signal index
+			m_signalIndex = buffer.getShort(position + 1);
+			
+			if (!m_signalIndexCache.contains(m_signalIndex))
+				break;
+			
+			m_nextPosition = position + length;
+			
+			if (m_signalIndexFilter == null || m_signalIndexFilter.get(m_signalIndex & 0xFFFF))
+			{
+				m_position = position;
+				return true;
+			}
+			
+			position = m_nextPosition;
+		}
+		
+		// Stop at the first measurement that cannot be parsed
+		m_nextPosition = limit;
+		
+		return false;
+	}
+	
+	/**
+	 * Gets the 16-bit index which identifies the current
+	 * measurement in the signal index cache.
+	 * 
+	 * @return the signal index of the current measurement
+	 * @throws IllegalStateException if the cursor is not positioned over a measurement
+	 */
+	public short signalIndex()
+	{
+		checkPosition();
+		return m_signalIndex;
+	}
+	
+	/**
+	 * Gets the value of the current measurement.
+	 * 
+	 * @return the measurement's value
+	 * @throws IllegalStateException if the cursor is not positioned over a measurement
+	 */
+	public float value()
+	{
+		checkPosition();
+		return m_buffer.getFloat(m_position + 3);
+	}
+	
+	/**
+	 * Gets the timestamp of the current measurement.
+	 * 
+	 * @return the measurement's timestamp, in ticks, or 0 if
+	 *         timestamps are not included in the subscription
+	 * @throws IllegalStateException if the cursor is not positioned over a measurement
+	 */
+	public long timestamp()
+	{
+		int timeIndex;
+		long timestamp;
+		
+		checkPosition();
+		
+		if (m_frameLevelTime)
+			return m_frameLevelTimestamp;
+		
+		if (!m_includeTime)
+			return 0L;
+		
+		if ((m_compactFlags & CompactMeasurementParser.CompactBaseTimeOffsetFlag) == 0)
+			return m_buffer.getLong(m_position + 7);
+		
+		timeIndex = ((m_compactFlags & CompactMeasurementParser.CompactTimeIndexFlag) != 0) ? 1 : 0;
+		
+		if (!m_useMillisecondResolution)
+		{
+			timestamp = m_buffer.getInt(m_position + 7) & Masks.getLongMask(Integer.SIZE);
+		}
+		else
+		{
+			timestamp = m_buffer.getShort(m_position + 7) & Masks.getLongMask(Short.SIZE);
+			timestamp *= 10000;
+		}
+		
+		return timestamp + m_baseTimeOffsets[timeIndex];
+	}
+	
+	/**
+	 * Gets the full 32-bit state flags of the current measurement.
+	 * 
+	 * @return the measurement's flags
+	 * @throws IllegalStateException if the cursor is not positioned over a measurement
+	 */
+	public int flags()
+	{
+		checkPosition();
+		return CompactMeasurementFormat.mapToFullFlags(m_compactFlags);
+	}
+	
+	/**
+	 * Gets the key which identifies the current measurement. The key is
+	 * taken from the signal index cache, so it remains valid after the
+	 * callback returns.
+	 * 
+	 * @return the measurement's key
+	 * @throws IllegalStateException if the cursor is not positioned over a measurement
+	 */
+	public MeasurementKey key()
+	{
+		checkPosition();
+		return m_signalIndexCache.getMeasurementKey(m_signalIndex);
+	}
+	
+	/**
+	 * Gets the signal index cache used to identify the measurements.
+	 * 
+	 * @return the signal index cache
+	 * @throws IllegalStateException if the callback the cursor was handed to has returned
+	 */
+	public SignalIndexCache getSignalIndexCache()
+	{
+		getBuffer();
+		return m_signalIndexCache;
+	}
+	
+	// Gets the buffer beneath the cursor, making
+	// sure that the cursor is still valid.
+	private ByteBuffer getBuffer()
+	{
+		if (m_buffer == null)
+			throw new IllegalStateException("Cursor is only valid until the callback it was handed to returns");
+		
+		return m_buffer;
+	}
+	
+	// Makes sure that the cursor is positioned over a measurement.
+	private void checkPosition()
+	{
+		getBuffer();
+		
+		if (m_position < 0)
+			throw new IllegalStateException("Cursor is not positioned over a measurement; call next() first");
+	}
+	
+	// Gets the byte length of a measurement in the data packet.
+	private int getMeasurementByteLength(boolean usingBaseTimeOffset)
+	{
+		return CompactMeasurementFormat.getMeasurementByteLength(m_includeTime, m_useMillisecondResolution, usingBaseTimeOffset);
+	}
+}
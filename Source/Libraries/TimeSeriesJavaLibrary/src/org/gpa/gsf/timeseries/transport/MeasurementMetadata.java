@@ -0,0 +1,178 @@
+//******************************************************************************************************
+//  MeasurementMetadata.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.UUID;
+
+/**
+ * Describes a measurement as defined by a {@code MeasurementDetail}
+ * record in the metadata received from the publisher.
+ * 
+ * @see MetadataCatalog
+ */
+public class MeasurementMetadata
+{
+	private UUID m_signalId;
+	private String m_source;
+	private int m_id;
+	private String m_deviceAcronym;
+	private String m_pointTag;
+	private String m_signalReference;
+	private String m_signalAcronym;
+	private int m_phasorSourceIndex;
+	private String m_description;
+	private boolean m_enabled;
+	
+	/**
+	 * Constructs a new instance.
+	 */
+	MeasurementMetadata(UUID signalId, String source, int id, String deviceAcronym, String pointTag, String signalReference, String signalAcronym, int phasorSourceIndex, String description, boolean enabled)
+	{
+		m_signalId = signalId;
+		m_source = source;
+		m_id = id;
+		m_deviceAcronym = deviceAcronym;
+		m_pointTag = pointTag;
+		m_signalReference = signalReference;
+		m_signalAcronym = signalAcronym;
+		m_phasorSourceIndex = phasorSourceIndex;
+		m_description = description;
+		m_enabled = enabled;
+	}
+	
+	/**
+	 * Gets the globally unique identifier of the measurement.
+	 * 
+	 * @return the measurement's signal ID
+	 */
+	public UUID getSignalId()
+	{
+		return m_signalId;
+	}
+	
+	/**
+	 * Gets the source of the measurement, taken from
+	 * the {@code SOURCE:ID} form of its identifier.
+	 * 
+	 * @return the measurement's source, or {@code null} if none was defined
+	 */
+	public String getSource()
+	{
+		return m_source;
+	}
+	
+	/**
+	 * Gets the simple numeric identifier of the measurement, taken
+	 * from the {@code SOURCE:ID} form of its identifier.
+	 * 
+	 * @return the measurement's ID
+	 */
+	public int getId()
+	{
+		return m_id;
+	}
+	
+	/**
+	 * Gets the acronym of the device to which the measurement belongs.
+	 * 
+	 * @return the device acronym, or {@code null} if the measurement does not belong to a device
+	 */
+	public String getDeviceAcronym()
+	{
+		return m_deviceAcronym;
+	}
+	
+	/**
+	 * Gets the point tag of the measurement.
+	 * 
+	 * @return the measurement's point tag, or {@code null} if none was defined
+	 */
+	public String getPointTag()
+	{
+		return m_pointTag;
+	}
+	
+	/**
+	 * Gets the signal reference of the measurement, which identifies
+	 * the measurement by its device and its kind of signal.
+	 * 
+	 * @return the measurement's signal reference, or {@code null} if none was defined
+	 */
+	public String getSignalReference()
+	{
+		return m_signalReference;
+	}
+	
+	/**
+	 * Gets the acronym of the measurement's signal type, such as
+	 * {@code FREQ} or {@code VPHM}.
+	 * 
+	 * @return the signal type acronym, or {@code null} if none was defined
+	 */
+	public String getSignalAcronym()
+	{
+		return m_signalAcronym;
+	}
+	
+	/**
+	 * Gets the source index of the phasor to which the measurement belongs.
+	 * 
+	 * @return the phasor source index, or 0 if the measurement is not part of a phasor
+	 * @see PhasorMetadata#getSourceIndex()
+	 */
+	public int getPhasorSourceIndex()
+	{
+		return m_phasorSourceIndex;
+	}
+	
+	/**
+	 * Gets the description of the measurement.
+	 * 
+	 * @return the measurement's description, or {@code null} if none was defined
+	 */
+	public String getDescription()
+	{
+		return m_description;
+	}
+	
+	/**
+	 * Indicates whether the measurement is enabled.
+	 * 
+	 * @return flag indicating whether the measurement is enabled
+	 */
+	public boolean isEnabled()
+	{
+		return m_enabled;
+	}
+	
+	/**
+	 * Returns the point tag of the measurement,
+	 * or its signal ID if it has no point tag.
+	 */
+	@Override
+	public String toString()
+	{
+		return (m_pointTag != null) ? m_pointTag : m_signalId.toString();
+	}
+}
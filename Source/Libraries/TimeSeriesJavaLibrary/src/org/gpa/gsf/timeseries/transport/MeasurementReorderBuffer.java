@@ -0,0 +1,185 @@
+//******************************************************************************************************
+//  MeasurementReorderBuffer.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+/**
+ * Bounded buffer which holds measurements until they can be released
+ * in timestamp order. Measurements are kept sorted by timestamp in
+ * parallel primitive arrays used as a circular buffer, so releasing
+ * measurements from the front only advances the head of the buffer.
+ * Since measurements mostly arrive in order, each one is inserted by
+ * moving newer measurements back one slot, starting from the end of
+ * the buffer, until its position is found. A measurement older than
+ * the last one released can no longer be put in order, so it is
+ * rejected. When the buffer is full, the oldest measurement is
+ * released early to make room for the new one.
+ */
+class MeasurementReorderBuffer
+{
+	private short[] m_signalIndexes;
+	private float[] m_values;
+	private long[] m_timestamps;
+	private int[] m_flags;
+	private int m_head;
+	private int m_size;
+	
+	private long m_releasedTimestamp;
+	
+	/**
+	 * Creates a new buffer which holds, at most, the given number of measurements.
+	 */
+	MeasurementReorderBuffer(int capacity)
+	{
+		m_signalIndexes = new short[capacity];
+		m_values = new float[capacity];
+		m_timestamps = new long[capacity];
+		m_flags = new int[capacity];
+		m_releasedTimestamp = Long.MIN_VALUE;
+	}
+	
+	/**
+	 * Gets the number of measurements waiting to be released.
+	 */
+	int size()
+	{
+		return m_size;
+	}
+	
+	/**
+	 * Gets the maximum number of measurements held by the buffer.
+	 */
+	int capacity()
+	{
+		return m_timestamps.length;
+	}
+	
+	/**
+	 * Inserts a measurement into the buffer, releasing the oldest measurement
+	 * into the output batch if the buffer is full. Returns false, without
+	 * inserting it, if the measurement is older than one already released.
+	 */
+	boolean add(short signalIndex, float value, long timestamp, int flags, MeasurementBatch output)
+	{
+		int slot;
+		int previousSlot;
+		int count;
+		
+		if (timestamp < m_releasedTimestamp)
+			return false;
+		
+		if (m_size == m_timestamps.length)
+			release(1, output);
+		
+		slot = getSlot(m_size);
+		
+		for (count = m_size; count > 0; count--)
+		{
+			previousSlot = getSlot(count - 1);
+			
+			if (m_timestamps[previousSlot] <= timestamp)
+				break;
+			
+			m_signalIndexes[slot] = m_signalIndexes[previousSlot];
+			m_values[slot] = m_values[previousSlot];
+			m_timestamps[slot] = m_timestamps[previousSlot];
+			m_flags[slot] = m_flags[previousSlot];
+			slot = previousSlot;
+		}
+		
+		m_signalIndexes[slot] = signalIndex;
+		m_values[slot] = value;
+		m_timestamps[slot] = timestamp;
+		m_flags[slot] = flags;
+		m_size++;
+		
+		return true;
+	}
+	
+	/**
+	 * Releases, in timestamp order, every measurement whose
+	 * timestamp is at or before the given time into the output batch.
+	 */
+	void releaseThrough(long timestamp, MeasurementBatch output)
+	{
+		int count = 0;
+		
+		while (count < m_size && m_timestamps[getSlot(count)] <= timestamp)
+			count++;
+		
+		release(count, output);
+	}
+	
+	/**
+	 * Releases all measurements into the output batch.
+	 */
+	void releaseAll(MeasurementBatch output)
+	{
+		release(m_size, output);
+	}
+	
+	/**
+	 * Discards all measurements and forgets the
+	 * timestamp of the last one released.
+	 */
+	void clear()
+	{
+		m_head = 0;
+		m_size = 0;
+		m_releasedTimestamp = Long.MIN_VALUE;
+	}
+	
+	// Releases the given number of measurements from
+	// the front of the buffer into the output batch.
+	private void release(int count, MeasurementBatch output)
+	{
+		int slot = m_head;
+		
+		if (count == 0)
+			return;
+		
+		for (int i = 0; i < count; i++)
+		{
+			output.add(m_signalIndexes[slot], m_values[slot], m_timestamps[slot], m_flags[slot]);
+			m_releasedTimestamp = m_timestamps[slot];
+			
+			if (++slot == m_timestamps.length)
+				slot = 0;
+		}
+		
+		m_head = slot;
+		m_size -= count;
+	}
+	
+	// Gets the array index of the measurement
+	// at the given position in the buffer.
+	private int getSlot(int position)
+	{
+		int slot = m_head + position;
+		
+		if (slot >= m_timestamps.length)
+			slot -= m_timestamps.length;
+		
+		return slot;
+	}
+}
@@ -0,0 +1,1014 @@
+//******************************************************************************************************
+//  MetadataCatalog.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.gpa.gsf.timeseries.MeasurementKey;
+import org.gpa.gsf.timeseries.transport.event.MetadataCatalogEvent;
+import org.gpa.gsf.timeseries.transport.event.MetadataCatalogListener;
+import org.gpa.gsf.timeseries.util.StringExtensions;
+
+/**
+ * Indexed, in-memory catalog of the devices, measurements and phasors
+ * described by the metadata received from a publisher. When a catalog is
+ * given to a subscriber through
+ * {@link DataSubscriber#setMetadataCatalog(MetadataCatalog)}, metadata
+ * received from the publisher is loaded into the catalog instead of being
+ * decoded into a string for the subscriber listeners.
+ * <p>
+ * The metadata XML is parsed with a StAX stream reader, so only the fields
+ * of the record being read are held in memory along with the catalog. Only
+ * the {@code DeviceDetail}, {@code MeasurementDetail} and
+ * {@code PhasorDetail} tables are read; other tables and the inline schema
+ * are skipped. Measurements are linked to their phasors by device acronym
+ * and phasor source index, which is taken from the measurement's
+ * {@code PhasorSourceIndex} field or else from the {@code -PMn} or
+ * {@code -PAn} suffix of its signal reference.
+ * <p>
+ * Each version of the metadata is identified by the SHA-1 hash of the
+ * uncompressed XML. Metadata with the same hash as the contents of the
+ * catalog is not parsed again. If the catalog has a cache directory, each
+ * parsed catalog is written to a binary file named after its hash, so
+ * metadata which was parsed before is loaded from that file rather than
+ * parsed. The cache also remembers the hash of the last metadata received
+ * from each publisher, so that when the subscriber reconnects to the same
+ * publisher the catalog is loaded from the cache before any metadata is
+ * requested. The subscriber still requests metadata once per connection,
+ * so that changes to existing measurements are picked up, but metadata
+ * which has not changed is recognized by its hash and is not parsed.
+ * <p>
+ * Lookups are thread-safe and never block. The contents of the catalog are
+ * replaced all at once, so a lookup either sees the old contents or the new.
+ */
+public class MetadataCatalog
+{
+	private File m_cacheDirectory;
+	private volatile Contents m_contents;
+	private Collection<MetadataCatalogListener> m_metadataCatalogListeners;
+	
+	/**
+	 * Constructs a new catalog which does not cache its contents.
+	 */
+	public MetadataCatalog()
+	{
+		this(null);
+	}
+	
+	/**
+	 * Constructs a new catalog which caches its contents in the given directory.
+	 * The directory is created when the first catalog is written to the cache.
+	 * 
+	 * @param cacheDirectory the directory in which the contents of
+	 *        the catalog are cached, or {@code null} to disable caching
+	 */
+	public MetadataCatalog(File cacheDirectory)
+	{
+		m_cacheDirectory = cacheDirectory;
+		m_contents = new Contents(null, new ArrayList<DeviceMetadata>(), new ArrayList<MeasurementMetadata>(), new ArrayList<PhasorMetadata>());
+		m_metadataCatalogListeners = new ArrayList<MetadataCatalogListener>();
+	}
+	
+	/**
+	 * Adds the given listener to receive notifications when the contents
+	 * of the catalog change. If the {@code listener} is {@code null}, no
+	 * exception is thrown and no action is performed.
+	 * 
+	 * @param metadataCatalogListener the listener to be added
+	 */
+	public synchronized void addMetadataCatalogListener(MetadataCatalogListener metadataCatalogListener)
+	{
+		if (metadataCatalogListener != null)
+			m_metadataCatalogListeners.add(metadataCatalogListener);
+	}
+	
+	/**
+	 * Removes the given listener so that it no longer receives notifications
+	 * from this catalog. This method performs no function, nor does it throw
+	 * an exception, if {@code metadataCatalogListener} was not previously
+	 * added to this catalog. If {@code metadataCatalogListener} is
+	 * {@code null}, no exception is thrown and no action is performed.
+	 * 
+	 * @param metadataCatalogListener the listener to be removed
+	 */
+	public synchronized void removeMetadataCatalogListener(MetadataCatalogListener metadataCatalogListener)
+	{
+		if (metadataCatalogListener != null)
+			m_metadataCatalogListeners.remove(metadataCatalogListener);
+	}
+	
+	/**
+	 * Gets the directory in which the contents of the catalog are cached.
+	 * 
+	 * @return the cache directory, or {@code null} if caching is disabled
+	 */
+	public File getCacheDirectory()
+	{
+		return m_cacheDirectory;
+	}
+	
+	/**
+	 * Gets the SHA-1 hash of the metadata XML from which the
+	 * contents of the catalog were built.
+	 * 
+	 * @return the content hash as a hexadecimal string, or
+	 *         {@code null} if no metadata has been loaded
+	 */
+	public String getContentHash()
+	{
+		return m_contents.m_contentHash;
+	}
+	
+	/**
+	 * Indicates whether metadata has been loaded into the catalog.
+	 * 
+	 * @return flag indicating whether the catalog has been loaded
+	 */
+	public boolean isLoaded()
+	{
+		return m_contents.m_contentHash != null;
+	}
+	
+	/**
+	 * Gets the measurement with the given signal ID.
+	 * 
+	 * @param signalId the signal ID of the measurement
+	 * @return the measurement, or {@code null} if the catalog
+	 *         does not contain a measurement with the signal ID
+	 */
+	public MeasurementMetadata getMeasurement(UUID signalId)
+	{
+		return m_contents.m_measurementsBySignalId.get(signalId);
+	}
+	
+	/**
+	 * Gets the device to which the measurement with the given signal ID belongs.
+	 * 
+	 * @param signalId the signal ID of the measurement
+	 * @return the measurement's device, or {@code null} if the catalog does not
+	 *         contain the measurement or the device to which it belongs
+	 */
+	public DeviceMetadata getDevice(UUID signalId)
+	{
+		return m_contents.m_devicesBySignalId.get(signalId);
+	}
+	
+	/**
+	 * Gets the phasor to which the measurement with the given signal ID
+	 * belongs, if the measurement is the magnitude or angle of a phasor.
+	 * 
+	 * @param signalId the signal ID of the measurement
+	 * @return the measurement's phasor, or {@code null} if the catalog does not
+	 *         contain the measurement or the measurement is not part of a phasor
+	 */
+	public PhasorMetadata getPhasor(UUID signalId)
+	{
+		return m_contents.m_phasorsBySignalId.get(signalId);
+	}
+	
+	/**
+	 * Gets the device with the given acronym.
+	 * 
+	 * @param acronym the acronym of the device
+	 * @return the device, or {@code null} if the catalog
+	 *         does not contain a device with the acronym
+	 */
+	public DeviceMetadata getDeviceByAcronym(String acronym)
+	{
+		return m_contents.m_devicesByAcronym.get(acronym);
+	}
+	
+	/**
+	 * Gets all the devices in the catalog.
+	 * 
+	 * @return an unmodifiable collection of devices
+	 */
+	public Collection<DeviceMetadata> getDevices()
+	{
+		return m_contents.m_devices;
+	}
+	
+	/**
+	 * Gets all the measurements in the catalog.
+	 * 
+	 * @return an unmodifiable collection of measurements
+	 */
+	public Collection<MeasurementMetadata> getMeasurements()
+	{
+		return m_contents.m_measurements;
+	}
+	
+	/**
+	 * Gets all the phasors in the catalog.
+	 * 
+	 * @return an unmodifiable collection of phasors
+	 */
+	public Collection<PhasorMetadata> getPhasors()
+	{
+		return m_contents.m_phasors;
+	}
+	
+	/**
+	 * Determines whether the catalog contains a measurement
+	 * for every signal ID in the given signal index cache.
+	 * 
+	 * @param signalIndexCache the signal index cache to be checked
+	 * @return true if the catalog describes every measurement
+	 *         in the signal index cache; false otherwise
+	 * @throws IllegalArgumentException if {@code signalIndexCache} is {@code null}
+	 */
+	public boolean containsAll(SignalIndexCache signalIndexCache)
+	{
+		Map<UUID, MeasurementMetadata> measurements = m_contents.m_measurementsBySignalId;
+		int remaining;
+		MeasurementKey key;
+		
+		if (signalIndexCache == null)
+			throw new IllegalArgumentException("signalIndexCache cannot be null");
+		
+		remaining = signalIndexCache.size();
+		
+		for (int i = 0; remaining > 0 && i <= 0xFFFF; i++)
+		{
+			key = signalIndexCache.getMeasurementKey((short)i);
+			
+			if (key == null)
+				continue;
+			
+			if (!measurements.containsKey(key.getSignalId()))
+				return false;
+			
+			remaining--;
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Loads the catalog from the cache with the contents it held the last time
+	 * metadata was received from the given publisher. Nothing is loaded if the
+	 * catalog already holds those contents.
+	 * 
+	 * @param publisherKey the key which identifies the publisher, such as its host name and port
+	 * @return true if the catalog holds the contents cached for the publisher; false if caching
+	 *         is disabled or nothing has been cached for the publisher
+	 * @throws IllegalArgumentException if {@code publisherKey} is {@code null} or empty
+	 * @throws IOException if the cache cannot be read
+	 */
+	public synchronized boolean loadCached(String publisherKey) throws IOException
+	{
+		File referenceFile;
+		File catalogFile;
+		String contentHash;
+		Contents contents;
+		
+		if (StringExtensions.isNullOrWhitespace(publisherKey))
+			throw new IllegalArgumentException("publisherKey cannot be null or empty");
+		
+		if (m_cacheDirectory == null)
+			return false;
+		
+		referenceFile = getReferenceFile(publisherKey);
+		
+		if (!referenceFile.isFile())
+			return false;
+		
+		contentHash = readReference(referenceFile);
+		
+		if (contentHash.equals(m_contents.m_contentHash))
+			return true;
+		
+		catalogFile = getCatalogFile(contentHash);
+		
+		if (!catalogFile.isFile())
+			return false;
+		
+		contents = readCatalog(catalogFile, contentHash);
+		m_contents = contents;
+		dispatchCatalogUpdated(contents.m_contentHash, true);
+		
+		return true;
+	}
+	
+	/**
+	 * Loads the given metadata into the catalog, unless the catalog already
+	 * holds it. The metadata is loaded from the cache if it was parsed before,
+	 * and otherwise it is parsed and then written to the cache. In either case
+	 * the metadata is remembered as the last metadata received from the
+	 * publisher. The position of the metadata buffer is not changed.
+	 */
+	synchronized void update(ByteBuffer metadata, Charset characterEncoding, String publisherKey) throws IOException, XMLStreamException
+	{
+		String contentHash = computeContentHash(metadata);
+		File catalogFile = null;
+		Contents contents = null;
+		
+		if (!contentHash.equals(m_contents.m_contentHash))
+		{
+			if (m_cacheDirectory != null)
+			{
+				catalogFile = getCatalogFile(contentHash);
+				
+				if (catalogFile.isFile())
+				{
+					try
+					{
+						contents = readCatalog(catalogFile, contentHash);
+					}
+					catch (IOException ex)
+					{
+						// A corrupt cache file is replaced
+						// by parsing the metadata again
+						contents = null;
+					}
+				}
+			}
+			
+			if (contents != null)
+			{
+				m_contents = contents;
+				dispatchCatalogUpdated(contentHash, true);
+			}
+			else
+			{
+				contents = parse(metadata, characterEncoding, contentHash);
+				m_contents = contents;
+				dispatchCatalogUpdated(contentHash, false);
+				
+				if (catalogFile != null)
+				{
+					createCacheDirectory();
+					writeCatalog(catalogFile, contents);
+				}
+			}
+		}
+		
+		if (m_cacheDirectory != null && publisherKey != null)
+		{
+			createCacheDirectory();
+			writeReference(getReferenceFile(publisherKey), contentHash);
+		}
+	}
+	
+	// Creates the cache directory if it does not exist.
+	private void createCacheDirectory() throws IOException
+	{
+		if (!m_cacheDirectory.isDirectory() && !m_cacheDirectory.mkdirs())
+			throw new IOException("Unable to create cache directory " + m_cacheDirectory);
+	}
+	
+	// Sends notification that the contents of the catalog changed to the listeners.
+	private void dispatchCatalogUpdated(String contentHash, boolean loadedFromCache)
+	{
+		MetadataCatalogEvent evt = new MetadataCatalogEvent(this, this, contentHash, loadedFromCache);
+		
+		for (MetadataCatalogListener listener : m_metadataCatalogListeners)
+			listener.catalogUpdated(evt);
+	}
+	
+	// Gets the file in which the catalog with the given content hash is cached.
+	private File getCatalogFile(String contentHash)
+	{
+		return new File(m_cacheDirectory, contentHash + CatalogFileExtension);
+	}
+	
+	// Gets the file which holds the hash of the last
+	// metadata received from the given publisher.
+	private File getReferenceFile(String publisherKey)
+	{
+		StringBuilder fileName = new StringBuilder(publisherKey.length() + ReferenceFileExtension.length());
+		char c;
+		
+		for (int i = 0; i < publisherKey.length(); i++)
+		{
+			c = publisherKey.charAt(i);
+			
+			if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '.' || c == '-')
+				fileName.append(c);
+			else
+				fileName.append('_');
+		}
+		
+		fileName.append(ReferenceFileExtension);
+		
+		return new File(m_cacheDirectory, fileName.toString());
+	}
+	
+	// Parses the metadata XML into the contents of a catalog.
+	private Contents parse(ByteBuffer metadata, Charset characterEncoding, String contentHash) throws XMLStreamException
+	{
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		XMLStreamReader reader;
+		
+		List<DeviceMetadata> devices = new ArrayList<DeviceMetadata>();
+		List<MeasurementMetadata> measurements = new ArrayList<MeasurementMetadata>();
+		List<Map<String, String>> phasorRecords = new ArrayList<Map<String, String>>();
+		
+		Map<String, String> fields = new HashMap<String, String>();
+		StringBuilder text = new StringBuilder();
+		String table = null;
+		String field = null;
+		int depth = 0;
+		
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		reader = factory.createXMLStreamReader(new InputStreamReader(openStream(metadata), characterEncoding));
+		
+		try
+		{
+			while (reader.hasNext())
+			{
+				switch (reader.next())
+				{
+				case XMLStreamConstants.START_ELEMENT:
+					depth++;
+					
+					if (depth == 2)
+					{
+						table = reader.getLocalName();
+						fields.clear();
+					}
+					else if (depth == 3)
+					{
+						field = reader.getLocalName();
+						text.setLength(0);
+					}
+					
+					break;
+					
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+					if (depth == 3)
+						text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+					
+					break;
+					
+				case XMLStreamConstants.END_ELEMENT:
+					if (depth == 3)
+					{
+						fields.put(field, text.toString());
+					}
+					else if (depth == 2)
+					{
+						if (DeviceTable.equals(table))
+							devices.add(toDevice(fields));
+						else if (MeasurementTable.equals(table))
+							measurements.add(toMeasurement(fields));
+						else if (PhasorTable.equals(table))
+							phasorRecords.add(new HashMap<String, String>(fields));
+					}
+					
+					depth--;
+					break;
+				}
+			}
+		}
+		finally
+		{
+			reader.close();
+		}
+		
+		return new Contents(contentHash, devices, measurements, linkPhasors(phasorRecords, measurements));
+	}
+	
+	// Builds the phasors from their records, linking each
+	// phasor to its magnitude and angle measurements.
+	private List<PhasorMetadata> linkPhasors(List<Map<String, String>> phasorRecords, List<MeasurementMetadata> measurements)
+	{
+		Map<String, UUID> magnitudes = new HashMap<String, UUID>();
+		Map<String, UUID> angles = new HashMap<String, UUID>();
+		List<PhasorMetadata> phasors = new ArrayList<PhasorMetadata>(phasorRecords.size());
+		
+		String deviceAcronym;
+		int sourceIndex;
+		String phasorKey;
+		
+		for (MeasurementMetadata measurement : measurements)
+		{
+			sourceIndex = measurement.getPhasorSourceIndex();
+			
+			if (sourceIndex <= 0 || measurement.getSignalId() == null)
+				continue;
+			
+			phasorKey = measurement.getDeviceAcronym() + ":" + sourceIndex;
+			
+			switch (getPhasorComponent(measurement))
+			{
+			case 'M':
+				magnitudes.put(phasorKey, measurement.getSignalId());
+				break;
+				
+			case 'A':
+				angles.put(phasorKey, measurement.getSignalId());
+				break;
+			}
+		}
+		
+		for (Map<String, String> record : phasorRecords)
+		{
+			deviceAcronym = getString(record, "DeviceAcronym");
+			sourceIndex = getInt(record, "SourceIndex");
+			phasorKey = deviceAcronym + ":" + sourceIndex;
+			
+			phasors.add(new PhasorMetadata(deviceAcronym, getString(record, "Label"),
+				getChar(record, "Type"), getChar(record, "Phase"), sourceIndex,
+				magnitudes.get(phasorKey), angles.get(phasorKey)));
+		}
+		
+		return phasors;
+	}
+	
+	// Creates a device from the fields of a DeviceDetail record.
+	private DeviceMetadata toDevice(Map<String, String> fields)
+	{
+		return new DeviceMetadata(getUuid(fields, "UniqueID"), getString(fields, "Acronym"),
+			getString(fields, "Name"), getInt(fields, "AccessID"), getString(fields, "ParentAcronym"),
+			getString(fields, "ProtocolName"), getInt(fields, "FramesPerSecond"), getBoolean(fields, "Enabled"));
+	}
+	
+	// Creates a measurement from the fields of a MeasurementDetail record.
+	private MeasurementMetadata toMeasurement(Map<String, String> fields)
+	{
+		String id = getString(fields, "ID");
+		String signalReference = getString(fields, "SignalReference");
+		int phasorSourceIndex = getInt(fields, "PhasorSourceIndex");
+		String source = null;
+		int pointId = 0;
+		int separator;
+		
+		if (id != null && (separator = id.lastIndexOf(':')) >= 0)
+		{
+			source = id.substring(0, separator);
+			pointId = parseInt(id.substring(separator + 1));
+		}
+		
+		if (phasorSourceIndex <= 0 && signalReference != null)
+			phasorSourceIndex = getPhasorSourceIndex(signalReference);
+		
+		return new MeasurementMetadata(getUuid(fields, "SignalID"), source, pointId,
+			getString(fields, "DeviceAcronym"), getString(fields, "PointTag"), signalReference,
+			getString(fields, "SignalAcronym"), phasorSourceIndex, getString(fields, "Description"),
+			getBoolean(fields, "Enabled"));
+	}
+	
+	// Gets the phasor source index from the -PMn or -PAn
+	// suffix of a signal reference, or 0 if there is none.
+	private int getPhasorSourceIndex(String signalReference)
+	{
+		int suffix = Math.max(signalReference.lastIndexOf(MagnitudeSuffix), signalReference.lastIndexOf(AngleSuffix));
+		
+		if (suffix < 0)
+			return 0;
+		
+		return parseInt(signalReference.substring(suffix + MagnitudeSuffix.length()));
+	}
+	
+	// Determines whether a phasor measurement carries the magnitude ('M')
+	// or angle ('A') of its phasor, first from the suffix of its signal
+	// reference and then from its signal acronym.
+	private char getPhasorComponent(MeasurementMetadata measurement)
+	{
+		String signalReference = measurement.getSignalReference();
+		String signalAcronym = measurement.getSignalAcronym();
+		int magnitudeSuffix;
+		int angleSuffix;
+		
+		if (signalReference != null)
+		{
+			magnitudeSuffix = signalReference.lastIndexOf(MagnitudeSuffix);
+			angleSuffix = signalReference.lastIndexOf(AngleSuffix);
+			
+			if (magnitudeSuffix > angleSuffix)
+				return 'M';
+			
+			if (angleSuffix > magnitudeSuffix)
+				return 'A';
+		}
+		
+		if (signalAcronym != null)
+		{
+			if (signalAcronym.endsWith(MagnitudeAcronym))
+				return 'M';
+			
+			if (signalAcronym.endsWith(AngleAcronym))
+				return 'A';
+		}
+		
+		return '\0';
+	}
+	
+	// Gets the value of a field, or null if it is missing or empty.
+	private static String getString(Map<String, String> fields, String name)
+	{
+		String value = fields.get(name);
+		return StringExtensions.isNullOrWhitespace(value) ? null : value.trim();
+	}
+	
+	// Gets the value of a field as an integer, or 0 if it is missing or invalid.
+	private static int getInt(Map<String, String> fields, String name)
+	{
+		String value = getString(fields, name);
+		return (value != null) ? parseInt(value) : 0;
+	}
+	
+	// Gets the value of a field as a boolean, which is
+	// false if the field is missing or not "true" or "1".
+	private static boolean getBoolean(Map<String, String> fields, String name)
+	{
+		String value = getString(fields, name);
+		return value != null && (value.equalsIgnoreCase("true") || value.equals("1"));
+	}
+	
+	// Gets the first character of a field, or '\0' if it is missing.
+	private static char getChar(Map<String, String> fields, String name)
+	{
+		String value = getString(fields, name);
+		return (value != null) ? value.charAt(0) : '\0';
+	}
+	
+	// Gets the value of a field as a UUID, or null if it is missing or invalid.
+	private static UUID getUuid(Map<String, String> fields, String name)
+	{
+		String value = getString(fields, name);
+		
+		try
+		{
+			return (value != null) ? UUID.fromString(value) : null;
+		}
+		catch (IllegalArgumentException ex)
+		{
+			return null;
+		}
+	}
+	
+	// Parses an integer, returning 0 if the string is invalid.
+	private static int parseInt(String value)
+	{
+		try
+		{
+			return Integer.parseInt(value.trim());
+		}
+		catch (NumberFormatException ex)
+		{
+			return 0;
+		}
+	}
+	
+	// Opens a stream over the remaining data in the
+	// buffer without changing the buffer's position.
+	private static InputStream openStream(ByteBuffer buffer)
+	{
+		byte[] data;
+		
+		if (buffer.hasArray())
+			return new ByteArrayInputStream(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+		
+		data = new byte[buffer.remaining()];
+		buffer.duplicate().get(data);
+		return new ByteArrayInputStream(data);
+	}
+	
+	// Computes the SHA-1 hash of the remaining data in the
+	// buffer without changing the buffer's position.
+	private static String computeContentHash(ByteBuffer metadata)
+	{
+		StringBuilder hex = new StringBuilder();
+		MessageDigest digest;
+		
+		try
+		{
+			digest = MessageDigest.getInstance("SHA-1");
+		}
+		catch (NoSuchAlgorithmException ex)
+		{
+			// Every Java platform is required to support SHA-1
+			throw new IllegalStateException(ex);
+		}
+		
+		digest.update(metadata.duplicate());
+		
+		for (byte b : digest.digest())
+		{
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+			hex.append(Character.forDigit(b & 0xF, 16));
+		}
+		
+		return hex.toString();
+	}
+	
+	// Reads the content hash from a publisher's reference file.
+	private static String readReference(File referenceFile) throws IOException
+	{
+		DataInputStream in = new DataInputStream(new FileInputStream(referenceFile));
+		
+		try
+		{
+			return in.readUTF();
+		}
+		finally
+		{
+			in.close();
+		}
+	}
+	
+	// Writes the content hash to a publisher's reference file.
+	private static void writeReference(File referenceFile, String contentHash) throws IOException
+	{
+		File tempFile = new File(referenceFile.getPath() + TempFileExtension);
+		DataOutputStream out = new DataOutputStream(new FileOutputStream(tempFile));
+		
+		try
+		{
+			out.writeUTF(contentHash);
+		}
+		finally
+		{
+			out.close();
+		}
+		
+		replaceFile(tempFile, referenceFile);
+	}
+	
+	// Reads the contents of a catalog from its cache file.
+	private static Contents readCatalog(File catalogFile, String contentHash) throws IOException
+	{
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(catalogFile)));
+		List<DeviceMetadata> devices;
+		List<MeasurementMetadata> measurements;
+		List<PhasorMetadata> phasors;
+		int count;
+		
+		try
+		{
+			if (in.readInt() != CatalogMagic || in.readInt() != CatalogVersion)
+				throw new IOException("Unrecognized catalog cache file: " + catalogFile);
+			
+			count = in.readInt();
+			devices = new ArrayList<DeviceMetadata>(count);
+			
+			for (int i = 0; i < count; i++)
+			{
+				devices.add(new DeviceMetadata(readUuid(in), readString(in), readString(in), in.readInt(),
+					readString(in), readString(in), in.readInt(), in.readBoolean()));
+			}
+			
+			count = in.readInt();
+			measurements = new ArrayList<MeasurementMetadata>(count);
+			
+			for (int i = 0; i < count; i++)
+			{
+				measurements.add(new MeasurementMetadata(readUuid(in), readString(in), in.readInt(),
+					readString(in), readString(in), readString(in), readString(in), in.readInt(),
+					readString(in), in.readBoolean()));
+			}
+			
+			count = in.readInt();
+			phasors = new ArrayList<PhasorMetadata>(count);
+			
+			for (int i = 0; i < count; i++)
+			{
+				phasors.add(new PhasorMetadata(readString(in), readString(in), in.readChar(),
+					in.readChar(), in.readInt(), readUuid(in), readUuid(in)));
+			}
+		}
+		finally
+		{
+			in.close();
+		}
+		
+		return new Contents(contentHash, devices, measurements, phasors);
+	}
+	
+	// Writes the contents of a catalog to its cache file.
+	private static void writeCatalog(File catalogFile, Contents contents) throws IOException
+	{
+		File tempFile = new File(catalogFile.getPath() + TempFileExtension);
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+		
+		try
+		{
+			out.writeInt(CatalogMagic);
+			out.writeInt(CatalogVersion);
+			out.writeInt(contents.m_devices.size());
+			
+			for (DeviceMetadata device : contents.m_devices)
+			{
+				writeUuid(out, device.getUniqueId());
+				writeString(out, device.getAcronym());
+				writeString(out, device.getName());
+				out.writeInt(device.getAccessId());
+				writeString(out, device.getParentAcronym());
+				writeString(out, device.getProtocolName());
+				out.writeInt(device.getFramesPerSecond());
+				out.writeBoolean(device.isEnabled());
+			}
+			
+			out.writeInt(contents.m_measurements.size());
+			
+			for (MeasurementMetadata measurement : contents.m_measurements)
+			{
+				writeUuid(out, measurement.getSignalId());
+				writeString(out, measurement.getSource());
+				out.writeInt(measurement.getId());
+				writeString(out, measurement.getDeviceAcronym());
+				writeString(out, measurement.getPointTag());
+				writeString(out, measurement.getSignalReference());
+				writeString(out, measurement.getSignalAcronym());
+				out.writeInt(measurement.getPhasorSourceIndex());
+				writeString(out, measurement.getDescription());
+				out.writeBoolean(measurement.isEnabled());
+			}
+			
+			out.writeInt(contents.m_phasors.size());
+			
+			for (PhasorMetadata phasor : contents.m_phasors)
+			{
+				writeString(out, phasor.getDeviceAcronym());
+				writeString(out, phasor.getLabel());
+				out.writeChar(phasor.getType());
+				out.writeChar(phasor.getPhase());
+				out.writeInt(phasor.getSourceIndex());
+				writeUuid(out, phasor.getMagnitudeSignalId());
+				writeUuid(out, phasor.getAngleSignalId());
+			}
+		}
+		finally
+		{
+			out.close();
+		}
+		
+		replaceFile(tempFile, catalogFile);
+	}
+	
+	// Replaces the target file with the source file.
+	private static void replaceFile(File source, File target) throws IOException
+	{
+		if (target.exists() && !target.delete())
+			throw new IOException("Unable to replace " + target);
+		
+		if (!source.renameTo(target))
+			throw new IOException("Unable to rename " + source + " to " + target);
+	}
+	
+	// Reads a string which may be null.
+	private static String readString(DataInputStream in) throws IOException
+	{
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+	
+	// Writes a string which may be null.
+	private static void writeString(DataOutputStream out, String value) throws IOException
+	{
+		out.writeBoolean(value != null);
+		
+		if (value != null)
+			out.writeUTF(value);
+	}
+	
+	// Reads a UUID which may be null.
+	private static UUID readUuid(DataInputStream in) throws IOException
+	{
+		return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+	}
+	
+	// Writes a UUID which may be null.
+	private static void writeUuid(DataOutputStream out, UUID value) throws IOException
+	{
+		out.writeBoolean(value != null);
+		
+		if (value != null)
+		{
+			out.writeLong(value.getMostSignificantBits());
+			out.writeLong(value.getLeastSignificantBits());
+		}
+	}
+	
+	// Immutable contents of the catalog along with
+	// the indexes used to look up its records.
+	private static class Contents
+	{
+		private String m_contentHash;
+		private Collection<DeviceMetadata> m_devices;
+		private Collection<MeasurementMetadata> m_measurements;
+		private Collection<PhasorMetadata> m_phasors;
+		
+		private Map<String, DeviceMetadata> m_devicesByAcronym;
+		private Map<UUID, MeasurementMetadata> m_measurementsBySignalId;
+		private Map<UUID, DeviceMetadata> m_devicesBySignalId;
+		private Map<UUID, PhasorMetadata> m_phasorsBySignalId;
+		
+		/** Creates the contents and builds their indexes. */
+		Contents(String contentHash, List<DeviceMetadata> devices, List<MeasurementMetadata> measurements, List<PhasorMetadata> phasors)
+		{
+			DeviceMetadata device;
+			
+			m_contentHash = contentHash;
+			m_devices = Collections.unmodifiableList(devices);
+			m_measurements = Collections.unmodifiableList(measurements);
+			m_phasors = Collections.unmodifiableList(phasors);
+			
+			m_devicesByAcronym = new HashMap<String, DeviceMetadata>();
+			m_measurementsBySignalId = new HashMap<UUID, MeasurementMetadata>();
+			m_devicesBySignalId = new HashMap<UUID, DeviceMetadata>();
+			m_phasorsBySignalId = new HashMap<UUID, PhasorMetadata>();
+			
+			for (DeviceMetadata d : devices)
+			{
+				if (d.getAcronym() != null)
+					m_devicesByAcronym.put(d.getAcronym(), d);
+			}
+			
+			for (MeasurementMetadata measurement : measurements)
+			{
+				if (measurement.getSignalId() == null)
+					continue;
+				
+				m_measurementsBySignalId.put(measurement.getSignalId(), measurement);
+				device = (measurement.getDeviceAcronym() != null) ? m_devicesByAcronym.get(measurement.getDeviceAcronym()) : null;
+				
+				if (device != null)
+					m_devicesBySignalId.put(measurement.getSignalId(), device);
+			}
+			
+			for (PhasorMetadata phasor : phasors)
+			{
+				if (phasor.getMagnitudeSignalId() != null)
+					m_phasorsBySignalId.put(phasor.getMagnitudeSignalId(), phasor);
+				
+				if (phasor.getAngleSignalId() != null)
+					m_phasorsBySignalId.put(phasor.getAngleSignalId(), phasor);
+			}
+		}
+	}
+	
+	// Names of the tables read from the metadata.
+	private static final String DeviceTable = "DeviceDetail";
+	private static final String MeasurementTable = "MeasurementDetail";
+	private static final String PhasorTable = "PhasorDetail";
+	
+	// Signal reference suffixes of phasor magnitudes and angles.
+	private static final String MagnitudeSuffix = "-PM";
+	private static final String AngleSuffix = "-PA";
+	
+	// Signal acronym suffixes of phasor magnitudes and angles.
+	private static final String MagnitudeAcronym = "PHM";
+	private static final String AngleAcronym = "PHA";
+	
+	// File name extensions used in the cache directory.
+	private static final String CatalogFileExtension = ".catalog";
+	private static final String ReferenceFileExtension = ".ref";
+	private static final String TempFileExtension = ".tmp";
+	
+	// Identifies a catalog cache file ("GSFC").
+	private static final int CatalogMagic = 0x47534643;
+	
+	// Version of the catalog cache file format.
+	private static final int CatalogVersion = 1;
+}
@@ -0,0 +1,459 @@
+//******************************************************************************************************
+//  NioSubscriberConnection.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channel;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The command and data channels of a single subscriber, driven by one of
+ * the selector threads of a {@link NioSubscriberEngine}. All reads are
+ * performed on the selector thread, which hands complete payloads to the
+ * subscriber. Commands may be sent from any thread.
+ * <p>
+ * Read buffers and queued commands are taken from the subscriber's
+ * {@link BufferPool}. They are given back to the pool on the selector
+ * thread, so a buffer is never released while it is being read into.
+ */
+class NioSubscriberConnection
+{
+	private NioSubscriberEngine.SelectorLoop m_loop;
+	private DataSubscriber m_subscriber;
+	private BufferPool m_bufferPool;
+	
+	// Command channel
+	private SocketChannel m_commandChannel;
+	private SelectionKey m_commandKey;
+	private ByteBuffer m_payloadHeader;
+	private ByteBuffer m_payloadBody;
+	private boolean m_readingPayloadBody;
+	
+	// Outgoing commands
+	private Queue<ByteBuffer> m_commandQueue;
+	private ByteBuffer m_currentCommand;
+	private AtomicBoolean m_writeScheduled;
+	
+	// Data channel
+	private volatile DatagramChannel m_dataChannel;
+	private ByteBuffer m_dataChannelBuffer;
+	
+	private AtomicBoolean m_closed;
+	
+	/**
+	 * Creates a new connection and registers its command
+	 * channel with the given selector loop.
+	 */
+	NioSubscriberConnection(NioSubscriberEngine.SelectorLoop loop, SocketChannel commandChannel, DataSubscriber subscriber)
+	{
+		m_loop = loop;
+		m_subscriber = subscriber;
+		m_bufferPool = subscriber.getBufferPool();
+		m_commandChannel = commandChannel;
+		
+		m_payloadHeader = ByteBuffer.allocate(PayloadHeaderSize);
+		m_payloadHeader.order(ByteOrder.LITTLE_ENDIAN);
+		m_payloadBody = m_bufferPool.acquire(MaxPacketSize);
+		
+		m_commandQueue = new ConcurrentLinkedQueue<ByteBuffer>();
+		m_writeScheduled = new AtomicBoolean(true);
+		m_closed = new AtomicBoolean();
+		
+		m_loop.execute(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				registerCommandChannel();
+			}
+		});
+	}
+	
+	/**
+	 * Gets the address of the publisher.
+	 */
+	InetAddress getRemoteAddress()
+	{
+		return m_commandChannel.socket().getInetAddress();
+	}
+	
+	/**
+	 * Gets the local address to which the command channel is bound.
+	 */
+	InetAddress getLocalAddress()
+	{
+		return m_commandChannel.socket().getLocalAddress();
+	}
+	
+	/**
+	 * Queues a command to be sent to the publisher. The command
+	 * must have been acquired from the subscriber's buffer pool;
+	 * it is released once it has been sent.
+	 */
+	void send(ByteBuffer command)
+	{
+		if (m_closed.get())
+		{
+			m_bufferPool.release(command);
+			return;
+		}
+		
+		m_commandQueue.add(command);
+		
+		if (m_writeScheduled.compareAndSet(false, true))
+		{
+			m_loop.execute(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					enableWrite();
+				}
+			});
+		}
+	}
+	
+	/**
+	 * Opens the UDP data channel and registers
+	 * it with this connection's selector loop.
+	 */
+	void openDataChannel(int localPort, InetAddress localAddress) throws IOException
+	{
+		final DatagramChannel dataChannel = DatagramChannel.open();
+		
+		try
+		{
+			dataChannel.socket().bind(new InetSocketAddress(localAddress, localPort));
+			dataChannel.configureBlocking(false);
+		}
+		catch (IOException ex)
+		{
+			dataChannel.close();
+			throw ex;
+		}
+		
+		if (m_dataChannelBuffer == null)
+			m_dataChannelBuffer = m_bufferPool.acquire(MaxPacketSize);
+		
+		m_dataChannel = dataChannel;
+		
+		m_loop.execute(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				try
+				{
+					if (dataChannel.isOpen())
+						m_loop.register(dataChannel, SelectionKey.OP_READ, NioSubscriberConnection.this);
+				}
+				catch (IOException ex)
+				{
+					m_subscriber.handleChannelException(ex);
+				}
+			}
+		});
+	}
+	
+	/**
+	 * Closes the UDP data channel, if it is open.
+	 */
+	void closeDataChannel()
+	{
+		DatagramChannel dataChannel = m_dataChannel;
+		m_dataChannel = null;
+		closeQuietly(dataChannel);
+	}
+	
+	/**
+	 * Closes both channels without notifying the subscriber. The buffers
+	 * are given back to the pool on the selector thread, once the key
+	 * being processed has been handled, or immediately if the selector
+	 * loop is shutting down or has already stopped.
+	 */
+	void close()
+	{
+		if (m_closed.compareAndSet(false, true))
+		{
+			closeDataChannel();
+			closeQuietly(m_commandChannel);
+			
+			m_loop.execute(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					releaseBuffers();
+				}
+			});
+		}
+	}
+	
+	/**
+	 * Closes both channels and notifies the subscriber that
+	 * the command channel connection has been terminated.
+	 */
+	void fail(IOException ex)
+	{
+		if (!m_closed.get())
+		{
+			close();
+			m_subscriber.handleCommandChannelTerminated(ex);
+		}
+	}
+	
+	/**
+	 * Handles a key selected by the selector loop.
+	 */
+	void processKey(SelectionKey key)
+	{
+		if (key.channel() == m_commandChannel)
+		{
+			try
+			{
+				if (key.isReadable())
+					readCommandChannel();
+				
+				if (key.isValid() && key.isWritable())
+					writeCommandChannel();
+			}
+			catch (IOException ex)
+			{
+				fail(ex);
+			}
+			catch (RuntimeException ex)
+			{
+				// Parsing errors should not bring down the selector thread
+				m_subscriber.handleChannelException(ex);
+			}
+		}
+		else if (key.channel() == m_dataChannel)
+		{
+			readDataChannel((DatagramChannel)key.channel());
+		}
+		else
+		{
+			// Channel has been replaced or closed
+			key.cancel();
+		}
+	}
+	
+	// Registers the command channel with the selector,
+	// including write interest if commands are pending.
+	private void registerCommandChannel()
+	{
+		try
+		{
+			if (!m_commandChannel.isOpen())
+				return;
+			
+			m_commandKey = m_loop.register(m_commandChannel, SelectionKey.OP_READ | SelectionKey.OP_WRITE, this);
+		}
+		catch (IOException ex)
+		{
+			fail(ex);
+		}
+	}
+	
+	// Adds write interest to the command channel's key.
+	private void enableWrite()
+	{
+		if (m_commandKey != null && m_commandKey.isValid())
+			m_commandKey.interestOps(m_commandKey.interestOps() | SelectionKey.OP_WRITE);
+	}
+	
+	// Reads as much data as is available from the command channel,
+	// handing each complete payload to the subscriber.
+	private void readCommandChannel() throws IOException
+	{
+		int bytesRead;
+		int payloadBodySize;
+		
+		while (true)
+		{
+			if (!m_readingPayloadBody)
+			{
+				bytesRead = m_commandChannel.read(m_payloadHeader);
+				
+				if (bytesRead < 0)
+					throw new EOFException("Publisher closed the command channel");
+				
+				m_subscriber.handleCommandChannelBytesReceived(bytesRead);
+				
+				if (m_payloadHeader.hasRemaining())
+					return;
+				
+				// Skip the 4-byte sync pattern
+				payloadBodySize = m_payloadHeader.getInt(4);
+				
+				// A corrupt size must not exhaust memory; failing
+				// closes only this subscriber's connection
+				if (payloadBodySize < 1 || payloadBodySize > MaxPayloadBodySize)
+					throw new IOException("Invalid payload size received from publisher: " + payloadBodySize);
+				
+				// Increase the buffer size, if necessary
+				if (payloadBodySize > m_payloadBody.capacity())
+				{
+					m_bufferPool.release(m_payloadBody);
+					m_payloadBody = m_bufferPool.acquire(payloadBodySize);
+				}
+				
+				m_payloadBody.clear();
+				m_payloadBody.limit(payloadBodySize);
+				m_readingPayloadBody = true;
+			}
+			
+			bytesRead = m_commandChannel.read(m_payloadBody);
+			
+			if (bytesRead < 0)
+				throw new EOFException("Publisher closed the command channel");
+			
+			m_subscriber.handleCommandChannelBytesReceived(bytesRead);
+			
+			if (m_payloadBody.hasRemaining())
+				return;
+			
+			m_payloadHeader.clear();
+			m_payloadBody.flip();
+			m_readingPayloadBody = false;
+			
+			m_subscriber.handleCommandChannelPayload(m_payloadBody);
+		}
+	}
+	
+	// Writes queued commands to the command channel until the queue is
+	// empty or the socket's send buffer is full.
+	private void writeCommandChannel() throws IOException
+	{
+		while (true)
+		{
+			if (m_currentCommand == null)
+				m_currentCommand = m_commandQueue.poll();
+			
+			if (m_currentCommand == null)
+			{
+				// Nothing left to write, so stop listening for write
+				// readiness. Another thread may have queued a command
+				// right before the flag was cleared, so check again.
+				m_commandKey.interestOps(m_commandKey.interestOps() & ~SelectionKey.OP_WRITE);
+				m_writeScheduled.set(false);
+				
+				if (m_commandQueue.isEmpty() || !m_writeScheduled.compareAndSet(false, true))
+					return;
+				
+				m_commandKey.interestOps(m_commandKey.interestOps() | SelectionKey.OP_WRITE);
+				continue;
+			}
+			
+			m_commandChannel.write(m_currentCommand);
+			
+			if (m_currentCommand.hasRemaining())
+				return;
+			
+			m_bufferPool.release(m_currentCommand);
+			m_currentCommand = null;
+		}
+	}
+	
+	// Receives all datagrams that are available on the data channel.
+	private void readDataChannel(DatagramChannel dataChannel)
+	{
+		SocketAddress address;
+		
+		try
+		{
+			while (dataChannel == m_dataChannel)
+			{
+				m_dataChannelBuffer.clear();
+				address = dataChannel.receive(m_dataChannelBuffer);
+				
+				if (address == null)
+					return;
+				
+				m_dataChannelBuffer.flip();
+				m_subscriber.handleDataChannelPacket(((InetSocketAddress)address).getAddress(), m_dataChannelBuffer);
+			}
+		}
+		catch (Exception ex)
+		{
+			// Exceptions caused by closing the data
+			// channel during unsubscribe are expected
+			if (dataChannel == m_dataChannel)
+				m_subscriber.handleChannelException(ex);
+		}
+	}
+	
+	// Gives the read buffers and any unsent commands back to the buffer
+	// pool. Must be called on the selector thread, or once it has stopped.
+	private void releaseBuffers()
+	{
+		ByteBuffer command;
+		
+		m_bufferPool.release(m_payloadBody);
+		m_bufferPool.release(m_dataChannelBuffer);
+		m_bufferPool.release(m_currentCommand);
+		m_payloadBody = null;
+		m_dataChannelBuffer = null;
+		m_currentCommand = null;
+		
+		while ((command = m_commandQueue.poll()) != null)
+			m_bufferPool.release(command);
+	}
+	
+	// Closes the given channel, ignoring exceptions.
+	private static void closeQuietly(Channel channel)
+	{
+		try
+		{
+			if (channel != null)
+				channel.close();
+		}
+		catch (IOException ex)
+		{
+			// Ignore exceptions and
+			// continue shutdown procedure
+		}
+	}
+	
+	// Size of the header that precedes each payload on the command channel.
+	private static final int PayloadHeaderSize = 8;
+	
+	// Largest payload accepted on the command channel. Metadata
+	// responses are the largest payloads sent by a publisher.
+	private static final int MaxPayloadBodySize = 67108864;
+	
+	// Maximum possible packet size to be received on the data channel.
+	private static final int MaxPacketSize = 32767;
+}
@@ -0,0 +1,374 @@
+//******************************************************************************************************
+//  NioSubscriberEngine.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Non-blocking I/O engine that drives the command and data channels of many
+ * subscribers from a small, fixed number of selector threads. Subscribers that
+ * are given an engine through {@link DataSubscriber#setNioEngine(NioSubscriberEngine)}
+ * do not start their own command, command channel response and data channel
+ * response threads; only their callback thread remains.
+ * <p>
+ * The engine starts its selector threads when the first subscriber connects
+ * and keeps running until {@link #shutdown()} is called. Each subscriber is
+ * assigned to one selector thread for the lifetime of its connection.
+ * 
+ * @see DataSubscriber#setNioEngine(NioSubscriberEngine)
+ */
+public class NioSubscriberEngine
+{
+	private SelectorLoop[] m_selectorLoops;
+	private int m_nextSelectorLoop;
+	private boolean m_running;
+	
+	/**
+	 * Constructs a new engine which uses a single selector thread.
+	 */
+	public NioSubscriberEngine()
+	{
+		this(1);
+	}
+	
+	/**
+	 * Constructs a new engine which uses the given number of selector threads.
+	 * 
+	 * @param selectorCount the number of selector threads
+	 * @throws IllegalArgumentException if {@code selectorCount} is less than one
+	 */
+	public NioSubscriberEngine(int selectorCount)
+	{
+		if (selectorCount < 1)
+			throw new IllegalArgumentException("selectorCount must be at least 1");
+		
+		m_selectorLoops = new SelectorLoop[selectorCount];
+	}
+	
+	/**
+	 * Gets the number of selector threads used by this engine.
+	 * 
+	 * @return the number of selector threads
+	 */
+	public int getSelectorCount()
+	{
+		return m_selectorLoops.length;
+	}
+	
+	/**
+	 * Indicates whether the engine's selector threads are running.
+	 * 
+	 * @return flag indicating whether the engine is running
+	 */
+	public synchronized boolean isRunning()
+	{
+		return m_running;
+	}
+	
+	/**
+	 * Starts the engine's selector threads. This method is called
+	 * automatically when the first subscriber connects, and does
+	 * nothing if the engine is already running.
+	 * 
+	 * @throws IOException if a selector cannot be opened
+	 */
+	public synchronized void start() throws IOException
+	{
+		if (m_running)
+			return;
+		
+		try
+		{
+			for (int i = 0; i < m_selectorLoops.length; i++)
+				m_selectorLoops[i] = new SelectorLoop(Selector.open(), "NioSubscriberEngine-" + i);
+		}
+		catch (IOException ex)
+		{
+			closeSelectors();
+			throw ex;
+		}
+		
+		for (SelectorLoop loop : m_selectorLoops)
+			loop.start();
+		
+		m_running = true;
+	}
+	
+	/**
+	 * Stops the engine's selector threads and closes all channels
+	 * that are still registered with the engine. This method does
+	 * not return until all selector threads have shut down.
+	 */
+	public void shutdown()
+	{
+		SelectorLoop[] selectorLoops;
+		
+		synchronized (this)
+		{
+			if (!m_running)
+				return;
+			
+			m_running = false;
+			selectorLoops = m_selectorLoops.clone();
+		}
+		
+		for (SelectorLoop loop : selectorLoops)
+			loop.shutdown();
+	}
+	
+	// Opens a command channel connection to the publisher at the given host and port,
+	// and registers it with one of the selector threads on behalf of the subscriber.
+	NioSubscriberConnection connect(String hostname, int port, DataSubscriber subscriber) throws IOException
+	{
+		SocketChannel commandChannel;
+		SelectorLoop loop;
+		
+		start();
+		
+		synchronized (this)
+		{
+			loop = m_selectorLoops[m_nextSelectorLoop];
+			m_nextSelectorLoop = (m_nextSelectorLoop + 1) % m_selectorLoops.length;
+		}
+		
+		// Connect in blocking mode so that connection errors
+		// are reported to the caller just like the blocking
+		// transport, then switch to non-blocking mode
+		commandChannel = SocketChannel.open();
+		
+		try
+		{
+			commandChannel.connect(new InetSocketAddress(hostname, port));
+			commandChannel.configureBlocking(false);
+			commandChannel.socket().setTcpNoDelay(true);
+		}
+		catch (IOException ex)
+		{
+			commandChannel.close();
+			throw ex;
+		}
+		
+		return new NioSubscriberConnection(loop, commandChannel, subscriber);
+	}
+	
+	// Closes the selectors of all selector loops that were opened.
+	private void closeSelectors()
+	{
+		for (int i = 0; i < m_selectorLoops.length; i++)
+		{
+			try
+			{
+				if (m_selectorLoops[i] != null)
+					m_selectorLoops[i].m_selector.close();
+			}
+			catch (IOException ex)
+			{
+				// Ignore exceptions and
+				// continue shutdown procedure
+			}
+			
+			m_selectorLoops[i] = null;
+		}
+	}
+	
+	/**
+	 * A single selector thread and the tasks queued for it by other threads.
+	 */
+	static class SelectorLoop implements Runnable
+	{
+		private Selector m_selector;
+		private Thread m_thread;
+		private Queue<Runnable> m_tasks;
+		private volatile boolean m_running;
+		private volatile boolean m_terminated;
+		
+		SelectorLoop(Selector selector, String threadName)
+		{
+			m_selector = selector;
+			m_tasks = new ConcurrentLinkedQueue<Runnable>();
+			m_thread = new Thread(this, threadName);
+			m_thread.setDaemon(true);
+		}
+		
+		// Starts the selector thread.
+		void start()
+		{
+			m_running = true;
+			m_thread.start();
+		}
+		
+		// Stops the selector thread, closing all registered channels.
+		void shutdown()
+		{
+			m_running = false;
+			m_selector.wakeup();
+			
+			try
+			{
+				if (Thread.currentThread() != m_thread)
+					m_thread.join();
+			}
+			catch (InterruptedException ex)
+			{
+				// Ignore exception and
+				// continue shutdown procedure
+			}
+		}
+		
+		// Queues a task to be executed on the selector thread. Once the
+		// loop is shutting down, tasks queued by the selector thread itself
+		// are run immediately, and once it has terminated, tasks are run
+		// on the calling thread, so that tasks are never left in the queue.
+		void execute(Runnable task)
+		{
+			m_tasks.add(task);
+			
+			if (m_terminated || (!m_running && Thread.currentThread() == m_thread))
+				runRemainingTasks();
+			else
+				m_selector.wakeup();
+		}
+		
+		// Registers a channel with the selector. Must be called on the selector thread.
+		SelectionKey register(SelectableChannel channel, int interestOps, Object attachment) throws IOException
+		{
+			return channel.register(m_selector, interestOps, attachment);
+		}
+		
+		@Override
+		public void run()
+		{
+			Iterator<SelectionKey> keyIterator;
+			SelectionKey key;
+			
+			try
+			{
+				while (m_running)
+				{
+					m_selector.select();
+					runTasks();
+					
+					keyIterator = m_selector.selectedKeys().iterator();
+					
+					while (keyIterator.hasNext())
+					{
+						key = keyIterator.next();
+						keyIterator.remove();
+						
+						if (key.isValid())
+							((NioSubscriberConnection)key.attachment()).processKey(key);
+					}
+				}
+			}
+			catch (IOException ex)
+			{
+				// The selector itself failed, so there is nothing more
+				// that this loop can do; channels are closed below
+			}
+			catch (ClosedSelectorException ex)
+			{
+				// Selector was closed; shut down
+			}
+			finally
+			{
+				closeAll();
+				
+				// Tasks queued after this point are
+				// run by the thread that queues them
+				m_terminated = true;
+				runRemainingTasks();
+			}
+		}
+		
+		// Executes tasks queued by other threads. A task that fails must
+		// not stop the loop, which also serves every other subscriber.
+		private void runTasks()
+		{
+			Runnable task;
+			
+			while ((task = m_tasks.poll()) != null)
+			{
+				try
+				{
+					task.run();
+				}
+				catch (RuntimeException ex)
+				{
+					// Ignore exceptions and
+					// continue with the next task
+				}
+			}
+		}
+		
+		// Executes the tasks left in the queue once the loop has stopped,
+		// ignoring exceptions since the selector may already be closed.
+		private void runRemainingTasks()
+		{
+			Runnable task;
+			
+			while ((task = m_tasks.poll()) != null)
+			{
+				try
+				{
+					task.run();
+				}
+				catch (RuntimeException ex)
+				{
+					// Ignore exceptions and
+					// continue shutdown procedure
+				}
+			}
+		}
+		
+		// Closes every channel registered with the
+		// selector, and then closes the selector.
+		private void closeAll()
+		{
+			try
+			{
+				for (SelectionKey key : m_selector.keys())
+				{
+					if (key.attachment() instanceof NioSubscriberConnection)
+						((NioSubscriberConnection)key.attachment()).fail(new IOException("Subscriber engine was shut down"));
+				}
+				
+				m_selector.close();
+			}
+			catch (Exception ex)
+			{
+				// Ignore exceptions and
+				// continue shutdown procedure
+			}
+		}
+	}
+}
@@ -0,0 +1,245 @@
+//******************************************************************************************************
+//  ParallelMeasurementDispatcher.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Splits each batch of measurements across a fixed pool of worker threads
+ * by signal index. A given signal index always maps to the same worker, and
+ * each worker handles its share of the batches in the order they were
+ * dispatched, so measurements for any one signal are delivered in order
+ * while different signals are processed in parallel.
+ * <p>
+ * Each worker has a bounded queue of sub-batches and a pool of free
+ * sub-batches that are reused once handled. When a worker falls behind,
+ * {@link #dispatch(MeasurementBatch)} waits for it, which in turn backs
+ * up the subscriber's callback queue.
+ */
+class ParallelMeasurementDispatcher
+{
+	/**
+	 * Handles the sub-batches assigned to a worker.
+	 */
+	interface BatchHandler
+	{
+		void handle(MeasurementBatch batch);
+	}
+	
+	private Worker[] m_workers;
+	private MeasurementBatch[] m_subBatches;
+	private BatchHandler m_handler;
+	private volatile boolean m_running;
+	
+	/**
+	 * Creates a new dispatcher with the given number of worker threads,
+	 * each of which can have up to {@code queueCapacity} sub-batches queued.
+	 */
+	ParallelMeasurementDispatcher(int workerCount, int queueCapacity, BatchHandler handler)
+	{
+		if (workerCount < 1)
+			throw new IllegalArgumentException("workerCount must be at least 1");
+		
+		if (handler == null)
+			throw new IllegalArgumentException("handler cannot be null");
+		
+		m_workers = new Worker[workerCount];
+		m_subBatches = new MeasurementBatch[workerCount];
+		m_handler = handler;
+		
+		for (int i = 0; i < workerCount; i++)
+			m_workers[i] = new Worker(queueCapacity, "MeasurementDispatchThread-" + i);
+	}
+	
+	/**
+	 * Gets the number of worker threads.
+	 */
+	int getWorkerCount()
+	{
+		return m_workers.length;
+	}
+	
+	/**
+	 * Starts the worker threads.
+	 */
+	void start()
+	{
+		m_running = true;
+		
+		for (Worker worker : m_workers)
+			worker.start();
+	}
+	
+	/**
+	 * Stops the worker threads and waits for them to finish. Sub-batches
+	 * which have not yet been handled are discarded. If called from one
+	 * of the worker threads, that thread is not waited for.
+	 */
+	void shutdown()
+	{
+		m_running = false;
+		
+		for (Worker worker : m_workers)
+			worker.join();
+	}
+	
+	/**
+	 * Splits the given batch by signal index and queues each
+	 * part for the worker responsible for those signals. The
+	 * given batch is not retained, so it can be reused as soon
+	 * as this method returns. Must only be called by one thread.
+	 */
+	void dispatch(MeasurementBatch batch)
+	{
+		MeasurementBatch[] subBatches = m_subBatches;
+		MeasurementBatch subBatch;
+		int workerIndex;
+		
+		for (int i = 0; i < batch.size(); i++)
+		{
+			workerIndex = (batch.getSignalIndex(i) & 0xFFFF) % m_workers.length;
+			subBatch = subBatches[workerIndex];
+			
+			if (subBatch == null)
+			{
+				subBatch = m_workers[workerIndex].acquire();
+				subBatch.setSignalIndexCache(batch.getSignalIndexCache());
+				subBatches[workerIndex] = subBatch;
+			}
+			
+			subBatch.add(batch, i);
+		}
+		
+		for (int i = 0; i < subBatches.length; i++)
+		{
+			if (subBatches[i] != null)
+			{
+				m_workers[i].enqueue(subBatches[i]);
+				subBatches[i] = null;
+			}
+		}
+	}
+	
+	// A worker thread along with its queue and its pool of free sub-batches.
+	private class Worker implements Runnable
+	{
+		private Thread m_thread;
+		private BlockingQueue<MeasurementBatch> m_queue;
+		private BlockingQueue<MeasurementBatch> m_pool;
+		
+		Worker(int queueCapacity, String threadName)
+		{
+			m_queue = new ArrayBlockingQueue<MeasurementBatch>(queueCapacity);
+			m_pool = new ArrayBlockingQueue<MeasurementBatch>(queueCapacity);
+			m_thread = new Thread(this, threadName);
+			m_thread.setDaemon(true);
+		}
+		
+		// Starts the worker thread.
+		void start()
+		{
+			m_thread.start();
+		}
+		
+		// Waits for the worker thread to finish.
+		void join()
+		{
+			try
+			{
+				if (Thread.currentThread() != m_thread)
+					m_thread.join();
+			}
+			catch (InterruptedException ex)
+			{
+				// Ignore exception and
+				// continue shutdown procedure
+			}
+		}
+		
+		// Takes a free sub-batch from the pool, or creates a new one.
+		MeasurementBatch acquire()
+		{
+			MeasurementBatch batch = m_pool.poll();
+			return (batch != null) ? batch : new MeasurementBatch();
+		}
+		
+		// Queues a sub-batch, waiting for room in the queue
+		// unless the dispatcher is shut down in the meantime.
+		void enqueue(MeasurementBatch batch)
+		{
+			try
+			{
+				while (m_running)
+				{
+					if (m_queue.offer(batch, PollTimeout, PollTimeoutUnit))
+						return;
+				}
+			}
+			catch (InterruptedException ex)
+			{
+				// This thread is internal and
+				// should never be interrupted
+				throw new IllegalStateException(ex);
+			}
+		}
+		
+		@Override
+		public void run()
+		{
+			MeasurementBatch batch;
+			
+			try
+			{
+				while (m_running)
+				{
+					batch = m_queue.poll(PollTimeout, PollTimeoutUnit);
+					
+					if (batch == null)
+						continue;
+					
+					try
+					{
+						m_handler.handle(batch);
+					}
+					finally
+					{
+						batch.clear();
+						m_pool.offer(batch);
+					}
+				}
+			}
+			catch (InterruptedException ex)
+			{
+				// This thread is internal and
+				// should never be interrupted
+				throw new IllegalStateException(ex);
+			}
+		}
+	}
+	
+	private static final long PollTimeout = 100L;
+	private static final TimeUnit PollTimeoutUnit = TimeUnit.MILLISECONDS;
+}
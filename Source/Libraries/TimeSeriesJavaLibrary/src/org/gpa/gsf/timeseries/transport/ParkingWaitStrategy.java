@@ -0,0 +1,106 @@
+//******************************************************************************************************
+//  ParkingWaitStrategy.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wait strategy that spins briefly, then yields, and finally parks the
+ * callback thread until a new callback is queued. An idle subscriber uses
+ * no CPU, and the thread that queues a callback unparks the callback thread
+ * directly, so latency stays low once data starts flowing. This is the
+ * default wait strategy.
+ */
+public class ParkingWaitStrategy implements WaitStrategy
+{
+	private long m_maxParkTime;
+	
+	/**
+	 * Constructs a new parking wait strategy with the default maximum park time.
+	 */
+	public ParkingWaitStrategy()
+	{
+		this(DefaultMaxParkTime, TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * Constructs a new parking wait strategy. The callback thread is
+	 * normally unparked as soon as a callback is queued; the maximum
+	 * park time only limits how long it can sleep without being woken.
+	 * 
+	 * @param maxParkTime the maximum amount of time to park the thread
+	 * @param unit the unit of {@code maxParkTime}
+	 * @throws IllegalArgumentException if {@code maxParkTime} is not positive
+	 *         or {@code unit} is null
+	 */
+	public ParkingWaitStrategy(long maxParkTime, TimeUnit unit)
+	{
+		if (maxParkTime <= 0L)
+			throw new IllegalArgumentException("maxParkTime must be positive");
+		
+		if (unit == null)
+			throw new IllegalArgumentException("unit cannot be null");
+		
+		m_maxParkTime = unit.toNanos(maxParkTime);
+	}
+	
+	/**
+	 * Spins, then yields, and finally parks the callback thread.
+	 * 
+	 * @param idleCount the number of times this method has been called
+	 *        since the callback thread last found a callback to execute
+	 */
+	@Override
+	public void idle(int idleCount)
+	{
+		if (idleCount < SpinTries)
+			return;
+		
+		if (idleCount < SpinTries + YieldTries)
+			Thread.yield();
+		else
+			LockSupport.parkNanos(this, m_maxParkTime);
+	}
+	
+	/**
+	 * Unparks the callback thread.
+	 * 
+	 * @param callbackThread the thread waiting for callbacks
+	 */
+	@Override
+	public void signal(Thread callbackThread)
+	{
+		LockSupport.unpark(callbackThread);
+	}
+	
+	// Number of times to spin before yielding.
+	private static final int SpinTries = 100;
+	
+	// Number of times to yield before parking.
+	private static final int YieldTries = 100;
+	
+	// Default maximum amount of time, in nanoseconds, to park the callback thread.
+	private static final long DefaultMaxParkTime = 100000000L;
+}
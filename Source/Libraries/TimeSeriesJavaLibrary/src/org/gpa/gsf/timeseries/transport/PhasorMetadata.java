@@ -0,0 +1,139 @@
+//******************************************************************************************************
+//  PhasorMetadata.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.UUID;
+
+/**
+ * Describes a phasor as defined by a {@code PhasorDetail} record in the
+ * metadata received from the publisher, along with the signal IDs of the
+ * measurements that carry its magnitude and angle.
+ * 
+ * @see MetadataCatalog
+ */
+public class PhasorMetadata
+{
+	private String m_deviceAcronym;
+	private String m_label;
+	private char m_type;
+	private char m_phase;
+	private int m_sourceIndex;
+	private UUID m_magnitudeSignalId;
+	private UUID m_angleSignalId;
+	
+	/**
+	 * Constructs a new instance.
+	 */
+	PhasorMetadata(String deviceAcronym, String label, char type, char phase, int sourceIndex, UUID magnitudeSignalId, UUID angleSignalId)
+	{
+		m_deviceAcronym = deviceAcronym;
+		m_label = label;
+		m_type = type;
+		m_phase = phase;
+		m_sourceIndex = sourceIndex;
+		m_magnitudeSignalId = magnitudeSignalId;
+		m_angleSignalId = angleSignalId;
+	}
+	
+	/**
+	 * Gets the acronym of the device to which the phasor belongs.
+	 * 
+	 * @return the device acronym
+	 */
+	public String getDeviceAcronym()
+	{
+		return m_deviceAcronym;
+	}
+	
+	/**
+	 * Gets the label of the phasor.
+	 * 
+	 * @return the phasor's label, or {@code null} if none was defined
+	 */
+	public String getLabel()
+	{
+		return m_label;
+	}
+	
+	/**
+	 * Gets the type of the phasor.
+	 * 
+	 * @return {@code 'V'} for a voltage phasor, {@code 'I'} for
+	 *         a current phasor, or {@code '\0'} if none was defined
+	 */
+	public char getType()
+	{
+		return m_type;
+	}
+	
+	/**
+	 * Gets the phase of the phasor, such as {@code 'A'}
+	 * or {@code '+'} for positive sequence.
+	 * 
+	 * @return the phasor's phase, or {@code '\0'} if none was defined
+	 */
+	public char getPhase()
+	{
+		return m_phase;
+	}
+	
+	/**
+	 * Gets the one-based index of the phasor within its device.
+	 * 
+	 * @return the phasor's source index
+	 */
+	public int getSourceIndex()
+	{
+		return m_sourceIndex;
+	}
+	
+	/**
+	 * Gets the signal ID of the measurement which carries the magnitude of the phasor.
+	 * 
+	 * @return the magnitude signal ID, or {@code null} if no such measurement was defined
+	 */
+	public UUID getMagnitudeSignalId()
+	{
+		return m_magnitudeSignalId;
+	}
+	
+	/**
+	 * Gets the signal ID of the measurement which carries the angle of the phasor.
+	 * 
+	 * @return the angle signal ID, or {@code null} if no such measurement was defined
+	 */
+	public UUID getAngleSignalId()
+	{
+		return m_angleSignalId;
+	}
+	
+	/**
+	 * Returns the device acronym and label of the phasor.
+	 */
+	@Override
+	public String toString()
+	{
+		return m_deviceAcronym + " " + m_label;
+	}
+}
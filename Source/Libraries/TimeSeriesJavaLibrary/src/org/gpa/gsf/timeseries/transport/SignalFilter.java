@@ -0,0 +1,210 @@
+//******************************************************************************************************
+//  SignalFilter.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import org.gpa.gsf.timeseries.MeasurementKey;
+
+/**
+ * Filter that selects which signals a consumer is interested in, applied
+ * locally by the subscriber rather than by the publisher. A signal matches
+ * the filter if it matches any of the criteria that have been added to it:
+ * its signal ID, its source, its {@code SOURCE:ID} key, or a regular
+ * expression matched against its {@code SOURCE:ID} key. Sources, keys and
+ * patterns are case-insensitive. A filter with no criteria matches nothing.
+ * <p>
+ * Before it is used to parse measurements, the filter is compiled against
+ * the current {@link SignalIndexCache} into a bit set over signal indexes,
+ * so the parser only has to test one bit to decide whether to skip each
+ * measurement.
+ * 
+ * @see DataSubscriber#setSignalFilter(SignalFilter)
+ */
+public class SignalFilter
+{
+	private Set<UUID> m_signalIds;
+	private Set<String> m_sources;
+	private Set<String> m_keys;
+	private List<Pattern> m_patterns;
+	
+	/**
+	 * Constructs a new signal filter with no criteria.
+	 */
+	public SignalFilter()
+	{
+		m_signalIds = new HashSet<UUID>();
+		m_sources = new HashSet<String>();
+		m_keys = new HashSet<String>();
+		m_patterns = new ArrayList<Pattern>();
+	}
+	
+	/**
+	 * Constructs a new signal filter with the same criteria as the given filter.
+	 * 
+	 * @param copy the filter to be copied
+	 * @throws IllegalArgumentException if {@code copy} is {@code null}
+	 */
+	public SignalFilter(SignalFilter copy)
+	{
+		if (copy == null)
+			throw new IllegalArgumentException("copy cannot be null");
+		
+		m_signalIds = new HashSet<UUID>(copy.m_signalIds);
+		m_sources = new HashSet<String>(copy.m_sources);
+		m_keys = new HashSet<String>(copy.m_keys);
+		m_patterns = new ArrayList<Pattern>(copy.m_patterns);
+	}
+	
+	/**
+	 * Adds a signal to the filter by its signal ID.
+	 * 
+	 * @param signalId the globally unique identifier of the signal
+	 * @throws IllegalArgumentException if {@code signalId} is {@code null}
+	 */
+	public void addSignalId(UUID signalId)
+	{
+		if (signalId == null)
+			throw new IllegalArgumentException("signalId cannot be null");
+		
+		m_signalIds.add(signalId);
+	}
+	
+	/**
+	 * Adds every signal with the given source to the filter.
+	 * 
+	 * @param source the source of the signals, such as {@code PPA}
+	 * @throws IllegalArgumentException if {@code source} is {@code null}
+	 */
+	public void addSource(String source)
+	{
+		if (source == null)
+			throw new IllegalArgumentException("source cannot be null");
+		
+		m_sources.add(source.toUpperCase());
+	}
+	
+	/**
+	 * Adds a signal to the filter by its source and numeric ID.
+	 * 
+	 * @param source the source of the signal
+	 * @param id the numeric ID of the signal
+	 * @throws IllegalArgumentException if {@code source} is {@code null}
+	 */
+	public void addMeasurementKey(String source, int id)
+	{
+		if (source == null)
+			throw new IllegalArgumentException("source cannot be null");
+		
+		m_keys.add(toKeyString(source, id));
+	}
+	
+	/**
+	 * Adds every signal whose {@code SOURCE:ID} key
+	 * matches the given regular expression to the filter.
+	 * 
+	 * @param regex the regular expression, such as {@code PPA:(1|2|3)}
+	 * @throws IllegalArgumentException if {@code regex} is {@code null}
+	 * @throws java.util.regex.PatternSyntaxException if {@code regex} is not a valid regular expression
+	 */
+	public void addPattern(String regex)
+	{
+		if (regex == null)
+			throw new IllegalArgumentException("regex cannot be null");
+		
+		m_patterns.add(Pattern.compile(regex, Pattern.CASE_INSENSITIVE));
+	}
+	
+	/**
+	 * Determines whether the signal identified by the given key matches the filter.
+	 * 
+	 * @param key the measurement key of the signal
+	 * @return true if the signal matches any of the filter's criteria; false otherwise
+	 */
+	public boolean matches(MeasurementKey key)
+	{
+		String keyString;
+		
+		if (m_signalIds.contains(key.getSignalId()))
+			return true;
+		
+		if (m_sources.contains(key.getSource().toUpperCase()))
+			return true;
+		
+		keyString = toKeyString(key.getSource(), key.getId());
+		
+		if (m_keys.contains(keyString))
+			return true;
+		
+		for (Pattern pattern : m_patterns)
+		{
+			if (pattern.matcher(keyString).matches())
+				return true;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Compiles the filter against the given signal index cache.
+	 * 
+	 * @param signalIndexCache the cache that maps signal indexes to signals
+	 * @return a bit set in which the bit at each unsigned signal
+	 *         index is set if the signal matches the filter
+	 * @throws IllegalArgumentException if {@code signalIndexCache} is {@code null}
+	 */
+	public BitSet compile(SignalIndexCache signalIndexCache)
+	{
+		BitSet signalIndexes = new BitSet(MaxSignalCount);
+		MeasurementKey key;
+		
+		if (signalIndexCache == null)
+			throw new IllegalArgumentException("signalIndexCache cannot be null");
+		
+		for (int i = 0; i < MaxSignalCount; i++)
+		{
+			key = signalIndexCache.getMeasurementKey((short)i);
+			
+			if (key != null && matches(key))
+				signalIndexes.set(i);
+		}
+		
+		return signalIndexes;
+	}
+	
+	// Gets the upper-case SOURCE:ID form of a measurement key.
+	private static String toKeyString(String source, int id)
+	{
+		return source.toUpperCase() + ":" + id;
+	}
+	
+	// Number of distinct 16-bit signal indexes.
+	private static final int MaxSignalCount = 65536;
+}
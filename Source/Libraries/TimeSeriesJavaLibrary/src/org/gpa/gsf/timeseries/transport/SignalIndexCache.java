@@ -23,8 +23,7 @@
 
 package org.gpa.gsf.timeseries.transport;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.UUID;
 
 import org.gpa.gsf.timeseries.MeasurementKey;
@@ -32,19 +31,35 @@ import org.gpa.gsf.timeseries.MeasurementKey;
 /**
  * Represents a cache used to map 16-bit indexes to {@link MeasurementKey}s
  * in order to compact measurement IDs for the compact measurement format.
+ * <p>
+ * Measurement keys are stored in an array indexed by the unsigned signal
+ * index, and the reverse mapping from signal ID to signal index is stored
+ * in an open-addressing hash table keyed by the two halves of the signal
+ * ID, so lookups neither box the signal index nor allocate.
+ * <p>
+ * The cache is not thread-safe. The subscriber builds a new cache each
+ * time the publisher sends one and only publishes it once it is complete,
+ * so a cache must not be modified once it has been handed to a subscriber.
  */
 public class SignalIndexCache
 {
-	private Map<Short, MeasurementKey> m_reference;
-	private Map<UUID, Short> m_signalIdCache;
+	// Measurement keys indexed by unsigned signal index
+	private MeasurementKey[] m_keys;
+	private int m_count;
+	
+	// Open-addressing hash table from signal ID to signal index
+	private long[] m_signalIdHighBits;
+	private long[] m_signalIdLowBits;
+	private int[] m_signalIdIndexes;
+	private int m_signalIdCount;
 	
 	/**
 	 * Constructs a new signal index cache.
 	 */
 	public SignalIndexCache()
 	{
-		m_reference = new HashMap<Short, MeasurementKey>();
-		m_signalIdCache = new HashMap<UUID, Short>();
+		m_keys = new MeasurementKey[InitialCapacity];
+		initializeSignalIdTable(InitialCapacity * 2);
 	}
 
 	/**
@@ -75,8 +90,16 @@ public class SignalIndexCache
 	 */
 	public void addMeasurementKey(short signalIndex, MeasurementKey key)
 	{
-		m_reference.put(signalIndex, key);
-		m_signalIdCache.put(key.getSignalId(), signalIndex);
+		int index = signalIndex & 0xFFFF;
+		
+		if (index >= m_keys.length)
+			growKeys(index + 1);
+		
+		if (m_keys[index] == null)
+			m_count++;
+		
+		m_keys[index] = key;
+		putSignalIndex(key.getSignalId(), index);
 	}
 	
 	/**
@@ -84,8 +107,10 @@ public class SignalIndexCache
 	 */
 	public void clear()
 	{
-		m_reference.clear();
-		m_signalIdCache.clear();
+		Arrays.fill(m_keys, null);
+		Arrays.fill(m_signalIdIndexes, 0);
+		m_count = 0;
+		m_signalIdCount = 0;
 	}
 	
 	/**
@@ -98,7 +123,8 @@ public class SignalIndexCache
 	 */
 	public boolean contains(short signalIndex)
 	{
-		return m_reference.containsKey(signalIndex);
+		int index = signalIndex & 0xFFFF;
+		return index < m_keys.length && m_keys[index] != null;
 	}
 
 	/**
@@ -110,7 +136,18 @@ public class SignalIndexCache
 	 */
 	public MeasurementKey getMeasurementKey(short signalIndex)
 	{
-		return m_reference.get(signalIndex);
+		int index = signalIndex & 0xFFFF;
+		return (index < m_keys.length) ? m_keys[index] : null;
+	}
+	
+	/**
+	 * Gets the number of measurement keys in the cache.
+	 * 
+	 * @return the number of measurement keys in the cache
+	 */
+	public int size()
+	{
+		return m_count;
 	}
 	
 	/**
@@ -119,10 +156,160 @@ public class SignalIndexCache
 	 * signal indexes that refer to them.
 	 * 
 	 * @param signalId the measurement's globally unique identifier
-	 * @return the signal index which identifies the measurement key 
+	 * @return the signal index which identifies the measurement key, as
+	 *         an unsigned value from 0 to 65535, or -1 if the signal ID
+	 *         is not in the cache
 	 */
-	short getSignalIndex(UUID signalId)
+	int getSignalIndex(UUID signalId)
+	{
+		long highBits = signalId.getMostSignificantBits();
+		long lowBits = signalId.getLeastSignificantBits();
+		int mask = m_signalIdIndexes.length - 1;
+		int slot = hash(highBits, lowBits) & mask;
+		
+		while (m_signalIdIndexes[slot] != 0)
+		{
+			if (m_signalIdHighBits[slot] == highBits && m_signalIdLowBits[slot] == lowBits)
+				return m_signalIdIndexes[slot] - 1;
+			
+			slot = (slot + 1) & mask;
+		}
+		
+		return -1;
+	}
+	
+	/**
+	 * Determines whether the given cache maps every signal
+	 * index to the same measurement key as this cache.
+	 */
+	boolean matches(SignalIndexCache other)
+	{
+		MeasurementKey key;
+		MeasurementKey otherKey;
+		int length = Math.max(m_keys.length, other.m_keys.length);
+		
+		if (m_count != other.m_count)
+			return false;
+		
+		for (int i = 0; i < length; i++)
+		{
+			key = (i < m_keys.length) ? m_keys[i] : null;
+			otherKey = (i < other.m_keys.length) ? other.m_keys[i] : null;
+			
+			if (key == null || otherKey == null)
+			{
+				if (key != otherKey)
+					return false;
+				
+				continue;
+			}
+			
+			if (!key.getSignalId().equals(otherKey.getSignalId()) || !key.getSource().equals(otherKey.getSource()) || key.getId() != otherKey.getId())
+				return false;
+		}
+		
+		return true;
+	}
+	
+	// Grows the key array so that it can hold at least the
+	// given number of signal indexes, up to the 16-bit limit.
+	private void growKeys(int minCapacity)
 	{
-		return m_signalIdCache.get(signalId);
+		int capacity = m_keys.length;
+		
+		while (capacity < minCapacity)
+			capacity <<= 1;
+		
+		m_keys = Arrays.copyOf(m_keys, Math.min(capacity, MaxCapacity));
 	}
+	
+	// Allocates an empty signal ID table with the given power-of-two capacity.
+	private void initializeSignalIdTable(int capacity)
+	{
+		m_signalIdHighBits = new long[capacity];
+		m_signalIdLowBits = new long[capacity];
+		m_signalIdIndexes = new int[capacity];
+		m_signalIdCount = 0;
+	}
+	
+	// Maps the given signal ID to the given unsigned signal index,
+	// replacing the existing mapping for the signal ID, if any.
+	private void putSignalIndex(UUID signalId, int index)
+	{
+		long highBits = signalId.getMostSignificantBits();
+		long lowBits = signalId.getLeastSignificantBits();
+		int mask;
+		int slot;
+		
+		// Keep the load factor at or below one half
+		if ((m_signalIdCount + 1) * 2 > m_signalIdIndexes.length)
+			rehashSignalIdTable(m_signalIdIndexes.length * 2);
+		
+		mask = m_signalIdIndexes.length - 1;
+		slot = hash(highBits, lowBits) & mask;
+		
+		while (m_signalIdIndexes[slot] != 0)
+		{
+			if (m_signalIdHighBits[slot] == highBits && m_signalIdLowBits[slot] == lowBits)
+			{
+				m_signalIdIndexes[slot] = index + 1;
+				return;
+			}
+			
+			slot = (slot + 1) & mask;
+		}
+		
+		// Indexes are stored plus one so that zero marks an empty slot
+		m_signalIdHighBits[slot] = highBits;
+		m_signalIdLowBits[slot] = lowBits;
+		m_signalIdIndexes[slot] = index + 1;
+		m_signalIdCount++;
+	}
+	
+	// Moves all entries into a new signal ID table with the given capacity.
+	private void rehashSignalIdTable(int capacity)
+	{
+		long[] highBits = m_signalIdHighBits;
+		long[] lowBits = m_signalIdLowBits;
+		int[] indexes = m_signalIdIndexes;
+		int mask = capacity - 1;
+		int slot;
+		
+		initializeSignalIdTable(capacity);
+		
+		for (int i = 0; i < indexes.length; i++)
+		{
+			if (indexes[i] == 0)
+				continue;
+			
+			slot = hash(highBits[i], lowBits[i]) & mask;
+			
+			while (m_signalIdIndexes[slot] != 0)
+				slot = (slot + 1) & mask;
+			
+			m_signalIdHighBits[slot] = highBits[i];
+			m_signalIdLowBits[slot] = lowBits[i];
+			m_signalIdIndexes[slot] = indexes[i];
+			m_signalIdCount++;
+		}
+	}
+	
+	// Mixes the bits of a signal ID into a hash code suitable
+	// for indexing a power-of-two sized open-addressing table.
+	private static int hash(long highBits, long lowBits)
+	{
+		long hash = highBits ^ (lowBits * 0x9E3779B97F4A7C15L);
+		
+		hash ^= (hash >>> 33);
+		hash *= 0xFF51AFD7ED558CCDL;
+		hash ^= (hash >>> 33);
+		
+		return (int)hash;
+	}
+	
+	// Number of signal indexes the cache can hold before growing.
+	private static final int InitialCapacity = 256;
+	
+	// Number of distinct 16-bit signal indexes.
+	private static final int MaxCapacity = 65536;
 }
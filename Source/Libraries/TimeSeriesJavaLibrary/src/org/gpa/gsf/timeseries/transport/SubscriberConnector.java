@@ -23,9 +23,15 @@
 
 package org.gpa.gsf.timeseries.transport;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
+import org.gpa.gsf.timeseries.transport.event.FailoverEvent;
+import org.gpa.gsf.timeseries.transport.event.FailoverListener;
+import org.gpa.gsf.timeseries.transport.event.MeasurementBatchEvent;
 import org.gpa.gsf.timeseries.transport.event.MessageEvent;
 import org.gpa.gsf.timeseries.transport.event.SubscriberAdapter;
 import org.gpa.gsf.timeseries.transport.event.SubscriberConnectorListener;
@@ -35,6 +41,10 @@ import org.gpa.gsf.timeseries.transport.event.SubscriberListener;
 /**
  * Helper class to provide retry and auto-reconnect
  * functionality to the subscriber.
+ * <p>
+ * The connector can also keep a second subscriber connected to an
+ * alternate publisher as a hot standby. See
+ * {@link #connect(DataSubscriber, DataSubscriber, SubscriptionInfo)}.
  * 
  * @see DataSubscriber
  */
@@ -51,7 +61,29 @@ public class SubscriberConnector
 	private int m_retryInterval;
 	private boolean m_autoReconnect;
 	
-	private boolean m_cancel;
+	private volatile boolean m_cancel;
+	
+	// Hot standby
+	private DataSubscriber m_standbySubscriber;
+	private SubscriberListener m_hotStandbyHandler;
+	private SubscriptionInfo m_subscriptionInfo;
+	private SubscriptionInfo m_standbySubscriptionInfo;
+	private String m_standbyHostname;
+	private int m_standbyPort;
+	private int m_failoverTimeout;
+	private Thread m_failoverMonitorThread;
+	
+	// Failover state, guarded by the failover lock
+	private Object m_failoverLock;
+	private DataSubscriber m_activeSubscriber;
+	private DataSubscriber m_failedSubscriber;
+	private boolean m_failoverPending;
+	private long m_failoverStartTime;
+	private long m_lastDeliveredTimestamp;
+	private int m_pendingConnectionCount;
+	private Set<DataSubscriber> m_restoringSubscribers;
+	private long m_failoverCount;
+	private FailoverEvent m_lastFailover;
 	
 	/**
 	 * Constructs a new instance. The default configuration is infinite
@@ -64,6 +96,8 @@ public class SubscriberConnector
 		m_autoReconnect = true;
 
 		m_listeners = new ArrayList<SubscriberConnectorListener>();
+		m_failoverLock = new Object();
+		m_restoringSubscribers = new HashSet<DataSubscriber>();
 	}
 	
 	/**
@@ -106,6 +140,11 @@ public class SubscriberConnector
 		if (subscriber == null)
 			throw new IllegalArgumentException("subscriber must not be null");
 		
+		// Leave hot standby mode if it was
+		// used by a previous connection sequence
+		if (m_standbySubscriber != null)
+			detachHotStandby();
+		
 		// If we are no longer set to auto reconnect, we
 		// may need to detach from an existing subscriber.
 		if (!m_autoReconnect && m_subscriber != null)
@@ -129,23 +168,111 @@ public class SubscriberConnector
 			subscriber.addSubscriberListener(m_autoReconnectHandler);
 		}
 
-		// Attempt to connect for the given number of retries.
-		for (int i = 0; !m_cancel && (m_maxRetries == -1 || i < m_maxRetries); i++)
+		// Attempt to connect and return
+		// connection status of subscriber.
+		return attemptConnection(subscriber, m_hostname, m_port);
+	}
+	
+	/**
+	 * Begins the connection sequence in hot standby mode. The {@code subscriber}
+	 * is connected to the publisher at {@link #getHostname()} and the
+	 * {@code standbySubscriber} is connected to the alternate publisher at
+	 * {@link #getStandbyHostname()}. Both are subscribed using the given
+	 * subscription info, so both keep their signal index caches and base
+	 * times up to date, but only the active subscriber delivers measurements
+	 * to its listeners; the other is kept in {@linkplain DataSubscriber#setStandby(boolean) standby}.
+	 * The same listeners should therefore be added to both subscribers.
+	 * If the subscription uses a UDP data channel, the standby subscriber's
+	 * data channel binds to the port after the one given in {@code info}.
+	 * <p>
+	 * When the connection of the active subscriber is terminated, delivery
+	 * is switched to the standby immediately, without waiting for the
+	 * standby to connect or subscribe, and the failed subscriber is
+	 * reconnected and resubscribed in the background to become the new
+	 * standby. If a {@linkplain #setFailoverTimeout(int) failover timeout}
+	 * is set, delivery is also switched when the active subscriber stops
+	 * receiving data while the standby does not. Each failover is reported
+	 * to {@link FailoverListener#failedOver(FailoverEvent)}
+	 * along with the gap it caused in the data.
+	 * <p>
+	 * This method returns once one of the subscribers is delivering
+	 * measurements, or once both connection sequences have given up.
+	 * 
+	 * @param subscriber the subscriber which is initially active
+	 * @param standbySubscriber the subscriber which is initially in standby
+	 * @param info subscription info used to subscribe both subscribers
+	 * @return connected status of the active subscriber
+	 * @throws IllegalArgumentException if {@code subscriber}, {@code standbySubscriber}
+	 *         or {@code info} is {@code null}, or if both subscribers are the same
+	 */
+	public boolean connect(DataSubscriber subscriber, DataSubscriber standbySubscriber, SubscriptionInfo info)
+	{
+		if (subscriber == null)
+			throw new IllegalArgumentException("subscriber must not be null");
+		
+		if (standbySubscriber == null)
+			throw new IllegalArgumentException("standbySubscriber must not be null");
+		
+		if (subscriber == standbySubscriber)
+			throw new IllegalArgumentException("standbySubscriber must not be the same as subscriber");
+		
+		if (info == null)
+			throw new IllegalArgumentException("info must not be null");
+		
+		// Detach from subscribers used by
+		// previous connection sequences
+		if (m_subscriber != null)
+			m_subscriber.removeSubscriberListener(m_autoReconnectHandler);
+		
+		detachHotStandby();
+		
+		if (m_hotStandbyHandler == null)
+			m_hotStandbyHandler = getNewHotStandbyHandler();
+		
+		m_subscriber = subscriber;
+		m_standbySubscriber = standbySubscriber;
+		m_subscriptionInfo = new SubscriptionInfo(info);
+		m_standbySubscriptionInfo = new SubscriptionInfo(info);
+		m_standbySubscriptionInfo.setDataChannelLocalPort(info.getDataChannelLocalPort() + 1);
+		
+		subscriber.setStandby(true);
+		standbySubscriber.setStandby(true);
+		subscriber.addSubscriberListener(m_hotStandbyHandler);
+		standbySubscriber.addSubscriberListener(m_hotStandbyHandler);
+		
+		synchronized (m_failoverLock)
 		{
-			try
-			{
-				subscriber.connect(m_hostname, m_port);
-				break;
-			}
-			catch (Exception ex)
+			m_activeSubscriber = subscriber;
+			m_failoverPending = false;
+			m_lastDeliveredTimestamp = Long.MIN_VALUE;
+			m_pendingConnectionCount = 2;
+		}
+		
+		// Both subscribers are connected at the same time so
+		// that one publisher being down does not delay the other
+		startConnectionThread(subscriber);
+		startConnectionThread(standbySubscriber);
+		
+		if (m_failoverTimeout > 0 && m_failoverMonitorThread == null)
+			startFailoverMonitorThread();
+		
+		synchronized (m_failoverLock)
+		{
+			while (!m_cancel && m_pendingConnectionCount > 0 && (m_activeSubscriber.isStandby() || !m_activeSubscriber.isConnected()))
 			{
-				triggerExceptionEncounteredAsync(ex);
-				sleep(m_retryInterval);
+				try
+				{
+					m_failoverLock.wait();
+				}
+				catch (InterruptedException ex)
+				{
+					triggerExceptionEncountered(ex);
+					break;
+				}
 			}
+			
+			return m_activeSubscriber.isConnected();
 		}
-		
-		// Return connection status of subscriber.
-		return subscriber.isConnected();
 	}
 	
 	/**
@@ -157,6 +284,61 @@ public class SubscriberConnector
 		
 		if (m_subscriber != null)
 			m_subscriber.removeSubscriberListener(m_autoReconnectHandler);
+		
+		detachHotStandby();
+		
+		if (m_failoverMonitorThread != null)
+		{
+			m_failoverMonitorThread.interrupt();
+			m_failoverMonitorThread = null;
+		}
+		
+		synchronized (m_failoverLock)
+		{
+			m_failoverLock.notifyAll();
+		}
+	}
+	
+	/**
+	 * Gets the subscriber which is currently delivering
+	 * measurements in hot standby mode.
+	 * 
+	 * @return the active subscriber, or {@code null} if
+	 *         the connector is not in hot standby mode
+	 */
+	public DataSubscriber getActiveSubscriber()
+	{
+		synchronized (m_failoverLock)
+		{
+			return (m_standbySubscriber != null) ? m_activeSubscriber : null;
+		}
+	}
+	
+	/**
+	 * Gets the number of times delivery of measurements has
+	 * been switched from one subscriber to the other.
+	 * 
+	 * @return the number of failovers
+	 */
+	public long getFailoverCount()
+	{
+		synchronized (m_failoverLock)
+		{
+			return m_failoverCount;
+		}
+	}
+	
+	/**
+	 * Gets the event which reported the most recent measured failover.
+	 * 
+	 * @return the most recent failover, or {@code null} if none has been measured
+	 */
+	public FailoverEvent getLastFailover()
+	{
+		synchronized (m_failoverLock)
+		{
+			return m_lastFailover;
+		}
 	}
 
 	/**
@@ -268,6 +450,411 @@ public class SubscriberConnector
 	{
 		m_autoReconnect = autoReconnect;
 	}
+
+	/**
+	 * Gets the hostname of the alternate publisher
+	 * used by the standby subscriber.
+	 * 
+	 * @return the hostname of the standby publisher
+	 */
+	public String getStandbyHostname()
+	{
+		return m_standbyHostname;
+	}
+
+	/**
+	 * Sets the hostname of the alternate publisher
+	 * used by the standby subscriber.
+	 * 
+	 * @param standbyHostname the new value for the hostname of the standby publisher
+	 */
+	public void setStandbyHostname(String standbyHostname)
+	{
+		m_standbyHostname = standbyHostname;
+	}
+
+	/**
+	 * Gets the port that the alternate publisher is listening on.
+	 * 
+	 * @return the port that the standby publisher is listening on
+	 */
+	public int getStandbyPort()
+	{
+		return m_standbyPort;
+	}
+
+	/**
+	 * Sets the port that the alternate publisher is listening on.
+	 * 
+	 * @param standbyPort the new value for the port that the
+	 *        standby publisher is listening on
+	 */
+	public void setStandbyPort(int standbyPort)
+	{
+		m_standbyPort = standbyPort;
+	}
+
+	/**
+	 * Gets the amount of time, in milliseconds, that the active subscriber
+	 * may go without receiving data, while the standby keeps receiving data,
+	 * before delivery is switched to the standby. A value of zero means that
+	 * delivery is only switched when the connection is terminated.
+	 * 
+	 * @return the failover timeout, in milliseconds
+	 */
+	public int getFailoverTimeout()
+	{
+		return m_failoverTimeout;
+	}
+
+	/**
+	 * Sets the amount of time, in milliseconds, that the active subscriber
+	 * may go without receiving data, while the standby keeps receiving data,
+	 * before delivery is switched to the standby. A value of zero means that
+	 * delivery is only switched when the connection is terminated. To fail
+	 * over within one frame interval, set this to the frame interval.
+	 * 
+	 * @param failoverTimeout the new value for the failover timeout, in milliseconds
+	 * @throws IllegalArgumentException if {@code failoverTimeout} is negative
+	 */
+	public void setFailoverTimeout(int failoverTimeout)
+	{
+		if (failoverTimeout < 0)
+			throw new IllegalArgumentException("failoverTimeout cannot be negative");
+		
+		m_failoverTimeout = failoverTimeout;
+	}
+	
+	// Attempts to connect the subscriber for the
+	// given number of retries and returns the
+	// connection status of the subscriber.
+	private boolean attemptConnection(DataSubscriber subscriber, String hostname, int port)
+	{
+		for (int i = 0; !m_cancel && (m_maxRetries == -1 || i < m_maxRetries); i++)
+		{
+			try
+			{
+				subscriber.connect(hostname, port);
+				break;
+			}
+			catch (Exception ex)
+			{
+				triggerExceptionEncounteredAsync(ex);
+				sleep(m_retryInterval);
+			}
+		}
+		
+		return subscriber.isConnected();
+	}
+	
+	// Removes the hot standby handler from
+	// the subscribers it was attached to.
+	private void detachHotStandby()
+	{
+		if (m_standbySubscriber == null)
+			return;
+		
+		m_subscriber.removeSubscriberListener(m_hotStandbyHandler);
+		m_standbySubscriber.removeSubscriberListener(m_hotStandbyHandler);
+		m_subscriber.setStandby(false);
+		m_standbySubscriber.setStandby(false);
+		
+		synchronized (m_failoverLock)
+		{
+			m_subscriber = null;
+			m_standbySubscriber = null;
+		}
+	}
+	
+	// Runs the initial connection sequence of a subscriber in hot standby mode.
+	private void startConnectionThread(final DataSubscriber subscriber)
+	{
+		new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				try
+				{
+					restore(subscriber, false);
+				}
+				finally
+				{
+					synchronized (m_failoverLock)
+					{
+						m_pendingConnectionCount--;
+						m_failoverLock.notifyAll();
+					}
+				}
+			}
+		}, "SubscriberConnector Connect").start();
+	}
+	
+	// Connects and subscribes a subscriber in hot standby mode, then makes
+	// it the active subscriber if the active subscriber is not connected.
+	private void restore(DataSubscriber subscriber, boolean reconnecting)
+	{
+		boolean standby = (subscriber == m_standbySubscriber);
+		String hostname = standby ? m_standbyHostname : m_hostname;
+		int port = standby ? m_standbyPort : m_port;
+		SubscriptionInfo info = standby ? m_standbySubscriptionInfo : m_subscriptionInfo;
+		
+		// Only one connection sequence runs at a time for each
+		// subscriber; terminations that occur while it is running
+		// are handled by the sequence that is already running
+		synchronized (m_failoverLock)
+		{
+			if (!m_restoringSubscribers.add(subscriber))
+				return;
+		}
+		
+		while (attemptConnection(subscriber, hostname, port))
+		{
+			try
+			{
+				subscriber.subscribe(info);
+			}
+			catch (Exception ex)
+			{
+				triggerExceptionEncountered(ex);
+			}
+			
+			synchronized (m_failoverLock)
+			{
+				// Start over if the connection was
+				// terminated again while subscribing
+				if (!m_cancel && !subscriber.isConnected())
+					continue;
+				
+				if (m_standbySubscriber != null && (subscriber == m_activeSubscriber || !m_activeSubscriber.isConnected()))
+					activate(subscriber, System.nanoTime());
+				
+				m_restoringSubscribers.remove(subscriber);
+				m_failoverLock.notifyAll();
+			}
+			
+			if (reconnecting && !m_cancel)
+				triggerReconnected(subscriber);
+			
+			return;
+		}
+		
+		synchronized (m_failoverLock)
+		{
+			m_restoringSubscribers.remove(subscriber);
+		}
+	}
+	
+	// Switches delivery away from the given subscriber if it
+	// is active and the other subscriber is connected.
+	private void failOver(DataSubscriber failedSubscriber, long detectionTime)
+	{
+		synchronized (m_failoverLock)
+		{
+			DataSubscriber otherSubscriber = (failedSubscriber == m_subscriber) ? m_standbySubscriber : m_subscriber;
+			
+			if (m_standbySubscriber != null && failedSubscriber == m_activeSubscriber && otherSubscriber.isConnected())
+				activate(otherSubscriber, detectionTime);
+		}
+	}
+	
+	// Makes the given subscriber the one which delivers measurements.
+	// Must be called while holding the failover lock.
+	private void activate(DataSubscriber subscriber, long detectionTime)
+	{
+		DataSubscriber previousSubscriber = m_activeSubscriber;
+		
+		if (previousSubscriber != subscriber)
+		{
+			// Activating whichever subscriber connects first
+			// is only a failover if the other was delivering
+			if (!previousSubscriber.isStandby())
+				m_failoverCount++;
+			
+			// Stop the previous subscriber first
+			// so measurements are not delivered twice
+			previousSubscriber.setStandby(true);
+			m_activeSubscriber = subscriber;
+			
+			// The gap can only be measured if the
+			// previous subscriber delivered data
+			if (m_lastDeliveredTimestamp != Long.MIN_VALUE)
+			{
+				m_failedSubscriber = previousSubscriber;
+				m_failoverStartTime = detectionTime;
+				m_failoverPending = true;
+			}
+		}
+		
+		subscriber.setStandby(false);
+	}
+	
+	// Tracks the timestamps of measurements delivered by the
+	// active subscriber to measure the gaps caused by failovers.
+	private void recordDelivery(DataSubscriber subscriber, MeasurementBatch batch)
+	{
+		long[] timestamps = batch.getTimestamps();
+		int size = batch.size();
+		long firstTimestamp = Long.MAX_VALUE;
+		long lastTimestamp = Long.MIN_VALUE;
+		FailoverEvent failover = null;
+		
+		if (size == 0)
+			return;
+		
+		for (int i = 0; i < size; i++)
+		{
+			firstTimestamp = Math.min(firstTimestamp, timestamps[i]);
+			lastTimestamp = Math.max(lastTimestamp, timestamps[i]);
+		}
+		
+		synchronized (m_failoverLock)
+		{
+			if (subscriber != m_activeSubscriber)
+				return;
+			
+			if (m_failoverPending)
+			{
+				failover = new FailoverEvent(this, subscriber, m_failedSubscriber, firstTimestamp - m_lastDeliveredTimestamp, System.nanoTime() - m_failoverStartTime);
+				m_lastFailover = failover;
+				m_failedSubscriber = null;
+				m_failoverPending = false;
+			}
+			
+			if (lastTimestamp > m_lastDeliveredTimestamp)
+				m_lastDeliveredTimestamp = lastTimestamp;
+		}
+		
+		if (failover != null)
+			triggerFailedOver(failover);
+	}
+	
+	// Starts the thread which switches delivery to the
+	// standby when the active subscriber stops receiving data.
+	private void startFailoverMonitorThread()
+	{
+		m_failoverMonitorThread = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				runFailoverMonitorThread();
+			}
+		}, "SubscriberConnector Failover Monitor");
+		
+		m_failoverMonitorThread.setDaemon(true);
+		m_failoverMonitorThread.start();
+	}
+	
+	// Watches the bytes received by both subscribers and fails over
+	// when the active subscriber has stopped receiving data for longer
+	// than the failover timeout while the standby has not.
+	private void runFailoverMonitorThread()
+	{
+		DataSubscriber lastActiveSubscriber = null;
+		long lastActiveBytes = 0L;
+		long lastStandbyBytes = 0L;
+		long lastActiveChange = System.nanoTime();
+		
+		DataSubscriber activeSubscriber;
+		DataSubscriber standbySubscriber;
+		long activeBytes;
+		long standbyBytes;
+		long now;
+		
+		while (!m_cancel && m_failoverTimeout > 0)
+		{
+			try
+			{
+				Thread.sleep(Math.max(1, m_failoverTimeout / 4));
+			}
+			catch (InterruptedException ex)
+			{
+				break;
+			}
+			
+			synchronized (m_failoverLock)
+			{
+				if (m_standbySubscriber == null)
+					continue;
+				
+				activeSubscriber = m_activeSubscriber;
+				standbySubscriber = (activeSubscriber == m_subscriber) ? m_standbySubscriber : m_subscriber;
+			}
+			
+			activeBytes = getTotalBytesReceived(activeSubscriber);
+			standbyBytes = getTotalBytesReceived(standbySubscriber);
+			now = System.nanoTime();
+			
+			if (activeSubscriber != lastActiveSubscriber || activeBytes != lastActiveBytes || !activeSubscriber.isConnected())
+			{
+				lastActiveSubscriber = activeSubscriber;
+				lastActiveBytes = activeBytes;
+				lastActiveChange = now;
+			}
+			else if (now - lastActiveChange >= m_failoverTimeout * NanosPerMillisecond && standbyBytes != lastStandbyBytes)
+			{
+				failOver(activeSubscriber, now);
+				startStalledSubscriberRecovery(activeSubscriber);
+				lastActiveSubscriber = null;
+			}
+			
+			lastStandbyBytes = standbyBytes;
+		}
+	}
+	
+	// Disconnects a subscriber that stopped receiving data
+	// and reconnects it so it can become the new standby.
+	private void startStalledSubscriberRecovery(final DataSubscriber subscriber)
+	{
+		new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				triggerExceptionEncountered(new IOException("Subscriber stopped receiving data; reconnecting"));
+				subscriber.disconnect();
+				
+				if (m_autoReconnect && !m_cancel)
+					restore(subscriber, true);
+			}
+		}, "SubscriberConnector Recovery").start();
+	}
+	
+	// Gets the total number of bytes received by the subscriber on both channels.
+	private static long getTotalBytesReceived(DataSubscriber subscriber)
+	{
+		return subscriber.getTotalCommandChannelBytesReceived() + subscriber.getTotalDataChannelBytesReceived();
+	}
+	
+	// Creates and returns a new hot standby handler.
+	private SubscriberListener getNewHotStandbyHandler()
+	{
+		return new SubscriberAdapter()
+		{
+			@Override
+			public void newMeasurementBatchReceived(MeasurementBatchEvent evt)
+			{
+				recordDelivery((DataSubscriber)evt.getSource(), evt.getBatch());
+			}
+			
+			@Override
+			public void connectionTerminated(MessageEvent evt)
+			{
+				DataSubscriber subscriber = (DataSubscriber)evt.getSource();
+				long detectionTime = System.nanoTime();
+				
+				if (m_cancel)
+					return;
+				
+				failOver(subscriber, detectionTime);
+				triggerExceptionEncountered(evt.getException());
+				
+				if (m_autoReconnect)
+					restore(subscriber, true);
+			}
+		};
+	}
 	
 	// Creates and returns a new auto-reconnect handler.
 	private SubscriberListener getNewAutoReconnectHandler()
@@ -285,7 +872,7 @@ public class SubscriberConnector
 					connect(m_subscriber);
 					
 					if (!m_cancel)
-						triggerReconnected();
+						triggerReconnected(m_subscriber);
 				}
 			}
 		};
@@ -326,13 +913,33 @@ public class SubscriberConnector
 	
 	// Triggers the reconnected event for all
 	// listeners subscribed to this connector.
-	private void triggerReconnected()
+	private void triggerReconnected(DataSubscriber subscriber)
 	{
 		for (SubscriberConnectorListener listener : m_listeners)
 		{
 			try
 			{
-				listener.reconnected(new SubscriberEvent(this, m_subscriber));
+				listener.reconnected(new SubscriberEvent(this, subscriber));
+			}
+			catch (Exception ex)
+			{
+				triggerExceptionEncountered(ex);
+			}
+		}
+	}
+	
+	// Triggers the failed over event for all
+	// listeners subscribed to this connector.
+	private void triggerFailedOver(FailoverEvent failover)
+	{
+		for (SubscriberConnectorListener listener : m_listeners)
+		{
+			if (!(listener instanceof FailoverListener))
+				continue;
+			
+			try
+			{
+				((FailoverListener)listener).failedOver(failover);
 			}
 			catch (Exception ex)
 			{
@@ -353,4 +960,7 @@ public class SubscriberConnector
 			triggerExceptionEncountered(ex);
 		}
 	}
+	
+	// Number of nanoseconds in one millisecond.
+	private static final long NanosPerMillisecond = 1000000L;
 }
@@ -0,0 +1,769 @@
+//******************************************************************************************************
+//  SubscriberGroup.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.gpa.gsf.timeseries.Measurement;
+import org.gpa.gsf.timeseries.MeasurementKey;
+import org.gpa.gsf.timeseries.transport.constant.OverloadPolicy;
+import org.gpa.gsf.timeseries.transport.event.MeasurementBatchEvent;
+import org.gpa.gsf.timeseries.transport.event.MeasurementBatchListener;
+import org.gpa.gsf.timeseries.transport.event.MeasurementEvent;
+import org.gpa.gsf.timeseries.transport.event.MessageEvent;
+import org.gpa.gsf.timeseries.transport.event.MetadataEvent;
+import org.gpa.gsf.timeseries.transport.event.StartTimeEvent;
+import org.gpa.gsf.timeseries.transport.event.SubscriberConnectorAdapter;
+import org.gpa.gsf.timeseries.transport.event.SubscriberEvent;
+import org.gpa.gsf.timeseries.transport.event.SubscriberListener;
+
+/**
+ * Subscribes to several publishers at once and merges their data into a
+ * single stream. Every subscriber in the group shares one
+ * {@link NioSubscriberEngine} for its I/O and one {@link CallbackExecutor}
+ * for its callbacks, so the number of threads used by the group does not
+ * grow with the number of publishers. Each subscriber is kept connected by
+ * its own {@link SubscriberConnector}, which resubscribes after reconnecting.
+ * <p>
+ * Measurements from all publishers are identified by signal ID and
+ * assigned a signal index in a {@link SignalIndexCache} owned by the group,
+ * so the same signal received from redundant publishers is delivered as one
+ * signal. For each signal, only measurements newer than the last one
+ * delivered are passed on; duplicates and stale values are dropped.
+ * <p>
+ * Optionally, the group can merge the streams in timestamp order. When a
+ * reorder window is set, measurements are held until they are older than the
+ * newest measurement received by the window, and are then released in
+ * timestamp order. The number of measurements held is bounded; measurements
+ * that arrive after newer ones have already been released are dropped.
+ * <p>
+ * Merged measurements are delivered to the group's listeners with the group
+ * as the source of the event, just as a {@link DataSubscriber} would deliver
+ * them, on the callback executor's thread. All other events raised by the
+ * subscribers in the group are forwarded to the group's listeners unchanged.
+ * 
+ * @see DataSubscriber
+ */
+public class SubscriberGroup
+{
+	private Collection<SubscriberListener> m_subscriberListeners;
+	private List<Member> m_members;
+	
+	private NioSubscriberEngine m_nioEngine;
+	private CallbackExecutor m_callbackExecutor;
+	private boolean m_ownsExecutors;
+	private boolean m_started;
+	
+	private boolean m_measurementBatchMode;
+	private long m_reorderWindow;
+	private int m_maxPendingMeasurements;
+	
+	// Signals received by the group, indexed by group signal index
+	private SignalIndexCache m_signalIndexCache;
+	private MeasurementKey[] m_keys;
+	private long[] m_latestTimestamps;
+	private int m_signalCount;
+	private boolean m_signalIndexCacheShared;
+	
+	private MeasurementReorderBuffer m_reorderBuffer;
+	private MeasurementBatch m_outputBatch;
+	private long m_newestTimestamp;
+	
+	private long m_duplicateCount;
+	private long m_lateCount;
+	
+	/**
+	 * Constructs a new group which creates its own NIO
+	 * engine and callback executor when it is started.
+	 */
+	public SubscriberGroup()
+	{
+		this(null, null, true);
+	}
+	
+	/**
+	 * Constructs a new group which uses the given NIO engine and callback executor.
+	 * The group does not start or shut down the engine or the executor; the engine
+	 * must be started before the group is started.
+	 * 
+	 * @param nioEngine the engine which performs the I/O of the subscribers in the group
+	 * @param callbackExecutor the executor which runs the callbacks of the subscribers in the group
+	 * @throws IllegalArgumentException if {@code nioEngine} or {@code callbackExecutor} is {@code null}
+	 */
+	public SubscriberGroup(NioSubscriberEngine nioEngine, CallbackExecutor callbackExecutor)
+	{
+		this(nioEngine, callbackExecutor, false);
+		
+		if (nioEngine == null)
+			throw new IllegalArgumentException("nioEngine cannot be null");
+		
+		if (callbackExecutor == null)
+			throw new IllegalArgumentException("callbackExecutor cannot be null");
+	}
+	
+	// Constructs a new group, indicating whether the group
+	// creates its own NIO engine and callback executor.
+	private SubscriberGroup(NioSubscriberEngine nioEngine, CallbackExecutor callbackExecutor, boolean ownsExecutors)
+	{
+		m_subscriberListeners = new ArrayList<SubscriberListener>();
+		m_members = new ArrayList<Member>();
+		m_nioEngine = nioEngine;
+		m_callbackExecutor = callbackExecutor;
+		m_ownsExecutors = ownsExecutors;
+		m_maxPendingMeasurements = DefaultMaxPendingMeasurements;
+		
+		m_keys = new MeasurementKey[InitialSignalCapacity];
+		m_latestTimestamps = new long[InitialSignalCapacity];
+		m_signalIndexCache = new SignalIndexCache();
+		m_outputBatch = new MeasurementBatch();
+	}
+	
+	/**
+	 * Adds the given listener to receive events from the group.
+	 * If the {@code subscriberListener} is {@code null}, no
+	 * exception is thrown and no action is performed.
+	 * 
+	 * @param subscriberListener the listener to be added
+	 */
+	public void addSubscriberListener(SubscriberListener subscriberListener)
+	{
+		if (subscriberListener != null)
+			m_subscriberListeners.add(subscriberListener);
+	}
+	
+	/**
+	 * Removes the given listener so that it no longer receives
+	 * events from the group. This method performs no function,
+	 * nor does it throw an exception, if {@code subscriberListener}
+	 * was not previously added to the group. If
+	 * {@code subscriberListener} is {@code null}, no exception is
+	 * thrown and no action is performed.
+	 * 
+	 * @param subscriberListener the listener to be removed
+	 */
+	public void removeSubscriberListener(SubscriberListener subscriberListener)
+	{
+		if (subscriberListener != null)
+			m_subscriberListeners.remove(subscriberListener);
+	}
+	
+	/**
+	 * Adds a publisher to the group. The returned subscriber may be configured
+	 * further before the group is started, but its NIO engine, callback executor,
+	 * and batch mode are managed by the group and must not be changed. Its overload
+	 * policy defaults to {@link OverloadPolicy#DropOldest}, and cannot be
+	 * {@link OverloadPolicy#Block} since the subscriber uses an NIO engine.
+	 * 
+	 * @param hostname name or address of the machine hosting the publisher
+	 * @param port the port that the publisher is listening on
+	 * @param info subscription info used to subscribe to the publisher
+	 * @return the subscriber which receives data from the publisher
+	 * @throws IllegalArgumentException if {@code hostname} or {@code info} is {@code null}
+	 * @throws IllegalStateException if the group is started
+	 */
+	public synchronized DataSubscriber addPublisher(String hostname, int port, SubscriptionInfo info)
+	{
+		Member member;
+		
+		if (hostname == null)
+			throw new IllegalArgumentException("hostname cannot be null");
+		
+		if (info == null)
+			throw new IllegalArgumentException("info cannot be null");
+		
+		if (m_started)
+			throw new IllegalStateException("Cannot add publishers while the group is started; stop it first");
+		
+		member = new Member(hostname, port, new SubscriptionInfo(info));
+		m_members.add(member);
+		
+		return member.m_subscriber;
+	}
+	
+	/**
+	 * Gets the subscribers which receive data
+	 * from the publishers in the group.
+	 * 
+	 * @return the subscribers in the group
+	 */
+	public synchronized List<DataSubscriber> getSubscribers()
+	{
+		List<DataSubscriber> subscribers = new ArrayList<DataSubscriber>();
+		
+		for (Member member : m_members)
+			subscribers.add(member.m_subscriber);
+		
+		return Collections.unmodifiableList(subscribers);
+	}
+	
+	/**
+	 * Gets the signal index cache which defines the signal
+	 * indexes of the measurements delivered by the group.
+	 * 
+	 * @return the group's signal index cache
+	 */
+	public synchronized SignalIndexCache getSignalIndexCache()
+	{
+		return m_signalIndexCache;
+	}
+	
+	/**
+	 * Indicates whether the group is in measurement batch mode.
+	 * 
+	 * @return flag indicating whether measurements are only delivered as batches
+	 * @see DataSubscriber#isMeasurementBatchMode()
+	 */
+	public boolean isMeasurementBatchMode()
+	{
+		return m_measurementBatchMode;
+	}
+	
+	/**
+	 * Sets the flag that determines whether the group is in measurement batch mode.
+	 * 
+	 * @param measurementBatchMode the new value for the batch mode flag
+	 * @see DataSubscriber#setMeasurementBatchMode(boolean)
+	 */
+	public void setMeasurementBatchMode(boolean measurementBatchMode)
+	{
+		m_measurementBatchMode = measurementBatchMode;
+	}
+	
+	/**
+	 * Gets the length of the window, in seconds, within which
+	 * measurements are put in timestamp order before being
+	 * delivered. A value of zero means that measurements are
+	 * delivered in the order they are received.
+	 * 
+	 * @return the length of the reorder window, in seconds
+	 */
+	public synchronized double getReorderWindow()
+	{
+		return m_reorderWindow / (double)TicksPerSecond;
+	}
+	
+	/**
+	 * Sets the length of the window, in seconds, within which
+	 * measurements are put in timestamp order before being
+	 * delivered. A value of zero means that measurements are
+	 * delivered in the order they are received.
+	 * 
+	 * @param reorderWindow the new length of the reorder window, in seconds
+	 * @throws IllegalArgumentException if {@code reorderWindow} is negative
+	 * @throws IllegalStateException if the group is started
+	 */
+	public synchronized void setReorderWindow(double reorderWindow)
+	{
+		if (reorderWindow < 0.0D)
+			throw new IllegalArgumentException("reorderWindow cannot be negative");
+		
+		if (m_started)
+			throw new IllegalStateException("Cannot change reorder window while the group is started; stop it first");
+		
+		m_reorderWindow = (long)(reorderWindow * TicksPerSecond);
+	}
+	
+	/**
+	 * Gets the maximum number of measurements held in the reorder window.
+	 * When the window is full, the oldest measurement is delivered early.
+	 * 
+	 * @return the maximum number of measurements held for reordering
+	 */
+	public synchronized int getMaxPendingMeasurements()
+	{
+		return m_maxPendingMeasurements;
+	}
+	
+	/**
+	 * Sets the maximum number of measurements held in the reorder window.
+	 * When the window is full, the oldest measurement is delivered early.
+	 * 
+	 * @param maxPendingMeasurements the new maximum number of measurements held for reordering
+	 * @throws IllegalArgumentException if {@code maxPendingMeasurements} is less than one
+	 * @throws IllegalStateException if the group is started
+	 */
+	public synchronized void setMaxPendingMeasurements(int maxPendingMeasurements)
+	{
+		if (maxPendingMeasurements < 1)
+			throw new IllegalArgumentException("maxPendingMeasurements must be at least one");
+		
+		if (m_started)
+			throw new IllegalStateException("Cannot change max pending measurements while the group is started; stop it first");
+		
+		m_maxPendingMeasurements = maxPendingMeasurements;
+	}
+	
+	/**
+	 * Gets the total number of measurements dropped because a measurement
+	 * of the same signal with the same or a newer timestamp had already
+	 * been delivered, typically by another publisher.
+	 * 
+	 * @return the number of duplicate measurements dropped
+	 */
+	public synchronized long getDuplicateCount()
+	{
+		return m_duplicateCount;
+	}
+	
+	/**
+	 * Gets the total number of measurements dropped because they arrived
+	 * after newer measurements had already been released from the reorder window.
+	 * 
+	 * @return the number of late measurements dropped
+	 */
+	public synchronized long getLateCount()
+	{
+		return m_lateCount;
+	}
+	
+	/**
+	 * Gets the number of measurements being held in the reorder window.
+	 * 
+	 * @return the number of measurements waiting to be delivered
+	 */
+	public synchronized int getPendingCount()
+	{
+		return (m_reorderBuffer != null) ? m_reorderBuffer.size() : 0;
+	}
+	
+	/**
+	 * Indicates whether the group is started.
+	 * 
+	 * @return flag indicating whether the group is started
+	 */
+	public synchronized boolean isStarted()
+	{
+		return m_started;
+	}
+	
+	/**
+	 * Starts the group. Each subscriber is connected and subscribed on
+	 * its own connection thread, so this method returns without waiting
+	 * for the publishers to respond. Failures to connect or subscribe are
+	 * reported to the group's listeners as exceptions.
+	 * 
+	 * @throws IOException if the group's own NIO engine could not be started
+	 */
+	public synchronized void start() throws IOException
+	{
+		if (m_started)
+			return;
+		
+		if (m_ownsExecutors)
+		{
+			m_nioEngine = new NioSubscriberEngine();
+			m_callbackExecutor = new CallbackExecutor();
+			m_nioEngine.start();
+		}
+		
+		m_reorderBuffer = (m_reorderWindow > 0L) ? new MeasurementReorderBuffer(m_maxPendingMeasurements) : null;
+		m_newestTimestamp = Long.MIN_VALUE;
+		m_started = true;
+		
+		for (Member member : m_members)
+			member.start();
+	}
+	
+	/**
+	 * Stops the group, disconnecting every subscriber. Measurements
+	 * still held in the reorder window are discarded. This method
+	 * must not be called from one of the group's listeners.
+	 */
+	public void stop()
+	{
+		List<Member> members;
+		
+		synchronized (this)
+		{
+			if (!m_started)
+				return;
+			
+			m_started = false;
+			members = new ArrayList<Member>(m_members);
+		}
+		
+		// Subscribers are disconnected without holding the group's lock
+		// since their callbacks must finish before they can disconnect
+		for (Member member : members)
+			member.stop();
+		
+		synchronized (this)
+		{
+			if (m_ownsExecutors)
+			{
+				m_callbackExecutor.shutdown();
+				m_nioEngine.shutdown();
+				m_callbackExecutor = null;
+				m_nioEngine = null;
+			}
+			
+			m_reorderBuffer = null;
+		}
+	}
+	
+	/**
+	 * Delivers all measurements held in the reorder window to the
+	 * group's listeners, in timestamp order, on the calling thread.
+	 */
+	public synchronized void flush()
+	{
+		if (m_reorderBuffer == null)
+			return;
+		
+		m_outputBatch.clear();
+		m_reorderBuffer.releaseAll(m_outputBatch);
+		deliverOutputBatch();
+	}
+	
+	// Merges a batch of measurements received by a member into
+	// the group's stream and delivers what is ready to be delivered.
+	private synchronized void mergeMeasurementBatch(Member member, MeasurementBatch batch)
+	{
+		int[] signalIndexMap = member.getSignalIndexMap(batch.getSignalIndexCache());
+		int size = batch.size();
+		int signalIndex;
+		long timestamp;
+		
+		if (!m_started)
+			return;
+		
+		m_outputBatch.clear();
+		
+		for (int i = 0; i < size; i++)
+		{
+			signalIndex = mapSignalIndex(signalIndexMap, batch, i);
+			
+			if (signalIndex < 0)
+				continue;
+			
+			timestamp = batch.getTimestamp(i);
+			
+			// For each signal, only measurements newer than
+			// the latest one accepted by the group are kept
+			if (timestamp <= m_latestTimestamps[signalIndex])
+			{
+				m_duplicateCount++;
+				continue;
+			}
+			
+			if (m_reorderBuffer == null)
+			{
+				m_latestTimestamps[signalIndex] = timestamp;
+				m_outputBatch.add((short)signalIndex, batch.getValue(i), timestamp, batch.getFlags(i));
+			}
+			else if (m_reorderBuffer.add((short)signalIndex, batch.getValue(i), timestamp, batch.getFlags(i), m_outputBatch))
+			{
+				m_latestTimestamps[signalIndex] = timestamp;
+				
+				if (timestamp > m_newestTimestamp)
+					m_newestTimestamp = timestamp;
+			}
+			else
+			{
+				m_lateCount++;
+			}
+		}
+		
+		if (m_reorderBuffer != null && m_newestTimestamp != Long.MIN_VALUE)
+			m_reorderBuffer.releaseThrough(m_newestTimestamp - m_reorderWindow, m_outputBatch);
+		
+		deliverOutputBatch();
+	}
+	
+	// Maps the signal index of a measurement received by a member to its
+	// signal index in the group, adding the signal to the group if necessary.
+	// Returns -1 if the signal is not defined by the member's cache.
+	private int mapSignalIndex(int[] signalIndexMap, MeasurementBatch batch, int index)
+	{
+		int memberIndex = batch.getSignalIndex(index) & 0xFFFF;
+		int signalIndex = signalIndexMap[memberIndex];
+		MeasurementKey key;
+		
+		if (signalIndex != Unmapped)
+			return signalIndex;
+		
+		key = batch.getMeasurementKey(index);
+		
+		if (key == null)
+			return -1;
+		
+		signalIndex = m_signalIndexCache.getSignalIndex(key.getSignalId());
+		
+		if (signalIndex == -1)
+		{
+			if (m_signalCount == MaxSignalCount)
+				return -1;
+			
+			signalIndex = addSignal(key);
+		}
+		
+		signalIndexMap[memberIndex] = signalIndex;
+		
+		return signalIndex;
+	}
+	
+	// Assigns the next group signal index to the given signal.
+	private int addSignal(MeasurementKey key)
+	{
+		int signalIndex = m_signalCount;
+		int capacity;
+		
+		// Listeners may hold on to the cache delivered with
+		// a batch, so the cache is copied rather than changed
+		// once it has been delivered to the listeners
+		if (m_signalIndexCacheShared)
+		{
+			m_signalIndexCache = new SignalIndexCache();
+			
+			for (int i = 0; i < m_signalCount; i++)
+				m_signalIndexCache.addMeasurementKey((short)i, m_keys[i]);
+			
+			m_signalIndexCacheShared = false;
+		}
+		
+		if (signalIndex == m_keys.length)
+		{
+			capacity = Math.min(m_keys.length * 2, MaxSignalCount);
+			m_keys = Arrays.copyOf(m_keys, capacity);
+			m_latestTimestamps = Arrays.copyOf(m_latestTimestamps, capacity);
+		}
+		
+		m_keys[signalIndex] = key;
+		m_latestTimestamps[signalIndex] = Long.MIN_VALUE;
+		m_signalIndexCache.addMeasurementKey((short)signalIndex, key);
+		m_signalCount++;
+		
+		return signalIndex;
+	}
+	
+	// Delivers the measurements in the output batch to the group's listeners.
+	private void deliverOutputBatch()
+	{
+		MeasurementBatchEvent batchEvent;
+		Collection<Measurement> newMeasurements = null;
+		
+		if (m_outputBatch.size() == 0)
+			return;
+		
+		m_outputBatch.setSignalIndexCache(m_signalIndexCache);
+		m_signalIndexCacheShared = true;
+		batchEvent = new MeasurementBatchEvent(this, m_outputBatch);
+		
+		// Measurement objects are only created
+		// when not operating in batch mode
+		if (!m_measurementBatchMode)
+			newMeasurements = m_outputBatch.toMeasurements();
+		
+		for (SubscriberListener listener : m_subscriberListeners)
+		{
+			if (newMeasurements != null)
+				listener.newMeasurementsReceived(new MeasurementEvent(this, newMeasurements));
+			
+			if (listener instanceof MeasurementBatchListener)
+				((MeasurementBatchListener)listener).newMeasurementBatchReceived(batchEvent);
+		}
+	}
+	
+	// Publisher in the group, along with the
+	// subscriber and connector used to reach it.
+	private class Member extends SubscriberConnectorAdapter implements SubscriberListener, MeasurementBatchListener
+	{
+		private String m_hostname;
+		private int m_port;
+		private SubscriptionInfo m_info;
+		
+		private DataSubscriber m_subscriber;
+		private SubscriberConnector m_connector;
+		private Thread m_connectThread;
+		
+		private SignalIndexCache m_mappedSignalIndexCache;
+		private int[] m_signalIndexMap;
+		
+		public Member(String hostname, int port, SubscriptionInfo info)
+		{
+			m_hostname = hostname;
+			m_port = port;
+			m_info = info;
+			
+			m_subscriber = new DataSubscriber();
+			m_subscriber.setMeasurementBatchMode(true);
+			m_subscriber.setOverloadPolicy(OverloadPolicy.DropOldest);
+			m_subscriber.addSubscriberListener(this);
+			
+			m_signalIndexMap = new int[MaxSignalCount];
+		}
+		
+		// Connects and subscribes on a separate thread.
+		public void start()
+		{
+			m_subscriber.setNioEngine(m_nioEngine);
+			m_subscriber.setCallbackExecutor(m_callbackExecutor);
+			
+			m_connector = new SubscriberConnector();
+			m_connector.setHostname(m_hostname);
+			m_connector.setPort(m_port);
+			m_connector.addSubscriberConnectorListener(this);
+			
+			m_connectThread = new Thread(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					if (m_connector.connect(m_subscriber))
+						subscribe();
+				}
+			}, "SubscriberGroup Connect " + m_hostname + ":" + m_port);
+			
+			m_connectThread.start();
+		}
+		
+		// Cancels the connection sequence and disconnects.
+		public void stop()
+		{
+			m_connector.cancel();
+			
+			try
+			{
+				m_connectThread.join();
+			}
+			catch (InterruptedException ex)
+			{
+				Thread.currentThread().interrupt();
+			}
+			
+			if (m_subscriber.isConnected())
+				m_subscriber.disconnect();
+			
+			m_connector = null;
+			m_connectThread = null;
+		}
+		
+		// Gets the map from the member's signal indexes to the
+		// group's signal indexes, resetting it if the member's
+		// signal index cache has changed.
+		public int[] getSignalIndexMap(SignalIndexCache signalIndexCache)
+		{
+			if (signalIndexCache != m_mappedSignalIndexCache)
+			{
+				Arrays.fill(m_signalIndexMap, Unmapped);
+				m_mappedSignalIndexCache = signalIndexCache;
+			}
+			
+			return m_signalIndexMap;
+		}
+		
+		// Subscribes to the publisher, reporting failures to the group's listeners.
+		private void subscribe()
+		{
+			try
+			{
+				m_subscriber.subscribe(m_info);
+			}
+			catch (Exception ex)
+			{
+				exceptionEncountered(new MessageEvent(m_subscriber, ex));
+			}
+		}
+		
+		@Override
+		public void reconnected(SubscriberEvent evt)
+		{
+			subscribe();
+		}
+		
+		@Override
+		public void newMeasurementBatchReceived(MeasurementBatchEvent evt)
+		{
+			mergeMeasurementBatch(this, evt.getBatch());
+		}
+		
+		@Override
+		public void newMeasurementsReceived(MeasurementEvent evt)
+		{
+			// Members operate in batch mode
+		}
+		
+		@Override
+		public void statusMessageReceived(MessageEvent evt)
+		{
+			for (SubscriberListener listener : m_subscriberListeners)
+				listener.statusMessageReceived(evt);
+		}
+		
+		@Override
+		public void exceptionEncountered(MessageEvent evt)
+		{
+			for (SubscriberListener listener : m_subscriberListeners)
+				listener.exceptionEncountered(evt);
+		}
+		
+		@Override
+		public void dataStartTimeReceived(StartTimeEvent evt)
+		{
+			for (SubscriberListener listener : m_subscriberListeners)
+				listener.dataStartTimeReceived(evt);
+		}
+		
+		@Override
+		public void metadataReceived(MetadataEvent evt)
+		{
+			for (SubscriberListener listener : m_subscriberListeners)
+				listener.metadataReceived(evt);
+		}
+		
+		@Override
+		public void processingCompleteCallback(MessageEvent evt)
+		{
+			for (SubscriberListener listener : m_subscriberListeners)
+				listener.processingCompleteCallback(evt);
+		}
+		
+		@Override
+		public void connectionTerminated(MessageEvent evt)
+		{
+			for (SubscriberListener listener : m_subscriberListeners)
+				listener.connectionTerminated(evt);
+		}
+	}
+	
+	// Number of ticks in one second.
+	private static final long TicksPerSecond = 10000000L;
+	
+	// Initial number of signals for which the group allocates space.
+	private static final int InitialSignalCapacity = 256;
+	
+	// Number of distinct 16-bit signal indexes.
+	private static final int MaxSignalCount = 65536;
+	
+	// Default maximum number of measurements held for reordering.
+	private static final int DefaultMaxPendingMeasurements = 100000;
+	
+	// Marks a member signal index that has not yet been mapped to the group.
+	private static final int Unmapped = -2;
+}
@@ -0,0 +1,282 @@
+//******************************************************************************************************
+//  SubscriptionStateCache.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.UUID;
+
+import org.gpa.gsf.timeseries.MeasurementKey;
+
+/**
+ * Directory of the signal index caches and base times last received by
+ * subscribers, kept so that a subscriber can parse data packets as soon as
+ * it subscribes rather than waiting for the publisher to send them again.
+ * When a state cache is given to a subscriber through
+ * {@link DataSubscriber#setSubscriptionStateCache(SubscriptionStateCache)},
+ * the subscriber saves the signal index cache and base times each time the
+ * publisher sends them, and restores them when it subscribes again.
+ * <p>
+ * State is kept separately for each combination of publisher and
+ * subscription, since the publisher assigns signal indexes to the
+ * measurements selected by each subscription. The signal index cache and
+ * the base times are written to separate files, named after a hash of the
+ * publisher and connection string, so that the frequent base time updates
+ * do not rewrite the signal index cache.
+ * <p>
+ * This class is thread-safe.
+ */
+public class SubscriptionStateCache
+{
+	private File m_directory;
+	
+	/**
+	 * Constructs a new state cache which keeps its files in the
+	 * given directory. The directory is created when the first
+	 * state is saved.
+	 * 
+	 * @param directory the directory in which state is cached
+	 * @throws IllegalArgumentException if {@code directory} is {@code null}
+	 */
+	public SubscriptionStateCache(File directory)
+	{
+		if (directory == null)
+			throw new IllegalArgumentException("directory cannot be null");
+		
+		m_directory = directory;
+	}
+	
+	/**
+	 * Gets the directory in which state is cached.
+	 * 
+	 * @return the cache directory
+	 */
+	public File getDirectory()
+	{
+		return m_directory;
+	}
+	
+	/**
+	 * Deletes all the state kept in the cache.
+	 * 
+	 * @throws IOException if a cache file cannot be deleted
+	 */
+	public synchronized void clear() throws IOException
+	{
+		File[] files = m_directory.listFiles();
+		
+		if (files == null)
+			return;
+		
+		for (File file : files)
+		{
+			if (file.getName().endsWith(SignalIndexCacheFileExtension) || file.getName().endsWith(BaseTimesFileExtension))
+			{
+				if (!file.delete())
+					throw new IOException("Unable to delete " + file);
+			}
+		}
+	}
+	
+	/**
+	 * Loads the signal index cache saved with the given key.
+	 * 
+	 * @return the signal index cache, or {@code null} if none has been saved
+	 */
+	synchronized SignalIndexCache loadSignalIndexCache(String key) throws IOException
+	{
+		File file = getFile(key, SignalIndexCacheFileExtension);
+		SignalIndexCache signalIndexCache = new SignalIndexCache();
+		DataInputStream in;
+		int count;
+		
+		if (!file.isFile())
+			return null;
+		
+		in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		
+		try
+		{
+			if (in.readInt() != SignalIndexCacheMagic || in.readInt() != FileVersion)
+				throw new IOException("Unrecognized signal index cache file: " + file);
+			
+			count = in.readInt();
+			
+			for (int i = 0; i < count; i++)
+				signalIndexCache.addMeasurementKey(in.readShort(), new UUID(in.readLong(), in.readLong()), in.readUTF(), in.readInt());
+		}
+		finally
+		{
+			in.close();
+		}
+		
+		return signalIndexCache;
+	}
+	
+	/**
+	 * Saves the signal index cache with the given key.
+	 */
+	synchronized void saveSignalIndexCache(String key, SignalIndexCache signalIndexCache) throws IOException
+	{
+		File file = getFile(key, SignalIndexCacheFileExtension);
+		File tempFile = new File(file.getPath() + TempFileExtension);
+		DataOutputStream out;
+		MeasurementKey measurementKey;
+		int remaining = signalIndexCache.size();
+		
+		createDirectory();
+		out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+		
+		try
+		{
+			out.writeInt(SignalIndexCacheMagic);
+			out.writeInt(FileVersion);
+			out.writeInt(remaining);
+			
+			for (int i = 0; remaining > 0 && i <= 0xFFFF; i++)
+			{
+				measurementKey = signalIndexCache.getMeasurementKey((short)i);
+				
+				if (measurementKey == null)
+					continue;
+				
+				out.writeShort(i);
+				out.writeLong(measurementKey.getSignalId().getMostSignificantBits());
+				out.writeLong(measurementKey.getSignalId().getLeastSignificantBits());
+				out.writeUTF(measurementKey.getSource());
+				out.writeInt(measurementKey.getId());
+				remaining--;
+			}
+		}
+		finally
+		{
+			out.close();
+		}
+		
+		replaceFile(tempFile, file);
+	}
+	
+	/**
+	 * Loads the base times saved with the given key.
+	 * 
+	 * @return the base time offsets, or {@code null} if none have been saved
+	 */
+	synchronized long[] loadBaseTimeOffsets(String key) throws IOException
+	{
+		File file = getFile(key, BaseTimesFileExtension);
+		DataInputStream in;
+		
+		if (!file.isFile())
+			return null;
+		
+		in = new DataInputStream(new FileInputStream(file));
+		
+		try
+		{
+			if (in.readInt() != BaseTimesMagic || in.readInt() != FileVersion)
+				throw new IOException("Unrecognized base times file: " + file);
+			
+			return new long[] { in.readLong(), in.readLong() };
+		}
+		finally
+		{
+			in.close();
+		}
+	}
+	
+	/**
+	 * Saves the base times with the given key.
+	 */
+	synchronized void saveBaseTimeOffsets(String key, long[] baseTimeOffsets) throws IOException
+	{
+		File file = getFile(key, BaseTimesFileExtension);
+		File tempFile = new File(file.getPath() + TempFileExtension);
+		DataOutputStream out;
+		
+		createDirectory();
+		out = new DataOutputStream(new FileOutputStream(tempFile));
+		
+		try
+		{
+			out.writeInt(BaseTimesMagic);
+			out.writeInt(FileVersion);
+			out.writeLong(baseTimeOffsets[0]);
+			out.writeLong(baseTimeOffsets[1]);
+		}
+		finally
+		{
+			out.close();
+		}
+		
+		replaceFile(tempFile, file);
+	}
+	
+	// Gets the file in which state of the given kind is saved with the given key.
+	private File getFile(String key, String extension)
+	{
+		UUID name = UUID.nameUUIDFromBytes(key.getBytes(KeyEncoding));
+		return new File(m_directory, name + extension);
+	}
+	
+	// Creates the cache directory if it does not exist.
+	private void createDirectory() throws IOException
+	{
+		if (!m_directory.isDirectory() && !m_directory.mkdirs())
+			throw new IOException("Unable to create cache directory " + m_directory);
+	}
+	
+	// Replaces the target file with the source file.
+	private static void replaceFile(File source, File target) throws IOException
+	{
+		if (target.exists() && !target.delete())
+			throw new IOException("Unable to replace " + target);
+		
+		if (!source.renameTo(target))
+			throw new IOException("Unable to rename " + source + " to " + target);
+	}
+	
+	// Encoding used to hash the keys into file names.
+	private static final Charset KeyEncoding = Charset.forName("UTF-8");
+	
+	// File name extensions used in the cache directory.
+	private static final String SignalIndexCacheFileExtension = ".sic";
+	private static final String BaseTimesFileExtension = ".bt";
+	private static final String TempFileExtension = ".tmp";
+	
+	// Identifies a signal index cache file ("GSFI").
+	private static final int SignalIndexCacheMagic = 0x47534649;
+	
+	// Identifies a base times file ("GSFB").
+	private static final int BaseTimesMagic = 0x47534642;
+	
+	// Version of the cache file formats.
+	private static final int FileVersion = 1;
+}
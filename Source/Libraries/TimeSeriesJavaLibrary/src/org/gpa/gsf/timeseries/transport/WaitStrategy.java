@@ -0,0 +1,57 @@
+//******************************************************************************************************
+//  WaitStrategy.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+/**
+ * Strategy used by the subscriber's callback thread to wait for
+ * callbacks when none are available. Strategies trade CPU usage
+ * for the latency between the time a callback is queued and the
+ * time it reaches the listeners.
+ * 
+ * @see DataSubscriber#setCallbackWaitStrategy(WaitStrategy)
+ * @see BusySpinWaitStrategy
+ * @see YieldingWaitStrategy
+ * @see ParkingWaitStrategy
+ */
+public interface WaitStrategy
+{
+	/**
+	 * Called repeatedly by the callback thread for as long as no callbacks
+	 * are available. Implementations may return immediately, in which case
+	 * the callback thread spins, or may block for a while.
+	 * 
+	 * @param idleCount the number of times this method has been called
+	 *        since the callback thread last found a callback to execute
+	 */
+	void idle(int idleCount);
+	
+	/**
+	 * Called after a callback has been queued while the callback
+	 * thread is idle, so that a blocked callback thread can be
+	 * woken up. Implementations that never block can ignore this.
+	 * 
+	 * @param callbackThread the thread waiting for callbacks
+	 */
+	void signal(Thread callbackThread);
+}
@@ -0,0 +1,265 @@
+//******************************************************************************************************
+//  WindowSummary.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.Arrays;
+
+import org.gpa.gsf.timeseries.MeasurementKey;
+
+/**
+ * Reusable, columnar summary of the statistics computed for each signal
+ * over one window by {@link WindowedStatistics}. Like {@link MeasurementBatch},
+ * the summary is stored in parallel primitive arrays, one row per signal
+ * that received measurements during the window, so a summary can be read
+ * without creating any objects.
+ * <p>
+ * The row at position {@code i} describes the signal identified by
+ * {@link #getSignalIndex(int)}. Only the first {@link #size()} rows are
+ * valid. Values that are not numbers are counted in the measurement count
+ * and rate, but are excluded from the minimum, maximum, mean and standard
+ * deviation, which are {@code NaN} for a signal that received no numeric
+ * values during the window.
+ */
+public class WindowSummary
+{
+	private short[] m_signalIndexes;
+	private int[] m_counts;
+	private int[] m_flaggedCounts;
+	private float[] m_minimums;
+	private float[] m_maximums;
+	private double[] m_means;
+	private double[] m_standardDeviations;
+	private int m_size;
+	
+	private long m_startTime;
+	private long m_endTime;
+	private SignalIndexCache m_signalIndexCache;
+	
+	/**
+	 * Constructs a new window summary with the given initial capacity.
+	 * The summary grows automatically if more signals are added.
+	 */
+	WindowSummary(int initialCapacity)
+	{
+		m_signalIndexes = new short[initialCapacity];
+		m_counts = new int[initialCapacity];
+		m_flaggedCounts = new int[initialCapacity];
+		m_minimums = new float[initialCapacity];
+		m_maximums = new float[initialCapacity];
+		m_means = new double[initialCapacity];
+		m_standardDeviations = new double[initialCapacity];
+	}
+	
+	/**
+	 * Removes all rows and sets the bounds of the window being summarized.
+	 */
+	void reset(long startTime, long endTime, SignalIndexCache signalIndexCache)
+	{
+		m_size = 0;
+		m_startTime = startTime;
+		m_endTime = endTime;
+		m_signalIndexCache = signalIndexCache;
+	}
+	
+	/**
+	 * Appends the statistics for one signal to the end of the summary.
+	 */
+	void add(short signalIndex, int count, int flaggedCount, float minimum, float maximum, double mean, double standardDeviation)
+	{
+		int newCapacity;
+		
+		if (m_size == m_signalIndexes.length)
+		{
+			newCapacity = Math.max(m_size + 1, m_size * 2);
+			m_signalIndexes = Arrays.copyOf(m_signalIndexes, newCapacity);
+			m_counts = Arrays.copyOf(m_counts, newCapacity);
+			m_flaggedCounts = Arrays.copyOf(m_flaggedCounts, newCapacity);
+			m_minimums = Arrays.copyOf(m_minimums, newCapacity);
+			m_maximums = Arrays.copyOf(m_maximums, newCapacity);
+			m_means = Arrays.copyOf(m_means, newCapacity);
+			m_standardDeviations = Arrays.copyOf(m_standardDeviations, newCapacity);
+		}
+		
+		m_signalIndexes[m_size] = signalIndex;
+		m_counts[m_size] = count;
+		m_flaggedCounts[m_size] = flaggedCount;
+		m_minimums[m_size] = minimum;
+		m_maximums[m_size] = maximum;
+		m_means[m_size] = mean;
+		m_standardDeviations[m_size] = standardDeviation;
+		m_size++;
+	}
+	
+	/**
+	 * Gets the number of signals in the summary.
+	 * 
+	 * @return the number of signals that received measurements during the window
+	 */
+	public int size()
+	{
+		return m_size;
+	}
+	
+	/**
+	 * Gets the timestamp, in ticks, at which the window starts.
+	 * Measurements timestamped at or after this time are included.
+	 * 
+	 * @return the start time of the window
+	 */
+	public long getStartTime()
+	{
+		return m_startTime;
+	}
+	
+	/**
+	 * Gets the timestamp, in ticks, at which the window ends.
+	 * Measurements timestamped before this time are included.
+	 * 
+	 * @return the end time of the window
+	 */
+	public long getEndTime()
+	{
+		return m_endTime;
+	}
+	
+	/**
+	 * Gets the signal index cache used to identify the signals in the summary.
+	 * 
+	 * @return the signal index cache, or {@code null} if none was available
+	 */
+	public SignalIndexCache getSignalIndexCache()
+	{
+		return m_signalIndexCache;
+	}
+	
+	/**
+	 * Gets the signal index of the signal at the given position.
+	 * 
+	 * @param index the position of the signal in the summary
+	 * @return the signal index of the signal
+	 */
+	public short getSignalIndex(int index)
+	{
+		return m_signalIndexes[index];
+	}
+	
+	/**
+	 * Gets the measurement key of the signal at the given position
+	 * by looking up its signal index in the signal index cache.
+	 * 
+	 * @param index the position of the signal in the summary
+	 * @return the measurement key, or {@code null} if there is no
+	 *         signal index cache or the signal index is not in the cache
+	 */
+	public MeasurementKey getMeasurementKey(int index)
+	{
+		if (m_signalIndexCache == null)
+			return null;
+		
+		return m_signalIndexCache.getMeasurementKey(m_signalIndexes[index]);
+	}
+	
+	/**
+	 * Gets the number of measurements received for the signal at the given position.
+	 * 
+	 * @param index the position of the signal in the summary
+	 * @return the number of measurements received during the window
+	 */
+	public int getCount(int index)
+	{
+		return m_counts[index];
+	}
+	
+	/**
+	 * Gets the number of measurements received for the signal at the given
+	 * position whose flags matched the statistics stage's quality flag mask.
+	 * 
+	 * @param index the position of the signal in the summary
+	 * @return the number of flagged measurements received during the window
+	 * @see WindowedStatistics#setQualityFlagMask(int)
+	 */
+	public int getFlaggedCount(int index)
+	{
+		return m_flaggedCounts[index];
+	}
+	
+	/**
+	 * Gets the rate, in measurements per second, at which measurements
+	 * were received for the signal at the given position.
+	 * 
+	 * @param index the position of the signal in the summary
+	 * @return the number of measurements received per second of the window
+	 */
+	public double getRate(int index)
+	{
+		return m_counts[index] * (double)TicksPerSecond / (m_endTime - m_startTime);
+	}
+	
+	/**
+	 * Gets the smallest value of the signal at the given position.
+	 * 
+	 * @param index the position of the signal in the summary
+	 * @return the minimum value received during the window
+	 */
+	public float getMinimum(int index)
+	{
+		return m_minimums[index];
+	}
+	
+	/**
+	 * Gets the largest value of the signal at the given position.
+	 * 
+	 * @param index the position of the signal in the summary
+	 * @return the maximum value received during the window
+	 */
+	public float getMaximum(int index)
+	{
+		return m_maximums[index];
+	}
+	
+	/**
+	 * Gets the mean value of the signal at the given position.
+	 * 
+	 * @param index the position of the signal in the summary
+	 * @return the mean of the values received during the window
+	 */
+	public double getMean(int index)
+	{
+		return m_means[index];
+	}
+	
+	/**
+	 * Gets the sample standard deviation of the values of the signal at
+	 * the given position. The standard deviation of a single value is zero.
+	 * 
+	 * @param index the position of the signal in the summary
+	 * @return the standard deviation of the values received during the window
+	 */
+	public double getStandardDeviation(int index)
+	{
+		return m_standardDeviations[index];
+	}
+	
+	private static final long TicksPerSecond = 10000000L;
+}
@@ -0,0 +1,658 @@
+//******************************************************************************************************
+//  WindowedStatistics.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.gpa.gsf.timeseries.transport.event.MeasurementBatchEvent;
+import org.gpa.gsf.timeseries.transport.event.MeasurementCursorListener;
+import org.gpa.gsf.timeseries.transport.event.SubscriberAdapter;
+import org.gpa.gsf.timeseries.transport.event.WindowSummaryEvent;
+import org.gpa.gsf.timeseries.transport.event.WindowSummaryListener;
+
+/**
+ * Subscriber-side aggregation stage which keeps running statistics for
+ * each signal over tumbling or sliding windows of measurement time, and
+ * publishes a {@link WindowSummary} to the {@link WindowSummaryListener}s
+ * each time a window closes. For every signal that received measurements
+ * during the window, the summary holds the minimum, maximum, mean and
+ * standard deviation of its values, the rate at which its measurements
+ * arrived, and the number of its measurements with bad quality flags.
+ * <p>
+ * A sliding window is divided into panes as long as the slide interval,
+ * and a window closes each time a pane closes; a tumbling window is a
+ * sliding window with a single pane. Panes are aligned to whole multiples
+ * of the slide interval. Statistics are updated incrementally as each
+ * measurement arrives and are kept per pane in primitive arrays indexed by
+ * signal index, so measurements are never retained and no objects are
+ * created per measurement once the arrays have grown to cover every
+ * signal. When a window closes, the statistics of its panes are merged
+ * for each signal.
+ * <p>
+ * Panes are closed by the timestamps of the measurements themselves: a
+ * pane closes when a measurement arrives that belongs to a later pane.
+ * Measurements that arrive after their pane has closed are counted as
+ * late and are not included in any window. Measurements must therefore
+ * be timestamped, and windows only close while measurements keep arriving
+ * or when {@link #flush()} is called. So that a single measurement from a
+ * device with a bad clock cannot close every open pane, measurements
+ * timestamped further ahead of the local clock than the lead time are
+ * counted as future measurements and are not included in any window.
+ * <p>
+ * The stage can be added directly to a {@link DataSubscriber} as a listener,
+ * or set as its {@link MeasurementCursorListener} so that measurements are
+ * read in place without being copied into a batch. In either case, summaries
+ * are published on the thread that delivers measurements. Calls to the stage
+ * are synchronized, so it may also be fed by parallel dispatch threads.
+ */
+public class WindowedStatistics extends SubscriberAdapter implements MeasurementCursorListener
+{
+	private long m_slideTicks;
+	private int m_paneCount;
+	private int m_qualityFlagMask;
+	private LeadTimeFilter m_leadTimeFilter;
+	
+	// Statistics for each pane and signal, stored at pane * capacity + signal index
+	private int m_capacity;
+	private int m_signalLimit;
+	private int[] m_counts;
+	private int[] m_flaggedCounts;
+	private int[] m_valueCounts;
+	private float[] m_minimums;
+	private float[] m_maximums;
+	private double[] m_means;
+	private double[] m_squaredDeviations;
+	
+	// Number of measurements held in each pane of the ring
+	private int[] m_paneSizes;
+	private int m_pendingCount;
+	private long m_currentPane;
+	private SignalIndexCache m_signalIndexCache;
+	
+	private WindowSummary m_summary;
+	private AtomicLong m_publishedWindowCount;
+	private AtomicLong m_lateMeasurementCount;
+	private AtomicLong m_discardedMeasurementCount;
+	
+	private Collection<WindowSummaryListener> m_windowSummaryListeners;
+	
+	/**
+	 * Constructs a new statistics stage which uses tumbling windows.
+	 * 
+	 * @param windowLength the length of each window, in seconds
+	 * @throws IllegalArgumentException if {@code windowLength} is not positive
+	 */
+	public WindowedStatistics(double windowLength)
+	{
+		this(windowLength, windowLength);
+	}
+	
+	/**
+	 * Constructs a new statistics stage which uses sliding windows. When
+	 * the window length equals the slide interval, the windows tumble.
+	 * 
+	 * @param windowLength the length of each window, in seconds
+	 * @param slideInterval the time, in seconds, between the ends of consecutive windows
+	 * @throws IllegalArgumentException if {@code windowLength} or {@code slideInterval}
+	 *         is not positive, or if {@code windowLength} is not a whole multiple of
+	 *         {@code slideInterval} or is more than 3600 times as long
+	 */
+	public WindowedStatistics(double windowLength, double slideInterval)
+	{
+		double paneCount;
+		
+		if (!(windowLength > 0.0D))
+			throw new IllegalArgumentException("windowLength must be positive");
+		
+		if (!(slideInterval > 0.0D))
+			throw new IllegalArgumentException("slideInterval must be positive");
+		
+		m_slideTicks = (long)(slideInterval * TicksPerSecond);
+		paneCount = windowLength / slideInterval;
+		
+		if (m_slideTicks <= 0L || Math.abs(paneCount - Math.rint(paneCount)) > 1.0E-9D * paneCount || Math.rint(paneCount) < 1.0D)
+			throw new IllegalArgumentException("windowLength must be a whole multiple of slideInterval");
+		
+		if (paneCount > MaxPaneCount)
+			throw new IllegalArgumentException("windowLength cannot be more than " + MaxPaneCount + " times slideInterval");
+		
+		m_paneCount = (int)Math.rint(paneCount);
+		m_qualityFlagMask = DefaultQualityFlagMask;
+		m_leadTimeFilter = new LeadTimeFilter(LeadTimeFilter.DefaultLeadTime);
+		
+		m_paneSizes = new int[m_paneCount];
+		allocate(DefaultSignalCapacity);
+		
+		m_currentPane = NotStarted;
+		m_summary = new WindowSummary(DefaultSignalCapacity);
+		
+		m_publishedWindowCount = new AtomicLong();
+		m_lateMeasurementCount = new AtomicLong();
+		m_discardedMeasurementCount = new AtomicLong();
+		
+		m_windowSummaryListeners = new ArrayList<WindowSummaryListener>();
+	}
+	
+	/**
+	 * Adds the given listener to receive window summaries from this stage.
+	 * If the {@code listener} is {@code null}, no exception is thrown
+	 * and no action is performed.
+	 * 
+	 * @param windowSummaryListener the listener to be added
+	 */
+	public synchronized void addWindowSummaryListener(WindowSummaryListener windowSummaryListener)
+	{
+		if (windowSummaryListener != null)
+			m_windowSummaryListeners.add(windowSummaryListener);
+	}
+	
+	/**
+	 * Removes the given listener so that it no longer receives window
+	 * summaries from this stage. This method performs no function, nor
+	 * does it throw an exception, if {@code windowSummaryListener} was not
+	 * previously added to this stage. If {@code windowSummaryListener} is
+	 * {@code null}, no exception is thrown and no action is performed.
+	 * 
+	 * @param windowSummaryListener the listener to be removed
+	 */
+	public synchronized void removeWindowSummaryListener(WindowSummaryListener windowSummaryListener)
+	{
+		if (windowSummaryListener != null)
+			m_windowSummaryListeners.remove(windowSummaryListener);
+	}
+	
+	/**
+	 * Gets the length of each window, in seconds.
+	 * 
+	 * @return the window length, in seconds
+	 */
+	public double getWindowLength()
+	{
+		return m_slideTicks * m_paneCount / (double)TicksPerSecond;
+	}
+	
+	/**
+	 * Gets the time, in seconds, between the ends of consecutive windows.
+	 * For tumbling windows, this is the same as the window length.
+	 * 
+	 * @return the slide interval, in seconds
+	 */
+	public double getSlideInterval()
+	{
+		return m_slideTicks / (double)TicksPerSecond;
+	}
+	
+	/**
+	 * Gets the mask applied to measurement flags to determine
+	 * whether a measurement is counted as having bad quality.
+	 * 
+	 * @return the quality flag mask
+	 * @see #setQualityFlagMask(int)
+	 */
+	public synchronized int getQualityFlagMask()
+	{
+		return m_qualityFlagMask;
+	}
+	
+	/**
+	 * Sets the mask applied to measurement flags to determine whether a
+	 * measurement is counted as having bad quality. A measurement is counted
+	 * if any of its flags are in the mask. By default, the mask covers the
+	 * data range, data quality, time quality and system issue flags.
+	 * 
+	 * @param qualityFlagMask the new quality flag mask
+	 * @see WindowSummary#getFlaggedCount(int)
+	 */
+	public synchronized void setQualityFlagMask(int qualityFlagMask)
+	{
+		m_qualityFlagMask = qualityFlagMask;
+	}
+	
+	/**
+	 * Gets the time, in seconds, that measurement timestamps may
+	 * be ahead of the local clock before they are discarded.
+	 * 
+	 * @return the lead time, in seconds
+	 * @see #setLeadTime(double)
+	 */
+	public synchronized double getLeadTime()
+	{
+		return m_leadTimeFilter.getLeadTime();
+	}
+	
+	/**
+	 * Sets the time, in seconds, that measurement timestamps may be ahead
+	 * of the local clock before they are discarded. The default lead time
+	 * is five seconds. Measurements beyond the lead time are counted as
+	 * future measurements rather than closing the panes before them.
+	 * 
+	 * @param leadTime the new lead time, in seconds
+	 * @throws IllegalArgumentException if {@code leadTime} is not positive
+	 * @see #getFutureMeasurementCount()
+	 */
+	public synchronized void setLeadTime(double leadTime)
+	{
+		m_leadTimeFilter.setLeadTime(leadTime);
+	}
+	
+	/**
+	 * Gets the number of windows that have been published.
+	 * 
+	 * @return the number of windows published
+	 */
+	public long getPublishedWindowCount()
+	{
+		return m_publishedWindowCount.get();
+	}
+	
+	/**
+	 * Gets the number of measurements that arrived
+	 * after their pane had already closed.
+	 * 
+	 * @return the number of late measurements
+	 */
+	public long getLateMeasurementCount()
+	{
+		return m_lateMeasurementCount.get();
+	}
+	
+	/**
+	 * Gets the number of measurements that were discarded because they
+	 * were timestamped further ahead of the local clock than the lead time.
+	 * 
+	 * @return the number of future measurements
+	 * @see #setLeadTime(double)
+	 */
+	public long getFutureMeasurementCount()
+	{
+		return m_leadTimeFilter.getRejectedCount();
+	}
+	
+	/**
+	 * Gets the number of measurements that were discarded because they
+	 * were still pending when the signal index cache changed.
+	 * 
+	 * @return the number of discarded measurements
+	 */
+	public long getDiscardedMeasurementCount()
+	{
+		return m_discardedMeasurementCount.get();
+	}
+	
+	/**
+	 * Updates the statistics with the measurements in the given batch,
+	 * publishing a summary for each window closed along the way.
+	 * 
+	 * @param batch the batch of measurements to be aggregated
+	 * @throws IllegalArgumentException if {@code batch} is {@code null}
+	 */
+	public synchronized void aggregate(MeasurementBatch batch)
+	{
+		short[] signalIndexes;
+		float[] values;
+		long[] timestamps;
+		int[] flags;
+		
+		if (batch == null)
+			throw new IllegalArgumentException("batch cannot be null");
+		
+		if (batch.getSignalIndexCache() != m_signalIndexCache)
+			changeSignalIndexCache(batch.getSignalIndexCache());
+		
+		signalIndexes = batch.getSignalIndexes();
+		values = batch.getValues();
+		timestamps = batch.getTimestamps();
+		flags = batch.getFlags();
+		m_leadTimeFilter.update();
+		
+		for (int i = 0; i < batch.size(); i++)
+			aggregate(signalIndexes[i], values[i], timestamps[i], flags[i]);
+	}
+	
+	/**
+	 * Updates the statistics with the measurements remaining in the given
+	 * cursor, publishing a summary for each window closed along the way.
+	 * 
+	 * @param cursor the cursor over the measurements to be aggregated
+	 * @throws IllegalArgumentException if {@code cursor} is {@code null}
+	 */
+	public synchronized void aggregate(MeasurementCursor cursor)
+	{
+		if (cursor == null)
+			throw new IllegalArgumentException("cursor cannot be null");
+		
+		if (cursor.getSignalIndexCache() != m_signalIndexCache)
+			changeSignalIndexCache(cursor.getSignalIndexCache());
+		
+		m_leadTimeFilter.update();
+		
+		while (cursor.next())
+			aggregate(cursor.signalIndex(), cursor.value(), cursor.timestamp(), cursor.flags());
+	}
+	
+	/**
+	 * Publishes the window which ends with the current pane, even though the
+	 * pane has not yet closed, and resets the stage so that the next measurement
+	 * starts a new sequence of windows. Counts are not reset.
+	 */
+	public synchronized void flush()
+	{
+		if (m_currentPane != NotStarted)
+			publishWindow(m_currentPane);
+		
+		clearPanes();
+	}
+	
+	/**
+	 * Aggregates the measurements received by a {@link DataSubscriber}.
+	 * 
+	 * @param evt the event which contains the batch of new measurements
+	 */
+	@Override
+	public void newMeasurementBatchReceived(MeasurementBatchEvent evt)
+	{
+		aggregate(evt.getBatch());
+	}
+	
+	/**
+	 * Aggregates the measurements received by a {@link DataSubscriber}
+	 * directly from the buffer they were received into.
+	 * 
+	 * @param source the subscriber which received the measurements
+	 * @param cursor the cursor over the measurements in the data packet
+	 */
+	@Override
+	public void measurementsReceived(DataSubscriber source, MeasurementCursor cursor)
+	{
+		aggregate(cursor);
+	}
+	
+	// Updates the statistics of the current pane with a single measurement.
+	private void aggregate(short signalIndex, float value, long timestamp, int flags)
+	{
+		long pane = timestamp / m_slideTicks;
+		int signal = signalIndex & 0xFFFF;
+		int offset;
+		int valueCount;
+		double delta;
+		
+		if (!m_leadTimeFilter.accept(timestamp))
+			return;
+		
+		if (m_currentPane == NotStarted)
+			m_currentPane = pane;
+		else if (pane > m_currentPane)
+			advanceTo(pane);
+		
+		if (pane < m_currentPane)
+		{
+			m_lateMeasurementCount.incrementAndGet();
+			return;
+		}
+		
+		if (signal >= m_capacity)
+			allocate(Math.min(Math.max(signal + 1, m_capacity * 2), MaxSignalCapacity));
+		
+		if (signal >= m_signalLimit)
+			m_signalLimit = signal + 1;
+		
+		offset = getPaneSlot(pane) * m_capacity + signal;
+		m_paneSizes[getPaneSlot(pane)]++;
+		m_pendingCount++;
+		m_counts[offset]++;
+		
+		if ((flags & m_qualityFlagMask) != 0)
+			m_flaggedCounts[offset]++;
+		
+		if (Float.isNaN(value))
+			return;
+		
+		// Welford's update keeps the mean and squared
+		// deviations accurate without storing the values
+		valueCount = ++m_valueCounts[offset];
+		
+		if (valueCount == 1)
+		{
+			m_minimums[offset] = value;
+			m_maximums[offset] = value;
+			m_means[offset] = value;
+			m_squaredDeviations[offset] = 0.0D;
+		}
+		else
+		{
+			if (value < m_minimums[offset])
+				m_minimums[offset] = value;
+			
+			if (value > m_maximums[offset])
+				m_maximums[offset] = value;
+			
+			delta = value - m_means[offset];
+			m_means[offset] += delta / valueCount;
+			m_squaredDeviations[offset] += delta * (value - m_means[offset]);
+		}
+	}
+	
+	// Closes panes, publishing the window that ends with each one,
+	// until the given pane becomes the current pane. Once the ring is
+	// empty, the remaining windows are empty and can be skipped.
+	private void advanceTo(long pane)
+	{
+		while (m_currentPane < pane)
+		{
+			if (m_pendingCount == 0)
+			{
+				m_currentPane = pane;
+				break;
+			}
+			
+			publishWindow(m_currentPane);
+			m_currentPane++;
+			clearPane(getPaneSlot(m_currentPane));
+		}
+	}
+	
+	// Merges the statistics of each signal over the panes of the window
+	// that ends with the given pane, and sends the summary to the listeners.
+	private void publishWindow(long lastPane)
+	{
+		long firstPane = lastPane - m_paneCount + 1;
+		WindowSummaryEvent evt;
+		int offset;
+		int count;
+		int flaggedCount;
+		int valueCount;
+		float minimum;
+		float maximum;
+		double mean;
+		double squaredDeviations;
+		double delta;
+		int paneValueCount;
+		int mergedCount;
+		
+		m_summary.reset(firstPane * m_slideTicks, (lastPane + 1) * m_slideTicks, m_signalIndexCache);
+		
+		for (int signal = 0; signal < m_signalLimit; signal++)
+		{
+			count = 0;
+			flaggedCount = 0;
+			valueCount = 0;
+			minimum = Float.NaN;
+			maximum = Float.NaN;
+			mean = Double.NaN;
+			squaredDeviations = 0.0D;
+			
+			for (long pane = firstPane; pane <= lastPane; pane++)
+			{
+				offset = getPaneSlot(pane) * m_capacity + signal;
+				
+				if (m_counts[offset] == 0)
+					continue;
+				
+				count += m_counts[offset];
+				flaggedCount += m_flaggedCounts[offset];
+				paneValueCount = m_valueCounts[offset];
+				
+				if (paneValueCount == 0)
+					continue;
+				
+				if (valueCount == 0)
+				{
+					minimum = m_minimums[offset];
+					maximum = m_maximums[offset];
+					mean = m_means[offset];
+					squaredDeviations = m_squaredDeviations[offset];
+					valueCount = paneValueCount;
+					continue;
+				}
+				
+				// Pairwise combination of the running mean and squared deviations
+				mergedCount = valueCount + paneValueCount;
+				delta = m_means[offset] - mean;
+				mean += delta * paneValueCount / mergedCount;
+				squaredDeviations += m_squaredDeviations[offset] + delta * delta * ((double)valueCount * paneValueCount / mergedCount);
+				valueCount = mergedCount;
+				minimum = Math.min(minimum, m_minimums[offset]);
+				maximum = Math.max(maximum, m_maximums[offset]);
+			}
+			
+			if (count > 0)
+				m_summary.add((short)signal, count, flaggedCount, minimum, maximum, mean, getStandardDeviation(squaredDeviations, valueCount));
+		}
+		
+		if (m_summary.size() == 0)
+			return;
+		
+		evt = new WindowSummaryEvent(this, m_summary);
+		m_publishedWindowCount.incrementAndGet();
+		
+		for (WindowSummaryListener listener : m_windowSummaryListeners)
+			listener.windowClosed(evt);
+	}
+	
+	// Discards pending statistics, which can no longer be
+	// attributed to signals once the signal index cache has changed.
+	private void changeSignalIndexCache(SignalIndexCache signalIndexCache)
+	{
+		m_discardedMeasurementCount.addAndGet(m_pendingCount);
+		m_signalIndexCache = signalIndexCache;
+		clearPanes();
+	}
+	
+	// Empties every pane and forgets the current pane.
+	private void clearPanes()
+	{
+		for (int slot = 0; slot < m_paneCount; slot++)
+			clearPane(slot);
+		
+		m_currentPane = NotStarted;
+	}
+	
+	// Empties the pane in the given slot of the ring so that it can be reused.
+	private void clearPane(int slot)
+	{
+		int start = slot * m_capacity;
+		int end = start + m_signalLimit;
+		
+		if (m_paneSizes[slot] == 0)
+			return;
+		
+		Arrays.fill(m_counts, start, end, 0);
+		Arrays.fill(m_flaggedCounts, start, end, 0);
+		Arrays.fill(m_valueCounts, start, end, 0);
+		m_pendingCount -= m_paneSizes[slot];
+		m_paneSizes[slot] = 0;
+	}
+	
+	// Grows the statistics arrays to hold the given number of signals per pane.
+	private void allocate(int capacity)
+	{
+		int oldCapacity = m_capacity;
+		int[] counts = new int[m_paneCount * capacity];
+		int[] flaggedCounts = new int[m_paneCount * capacity];
+		int[] valueCounts = new int[m_paneCount * capacity];
+		float[] minimums = new float[m_paneCount * capacity];
+		float[] maximums = new float[m_paneCount * capacity];
+		double[] means = new double[m_paneCount * capacity];
+		double[] squaredDeviations = new double[m_paneCount * capacity];
+		
+		for (int slot = 0; slot < m_paneCount && oldCapacity > 0; slot++)
+		{
+			System.arraycopy(m_counts, slot * oldCapacity, counts, slot * capacity, m_signalLimit);
+			System.arraycopy(m_flaggedCounts, slot * oldCapacity, flaggedCounts, slot * capacity, m_signalLimit);
+			System.arraycopy(m_valueCounts, slot * oldCapacity, valueCounts, slot * capacity, m_signalLimit);
+			System.arraycopy(m_minimums, slot * oldCapacity, minimums, slot * capacity, m_signalLimit);
+			System.arraycopy(m_maximums, slot * oldCapacity, maximums, slot * capacity, m_signalLimit);
+			System.arraycopy(m_means, slot * oldCapacity, means, slot * capacity, m_signalLimit);
+			System.arraycopy(m_squaredDeviations, slot * oldCapacity, squaredDeviations, slot * capacity, m_signalLimit);
+		}
+		
+		m_capacity = capacity;
+		m_counts = counts;
+		m_flaggedCounts = flaggedCounts;
+		m_valueCounts = valueCounts;
+		m_minimums = minimums;
+		m_maximums = maximums;
+		m_means = means;
+		m_squaredDeviations = squaredDeviations;
+	}
+	
+	// Gets the slot in the ring which holds the given pane. Panes before
+	// the first one can be negative, which the modulus has to account for.
+	private int getPaneSlot(long pane)
+	{
+		int slot = (int)(pane % m_paneCount);
+		return (slot < 0) ? slot + m_paneCount : slot;
+	}
+	
+	// Gets the sample standard deviation from the sum of squared deviations.
+	private static double getStandardDeviation(double squaredDeviations, int valueCount)
+	{
+		if (valueCount == 0)
+			return Double.NaN;
+		
+		if (valueCount == 1)
+			return 0.0D;
+		
+		return Math.sqrt(squaredDeviations / (valueCount - 1));
+	}
+	
+	// Marks the stage as not having received any measurements.
+	private static final long NotStarted = Long.MIN_VALUE;
+	
+	// Flags which mark a measurement as having bad quality by default.
+	private static final int DefaultQualityFlagMask = CompactMeasurementParser.DataRangeMask | CompactMeasurementParser.DataQualityMask | CompactMeasurementParser.TimeQualityMask | CompactMeasurementParser.SystemIssueMask;
+	
+	// Number of signals per pane the statistics arrays hold before growing,
+	// and the most they ever need to hold, one for each 16-bit signal index.
+	private static final int DefaultSignalCapacity = 64;
+	private static final int MaxSignalCapacity = 65536;
+	
+	// Largest number of panes in a window, which bounds the memory used per signal.
+	private static final int MaxPaneCount = 3600;
+	
+	private static final long TicksPerSecond = 10000000L;
+}
@@ -0,0 +1,59 @@
+//******************************************************************************************************
+//  YieldingWaitStrategy.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+/**
+ * Wait strategy that spins for a short while and then yields the CPU to
+ * other threads between checks for new callbacks. Latency is close to that
+ * of {@link BusySpinWaitStrategy}, but other runnable threads are not starved.
+ * The callback thread still appears busy to the operating system.
+ */
+public class YieldingWaitStrategy implements WaitStrategy
+{
+	/**
+	 * Spins for the first few calls, and yields the CPU after that.
+	 * 
+	 * @param idleCount the number of times this method has been called
+	 *        since the callback thread last found a callback to execute
+	 */
+	@Override
+	public void idle(int idleCount)
+	{
+		if (idleCount >= SpinTries)
+			Thread.yield();
+	}
+	
+	/**
+	 * Does nothing, since the callback thread never blocks.
+	 * 
+	 * @param callbackThread the thread waiting for callbacks
+	 */
+	@Override
+	public void signal(Thread callbackThread)
+	{
+	}
+	
+	// Number of times to spin before yielding.
+	private static final int SpinTries = 100;
+}
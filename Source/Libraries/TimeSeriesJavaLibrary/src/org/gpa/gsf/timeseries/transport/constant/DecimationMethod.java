@@ -0,0 +1,46 @@
+//******************************************************************************************************
+//  DecimationMethod.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport.constant;
+
+/**
+ * Defines how the display decimator chooses which
+ * measurements of each signal are kept for display.
+ */
+public class DecimationMethod
+{
+	/**
+	 * The smallest and largest values in each bucket are kept, in time
+	 * order, so that every peak and trough remains visible. Each bucket
+	 * yields up to two points.
+	 */
+	public static final int MinMax = 0;
+	
+	/**
+	 * The Largest-Triangle-Three-Buckets algorithm keeps the one point in
+	 * each bucket that forms the largest triangle with the point kept from
+	 * the previous bucket and the average of the next bucket, which
+	 * preserves the shape of the trend with a single point per bucket.
+	 */
+	public static final int LargestTriangleThreeBuckets = 1;
+}
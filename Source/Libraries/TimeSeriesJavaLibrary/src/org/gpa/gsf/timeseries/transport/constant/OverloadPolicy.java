@@ -0,0 +1,53 @@
+//******************************************************************************************************
+//  OverloadPolicy.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport.constant;
+
+/**
+ * Defines how the subscriber handles new measurements
+ * when its callback queue is full because listeners
+ * are not keeping up with the incoming data.
+ */
+public class OverloadPolicy
+{
+	/**
+	 * The thread receiving data waits until the callback queue has room.
+	 * No measurements are lost, but data backs up into the socket buffers.
+	 * This policy cannot be used by subscribers driven by an NIO engine,
+	 * since its selector threads are shared and must never wait.
+	 */
+	public static final int Block = 0;
+	
+	/**
+	 * The oldest queued measurements are discarded to make
+	 * room for new ones. Other callbacks are never discarded.
+	 */
+	public static final int DropOldest = 1;
+	
+	/**
+	 * New measurements are merged into a table which keeps only the latest
+	 * measurement for each signal, and the table is delivered as a single
+	 * batch as soon as the callback queue has room.
+	 */
+	public static final int CoalesceLatest = 2;
+}
@@ -0,0 +1,115 @@
+//******************************************************************************************************
+//  ArchiveFileEvent.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport.event;
+
+import java.io.File;
+import java.util.EventObject;
+
+/**
+ * Event that occurs when an archive file has been completed and is ready to be handed off.
+ */
+public class ArchiveFileEvent extends EventObject
+{
+	private File m_file;
+	private long m_startTime;
+	private long m_endTime;
+	private int m_pointCount;
+	private int m_blockCount;
+	
+	/**
+	 * Constructs a new instance.
+	 * 
+	 * @param source the source of the event
+	 * @param file the completed archive file
+	 * @param startTime the timestamp of the oldest point in the file, in ticks
+	 * @param endTime the timestamp of the newest point in the file, in ticks
+	 * @param pointCount the number of points archived in the file
+	 * @param blockCount the number of data blocks in the file
+	 */
+	public ArchiveFileEvent(Object source, File file, long startTime, long endTime, int pointCount, int blockCount)
+	{
+		super(source);
+		
+		if (file == null)
+			throw new IllegalArgumentException("file cannot be null");
+		
+		m_file = file;
+		m_startTime = startTime;
+		m_endTime = endTime;
+		m_pointCount = pointCount;
+		m_blockCount = blockCount;
+	}
+	
+	/**
+	 * Gets the completed archive file.
+	 * 
+	 * @return the archive file
+	 */
+	public File getFile()
+	{
+		return m_file;
+	}
+	
+	/**
+	 * Gets the timestamp of the oldest point in the file, in ticks.
+	 * 
+	 * @return the start time of the file
+	 */
+	public long getStartTime()
+	{
+		return m_startTime;
+	}
+	
+	/**
+	 * Gets the timestamp of the newest point in the file, in ticks.
+	 * 
+	 * @return the end time of the file
+	 */
+	public long getEndTime()
+	{
+		return m_endTime;
+	}
+	
+	/**
+	 * Gets the number of points archived in the file.
+	 * 
+	 * @return the number of points
+	 */
+	public int getPointCount()
+	{
+		return m_pointCount;
+	}
+	
+	/**
+	 * Gets the number of data blocks in the file.
+	 * 
+	 * @return the number of data blocks
+	 */
+	public int getBlockCount()
+	{
+		return m_blockCount;
+	}
+	
+	private static final long serialVersionUID = -3217560482376104915L;
+}
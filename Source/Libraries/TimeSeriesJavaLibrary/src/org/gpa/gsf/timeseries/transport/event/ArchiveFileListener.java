@@ -0,0 +1,53 @@
+//******************************************************************************************************
+//  ArchiveFileListener.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport.event;
+
+import org.gpa.gsf.timeseries.transport.ArchiveFileSink;
+
+/**
+ * Interface which defines the callbacks used by
+ * the {@link ArchiveFileSink} to hand off archive files.
+ * 
+ * @see ArchiveFileSink#addArchiveFileListener(ArchiveFileListener)
+ */
+public interface ArchiveFileListener
+{
+	/**
+	 * Occurs when an archive file has been completed. The file has been
+	 * closed and renamed to its final name, so it can be moved or
+	 * processed by the listener.
+	 * 
+	 * @param evt the event which contains the completed file
+	 */
+	void archiveFileCompleted(ArchiveFileEvent evt);
+	
+	/**
+	 * Occurs when the sink fails to write to an archive file while it is
+	 * archiving received measurements. The file being written is abandoned
+	 * and the next measurement starts a new file.
+	 * 
+	 * @param evt the message event which contains the exception encountered
+	 */
+	void exceptionEncountered(MessageEvent evt);
+}
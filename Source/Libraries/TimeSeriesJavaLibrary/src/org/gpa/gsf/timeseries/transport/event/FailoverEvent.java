@@ -0,0 +1,96 @@
+//******************************************************************************************************
+//  FailoverEvent.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport.event;
+
+import org.gpa.gsf.timeseries.transport.DataSubscriber;
+
+/**
+ * Event that occurs when delivery of measurements has failed over from one
+ * subscriber to its hot standby. The event is raised when the first batch of
+ * measurements is delivered by the new subscriber, so that the gap in the data
+ * caused by the failover can be measured.
+ */
+public class FailoverEvent extends SubscriberEvent
+{
+	private DataSubscriber m_failedSubscriber;
+	private long m_dataGap;
+	private long m_switchTime;
+	
+	/**
+	 * Constructs a new instance.
+	 * 
+	 * @param source the source of the event
+	 * @param subscriber the subscriber which now delivers measurements
+	 * @param failedSubscriber the subscriber which delivered measurements before the failover
+	 * @param dataGap the difference, in ticks, between the timestamps of the last measurement
+	 *        delivered before the failover and the first measurement delivered after it
+	 * @param switchTime the time, in nanoseconds, from the detection of the failure
+	 *        to the delivery of the first measurement after the failover
+	 */
+	public FailoverEvent(Object source, DataSubscriber subscriber, DataSubscriber failedSubscriber, long dataGap, long switchTime)
+	{
+		super(source, subscriber);
+		m_failedSubscriber = failedSubscriber;
+		m_dataGap = dataGap;
+		m_switchTime = switchTime;
+	}
+	
+	/**
+	 * Gets the subscriber which delivered measurements before the failover.
+	 * 
+	 * @return the subscriber that failed
+	 */
+	public DataSubscriber getFailedSubscriber()
+	{
+		return m_failedSubscriber;
+	}
+	
+	/**
+	 * Gets the difference, in ticks, between the timestamps of the last
+	 * measurement delivered before the failover and the first measurement
+	 * delivered after it. A gap no larger than one frame interval means
+	 * that no data was lost; a negative gap means that the first
+	 * measurements delivered after the failover overlap those delivered
+	 * before it.
+	 * 
+	 * @return the gap in the data, in ticks
+	 */
+	public long getDataGap()
+	{
+		return m_dataGap;
+	}
+	
+	/**
+	 * Gets the time, in nanoseconds, from the detection of the failure
+	 * to the delivery of the first measurement after the failover.
+	 * 
+	 * @return the time taken to switch subscribers, in nanoseconds
+	 */
+	public long getSwitchTime()
+	{
+		return m_switchTime;
+	}
+	
+	private static final long serialVersionUID = 2381937516390528470L;
+}
@@ -0,0 +1,49 @@
+//******************************************************************************************************
+//  FailoverListener.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport.event;
+
+import org.gpa.gsf.timeseries.transport.SubscriberConnector;
+
+/**
+ * Interface which defines the callback used to report hot standby
+ * failovers. Subscriber connector listeners which also implement this
+ * interface are notified each time the {@link SubscriberConnector}
+ * switches delivery from a failed subscriber to its standby.
+ * 
+ * @see SubscriberConnectorAdapter
+ * @see SubscriberConnector#addSubscriberConnectorListener(SubscriberConnectorListener)
+ */
+public interface FailoverListener
+{
+	/**
+	 * Occurs when the {@code SubscriberConnector} switches delivery of
+	 * measurements from a failed subscriber to its hot standby. The event
+	 * is raised once the first measurements have been delivered by the
+	 * standby, and reports the gap in the data caused by the failover.
+	 * 
+	 * @param evt the event which contains the subscriber that
+	 *        took over and the measured failover gap
+	 */
+	void failedOver(FailoverEvent evt);
+}
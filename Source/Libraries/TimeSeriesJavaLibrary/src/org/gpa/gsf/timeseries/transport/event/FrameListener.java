@@ -0,0 +1,43 @@
+//******************************************************************************************************
+//  FrameListener.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport.event;
+
+import org.gpa.gsf.timeseries.transport.FrameAssembler;
+
+/**
+ * Interface which defines the callback used
+ * by the {@link FrameAssembler} to publish frames.
+ * 
+ * @see FrameAssembler#addFrameListener(FrameListener)
+ */
+public interface FrameListener
+{
+	/**
+	 * Occurs when a frame has been assembled. Frames are
+	 * published one at a time, in timestamp order.
+	 * 
+	 * @param evt the event which contains the frame
+	 */
+	void frameReceived(FrameEvent evt);
+}
@@ -0,0 +1,65 @@
+//******************************************************************************************************
+//  MeasurementBatchEvent.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport.event;
+
+import java.util.EventObject;
+
+import org.gpa.gsf.timeseries.transport.MeasurementBatch;
+
+/**
+ * Event that occurs when a new batch of measurements is received from the publisher.
+ * The batch is owned by the subscriber and is only valid until the listener returns.
+ */
+public class MeasurementBatchEvent extends EventObject
+{
+	private MeasurementBatch m_batch;
+	
+	/**
+	 * Constructs a new instance.
+	 * 
+	 * @param source the source of the event
+	 * @param batch the batch of measurements received from the publisher
+	 */
+	public MeasurementBatchEvent(Object source, MeasurementBatch batch)
+	{
+		super(source);
+		
+		if (batch == null)
+			throw new IllegalArgumentException("batch cannot be null");
+		
+		m_batch = batch;
+	}
+	
+	/**
+	 * Gets the batch of measurements that was received from the publisher.
+	 * 
+	 * @return the batch of measurements received from the publisher
+	 */
+	public MeasurementBatch getBatch()
+	{
+		return m_batch;
+	}
+	
+	private static final long serialVersionUID = -3190522474375651029L;
+}
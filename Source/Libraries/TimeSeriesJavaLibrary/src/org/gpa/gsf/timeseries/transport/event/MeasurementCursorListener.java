@@ -0,0 +1,47 @@
+//******************************************************************************************************
+//  MeasurementCursorListener.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport.event;
+
+import org.gpa.gsf.timeseries.transport.DataSubscriber;
+import org.gpa.gsf.timeseries.transport.MeasurementCursor;
+
+/**
+ * Interface which defines the callback used by the subscriber to hand
+ * measurements to a consumer in place, through a cursor over the buffer
+ * each data packet was received into.
+ * 
+ * @see DataSubscriber#setMeasurementCursorListener(MeasurementCursorListener)
+ */
+public interface MeasurementCursorListener
+{
+	/**
+	 * Occurs when a data packet is received from the publisher. This method
+	 * is called on the thread that received the data packet, and the cursor
+	 * is only valid until this method returns.
+	 * 
+	 * @param source the subscriber that received the data packet
+	 * @param cursor cursor positioned before the first measurement in the data packet
+	 */
+	void measurementsReceived(DataSubscriber source, MeasurementCursor cursor);
+}
@@ -0,0 +1,93 @@
+//******************************************************************************************************
+//  MetadataCatalogEvent.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport.event;
+
+import java.util.EventObject;
+
+import org.gpa.gsf.timeseries.transport.MetadataCatalog;
+
+/**
+ * Event that occurs when the contents of a metadata catalog have been replaced.
+ */
+public class MetadataCatalogEvent extends EventObject
+{
+	private MetadataCatalog m_catalog;
+	private String m_contentHash;
+	private boolean m_loadedFromCache;
+	
+	/**
+	 * Constructs a new instance.
+	 * 
+	 * @param source the source of the event
+	 * @param catalog the catalog whose contents were replaced
+	 * @param contentHash the hash of the metadata now held by the catalog
+	 * @param loadedFromCache flag indicating whether the contents were
+	 *        loaded from the catalog's cache rather than parsed
+	 */
+	public MetadataCatalogEvent(Object source, MetadataCatalog catalog, String contentHash, boolean loadedFromCache)
+	{
+		super(source);
+		
+		if (catalog == null)
+			throw new IllegalArgumentException("catalog cannot be null");
+		
+		m_catalog = catalog;
+		m_contentHash = contentHash;
+		m_loadedFromCache = loadedFromCache;
+	}
+	
+	/**
+	 * Gets the catalog whose contents were replaced.
+	 * 
+	 * @return the metadata catalog
+	 */
+	public MetadataCatalog getCatalog()
+	{
+		return m_catalog;
+	}
+	
+	/**
+	 * Gets the hash of the metadata now held by the catalog.
+	 * 
+	 * @return the content hash, as a hexadecimal string
+	 * @see MetadataCatalog#getContentHash()
+	 */
+	public String getContentHash()
+	{
+		return m_contentHash;
+	}
+	
+	/**
+	 * Indicates whether the contents of the catalog were loaded from
+	 * its cache rather than parsed from the metadata XML.
+	 * 
+	 * @return flag indicating whether the contents came from the cache
+	 */
+	public boolean isLoadedFromCache()
+	{
+		return m_loadedFromCache;
+	}
+	
+	private static final long serialVersionUID = 6120374998421645571L;
+}
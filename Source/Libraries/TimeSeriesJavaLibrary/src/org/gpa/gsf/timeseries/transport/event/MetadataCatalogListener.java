@@ -0,0 +1,45 @@
+//******************************************************************************************************
+//  MetadataCatalogListener.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport.event;
+
+import org.gpa.gsf.timeseries.transport.MetadataCatalog;
+
+/**
+ * Interface which defines the callback used by the
+ * {@link MetadataCatalog} to announce changes to its contents.
+ * 
+ * @see MetadataCatalog#addMetadataCatalogListener(MetadataCatalogListener)
+ */
+public interface MetadataCatalogListener
+{
+	/**
+	 * Occurs when the contents of the catalog have been replaced, either
+	 * by metadata received from the publisher or by metadata loaded from
+	 * the catalog's cache. This method is called on the thread that
+	 * updated the catalog.
+	 * 
+	 * @param evt the event which contains the updated catalog
+	 */
+	void catalogUpdated(MetadataCatalogEvent evt);
+}
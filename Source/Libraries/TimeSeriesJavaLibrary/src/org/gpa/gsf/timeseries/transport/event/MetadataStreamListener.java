@@ -0,0 +1,52 @@
+//******************************************************************************************************
+//  MetadataStreamListener.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport.event;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+import org.gpa.gsf.timeseries.transport.DataSubscriber;
+
+/**
+ * Interface which defines the callback used by the subscriber to stream
+ * metadata to a consumer as it is being decompressed, rather than first
+ * decoding the entire payload into a string.
+ * 
+ * @see DataSubscriber#setMetadataStreamListener(MetadataStreamListener)
+ */
+public interface MetadataStreamListener
+{
+	/**
+	 * Occurs when metadata is received from the publisher. This method is
+	 * called on the thread that received the metadata, and the stream is
+	 * only valid until this method returns.
+	 * 
+	 * @param source the subscriber that received the metadata
+	 * @param metadata stream over the uncompressed XML metadata
+	 * @param characterEncoding the character encoding of the metadata
+	 * @throws IOException if an I/O error occurs while reading the metadata
+	 */
+	void metadataReceived(DataSubscriber source, InputStream metadata, Charset characterEncoding) throws IOException;
+}
@@ -28,7 +28,7 @@ package org.gpa.gsf.timeseries.transport.event;
  * methods in this class are empty. This class exists as convenience
  * for creating listener objects.
  */
-public class SubscriberAdapter implements SubscriberListener
+public class SubscriberAdapter implements SubscriberListener, MeasurementBatchListener
 {
 
 	@Override
@@ -55,6 +55,11 @@ public class SubscriberAdapter implements SubscriberListener
 	public void newMeasurementsReceived(MeasurementEvent evt)
 	{
 	}
+
+	@Override
+	public void newMeasurementBatchReceived(MeasurementBatchEvent evt)
+	{
+	}
 	
 	@Override
 	public void processingCompleteCallback(MessageEvent evt)
@@ -28,7 +28,7 @@ package org.gpa.gsf.timeseries.transport.event;
  * The methods in this class are empty. This class exists as convenience
  * for creating listener objects.
  */
-public class SubscriberConnectorAdapter implements SubscriberConnectorListener
+public class SubscriberConnectorAdapter implements SubscriberConnectorListener, FailoverListener
 {
 
 	@Override
@@ -41,4 +41,9 @@ public class SubscriberConnectorAdapter implements SubscriberConnectorListener
 	{
 	}
 
+	@Override
+	public void failedOver(FailoverEvent evt)
+	{
+	}
+
 }
@@ -0,0 +1,65 @@
+//******************************************************************************************************
+//  WindowSummaryEvent.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport.event;
+
+import java.util.EventObject;
+
+import org.gpa.gsf.timeseries.transport.WindowSummary;
+
+/**
+ * Event that occurs when a statistics window has closed. The summary is
+ * owned by the statistics stage and is only valid until the listener returns.
+ */
+public class WindowSummaryEvent extends EventObject
+{
+	private WindowSummary m_summary;
+	
+	/**
+	 * Constructs a new instance.
+	 * 
+	 * @param source the source of the event
+	 * @param summary the statistics computed over the window
+	 */
+	public WindowSummaryEvent(Object source, WindowSummary summary)
+	{
+		super(source);
+		
+		if (summary == null)
+			throw new IllegalArgumentException("summary cannot be null");
+		
+		m_summary = summary;
+	}
+	
+	/**
+	 * Gets the statistics computed for each signal over the window.
+	 * 
+	 * @return the summary of the window
+	 */
+	public WindowSummary getSummary()
+	{
+		return m_summary;
+	}
+	
+	private static final long serialVersionUID = -5524683108617342279L;
+}
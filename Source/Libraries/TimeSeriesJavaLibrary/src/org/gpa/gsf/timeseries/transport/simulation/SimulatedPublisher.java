@@ -0,0 +1,480 @@
+//******************************************************************************************************
+//  SimulatedPublisher.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport.simulation;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.gpa.gsf.timeseries.transport.DataSubscriber;
+import org.gpa.gsf.timeseries.transport.SubscriberConnector;
+import org.gpa.gsf.timeseries.transport.event.MessageEvent;
+import org.gpa.gsf.timeseries.transport.event.PublisherListener;
+
+/**
+ * Stand-in for a data publisher that generates simulated measurements,
+ * used to benchmark and soak-test a {@link DataSubscriber} or
+ * {@link SubscriberConnector} without a live publisher.
+ * <p>
+ * The publisher listens for subscribers on a TCP port and serves each
+ * one on its own threads. It answers the {@code DefineOperationalModes},
+ * {@code MetadataRefresh}, {@code Subscribe} and {@code Unsubscribe}
+ * commands. Once subscribed, a subscriber receives the signal index cache
+ * and base times on the command channel, followed by one frame of
+ * measurements for every signal at the configured frame rate, in the
+ * compact format over either the command channel or a UDP data channel.
+ * The signal index cache and metadata are compressed with GZIP if the
+ * subscriber's operational modes request it.
+ * <p>
+ * Signal {@code i} has the signal ID returned by {@link #getSignalId(int)},
+ * and the value of each of its measurements is the number of the frame
+ * it was sent in, modulo 2<sup>24</sup> so that it can be represented
+ * exactly as a float. A subscriber can use this to detect lost or
+ * reordered frames.
+ */
+public class SimulatedPublisher
+{
+	private int m_signalCount;
+	private double m_frameRate;
+	
+	private ServerSocket m_serverSocket;
+	private Thread m_listenerThread;
+	private Collection<SimulatedSubscription> m_subscriptions;
+	private volatile boolean m_running;
+	private Collection<PublisherListener> m_publisherListeners;
+	
+	// Statistics counters
+	private AtomicLong m_totalFramesSent;
+	private AtomicLong m_totalMeasurementsSent;
+	private AtomicLong m_totalBytesSent;
+	
+	/**
+	 * Constructs a new simulated publisher with the default signal count and frame rate.
+	 */
+	public SimulatedPublisher()
+	{
+		m_signalCount = DefaultSignalCount;
+		m_frameRate = DefaultFrameRate;
+		m_subscriptions = new ArrayList<SimulatedSubscription>();
+		m_publisherListeners = new CopyOnWriteArrayList<PublisherListener>();
+		m_totalFramesSent = new AtomicLong();
+		m_totalMeasurementsSent = new AtomicLong();
+		m_totalBytesSent = new AtomicLong();
+	}
+	
+	/**
+	 * Adds the given listener to receive events from this publisher.
+	 * If the {@code listener} is {@code null}, no exception is thrown
+	 * and no action is performed.
+	 * 
+	 * @param publisherListener the listener to be added
+	 */
+	public void addPublisherListener(PublisherListener publisherListener)
+	{
+		if (publisherListener != null)
+			m_publisherListeners.add(publisherListener);
+	}
+	
+	/**
+	 * Removes the given listener so that it no longer receives events
+	 * from this publisher. This method performs no function, nor does
+	 * it throw an exception, if {@code publisherListener} was not
+	 * previously added to this component. If {@code publisherListener}
+	 * is {@code null}, no exception is thrown and no action is performed.
+	 * 
+	 * @param publisherListener the listener to be removed
+	 */
+	public void removePublisherListener(PublisherListener publisherListener)
+	{
+		if (publisherListener != null)
+			m_publisherListeners.remove(publisherListener);
+	}
+	
+	/**
+	 * Gets the number of signals published in each frame.
+	 * 
+	 * @return the number of signals
+	 */
+	public int getSignalCount()
+	{
+		return m_signalCount;
+	}
+	
+	/**
+	 * Sets the number of signals published in each frame.
+	 * 
+	 * @param signalCount the number of signals, between 1 and 65535
+	 * @throws IllegalArgumentException if {@code signalCount} is out of range
+	 * @throws IllegalStateException if the publisher is running
+	 */
+	public void setSignalCount(int signalCount)
+	{
+		if (signalCount < 1 || signalCount > MaxSignalCount)
+			throw new IllegalArgumentException("signalCount must be between 1 and " + MaxSignalCount);
+		
+		if (m_running)
+			throw new IllegalStateException("Cannot change signal count while running; stop first");
+		
+		m_signalCount = signalCount;
+	}
+	
+	/**
+	 * Gets the number of frames sent to each subscriber per second.
+	 * 
+	 * @return the frame rate, or zero if frames are sent as fast as possible
+	 */
+	public double getFrameRate()
+	{
+		return m_frameRate;
+	}
+	
+	/**
+	 * Sets the number of frames sent to each subscriber per second. If
+	 * a subscriber cannot keep up, frames are sent to it as fast as it
+	 * accepts them until it catches up, so the average rate is kept.
+	 * 
+	 * @param frameRate the frame rate, or zero to send frames as fast as possible
+	 * @throws IllegalArgumentException if {@code frameRate} is negative
+	 * @throws IllegalStateException if the publisher is running
+	 */
+	public void setFrameRate(double frameRate)
+	{
+		if (frameRate < 0.0D || Double.isNaN(frameRate) || Double.isInfinite(frameRate))
+			throw new IllegalArgumentException("frameRate cannot be negative");
+		
+		if (m_running)
+			throw new IllegalStateException("Cannot change frame rate while running; stop first");
+		
+		m_frameRate = frameRate;
+	}
+	
+	/**
+	 * Gets the signal ID of the signal with the given index.
+	 * 
+	 * @param signalIndex the index of the signal
+	 * @return the signal ID of the signal
+	 */
+	public UUID getSignalId(int signalIndex)
+	{
+		return new UUID(SignalIdHighBits, signalIndex);
+	}
+	
+	/**
+	 * Starts listening for subscribers on an available port.
+	 * 
+	 * @throws IllegalStateException if the publisher is already running
+	 * @throws IOException if the server socket could not be opened
+	 * @see #getPort()
+	 */
+	public void start() throws IOException
+	{
+		start(0);
+	}
+	
+	/**
+	 * Starts listening for subscribers on the given port.
+	 * 
+	 * @param port the port to listen on, or zero to use any available port
+	 * @throws IllegalStateException if the publisher is already running
+	 * @throws IOException if the server socket could not be opened
+	 * @see #stop()
+	 */
+	public void start(int port) throws IOException
+	{
+		if (m_running)
+			throw new IllegalStateException("Publisher is already running; stop first");
+		
+		m_serverSocket = new ServerSocket(port);
+		m_totalFramesSent.set(0L);
+		m_totalMeasurementsSent.set(0L);
+		m_totalBytesSent.set(0L);
+		m_running = true;
+		
+		m_listenerThread = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				runListenerThread();
+			}
+		}, "SimulatedPublisherListenerThread");
+		
+		m_listenerThread.setDaemon(true);
+		m_listenerThread.start();
+	}
+	
+	/**
+	 * Stops listening for subscribers and disconnects all subscribers.
+	 * This method does not return until all threads spawned by the
+	 * publisher have shut down.
+	 * 
+	 * @see #start(int)
+	 */
+	public void stop()
+	{
+		Collection<SimulatedSubscription> subscriptions;
+		
+		if (!m_running)
+			return;
+		
+		m_running = false;
+		
+		try
+		{
+			m_serverSocket.close();
+		}
+		catch (IOException ex)
+		{
+			// Ignore exceptions and
+			// continue shutdown procedure
+		}
+		
+		joinThread(m_listenerThread);
+		
+		synchronized (m_subscriptions)
+		{
+			subscriptions = new ArrayList<SimulatedSubscription>(m_subscriptions);
+			m_subscriptions.clear();
+		}
+		
+		for (SimulatedSubscription subscription : subscriptions)
+			subscription.close();
+		
+		m_serverSocket = null;
+		m_listenerThread = null;
+	}
+	
+	/**
+	 * Indicates whether the publisher is running.
+	 * 
+	 * @return flag indicating whether the publisher is running
+	 */
+	public boolean isRunning()
+	{
+		return m_running;
+	}
+	
+	/**
+	 * Gets the port on which the publisher is listening for subscribers.
+	 * 
+	 * @return the port, or -1 if the publisher is not running
+	 */
+	public int getPort()
+	{
+		ServerSocket serverSocket = m_serverSocket;
+		return (serverSocket != null) ? serverSocket.getLocalPort() : -1;
+	}
+	
+	/**
+	 * Gets the number of subscribers currently connected.
+	 * 
+	 * @return the number of connected subscribers
+	 */
+	public int getSubscriberCount()
+	{
+		synchronized (m_subscriptions)
+		{
+			return m_subscriptions.size();
+		}
+	}
+	
+	/**
+	 * Gets the total number of frames sent to all
+	 * subscribers since the publisher was started.
+	 * 
+	 * @return the total number of frames sent
+	 */
+	public long getTotalFramesSent()
+	{
+		return m_totalFramesSent.get();
+	}
+	
+	/**
+	 * Gets the total number of measurements sent to all
+	 * subscribers since the publisher was started.
+	 * 
+	 * @return the total number of measurements sent
+	 */
+	public long getTotalMeasurementsSent()
+	{
+		return m_totalMeasurementsSent.get();
+	}
+	
+	/**
+	 * Gets the total number of bytes sent to all subscribers, on both
+	 * the command and data channels, since the publisher was started.
+	 * 
+	 * @return the total number of bytes sent
+	 */
+	public long getTotalBytesSent()
+	{
+		return m_totalBytesSent.get();
+	}
+	
+	// Updates statistics after a frame has been sent to a subscriber.
+	void frameSent(int measurementCount)
+	{
+		m_totalFramesSent.incrementAndGet();
+		m_totalMeasurementsSent.addAndGet(measurementCount);
+	}
+	
+	// Updates statistics after bytes have been sent to a subscriber.
+	void bytesSent(int byteCount)
+	{
+		m_totalBytesSent.addAndGet(byteCount);
+	}
+	
+	// Removes a subscription once its subscriber has disconnected.
+	void subscriptionClosed(SimulatedSubscription subscription)
+	{
+		synchronized (m_subscriptions)
+		{
+			m_subscriptions.remove(subscription);
+		}
+	}
+	
+	// Accepts connections from subscribers.
+	private void runListenerThread()
+	{
+		SimulatedSubscription subscription;
+		Socket socket;
+		
+		try
+		{
+			while (m_running)
+			{
+				socket = m_serverSocket.accept();
+				socket.setTcpNoDelay(true);
+				subscription = new SimulatedSubscription(this, socket);
+				
+				synchronized (m_subscriptions)
+				{
+					m_subscriptions.add(subscription);
+				}
+				
+				subscription.start();
+			}
+		}
+		catch (SocketException ex)
+		{
+			// Server socket was closed
+			// by the stop method
+		}
+		catch (IOException ex)
+		{
+			if (m_running)
+				dispatchException(ex);
+		}
+	}
+	
+	// Sends an exception encountered by the publisher to the listeners.
+	private void dispatchException(Exception ex)
+	{
+		MessageEvent evt = new MessageEvent(this, ex);
+		
+		for (PublisherListener listener : m_publisherListeners)
+			listener.exceptionEncountered(evt);
+	}
+	
+	// Joins the current thread to the given thread.
+	private void joinThread(Thread thread)
+	{
+		try
+		{
+			if (thread != null && thread != Thread.currentThread())
+				thread.join();
+		}
+		catch (InterruptedException ex)
+		{
+			// Ignore exception and
+			// continue shutdown procedure
+		}
+	}
+	
+	/**
+	 * Main method. Runs a simulated publisher until the user presses enter.
+	 * 
+	 * @param args command line arguments: the port to listen on,
+	 *        and optionally the signal count and frame rate
+	 */
+	public static void main(String[] args)
+	{
+		SimulatedPublisher publisher = new SimulatedPublisher();
+		
+		if (args.length < 1)
+		{
+			System.err.println("Error: requires at least one command line argument");
+			System.err.println("       1. port used to accept connections");
+			System.err.println("       2. number of signals (optional, default " + DefaultSignalCount + ")");
+			System.err.println("       3. frames per second (optional, default " + DefaultFrameRate + ")");
+			return;
+		}
+		
+		publisher.addPublisherListener(new PublisherListener()
+		{
+			@Override
+			public void exceptionEncountered(MessageEvent evt)
+			{
+				evt.getException().printStackTrace();
+			}
+		});
+		
+		try
+		{
+			if (args.length > 1)
+				publisher.setSignalCount(Integer.parseInt(args[1]));
+			
+			if (args.length > 2)
+				publisher.setFrameRate(Double.parseDouble(args[2]));
+			
+			publisher.start(Integer.parseInt(args[0]));
+			System.out.println("Publishing " + publisher.getSignalCount() + " signals at " + publisher.getFrameRate() + " frames per second on port " + publisher.getPort());
+			System.out.println("Press enter to stop...");
+			System.in.read();
+		}
+		catch (IOException ex)
+		{
+			ex.printStackTrace();
+		}
+		finally
+		{
+			publisher.stop();
+		}
+	}
+	
+	// Largest number of signals that can be identified by a 16-bit signal index.
+	private static final int MaxSignalCount = 65535;
+	
+	private static final int DefaultSignalCount = 100;
+	private static final double DefaultFrameRate = 30.0D;
+	
+	// Upper bits shared by the signal IDs of all simulated signals.
+	private static final long SignalIdHighBits = 0x53494D5055424C49L;
+}
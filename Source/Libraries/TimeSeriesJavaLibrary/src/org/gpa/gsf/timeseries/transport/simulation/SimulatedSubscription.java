@@ -0,0 +1,730 @@
+//******************************************************************************************************
+//  SimulatedSubscription.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport.simulation;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPOutputStream;
+
+import org.gpa.gsf.timeseries.transport.CompactMeasurementEncoder;
+import org.gpa.gsf.timeseries.transport.constant.CompressionMode;
+import org.gpa.gsf.timeseries.transport.constant.DataPacketFlags;
+import org.gpa.gsf.timeseries.transport.constant.OperationalEncoding;
+import org.gpa.gsf.timeseries.transport.constant.OperationalModes;
+import org.gpa.gsf.timeseries.transport.constant.ServerCommand;
+import org.gpa.gsf.timeseries.transport.constant.ServerResponse;
+import org.gpa.gsf.timeseries.util.InputStreamExtensions;
+import org.gpa.gsf.timeseries.util.TimeExtensions;
+
+/**
+ * Connection between a {@link SimulatedPublisher} and one subscriber.
+ * Commands from the subscriber are processed by a command thread, and
+ * frames are sent by a separate streaming thread while the subscriber
+ * is subscribed.
+ */
+class SimulatedSubscription
+{
+	private SimulatedPublisher m_publisher;
+	private int m_signalCount;
+	private double m_frameRate;
+	
+	// Command channel
+	private Socket m_socket;
+	private InputStream m_inputStream;
+	private OutputStream m_outputStream;
+	private Thread m_commandThread;
+	private volatile boolean m_closed;
+	
+	// Settings defined by the subscriber
+	private int m_operationalModes;
+	private Charset m_characterEncoding;
+	private boolean m_includeTime;
+	private boolean m_useMillisecondResolution;
+	
+	// Data channel
+	private DatagramSocket m_dataChannelSocket;
+	private int m_dataChannelPort;
+	
+	// Streaming thread members
+	private Thread m_streamingThread;
+	private volatile boolean m_streaming;
+	
+	/**
+	 * Creates a new subscription for the subscriber connected to the given socket.
+	 */
+	SimulatedSubscription(SimulatedPublisher publisher, Socket socket) throws IOException
+	{
+		m_publisher = publisher;
+		m_signalCount = publisher.getSignalCount();
+		m_frameRate = publisher.getFrameRate();
+		m_socket = socket;
+		m_inputStream = socket.getInputStream();
+		m_outputStream = new BufferedOutputStream(socket.getOutputStream(), OutputBufferSize);
+		m_characterEncoding = getCharacterEncoding(OperationalEncoding.Unicode);
+	}
+	
+	/**
+	 * Starts processing commands from the subscriber.
+	 */
+	void start()
+	{
+		m_commandThread = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				runCommandThread();
+			}
+		}, "SimulatedSubscriptionCommandThread");
+		
+		m_commandThread.setDaemon(true);
+		m_commandThread.start();
+	}
+	
+	/**
+	 * Stops streaming and disconnects the subscriber.
+	 */
+	void close()
+	{
+		synchronized (this)
+		{
+			if (m_closed)
+				return;
+			
+			m_closed = true;
+		}
+		
+		stopStreaming();
+		
+		try
+		{
+			m_socket.close();
+		}
+		catch (IOException ex)
+		{
+			// Ignore exceptions and
+			// continue shutdown procedure
+		}
+		
+		joinThread(m_commandThread);
+		m_publisher.subscriptionClosed(this);
+	}
+	
+	// Processes commands received from the subscriber.
+	private void runCommandThread()
+	{
+		final int PayloadHeaderSize = 8;
+		
+		ByteBuffer headerBuffer = ByteBuffer.allocate(PayloadHeaderSize).order(ByteOrder.LITTLE_ENDIAN);
+		ByteBuffer commandBuffer = ByteBuffer.allocate(InitialCommandBufferSize);
+		int packetSize;
+		
+		try
+		{
+			while (!m_closed)
+			{
+				if (InputStreamExtensions.read(m_inputStream, headerBuffer.array(), 0, PayloadHeaderSize) < PayloadHeaderSize)
+					break;
+				
+				// Skip the 4-byte sync pattern
+				packetSize = headerBuffer.getInt(4);
+				
+				if (packetSize < 1)
+					break;
+				
+				if (packetSize > commandBuffer.capacity())
+					commandBuffer = ByteBuffer.allocate(packetSize);
+				
+				if (InputStreamExtensions.read(m_inputStream, commandBuffer.array(), 0, packetSize) < packetSize)
+					break;
+				
+				commandBuffer.clear();
+				commandBuffer.limit(packetSize);
+				processCommand(commandBuffer.get(), commandBuffer);
+			}
+		}
+		catch (IOException ex)
+		{
+			// Subscriber disconnected or the
+			// publisher is shutting down
+		}
+		
+		close();
+	}
+	
+	// Delegates commands received from the subscriber to the proper handler.
+	private void processCommand(byte commandCode, ByteBuffer buffer) throws IOException
+	{
+		switch (commandCode)
+		{
+		case ServerCommand.DefineOperationalModes:
+			handleDefineOperationalModes(buffer);
+			break;
+			
+		case ServerCommand.MetadataRefresh:
+			handleMetadataRefresh();
+			break;
+			
+		case ServerCommand.Subscribe:
+			handleSubscribe(buffer);
+			break;
+			
+		case ServerCommand.Unsubscribe:
+			handleUnsubscribe();
+			break;
+			
+		default:
+			sendResponse(ServerResponse.Failed, commandCode, encodeString("Command not supported by the simulated publisher"));
+			break;
+		}
+	}
+	
+	// Handles the operational modes defined by the subscriber.
+	private void handleDefineOperationalModes(ByteBuffer buffer)
+	{
+		if (buffer.remaining() < 4)
+			return;
+		
+		m_operationalModes = buffer.getInt();
+		m_characterEncoding = getCharacterEncoding(m_operationalModes & OperationalModes.EncodingMask);
+	}
+	
+	// Sends the metadata describing the simulated signals.
+	private void handleMetadataRefresh() throws IOException
+	{
+		byte[] metadata = encodeString(buildMetadata());
+		
+		if ((m_operationalModes & OperationalModes.CompressMetadata) != 0 && isGZipRequested())
+			metadata = compress(metadata);
+		
+		sendResponse(ServerResponse.Succeeded, ServerCommand.MetadataRefresh, metadata);
+	}
+	
+	// Starts a new subscription with the settings defined
+	// by the connection string sent by the subscriber.
+	private void handleSubscribe(ByteBuffer buffer) throws IOException
+	{
+		Map<String, String> settings;
+		Map<String, String> dataChannelSettings;
+		String dataChannel;
+		int connectionStringLength;
+		ByteBuffer connectionStringBuffer;
+		String connectionString;
+		
+		// Skip data packet flags
+		buffer.get();
+		connectionStringLength = buffer.getInt();
+		connectionStringBuffer = buffer.slice();
+		connectionStringBuffer.limit(connectionStringLength);
+		connectionString = m_characterEncoding.decode(connectionStringBuffer).toString();
+		settings = parseConnectionString(connectionString);
+		
+		stopStreaming();
+		
+		m_includeTime = !"false".equalsIgnoreCase(settings.get("includetime"));
+		m_useMillisecondResolution = "true".equalsIgnoreCase(settings.get("usemillisecondresolution"));
+		dataChannel = settings.get("datachannel");
+		
+		if (dataChannel != null)
+		{
+			dataChannelSettings = parseConnectionString(dataChannel);
+			m_dataChannelPort = Integer.parseInt(dataChannelSettings.get("localport"));
+			m_dataChannelSocket = new DatagramSocket();
+		}
+		
+		sendResponse(ServerResponse.Succeeded, ServerCommand.Subscribe, encodeString("Client subscribed to " + m_signalCount + " simulated signals."));
+		sendSignalIndexCache();
+		startStreaming();
+	}
+	
+	// Stops the current subscription.
+	private void handleUnsubscribe() throws IOException
+	{
+		stopStreaming();
+		sendResponse(ServerResponse.Succeeded, ServerCommand.Unsubscribe, encodeString("Client unsubscribed."));
+	}
+	
+	// Sends the signal index cache for all simulated signals.
+	private void sendSignalIndexCache() throws IOException
+	{
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		ByteBuffer entryBuffer = ByteBuffer.allocate(MaxCacheEntrySize);
+		byte[] source = encodeString(SignalSource);
+		byte[] cache;
+		UUID signalId;
+		
+		// Length and subscriber ID are skipped by
+		// the subscriber, so they are left as zero
+		entryBuffer.putInt(0).put(new byte[16]).putInt(m_signalCount);
+		stream.write(entryBuffer.array(), 0, entryBuffer.position());
+		
+		for (int i = 0; i < m_signalCount; i++)
+		{
+			signalId = m_publisher.getSignalId(i);
+			entryBuffer.clear();
+			entryBuffer.putShort((short)i);
+			entryBuffer.putLong(signalId.getMostSignificantBits());
+			entryBuffer.putLong(signalId.getLeastSignificantBits());
+			entryBuffer.putInt(source.length);
+			entryBuffer.put(source);
+			entryBuffer.putInt(i + 1);
+			stream.write(entryBuffer.array(), 0, entryBuffer.position());
+		}
+		
+		cache = stream.toByteArray();
+		
+		if ((m_operationalModes & OperationalModes.CompressSignalIndexCache) != 0 && isGZipRequested())
+			cache = compress(cache);
+		
+		sendResponse(ServerResponse.UpdateSignalIndexCache, ServerCommand.Subscribe, cache);
+	}
+	
+	// Starts the thread which sends frames to the subscriber.
+	private void startStreaming()
+	{
+		m_streaming = true;
+		
+		m_streamingThread = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				runStreamingThread();
+			}
+		}, "SimulatedSubscriptionStreamingThread");
+		
+		m_streamingThread.setDaemon(true);
+		m_streamingThread.start();
+	}
+	
+	// Stops the streaming thread and closes the data channel.
+	private void stopStreaming()
+	{
+		m_streaming = false;
+		joinThread(m_streamingThread);
+		m_streamingThread = null;
+		
+		if (m_dataChannelSocket != null)
+		{
+			m_dataChannelSocket.close();
+			m_dataChannelSocket = null;
+		}
+	}
+	
+	// Sends frames to the subscriber at the configured frame rate.
+	private void runStreamingThread()
+	{
+		CompactMeasurementEncoder encoder = new CompactMeasurementEncoder(m_includeTime, m_useMillisecondResolution);
+		ByteBuffer packetBuffer = ByteBuffer.allocate(CompactMeasurementEncoder.PayloadHeaderSize + CompactMeasurementEncoder.MaxPacketSize);
+		
+		long startTime = System.nanoTime();
+		long startTicks = TimeExtensions.millisToTicks(System.currentTimeMillis());
+		long frameInterval = (m_frameRate > 0.0D) ? (long)(NanosPerSecond / m_frameRate) : 0L;
+		long frameNumber = 0L;
+		long elapsed;
+		long ticks;
+		
+		try
+		{
+			sendResponse(ServerResponse.DataStartTime, ServerCommand.Subscribe, ByteBuffer.allocate(8).putLong(startTicks).array());
+			
+			if (m_includeTime && encoder.updateBaseTimes(startTicks, startTicks))
+				sendBaseTimes(encoder);
+			
+			while (m_streaming)
+			{
+				if (frameInterval > 0L)
+				{
+					elapsed = frameNumber * frameInterval;
+					waitUntil(startTime + elapsed);
+				}
+				else
+				{
+					elapsed = System.nanoTime() - startTime;
+				}
+				
+				ticks = startTicks + elapsed / NanosPerTick;
+				
+				// Base times are rotated often enough that offsets from
+				// them always fit in the compact measurement time field
+				if (m_includeTime && encoder.updateBaseTimes(ticks, ticks))
+					sendBaseTimes(encoder);
+				
+				sendFrame(encoder, packetBuffer, (float)(frameNumber & FrameValueMask), ticks);
+				m_publisher.frameSent(m_signalCount);
+				frameNumber++;
+			}
+		}
+		catch (IOException ex)
+		{
+			// Subscriber disconnected
+			if (m_streaming)
+				close();
+		}
+	}
+	
+	// Sends one measurement for every signal, split into as many packets as necessary.
+	private void sendFrame(CompactMeasurementEncoder encoder, ByteBuffer packetBuffer, float value, long ticks) throws IOException
+	{
+		int signalIndex = 0;
+		int packetCount;
+		
+		while (signalIndex < m_signalCount)
+		{
+			// Leave room for the payload and response headers
+			packetBuffer.clear();
+			packetBuffer.position(CompactMeasurementEncoder.ResponseHeaderSize);
+			packetBuffer.put(DataPacketFlags.Compact);
+			packetBuffer.putInt(0);
+			packetCount = 0;
+			
+			while (signalIndex < m_signalCount && encoder.encode(packetBuffer, (short)signalIndex, value, ticks, 0))
+			{
+				signalIndex++;
+				packetCount++;
+			}
+			
+			packetBuffer.putInt(CompactMeasurementEncoder.ResponseHeaderSize + 1, packetCount);
+			sendDataPacket(packetBuffer);
+		}
+		
+		if (m_dataChannelSocket == null)
+			flush();
+	}
+	
+	// Sends the current base times of the encoder to the subscriber.
+	private void sendBaseTimes(CompactMeasurementEncoder encoder) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(CompactMeasurementEncoder.BaseTimesPayloadSize);
+		encoder.writeBaseTimes(buffer);
+		sendResponse(ServerResponse.UpdateBaseTimes, ServerCommand.Subscribe, buffer.array());
+	}
+	
+	// Sends a data packet built in the given buffer, starting after room
+	// for the payload and response headers, over the data channel if one
+	// was requested or the command channel otherwise.
+	private void sendDataPacket(ByteBuffer packetBuffer) throws IOException
+	{
+		final int PayloadHeaderSize = CompactMeasurementEncoder.PayloadHeaderSize;
+		
+		byte[] packet = packetBuffer.array();
+		int length = packetBuffer.position() - CompactMeasurementEncoder.ResponseHeaderSize;
+		int packetSize = packetBuffer.position() - PayloadHeaderSize;
+		DatagramSocket dataChannelSocket = m_dataChannelSocket;
+		
+		CompactMeasurementEncoder.writeResponseHeader(packetBuffer, ServerResponse.DataPacket, ServerCommand.Subscribe, length);
+		
+		if (dataChannelSocket != null)
+		{
+			dataChannelSocket.send(new DatagramPacket(packet, PayloadHeaderSize, packetSize, m_socket.getInetAddress(), m_dataChannelPort));
+			m_publisher.bytesSent(packetSize);
+		}
+		else
+		{
+			write(packet, 0, packetBuffer.position(), false);
+		}
+	}
+	
+	// Sends a response to the subscriber over the command channel.
+	private void sendResponse(byte responseCode, byte commandCode, byte[] data) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(CompactMeasurementEncoder.ResponseHeaderSize + data.length);
+		
+		CompactMeasurementEncoder.writeResponseHeader(buffer, responseCode, commandCode, data.length);
+		System.arraycopy(data, 0, buffer.array(), CompactMeasurementEncoder.ResponseHeaderSize, data.length);
+		write(buffer.array(), 0, buffer.capacity(), true);
+	}
+	
+	// Writes to the command channel, which is shared
+	// by the command and streaming threads.
+	private void write(byte[] data, int offset, int length, boolean flush) throws IOException
+	{
+		synchronized (m_outputStream)
+		{
+			m_outputStream.write(data, offset, length);
+			
+			if (flush)
+				m_outputStream.flush();
+		}
+		
+		m_publisher.bytesSent(length);
+	}
+	
+	// Flushes data buffered for the command channel.
+	private void flush() throws IOException
+	{
+		synchronized (m_outputStream)
+		{
+			m_outputStream.flush();
+		}
+	}
+	
+	// Indicates whether the subscriber requested GZIP compression.
+	private boolean isGZipRequested()
+	{
+		return (m_operationalModes & OperationalModes.CompressionModeMask) == CompressionMode.GZIP;
+	}
+	
+	// Encodes a string using the character encoding defined by the subscriber.
+	private byte[] encodeString(String str)
+	{
+		ByteBuffer buffer = m_characterEncoding.encode(str);
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.get(bytes);
+		return bytes;
+	}
+	
+	// Builds the XML metadata describing the simulated devices,
+	// measurements and phasors. Each device has four phasors,
+	// each with a magnitude and an angle, plus a frequency and
+	// a rate of change of frequency.
+	private String buildMetadata()
+	{
+		StringBuilder metadata = new StringBuilder();
+		String[] phasorTypes = { "V", "V", "I", "I" };
+		String device;
+		String signalAcronym;
+		String signalReference;
+		int deviceIndex;
+		int channel;
+		
+		metadata.append("<?xml version=\"1.0\" standalone=\"yes\"?>\r\n<DataSet>\r\n");
+		
+		for (int i = 0; i < m_signalCount; i += SignalsPerDevice)
+		{
+			deviceIndex = i / SignalsPerDevice;
+			device = getDeviceAcronym(deviceIndex);
+			
+			metadata.append("  <DeviceDetail>\r\n");
+			appendElement(metadata, "UniqueID", new UUID(DeviceIdHighBits, deviceIndex).toString());
+			appendElement(metadata, "Acronym", device);
+			appendElement(metadata, "Name", "Simulated Device " + (deviceIndex + 1));
+			appendElement(metadata, "AccessID", Integer.toString(deviceIndex + 1));
+			appendElement(metadata, "ProtocolName", "Simulated");
+			appendElement(metadata, "FramesPerSecond", Integer.toString((int)Math.round(m_frameRate)));
+			appendElement(metadata, "Enabled", "true");
+			metadata.append("  </DeviceDetail>\r\n");
+			
+			for (int phasor = 0; phasor < PhasorsPerDevice && i + phasor * 2 < m_signalCount; phasor++)
+			{
+				metadata.append("  <PhasorDetail>\r\n");
+				appendElement(metadata, "DeviceAcronym", device);
+				appendElement(metadata, "Label", "Phasor " + (phasor + 1));
+				appendElement(metadata, "Type", phasorTypes[phasor]);
+				appendElement(metadata, "Phase", "+");
+				appendElement(metadata, "SourceIndex", Integer.toString(phasor + 1));
+				metadata.append("  </PhasorDetail>\r\n");
+			}
+		}
+		
+		for (int i = 0; i < m_signalCount; i++)
+		{
+			deviceIndex = i / SignalsPerDevice;
+			device = getDeviceAcronym(deviceIndex);
+			channel = i % SignalsPerDevice;
+			
+			if (channel < PhasorsPerDevice * 2)
+			{
+				signalAcronym = phasorTypes[channel / 2] + ((channel % 2 == 0) ? "PHM" : "PHA");
+				signalReference = device + ((channel % 2 == 0) ? "-PM" : "-PA") + (channel / 2 + 1);
+			}
+			else if (channel == PhasorsPerDevice * 2)
+			{
+				signalAcronym = "FREQ";
+				signalReference = device + "-FQ";
+			}
+			else
+			{
+				signalAcronym = "DFDT";
+				signalReference = device + "-DF";
+			}
+			
+			metadata.append("  <MeasurementDetail>\r\n");
+			appendElement(metadata, "DeviceAcronym", device);
+			appendElement(metadata, "ID", SignalSource + ":" + (i + 1));
+			appendElement(metadata, "SignalID", m_publisher.getSignalId(i).toString());
+			appendElement(metadata, "PointTag", device + ":" + signalAcronym + ((channel < PhasorsPerDevice * 2) ? Integer.toString(channel / 2 + 1) : ""));
+			appendElement(metadata, "SignalReference", signalReference);
+			appendElement(metadata, "SignalAcronym", signalAcronym);
+			appendElement(metadata, "Description", "Simulated " + signalAcronym + " signal");
+			appendElement(metadata, "Enabled", "true");
+			metadata.append("  </MeasurementDetail>\r\n");
+		}
+		
+		metadata.append("</DataSet>");
+		
+		return metadata.toString();
+	}
+	
+	// Compresses data using GZIP.
+	private static byte[] compress(byte[] data) throws IOException
+	{
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		GZIPOutputStream gzipStream = new GZIPOutputStream(stream);
+		
+		gzipStream.write(data);
+		gzipStream.close();
+		
+		return stream.toByteArray();
+	}
+	
+	// Parses a connection string into a map of lower case keys to values,
+	// removing the braces around values that contain nested settings.
+	private static Map<String, String> parseConnectionString(String connectionString)
+	{
+		Map<String, String> settings = new HashMap<String, String>();
+		int depth = 0;
+		int start = 0;
+		char c;
+		
+		for (int i = 0; i <= connectionString.length(); i++)
+		{
+			c = (i < connectionString.length()) ? connectionString.charAt(i) : ';';
+			
+			if (c == '{')
+				depth++;
+			else if (c == '}')
+				depth--;
+			else if (c == ';' && depth == 0)
+			{
+				addSetting(settings, connectionString.substring(start, i));
+				start = i + 1;
+			}
+		}
+		
+		return settings;
+	}
+	
+	// Adds a single key=value setting to the map.
+	private static void addSetting(Map<String, String> settings, String setting)
+	{
+		int separatorIndex = setting.indexOf('=');
+		String key;
+		String value;
+		
+		if (separatorIndex < 0)
+			return;
+		
+		key = setting.substring(0, separatorIndex).trim().toLowerCase();
+		value = setting.substring(separatorIndex + 1).trim();
+		
+		if (value.startsWith("{") && value.endsWith("}"))
+			value = value.substring(1, value.length() - 1);
+		
+		settings.put(key, value);
+	}
+	
+	// Appends an XML element with the given text content.
+	private static void appendElement(StringBuilder builder, String name, String value)
+	{
+		builder.append("    <").append(name).append('>').append(value).append("</").append(name).append(">\r\n");
+	}
+	
+	// Gets the acronym of the simulated device with the given index.
+	private static String getDeviceAcronym(int deviceIndex)
+	{
+		return String.format("%s%04d", SignalSource, deviceIndex + 1);
+	}
+	
+	// Gets the character set identified by the given operational encoding.
+	private static Charset getCharacterEncoding(int operationalEncoding)
+	{
+		switch (operationalEncoding)
+		{
+		case OperationalEncoding.BigEndianUnicode:
+			return Charset.forName("UTF-16BE");
+			
+		case OperationalEncoding.UTF8:
+			return Charset.forName("UTF-8");
+			
+		case OperationalEncoding.OperatingSystemDefault:
+			return Charset.defaultCharset();
+			
+		default:
+			return Charset.forName("UTF-16LE");
+		}
+	}
+	
+	// Waits until System.nanoTime() reaches the given time.
+	private static void waitUntil(long time)
+	{
+		long remaining = time - System.nanoTime();
+		
+		while (remaining > 0L)
+		{
+			LockSupport.parkNanos(remaining);
+			remaining = time - System.nanoTime();
+		}
+	}
+	
+	// Joins the current thread to the given thread.
+	private static void joinThread(Thread thread)
+	{
+		try
+		{
+			if (thread != null && thread != Thread.currentThread())
+				thread.join();
+		}
+		catch (InterruptedException ex)
+		{
+			// Ignore exception and
+			// continue shutdown procedure
+		}
+	}
+	
+	// Source of the measurement keys of all simulated signals.
+	private static final String SignalSource = "SIM";
+	
+	private static final int SignalsPerDevice = 10;
+	private static final int PhasorsPerDevice = 4;
+	
+	// Upper bits shared by the unique IDs of all simulated devices.
+	private static final long DeviceIdHighBits = 0x53494D4445564943L;
+	
+	private static final int InitialCommandBufferSize = 1024;
+	private static final int OutputBufferSize = 65536;
+	
+	// Size of a signal index cache entry with a short source.
+	private static final int MaxCacheEntrySize = 1024;
+	
+	// Frame numbers are sent as measurement values, so
+	// they wrap before they lose precision as a float
+	private static final long FrameValueMask = 0xFFFFFFL;
+	
+	private static final long NanosPerTick = 100L;
+	private static final double NanosPerSecond = 1000000000.0D;
+}
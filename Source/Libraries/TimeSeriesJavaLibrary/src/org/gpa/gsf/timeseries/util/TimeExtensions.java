@@ -28,9 +28,99 @@ import java.util.Calendar;
 /**
  * Utility class which provides additional
  * functionality for time representations.
+ * <p>
+ * Times are best kept as primitive {@code long}s, either in ticks or in
+ * milliseconds since the Unix epoch, and converted with
+ * {@link #ticksToMillis(long)} and {@link #millisToTicks(long)}, which
+ * create no objects. The array overloads convert whole batches of
+ * timestamps in place or into caller-supplied arrays. The {@link Calendar}
+ * conversions are meant for display and date arithmetic only.
  */
 public class TimeExtensions
 {
+	/**
+	 * Converts a value in ticks (100-nanosecond intervals since midnight,
+	 * January 1, 0001) into milliseconds since the Unix epoch (midnight,
+	 * January 1, 1970 UTC). Sub-millisecond precision is truncated.
+	 * 
+	 * @param ticks the value in ticks to be converted
+	 * @return the equivalent number of milliseconds since the Unix epoch
+	 * @see #millisToTicks(long)
+	 */
+	public static long ticksToMillis(long ticks)
+	{
+		return (ticks - TicksAtEpoch) / TicksPerMillisecond;
+	}
+	
+	/**
+	 * Converts milliseconds since the Unix epoch (midnight, January 1, 1970
+	 * UTC) into a value in ticks (100-nanosecond intervals since midnight,
+	 * January 1, 0001).
+	 * 
+	 * @param millis the number of milliseconds since the Unix epoch
+	 * @return the equivalent value in ticks
+	 * @see #ticksToMillis(long)
+	 */
+	public static long millisToTicks(long millis)
+	{
+		return (millis * TicksPerMillisecond) + TicksAtEpoch;
+	}
+	
+	/**
+	 * Gets the current time of the local clock in ticks.
+	 * 
+	 * @return the local clock, in ticks
+	 * @see #millisToTicks(long)
+	 */
+	public static long getLocalClockTicks()
+	{
+		return millisToTicks(System.currentTimeMillis());
+	}
+	
+	/**
+	 * Converts a range of values in ticks into milliseconds since the Unix
+	 * epoch. The source and destination may be the same array, in which
+	 * case the values are converted in place.
+	 * 
+	 * @param ticks the array containing the values in ticks
+	 * @param ticksOffset the position in {@code ticks} of the first value to be converted
+	 * @param millis the array into which the converted values are written
+	 * @param millisOffset the position in {@code millis} of the first converted value
+	 * @param length the number of values to be converted
+	 * @throws IndexOutOfBoundsException if either range exceeds the bounds of its array
+	 * @see #ticksToMillis(long)
+	 */
+	public static void ticksToMillis(long[] ticks, int ticksOffset, long[] millis, int millisOffset, int length)
+	{
+		checkRange(ticks.length, ticksOffset, length);
+		checkRange(millis.length, millisOffset, length);
+		
+		for (int i = 0; i < length; i++)
+			millis[millisOffset + i] = (ticks[ticksOffset + i] - TicksAtEpoch) / TicksPerMillisecond;
+	}
+	
+	/**
+	 * Converts a range of values in milliseconds since the Unix epoch into
+	 * ticks. The source and destination may be the same array, in which
+	 * case the values are converted in place.
+	 * 
+	 * @param millis the array containing the values in milliseconds
+	 * @param millisOffset the position in {@code millis} of the first value to be converted
+	 * @param ticks the array into which the converted values are written
+	 * @param ticksOffset the position in {@code ticks} of the first converted value
+	 * @param length the number of values to be converted
+	 * @throws IndexOutOfBoundsException if either range exceeds the bounds of its array
+	 * @see #millisToTicks(long)
+	 */
+	public static void millisToTicks(long[] millis, int millisOffset, long[] ticks, int ticksOffset, int length)
+	{
+		checkRange(millis.length, millisOffset, length);
+		checkRange(ticks.length, ticksOffset, length);
+		
+		for (int i = 0; i < length; i++)
+			ticks[ticksOffset + i] = (millis[millisOffset + i] * TicksPerMillisecond) + TicksAtEpoch;
+	}
+	
 	/**
 	 * Converts a value in ticks (100-nanosecond intervals since midnight,
 	 * January 1, 0001) into a {@link Calendar} instance. Some loss of
@@ -44,7 +134,7 @@ public class TimeExtensions
 	public static Calendar fromTicks(long ticks)
 	{
 		Calendar calendar = Calendar.getInstance();
-		calendar.setTimeInMillis((ticks - TicksAtEpoch) / TicksPerMillisecond);
+		calendar.setTimeInMillis(ticksToMillis(ticks));
 		return calendar;
 	}
 	
@@ -57,7 +147,14 @@ public class TimeExtensions
 	 */
 	public static long toTicks(Calendar calendar)
 	{
-		return (calendar.getTimeInMillis() * TicksPerMillisecond) + TicksAtEpoch;
+		return millisToTicks(calendar.getTimeInMillis());
+	}
+	
+	// Makes sure that a range lies within the bounds of an array.
+	private static void checkRange(int arrayLength, int offset, int length)
+	{
+		if (offset < 0 || length < 0 || offset > arrayLength - length)
+			throw new IndexOutOfBoundsException("Range [" + offset + ", " + offset + " + " + length + ") is out of bounds for length " + arrayLength);
 	}
 	
 	private static final long TicksAtEpoch = 621355968000000000L;
@@ -0,0 +1,303 @@
+//******************************************************************************************************
+//  ArchiveFileSinkTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import junit.framework.TestCase;
+
+import org.gpa.gsf.timeseries.transport.event.ArchiveFileEvent;
+import org.gpa.gsf.timeseries.transport.event.ArchiveFileListener;
+import org.gpa.gsf.timeseries.transport.event.MessageEvent;
+import org.gpa.gsf.timeseries.util.TimeExtensions;
+
+/**
+ * Tests that the files written by the {@link ArchiveFileSink} read back
+ * correctly, using the same layout and time conversion as the Hadoop
+ * {@code HistorianInputFormat}: the file allocation table is read from the
+ * end of the file, the block map from just before it, and each point's time
+ * from its time tag and the milliseconds in its flags.
+ */
+public class ArchiveFileSinkTest extends TestCase
+{
+	private File m_directory;
+	private List<ArchiveFileEvent> m_completedFiles;
+	private ArchiveFileSink m_sink;
+	
+	@Override
+	protected void setUp() throws IOException
+	{
+		m_directory = File.createTempFile("ArchiveFileSinkTest", "");
+		
+		if (!m_directory.delete() || !m_directory.mkdir())
+			throw new IOException("Unable to create " + m_directory);
+		
+		m_completedFiles = new ArrayList<ArchiveFileEvent>();
+		m_sink = new ArchiveFileSink(m_directory, "test", 1);
+		
+		m_sink.addArchiveFileListener(new ArchiveFileListener()
+		{
+			@Override
+			public void archiveFileCompleted(ArchiveFileEvent evt)
+			{
+				m_completedFiles.add(evt);
+			}
+			
+			@Override
+			public void exceptionEncountered(MessageEvent evt)
+			{
+				fail(evt.getMessage());
+			}
+		});
+	}
+	
+	@Override
+	protected void tearDown()
+	{
+		File[] files = m_directory.listFiles();
+		
+		if (files != null)
+		{
+			for (File file : files)
+				file.delete();
+		}
+		
+		m_directory.delete();
+	}
+	
+	public void testPointsReadBackFromArchive() throws IOException
+	{
+		MeasurementBatch batch = createBatch(0, PointsPerSignal);
+		Map<Integer, List<ArchivedPoint>> archivedPoints;
+		ArchiveFileEvent completedFile;
+		List<ArchivedPoint> points;
+		ArchivedPoint point;
+		int index;
+		
+		m_sink.archive(batch);
+		m_sink.close();
+		
+		assertEquals(1, m_completedFiles.size());
+		completedFile = m_completedFiles.get(0);
+		assertTrue(completedFile.getFile().getName().endsWith(".d"));
+		assertEquals(SignalCount * PointsPerSignal, completedFile.getPointCount());
+		assertEquals(batch.getTimestamp(0), completedFile.getStartTime());
+		assertEquals(batch.getTimestamp(batch.size() - 1), completedFile.getEndTime());
+		
+		archivedPoints = readArchiveFile(completedFile.getFile(), completedFile);
+		assertEquals(SignalCount, archivedPoints.size());
+		
+		for (int signal = 0; signal < SignalCount; signal++)
+		{
+			points = archivedPoints.get(signal + 1);
+			assertEquals(PointsPerSignal, points.size());
+			
+			for (int i = 0; i < PointsPerSignal; i++)
+			{
+				index = i * SignalCount + signal;
+				point = points.get(i);
+				
+				assertEquals(TimeExtensions.ticksToMillis(batch.getTimestamp(index)), point.m_epochMillis);
+				assertEquals(batch.getValue(index), point.m_value, 0.0F);
+				assertEquals((batch.getFlags(index) == 0) ? GoodQuality : SuspectDataQuality, point.m_quality);
+			}
+		}
+		
+		assertEquals(SignalCount * PointsPerSignal, m_sink.getArchivedPointCount());
+		assertEquals(0L, m_sink.getDiscardedPointCount());
+	}
+	
+	public void testRollIntervalSplitsFiles() throws IOException
+	{
+		int pointCount = 0;
+		
+		m_sink.setRollInterval(10.0D);
+		m_sink.archive(createBatch(0, PointsPerSignal));
+		m_sink.close();
+		
+		// Points are 100 milliseconds apart, starting on a 10 second boundary
+		assertEquals(PointsPerSignal / 100, m_completedFiles.size());
+		
+		for (ArchiveFileEvent completedFile : m_completedFiles)
+		{
+			for (List<ArchivedPoint> points : readArchiveFile(completedFile.getFile(), completedFile).values())
+			{
+				for (ArchivedPoint point : points)
+				{
+					assertTrue(point.m_epochMillis >= TimeExtensions.ticksToMillis(completedFile.getStartTime()));
+					assertTrue(point.m_epochMillis <= TimeExtensions.ticksToMillis(completedFile.getEndTime()));
+					pointCount++;
+				}
+			}
+		}
+		
+		assertEquals(SignalCount * PointsPerSignal, pointCount);
+	}
+	
+	public void testUnidentifiedPointsAreDiscarded() throws IOException
+	{
+		MeasurementBatch batch = createBatch(0, 1);
+		
+		batch.add((short)SignalCount, 1.0F, BaseTime, 0);
+		m_sink.archive(batch);
+		m_sink.close();
+		
+		assertEquals(SignalCount, m_sink.getArchivedPointCount());
+		assertEquals(1L, m_sink.getDiscardedPointCount());
+	}
+	
+	// Creates a batch with the given range of points for every signal, 100
+	// milliseconds apart. Every third point of each signal is flagged as bad.
+	private static MeasurementBatch createBatch(int first, int count)
+	{
+		SignalIndexCache signalIndexCache = new SignalIndexCache();
+		MeasurementBatch batch = new MeasurementBatch();
+		long timestamp;
+		
+		for (int signal = 0; signal < SignalCount; signal++)
+			signalIndexCache.addMeasurementKey((short)signal, new UUID(0L, signal), "TEST", signal + 1);
+		
+		batch.setSignalIndexCache(signalIndexCache);
+		
+		for (int i = first; i < first + count; i++)
+		{
+			timestamp = BaseTime + i * 100L * TicksPerMillisecond;
+			
+			for (int signal = 0; signal < SignalCount; signal++)
+				batch.add((short)signal, signal * 1000.0F + i * 0.25F, timestamp, (i % 3 == 2) ? CompactMeasurementParser.DataQualityMask : 0);
+		}
+		
+		return batch;
+	}
+	
+	// Reads the points of every block in an archive file, keyed by point ID,
+	// checking the file allocation table and block map along the way.
+	private static Map<Integer, List<ArchivedPoint>> readArchiveFile(File file, ArchiveFileEvent completedFile) throws IOException
+	{
+		Map<Integer, List<ArchivedPoint>> archivedPoints = new HashMap<Integer, List<ArchivedPoint>>();
+		RandomAccessFile stream = new RandomAccessFile(file, "r");
+		ByteBuffer buffer;
+		int blockSize;
+		int blockCount;
+		int pointsArchived;
+		int blockMapOffset;
+		int pointId;
+		double firstTime;
+		List<ArchivedPoint> points;
+		ArchivedPoint point;
+		int timeTag;
+		short flags;
+		
+		try
+		{
+			buffer = ByteBuffer.allocate((int)stream.length());
+			stream.readFully(buffer.array());
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+		}
+		finally
+		{
+			stream.close();
+		}
+		
+		// File allocation table
+		pointsArchived = buffer.getInt(buffer.capacity() - 12);
+		blockSize = buffer.getInt(buffer.capacity() - 8) * 1024;
+		blockCount = buffer.getInt(buffer.capacity() - 4);
+		
+		assertEquals(completedFile.getPointCount(), pointsArchived);
+		assertEquals(completedFile.getBlockCount(), blockCount);
+		assertEquals(buffer.capacity(), blockCount * blockSize + 10 + blockCount * 12 + 32);
+		
+		blockMapOffset = buffer.capacity() - 32 - (10 + blockCount * 12) + 10;
+		
+		for (int block = 0; block < blockCount; block++)
+		{
+			pointId = buffer.getInt(blockMapOffset + block * 12);
+			firstTime = buffer.getDouble(blockMapOffset + block * 12 + 4);
+			points = archivedPoints.get(pointId);
+			
+			if (points == null)
+			{
+				points = new ArrayList<ArchivedPoint>();
+				archivedPoints.put(pointId, points);
+			}
+			
+			for (int offset = block * blockSize; offset + PointSize <= (block + 1) * blockSize; offset += PointSize)
+			{
+				timeTag = buffer.getInt(offset);
+				flags = buffer.getShort(offset + 4);
+				
+				// Blocks are padded with zeros
+				if (timeTag == 0)
+					break;
+				
+				point = new ArchivedPoint();
+				point.m_epochMillis = BaseDateTimeMillis + 1000L * timeTag + (flags >> 5);
+				point.m_quality = flags & 0x1F;
+				point.m_value = buffer.getFloat(offset + 6);
+				
+				if (offset == block * blockSize)
+					assertEquals(timeTag + (flags >> 5) / 1000.0D, firstTime, 1.0E-9D);
+				
+				points.add(point);
+			}
+		}
+		
+		return archivedPoints;
+	}
+	
+	// Point read back from an archive file.
+	private static class ArchivedPoint
+	{
+		private long m_epochMillis;
+		private int m_quality;
+		private float m_value;
+	}
+	
+	private static final int SignalCount = 3;
+	
+	// Enough points to fill several 1 kilobyte blocks per signal.
+	private static final int PointsPerSignal = 300;
+	
+	private static final int PointSize = 10;
+	private static final int GoodQuality = 29;
+	private static final int SuspectDataQuality = 14;
+	
+	// Time of 1/1/1995, the archive base time, in milliseconds since the epoch.
+	private static final long BaseDateTimeMillis = 788918400000L;
+	
+	private static final long TicksPerMillisecond = 10000L;
+	
+	// A time on a 10 second boundary, in ticks.
+	private static final long BaseTime = 635000000000000000L;
+}
@@ -0,0 +1,197 @@
+//******************************************************************************************************
+//  BufferPoolTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the reuse, retention limit and leak detection of the {@link BufferPool}.
+ */
+public class BufferPoolTest extends TestCase
+{
+	public void testReleasedBufferIsReused()
+	{
+		BufferPool pool = new BufferPool(false);
+		ByteBuffer buffer = pool.acquire(100);
+		
+		assertEquals(0, buffer.position());
+		assertEquals(100, buffer.limit());
+		assertEquals(256, buffer.capacity());
+		
+		pool.release(buffer);
+		assertEquals(1, pool.getIdleCount());
+		assertEquals(256L, pool.getRetainedBytes());
+		
+		assertSame(buffer, pool.acquire(200));
+		assertEquals(2L, pool.getAcquireCount());
+		assertEquals(1L, pool.getHitCount());
+		assertEquals(1L, pool.getAllocationCount());
+		assertEquals(1, pool.getOutstandingCount());
+		assertEquals(0L, pool.getRetainedBytes());
+	}
+	
+	public void testDirectAndHeapBuffersAreKeptApart()
+	{
+		BufferPool pool = new BufferPool(true);
+		ByteBuffer direct = pool.acquire(100);
+		ByteBuffer heap = pool.acquireHeap(100);
+		
+		assertTrue(direct.isDirect());
+		assertTrue(heap.hasArray());
+		
+		pool.release(direct);
+		pool.release(heap);
+		
+		assertSame(heap, pool.acquireHeap(100));
+		assertSame(direct, pool.acquire(100));
+	}
+	
+	public void testLargeRequestsAreNotPooled()
+	{
+		BufferPool pool = new BufferPool(false);
+		ByteBuffer buffer = pool.acquire(LargeSize);
+		
+		assertEquals(LargeSize, buffer.capacity());
+		assertEquals(1L, pool.getUnpooledCount());
+		
+		pool.release(buffer);
+		assertEquals(0, pool.getIdleCount());
+		assertEquals(0, pool.getOutstandingCount());
+	}
+	
+	public void testRetentionLimitDiscardsBuffers()
+	{
+		BufferPool pool = new BufferPool(false, 512L, false);
+		ByteBuffer first = pool.acquire(256);
+		ByteBuffer second = pool.acquire(256);
+		ByteBuffer third = pool.acquire(256);
+		
+		pool.release(first);
+		pool.release(second);
+		pool.release(third);
+		
+		assertEquals(2, pool.getIdleCount());
+		assertEquals(512L, pool.getRetainedBytes());
+		assertEquals(1L, pool.getDiscardCount());
+	}
+	
+	public void testDoubleReleaseIsRejected()
+	{
+		BufferPool pool = new BufferPool(false, 1024L, true);
+		ByteBuffer buffer = pool.acquire(100);
+		
+		pool.release(buffer);
+		
+		try
+		{
+			pool.release(buffer);
+			fail("Expected IllegalStateException");
+		}
+		catch (IllegalStateException ex)
+		{
+			// Expected
+		}
+		
+		assertEquals(0, pool.getOutstandingCount());
+		assertEquals(1, pool.getIdleCount());
+	}
+	
+	public void testForeignBufferIsRejected()
+	{
+		BufferPool pool = new BufferPool(false, 1024L, true);
+		
+		try
+		{
+			pool.release(ByteBuffer.allocate(256));
+			fail("Expected IllegalStateException");
+		}
+		catch (IllegalStateException ex)
+		{
+			// Expected
+		}
+		
+		assertEquals(0, pool.getIdleCount());
+	}
+	
+	public void testUnreleasedBufferIsReportedAsLeak() throws InterruptedException
+	{
+		BufferPool pool = new BufferPool(false, 1024L, true);
+		List<Exception> leakReports;
+		
+		pool.release(pool.acquire(100));
+		acquireAndDrop(pool);
+		
+		for (int i = 0; i < 100 && pool.getLeakCount() == 0L; i++)
+		{
+			System.gc();
+			Thread.sleep(10L);
+		}
+		
+		leakReports = pool.getLeakReports();
+		
+		assertEquals(1L, pool.getLeakCount());
+		assertEquals(0, pool.getOutstandingCount());
+		assertEquals(1, leakReports.size());
+		assertTrue(containsMethod(leakReports.get(0), "acquireAndDrop"));
+	}
+	
+	public void testLeaksAreNotTrackedWhenDisabled() throws InterruptedException
+	{
+		BufferPool pool = new BufferPool(false);
+		
+		acquireAndDrop(pool);
+		System.gc();
+		Thread.sleep(10L);
+		
+		assertFalse(pool.isLeakDetectionEnabled());
+		assertEquals(0L, pool.getLeakCount());
+		assertTrue(pool.getLeakReports().isEmpty());
+	}
+	
+	// Acquires a buffer that is never released. The buffer is acquired
+	// outside the test method so no local variable keeps it reachable.
+	private static void acquireAndDrop(BufferPool pool)
+	{
+		pool.acquire(300).putInt(0, 1);
+	}
+	
+	// Determines whether the stack trace of the
+	// given report passes through the named method.
+	private static boolean containsMethod(Exception report, String methodName)
+	{
+		for (StackTraceElement element : report.getStackTrace())
+		{
+			if (element.getMethodName().equals(methodName))
+				return true;
+		}
+		
+		return false;
+	}
+	
+	// Larger than the largest pooled size class.
+	private static final int LargeSize = 8 * 1024 * 1024;
+}
@@ -0,0 +1,238 @@
+//******************************************************************************************************
+//  CallbackRingBufferTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the ways in which producers claim slots from the
+ * {@link CallbackRingBuffer} when it is full, which implement the
+ * subscriber's overload policies.
+ */
+public class CallbackRingBufferTest extends TestCase
+{
+	public void testCapacityIsRoundedUpToPowerOfTwo()
+	{
+		assertEquals(8, new CallbackRingBuffer(5, new YieldingWaitStrategy()).getCapacity());
+	}
+	
+	public void testDrainDeliversCallbacksInOrder()
+	{
+		CallbackRingBuffer ringBuffer = new CallbackRingBuffer(Capacity, new YieldingWaitStrategy());
+		
+		for (int i = 0; i < Capacity; i++)
+			publishMeasurements(ringBuffer, ringBuffer.claim(), i);
+		
+		assertEquals(Capacity, ringBuffer.size());
+		assertEquals(createSequence(0, Capacity), drain(ringBuffer));
+		assertTrue(ringBuffer.isEmpty());
+	}
+	
+	public void testTryClaimFailsWhenFull()
+	{
+		CallbackRingBuffer ringBuffer = fill(new CallbackRingBuffer(Capacity, new YieldingWaitStrategy()));
+		
+		assertNull(ringBuffer.tryClaim());
+		assertEquals(Capacity, ringBuffer.size());
+		
+		assertEquals(createSequence(0, Capacity), drain(ringBuffer));
+		assertNotNull(ringBuffer.tryClaim());
+	}
+	
+	public void testClaimWaitsForConsumer() throws InterruptedException
+	{
+		final CallbackRingBuffer ringBuffer = fill(new CallbackRingBuffer(Capacity, new YieldingWaitStrategy()));
+		final AtomicReference<CallbackEvent> claimed = new AtomicReference<CallbackEvent>();
+		Thread producer;
+		
+		producer = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				CallbackEvent event = ringBuffer.claim();
+				
+				if (event != null)
+					publishMeasurements(ringBuffer, event, Capacity);
+				
+				claimed.set(event);
+			}
+		});
+		
+		producer.start();
+		producer.join(WaitTime);
+		
+		assertTrue(producer.isAlive());
+		assertEquals(createSequence(0, 1), drain(ringBuffer, 1));
+		
+		producer.join(JoinTimeout);
+		assertFalse(producer.isAlive());
+		assertNotNull(claimed.get());
+		assertEquals(createSequence(1, Capacity + 1), drain(ringBuffer));
+	}
+	
+	public void testClaimFailsOnConsumerThreadWhenFull()
+	{
+		CallbackRingBuffer ringBuffer = new CallbackRingBuffer(Capacity, new YieldingWaitStrategy());
+		
+		// Draining makes the calling thread the consumer
+		drain(ringBuffer);
+		fill(ringBuffer);
+		
+		assertNull(ringBuffer.claim());
+	}
+	
+	public void testHaltReleasesWaitingProducer() throws InterruptedException
+	{
+		final CallbackRingBuffer ringBuffer = fill(new CallbackRingBuffer(Capacity, new YieldingWaitStrategy()));
+		final AtomicReference<CallbackEvent> claimed = new AtomicReference<CallbackEvent>(new CallbackEvent());
+		Thread producer;
+		
+		producer = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				claimed.set(ringBuffer.claim());
+			}
+		});
+		
+		producer.start();
+		producer.join(WaitTime);
+		assertTrue(producer.isAlive());
+		
+		ringBuffer.halt();
+		producer.join(JoinTimeout);
+		
+		assertFalse(producer.isAlive());
+		assertNull(claimed.get());
+	}
+	
+	public void testClaimDroppingOldestDiscardsOldestMeasurements()
+	{
+		CallbackRingBuffer ringBuffer = fill(new CallbackRingBuffer(Capacity, new YieldingWaitStrategy()));
+		AtomicLong droppedMeasurements = new AtomicLong();
+		
+		publishMeasurements(ringBuffer, ringBuffer.claimDroppingOldest(droppedMeasurements), Capacity);
+		publishMeasurements(ringBuffer, ringBuffer.claimDroppingOldest(droppedMeasurements), Capacity + 1);
+		
+		assertEquals(2L * MeasurementsPerCallback, droppedMeasurements.get());
+		assertEquals(Capacity, ringBuffer.size());
+		assertEquals(createSequence(2, Capacity + 2), drain(ringBuffer));
+	}
+	
+	public void testClaimDroppingOldestKeepsOtherCallbacks()
+	{
+		CallbackRingBuffer ringBuffer = new CallbackRingBuffer(Capacity, new YieldingWaitStrategy());
+		AtomicLong droppedMeasurements = new AtomicLong();
+		CallbackEvent event;
+		
+		// Draining makes the calling thread the consumer, which cannot
+		// wait, so the claim fails instead of discarding the status message
+		drain(ringBuffer);
+		event = ringBuffer.claim();
+		event.setMessage(CallbackEvent.StatusMessage, "Status");
+		ringBuffer.publish(event);
+		
+		for (int i = 1; i < Capacity; i++)
+			publishMeasurements(ringBuffer, ringBuffer.claim(), i);
+		
+		assertNull(ringBuffer.claimDroppingOldest(droppedMeasurements));
+		assertEquals(0L, droppedMeasurements.get());
+		assertEquals(Capacity, ringBuffer.size());
+	}
+	
+	// Fills every slot of the ring buffer with measurement callbacks.
+	private static CallbackRingBuffer fill(CallbackRingBuffer ringBuffer)
+	{
+		for (int i = 0; i < ringBuffer.getCapacity(); i++)
+			publishMeasurements(ringBuffer, ringBuffer.tryClaim(), i);
+		
+		return ringBuffer;
+	}
+	
+	// Fills a claimed slot with a callback for measurements whose
+	// values identify the callback, then publishes the slot.
+	private static void publishMeasurements(CallbackRingBuffer ringBuffer, CallbackEvent event, int id)
+	{
+		MeasurementBatch batch = event.getBatch();
+		
+		event.setType(CallbackEvent.NewMeasurements);
+		
+		for (int i = 0; i < MeasurementsPerCallback; i++)
+			batch.add((short)i, id, 0L, 0);
+		
+		ringBuffer.publish(event);
+	}
+	
+	// Drains every published callback, returning their IDs in the order they were executed.
+	private static List<Integer> drain(CallbackRingBuffer ringBuffer)
+	{
+		return drain(ringBuffer, Integer.MAX_VALUE);
+	}
+	
+	// Drains up to the given number of callbacks, returning their IDs in the order they were executed.
+	private static List<Integer> drain(CallbackRingBuffer ringBuffer, int maxEvents)
+	{
+		final List<Integer> ids = new ArrayList<Integer>();
+		
+		ringBuffer.drain(new CallbackRingBuffer.EventHandler()
+		{
+			@Override
+			public void onEvent(CallbackEvent event)
+			{
+				assertEquals(CallbackEvent.NewMeasurements, event.getType());
+				assertEquals(MeasurementsPerCallback, event.getBatch().size());
+				ids.add((int)event.getBatch().getValue(0));
+			}
+		}, maxEvents);
+		
+		return ids;
+	}
+	
+	// Creates the list of IDs from start, inclusive, to end, exclusive.
+	private static List<Integer> createSequence(int start, int end)
+	{
+		List<Integer> ids = new ArrayList<Integer>();
+		
+		for (int id = start; id < end; id++)
+			ids.add(id);
+		
+		return ids;
+	}
+	
+	private static final int Capacity = 8;
+	private static final int MeasurementsPerCallback = 3;
+	
+	// Time, in milliseconds, that a producer is given to prove that it is waiting.
+	private static final long WaitTime = 100L;
+	
+	// Time, in milliseconds, after which a released producer is considered stuck.
+	private static final long JoinTimeout = 5000L;
+}
@@ -0,0 +1,238 @@
+//******************************************************************************************************
+//  CaptureJournalTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import junit.framework.TestCase;
+
+import org.gpa.gsf.timeseries.transport.event.MeasurementBatchEvent;
+import org.gpa.gsf.timeseries.transport.event.SubscriberAdapter;
+import org.gpa.gsf.timeseries.util.TimeExtensions;
+
+/**
+ * Tests the layout of {@link CaptureJournal} files, and that payloads
+ * captured from a live subscription are replayed unchanged by the
+ * {@link CaptureReplayer}.
+ */
+public class CaptureJournalTest extends TestCase
+{
+	private File m_file;
+	
+	@Override
+	protected void setUp() throws IOException
+	{
+		m_file = File.createTempFile("CaptureJournalTest", ".journal");
+	}
+	
+	@Override
+	protected void tearDown()
+	{
+		m_file.delete();
+	}
+	
+	public void testRecordsAreWrittenAcrossRegions() throws IOException
+	{
+		CaptureJournal journal = new CaptureJournal(m_file, RegionSize);
+		RandomAccessFile file;
+		long expectedLength = CaptureJournal.HeaderSize;
+		
+		for (int i = 1; i <= 20; i++)
+		{
+			journal.write(CaptureJournal.CommandChannelRecord, createPayload(i * 10));
+			expectedLength += CaptureJournal.RecordHeaderSize + i * 10;
+		}
+		
+		journal.close();
+		
+		assertFalse(journal.isOpen());
+		assertEquals(20L, journal.getRecordCount());
+		assertEquals(expectedLength, journal.getLength());
+		assertEquals(expectedLength, m_file.length());
+		
+		file = new RandomAccessFile(m_file, "r");
+		
+		try
+		{
+			assertEquals(CaptureJournal.Magic, file.readInt());
+			assertEquals(CaptureJournal.Version, file.readInt());
+			
+			for (int i = 1; i <= 20; i++)
+			{
+				assertEquals(i * 10, file.readInt());
+				file.readLong();
+				assertEquals(CaptureJournal.CommandChannelRecord, file.readByte());
+				
+				for (int j = 0; j < i * 10; j++)
+					assertEquals((byte)j, file.readByte());
+			}
+		}
+		finally
+		{
+			file.close();
+		}
+	}
+	
+	public void testEmptyPayloadsAreNotRecorded() throws IOException
+	{
+		CaptureJournal journal = new CaptureJournal(m_file, RegionSize);
+		
+		journal.write(CaptureJournal.CommandChannelRecord, createPayload(10));
+		journal.write(CaptureJournal.CommandChannelRecord, createPayload(0));
+		journal.write(CaptureJournal.DataChannelRecord, createPayload(10));
+		journal.close();
+		
+		assertEquals(2L, journal.getRecordCount());
+		assertEquals(CaptureJournal.HeaderSize + 2 * (CaptureJournal.RecordHeaderSize + 10), m_file.length());
+	}
+	
+	public void testPayloadPositionIsUnchanged() throws IOException
+	{
+		CaptureJournal journal = new CaptureJournal(m_file, RegionSize);
+		ByteBuffer payload = createPayload(10);
+		ByteBuffer directPayload = ByteBuffer.allocateDirect(10);
+		
+		journal.write(CaptureJournal.CommandChannelRecord, payload);
+		journal.write(CaptureJournal.CommandChannelRecord, directPayload);
+		journal.close();
+		
+		assertEquals(0, payload.position());
+		assertEquals(0, directPayload.position());
+	}
+	
+	public void testWritesAfterCloseAreIgnored() throws IOException
+	{
+		CaptureJournal journal = new CaptureJournal(m_file, RegionSize);
+		
+		journal.close();
+		journal.write(CaptureJournal.CommandChannelRecord, createPayload(10));
+		journal.close();
+		
+		assertEquals(0L, journal.getRecordCount());
+		assertEquals(CaptureJournal.HeaderSize, m_file.length());
+	}
+	
+	public void testReplayMatchesLiveSubscription() throws Exception
+	{
+		DataPublisher publisher = new DataPublisher();
+		DataSubscriber subscriber = new DataSubscriber();
+		DataSubscriber replaySubscriber = new DataSubscriber();
+		CaptureJournal journal = new CaptureJournal(m_file, RegionSize);
+		CaptureReplayer replayer;
+		List<Float> liveValues = Collections.synchronizedList(new ArrayList<Float>());
+		List<Float> replayedValues = Collections.synchronizedList(new ArrayList<Float>());
+		short signalIndex = publisher.addSignal(UUID.randomUUID(), "TEST", 1);
+		MeasurementBatch batch = new MeasurementBatch();
+		long deadline;
+		
+		publisher.start(0);
+		
+		try
+		{
+			subscriber.setCaptureJournal(journal);
+			subscriber.addSubscriberListener(collectValues(liveValues));
+			subscriber.connect("localhost", publisher.getPort());
+			subscriber.subscribe(new SubscriptionInfo());
+			
+			// Wait for the subscription to become active
+			deadline = System.currentTimeMillis() + Timeout;
+			
+			while (liveValues.isEmpty() && System.currentTimeMillis() < deadline)
+			{
+				publish(publisher, batch, signalIndex, 0.0F);
+				Thread.sleep(10L);
+			}
+			
+			for (int i = 1; i <= ValueCount; i++)
+				publish(publisher, batch, signalIndex, i);
+			
+			while (liveValues.get(liveValues.size() - 1) < ValueCount && System.currentTimeMillis() < deadline)
+				Thread.sleep(10L);
+			
+			subscriber.disconnect();
+			journal.close();
+		}
+		finally
+		{
+			publisher.stop();
+		}
+		
+		assertEquals((float)ValueCount, liveValues.get(liveValues.size() - 1), 0.0F);
+		assertTrue(journal.getRecordCount() > ValueCount);
+		
+		replaySubscriber.addSubscriberListener(collectValues(replayedValues));
+		replayer = new CaptureReplayer(m_file, replaySubscriber);
+		replayer.setSpeed(CaptureReplayer.Unthrottled);
+		
+		assertEquals(journal.getRecordCount(), replayer.replay());
+		assertEquals(liveValues, replayedValues);
+	}
+	
+	// Creates a payload whose bytes count up from zero.
+	private static ByteBuffer createPayload(int length)
+	{
+		ByteBuffer payload = ByteBuffer.allocate(length);
+		
+		for (int i = 0; i < length; i++)
+			payload.put((byte)i);
+		
+		payload.flip();
+		return payload;
+	}
+	
+	// Publishes a single measurement with the given value.
+	private static void publish(DataPublisher publisher, MeasurementBatch batch, short signalIndex, float value)
+	{
+		batch.clear();
+		batch.add(signalIndex, value, TimeExtensions.millisToTicks(System.currentTimeMillis()), 0);
+		publisher.publish(batch);
+	}
+	
+	// Creates a listener which collects the values of the measurements delivered by a subscriber.
+	private static SubscriberAdapter collectValues(final List<Float> values)
+	{
+		return new SubscriberAdapter()
+		{
+			@Override
+			public void newMeasurementBatchReceived(MeasurementBatchEvent evt)
+			{
+				MeasurementBatch batch = evt.getBatch();
+				
+				for (int i = 0; i < batch.size(); i++)
+					values.add(batch.getValues()[i]);
+			}
+		};
+	}
+	
+	private static final int RegionSize = 256;
+	private static final int ValueCount = 100;
+	private static final long Timeout = 10000L;
+}
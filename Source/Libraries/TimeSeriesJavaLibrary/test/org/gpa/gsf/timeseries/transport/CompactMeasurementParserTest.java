@@ -0,0 +1,229 @@
+//******************************************************************************************************
+//  CompactMeasurementParserTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import junit.framework.TestCase;
+
+import org.gpa.gsf.timeseries.Measurement;
+import org.gpa.gsf.timeseries.MeasurementKey;
+
+/**
+ * Tests that measurements written by the {@link CompactMeasurementEncoder}
+ * are read back unchanged by the {@link CompactMeasurementParser}.
+ */
+public class CompactMeasurementParserTest extends TestCase
+{
+	public void testRoundTripWithFullTimestamps()
+	{
+		assertRoundTrip(true, false, null);
+	}
+	
+	public void testRoundTripWithTickOffsets()
+	{
+		assertRoundTrip(true, false, new long[] { BaseTime, BaseTime + TickBaseTimeInterval });
+	}
+	
+	public void testRoundTripWithMillisecondOffsets()
+	{
+		assertRoundTrip(true, true, new long[] { BaseTime, BaseTime + MillisecondBaseTimeInterval });
+	}
+	
+	public void testRoundTripWithoutTime()
+	{
+		assertRoundTrip(false, false, null);
+	}
+	
+	public void testFilterSkipsExcludedSignals()
+	{
+		long[] baseTimeOffsets = { BaseTime, BaseTime + MillisecondBaseTimeInterval };
+		SignalIndexCache signalIndexCache = createSignalIndexCache();
+		MeasurementBatch input = createBatch();
+		ByteBuffer buffer = encode(input, true, true, baseTimeOffsets);
+		MeasurementBatch output = new MeasurementBatch();
+		BitSet filter = new BitSet();
+		CompactMeasurementParser parser;
+		int position = 0;
+		
+		for (int signal = 0; signal < SignalCount; signal += 2)
+			filter.set(signal);
+		
+		parser = new CompactMeasurementParser(signalIndexCache, baseTimeOffsets, true, true, filter);
+		parser.parseMeasurements(buffer, output);
+		
+		for (int i = 0; i < input.size(); i++)
+		{
+			if (!filter.get(input.getSignalIndex(i)))
+				continue;
+			
+			assertMeasurement(input, i, output, position, true);
+			position++;
+		}
+		
+		assertEquals(position, output.size());
+		assertFalse(buffer.hasRemaining());
+	}
+	
+	public void testCollectionMatchesBatch()
+	{
+		long[] baseTimeOffsets = { BaseTime, BaseTime + TickBaseTimeInterval };
+		SignalIndexCache signalIndexCache = createSignalIndexCache();
+		MeasurementBatch input = createBatch();
+		CompactMeasurementParser parser = new CompactMeasurementParser(signalIndexCache, baseTimeOffsets, true, false);
+		List<Measurement> measurements = new ArrayList<Measurement>(parser.parseMeasurements(encode(input, true, false, baseTimeOffsets)));
+		Measurement measurement;
+		MeasurementKey key;
+		
+		assertEquals(input.size(), measurements.size());
+		
+		for (int i = 0; i < input.size(); i++)
+		{
+			measurement = measurements.get(i);
+			key = signalIndexCache.getMeasurementKey(input.getSignalIndex(i));
+			
+			assertEquals(key.getSignalId(), measurement.getSignalId());
+			assertEquals(key.getSource(), measurement.getSource());
+			assertEquals(key.getId(), measurement.getId());
+			assertEquals(input.getValue(i), (float)measurement.getValue(), 0.0F);
+			assertEquals(input.getTimestamp(i), measurement.getTimestamp());
+			assertEquals(input.getFlags(i), measurement.getFlags());
+		}
+	}
+	
+	public void testFlagMapping()
+	{
+		int[] fullFlags = { CompactMeasurementParser.DataRangeMask, CompactMeasurementParser.DataQualityMask, CompactMeasurementParser.TimeQualityMask, CompactMeasurementParser.SystemIssueMask, CompactMeasurementParser.CalculatedValueMask, CompactMeasurementParser.DiscardedValueMask };
+		int[] compactFlags = { CompactMeasurementParser.CompactDataRangeFlag, CompactMeasurementParser.CompactDataQualityFlag, CompactMeasurementParser.CompactTimeQualityFlag, CompactMeasurementParser.CompactSystemIssueFlag, CompactMeasurementParser.CompactCalculatedValueFlag, CompactMeasurementParser.CompactDiscardedValueFlag };
+		
+		for (int i = 0; i < fullFlags.length; i++)
+		{
+			assertEquals(compactFlags[i], CompactMeasurementEncoder.mapToCompactFlags(fullFlags[i]));
+			assertEquals(fullFlags[i], CompactMeasurementFormat.mapToFullFlags((byte)compactFlags[i]));
+		}
+		
+		assertEquals(0, CompactMeasurementEncoder.mapToCompactFlags(0));
+		assertEquals(0, CompactMeasurementFormat.mapToFullFlags((byte)0));
+	}
+	
+	// Encodes a batch of measurements, parses them
+	// back, and checks that they were not changed.
+	private void assertRoundTrip(boolean includeTime, boolean useMillisecondResolution, long[] baseTimeOffsets)
+	{
+		SignalIndexCache signalIndexCache = createSignalIndexCache();
+		MeasurementBatch input = createBatch();
+		ByteBuffer buffer = encode(input, includeTime, useMillisecondResolution, baseTimeOffsets);
+		CompactMeasurementParser parser = new CompactMeasurementParser(signalIndexCache, baseTimeOffsets, includeTime, useMillisecondResolution);
+		MeasurementBatch output = new MeasurementBatch();
+		
+		assertEquals(input.size(), parser.parseMeasurements(buffer, output));
+		assertSame(signalIndexCache, output.getSignalIndexCache());
+		assertFalse(buffer.hasRemaining());
+		
+		for (int i = 0; i < input.size(); i++)
+			assertMeasurement(input, i, output, i, includeTime);
+	}
+	
+	// Checks that a parsed measurement matches the one that was encoded.
+	private void assertMeasurement(MeasurementBatch expected, int expectedIndex, MeasurementBatch actual, int actualIndex, boolean includeTime)
+	{
+		assertEquals(expected.getSignalIndex(expectedIndex), actual.getSignalIndex(actualIndex));
+		assertEquals(expected.getValue(expectedIndex), actual.getValue(actualIndex), 0.0F);
+		assertEquals(includeTime ? expected.getTimestamp(expectedIndex) : 0L, actual.getTimestamp(actualIndex));
+		assertEquals(expected.getFlags(expectedIndex), actual.getFlags(actualIndex));
+	}
+	
+	// Encodes the measurements in the given batch into a buffer ready to be parsed.
+	private static ByteBuffer encode(MeasurementBatch batch, boolean includeTime, boolean useMillisecondResolution, long[] baseTimeOffsets)
+	{
+		CompactMeasurementEncoder encoder = new CompactMeasurementEncoder(includeTime, useMillisecondResolution);
+		ByteBuffer buffer = ByteBuffer.allocate(batch.size() * 15);
+		
+		if (baseTimeOffsets != null)
+			encoder.setBaseTimeOffsets(baseTimeOffsets, 0);
+		
+		assertEquals(batch.size(), encoder.encode(buffer, batch, 0));
+		buffer.flip();
+		
+		return buffer;
+	}
+	
+	// Creates a signal index cache with a key for each signal.
+	private static SignalIndexCache createSignalIndexCache()
+	{
+		SignalIndexCache signalIndexCache = new SignalIndexCache();
+		
+		for (int signal = 0; signal < SignalCount; signal++)
+			signalIndexCache.addMeasurementKey((short)signal, new UUID(0L, signal), "TEST", signal + 1);
+		
+		return signalIndexCache;
+	}
+	
+	// Creates a batch of measurements with every combination of flags. Every
+	// fourth measurement precedes the base time, so it can only be encoded
+	// with a full timestamp. Timestamps are whole milliseconds so that they
+	// survive millisecond offsets.
+	private static MeasurementBatch createBatch()
+	{
+		MeasurementBatch batch = new MeasurementBatch();
+		long timestamp;
+		
+		for (int i = 0; i < MeasurementCount; i++)
+		{
+			if (i % 4 == 3)
+				timestamp = BaseTime - (i + 1) * TicksPerMillisecond;
+			else
+				timestamp = BaseTime + i * 7L * TicksPerMillisecond;
+			
+			batch.add((short)(i % SignalCount), i * 1.5F - 100.0F, timestamp, Flags[i % Flags.length]);
+		}
+		
+		return batch;
+	}
+	
+	private static final int SignalCount = 10;
+	private static final int MeasurementCount = 500;
+	
+	private static final long TicksPerMillisecond = 10000L;
+	private static final long BaseTime = 635000000000000000L;
+	
+	// Base time intervals which keep every offset from the base time in range.
+	private static final long TickBaseTimeInterval = 400L * 10000000L;
+	private static final long MillisecondBaseTimeInterval = 60L * 10000000L;
+	
+	private static final int[] Flags =
+	{
+		0,
+		CompactMeasurementParser.DataRangeMask,
+		CompactMeasurementParser.DataQualityMask | CompactMeasurementParser.CalculatedValueMask,
+		CompactMeasurementParser.TimeQualityMask | CompactMeasurementParser.SystemIssueMask,
+		CompactMeasurementParser.DiscardedValueMask,
+		CompactMeasurementParser.DataRangeMask | CompactMeasurementParser.DataQualityMask | CompactMeasurementParser.TimeQualityMask | CompactMeasurementParser.SystemIssueMask | CompactMeasurementParser.CalculatedValueMask | CompactMeasurementParser.DiscardedValueMask
+	};
+}
@@ -0,0 +1,204 @@
+//******************************************************************************************************
+//  CurrentValueTableTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.gpa.gsf.timeseries.Measurement;
+import org.gpa.gsf.timeseries.transport.constant.OverloadPolicy;
+import org.gpa.gsf.timeseries.transport.constant.ServerCommand;
+import org.gpa.gsf.timeseries.transport.event.MessageEvent;
+import org.gpa.gsf.timeseries.transport.event.SubscriberAdapter;
+import org.gpa.gsf.timeseries.util.TimeExtensions;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests that the {@link CurrentValueTable} holds the latest value of each
+ * signal, including while the subscriber's callback queue is full.
+ */
+public class CurrentValueTableTest extends TestCase
+{
+	public void testReadReturnsLastValueInBatch()
+	{
+		CurrentValueTable table = new CurrentValueTable();
+		SignalIndexCache cache = createCache(UUID.randomUUID());
+		MeasurementBatch batch = createBatch(cache);
+		Measurement measurement = new Measurement();
+		
+		batch.add((short)0, 1.0F, 100L, 0);
+		batch.add((short)0, 2.0F, 200L, 0);
+		table.update(batch);
+		
+		assertTrue(table.read((short)0, measurement));
+		assertEquals(2.0, measurement.getValue(), 0.0);
+		assertEquals(200L, measurement.getTimestamp());
+		assertEquals(2L, table.getUpdateCount((short)0));
+	}
+	
+	public void testUnknownSignalHasNoValue()
+	{
+		CurrentValueTable table = new CurrentValueTable();
+		Measurement measurement = new Measurement();
+		
+		assertFalse(table.read((short)0, measurement));
+		
+		table.update(createBatch(createCache(UUID.randomUUID())));
+		
+		assertFalse(table.read((short)0, measurement));
+		assertFalse(table.read((short)1, measurement));
+		assertEquals(0L, table.getUpdateCount((short)0));
+	}
+	
+	public void testNewCacheClearsOnlyChangedSignals()
+	{
+		CurrentValueTable table = new CurrentValueTable();
+		UUID signalId = UUID.randomUUID();
+		MeasurementBatch batch = createBatch(createCache(signalId));
+		Measurement measurement = new Measurement();
+		
+		batch.add((short)0, 1.0F, 100L, 0);
+		table.update(batch);
+		
+		// A new cache which maps the same signal keeps its value
+		table.update(createBatch(createCache(signalId)));
+		assertTrue(table.read((short)0, measurement));
+		assertEquals(signalId, measurement.getSignalId());
+		assertEquals(1.0, measurement.getValue(), 0.0);
+		
+		// Signal index zero now refers to a different signal
+		table.update(createBatch(createCache(UUID.randomUUID())));
+		assertFalse(table.read((short)0, measurement));
+	}
+	
+	public void testTableIsUpdatedWhileCallbackQueueIsFull() throws Exception
+	{
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		DataPublisher publisher = new DataPublisher();
+		NioSubscriberEngine engine = new NioSubscriberEngine(1);
+		DataSubscriber subscriber = new DataSubscriber();
+		CurrentValueTable table = new CurrentValueTable();
+		Measurement measurement = new Measurement();
+		short signalIndex = publisher.addSignal(UUID.randomUUID(), "TEST", 1);
+		float value = 0.0F;
+		long deadline;
+		
+		publisher.start(0);
+		
+		try
+		{
+			// The listener blocks on its first callback, so
+			// that the callback queue fills and stays full
+			subscriber.setNioEngine(engine);
+			subscriber.setCallbackQueueCapacity(QueueCapacity);
+			subscriber.setOverloadPolicy(OverloadPolicy.DropOldest);
+			subscriber.setCurrentValueTable(table);
+			subscriber.addSubscriberListener(new SubscriberAdapter()
+			{
+				@Override
+				public void exceptionEncountered(MessageEvent evt)
+				{
+					blocked.countDown();
+					
+					try
+					{
+						release.await(Timeout, TimeUnit.MILLISECONDS);
+					}
+					catch (InterruptedException ex)
+					{
+						Thread.currentThread().interrupt();
+					}
+				}
+			});
+			
+			subscriber.connect("localhost", publisher.getPort());
+			
+			// The publisher has no metadata, so each refresh fails. Queued
+			// exceptions cannot be discarded to make room for measurements.
+			for (int i = 0; i < QueueCapacity * 4; i++)
+				subscriber.sendServerCommand(ServerCommand.MetadataRefresh);
+			
+			assertTrue("Listener was never called", blocked.await(Timeout, TimeUnit.MILLISECONDS));
+			deadline = System.currentTimeMillis() + Timeout;
+			
+			// One slot is held by the callback being executed
+			while (subscriber.getCallbackQueueDepth() < QueueCapacity - 1 && System.currentTimeMillis() < deadline)
+				Thread.sleep(10L);
+			
+			assertEquals(QueueCapacity - 1, subscriber.getCallbackQueueDepth());
+			
+			subscriber.subscribe(new SubscriptionInfo());
+			deadline = System.currentTimeMillis() + Timeout;
+			
+			// Every packet is dropped, but the table must still see the newest value
+			while (!(table.read(signalIndex, measurement) && measurement.getValue() == value) && System.currentTimeMillis() < deadline)
+			{
+				value++;
+				publish(publisher, signalIndex, value);
+				Thread.sleep(10L);
+			}
+			
+			assertTrue(table.read(signalIndex, measurement));
+			assertEquals(value, measurement.getValue(), 0.0);
+			assertTrue(subscriber.getTotalMeasurementsDropped() > 0L);
+		}
+		finally
+		{
+			release.countDown();
+			subscriber.disconnect();
+			publisher.stop();
+			engine.shutdown();
+		}
+	}
+	
+	// Creates a signal index cache containing the given signal at index zero.
+	private static SignalIndexCache createCache(UUID signalId)
+	{
+		SignalIndexCache cache = new SignalIndexCache();
+		cache.addMeasurementKey((short)0, signalId, "TEST", 1);
+		return cache;
+	}
+	
+	// Creates an empty batch parsed with the given signal index cache.
+	private static MeasurementBatch createBatch(SignalIndexCache cache)
+	{
+		MeasurementBatch batch = new MeasurementBatch();
+		batch.setSignalIndexCache(cache);
+		return batch;
+	}
+	
+	// Publishes a single measurement with the given value.
+	private static void publish(DataPublisher publisher, short signalIndex, float value)
+	{
+		MeasurementBatch batch = new MeasurementBatch();
+		batch.add(signalIndex, value, TimeExtensions.millisToTicks(System.currentTimeMillis()), 0);
+		publisher.publish(batch);
+	}
+	
+	private static final int QueueCapacity = 4;
+	private static final long Timeout = 10000L;
+}
@@ -0,0 +1,331 @@
+//******************************************************************************************************
+//  DataPublisherTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.lang.reflect.Field;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import junit.framework.TestCase;
+
+import org.gpa.gsf.timeseries.MeasurementKey;
+import org.gpa.gsf.timeseries.transport.event.MeasurementBatchEvent;
+import org.gpa.gsf.timeseries.transport.event.SubscriberAdapter;
+import org.gpa.gsf.timeseries.util.TimeExtensions;
+
+/**
+ * Tests that measurements published by the {@link DataPublisher} reach a
+ * {@link DataSubscriber} unchanged, that a subscriber which stops reading is
+ * disconnected without holding up the others, and that the publisher recovers
+ * when its event loop shuts down on its own.
+ */
+public class DataPublisherTest extends TestCase
+{
+	private DataPublisher m_publisher;
+	private UUID[] m_signalIds;
+	
+	@Override
+	protected void setUp() throws Exception
+	{
+		m_publisher = new DataPublisher();
+		m_signalIds = new UUID[SignalCount];
+		
+		for (int i = 0; i < SignalCount; i++)
+		{
+			m_signalIds[i] = UUID.randomUUID();
+			assertEquals(i, m_publisher.addSignal(m_signalIds[i], "PPA", i + 1));
+		}
+		
+		m_publisher.start(0);
+	}
+	
+	@Override
+	protected void tearDown()
+	{
+		m_publisher.stop();
+	}
+	
+	public void testTickResolutionRoundTrip() throws Exception
+	{
+		assertRoundTrip(new SubscriptionInfo(), 1L);
+	}
+	
+	public void testMillisecondResolutionRoundTrip() throws Exception
+	{
+		SubscriptionInfo info = new SubscriptionInfo();
+		info.setMillisecondResolution(true);
+		assertRoundTrip(info, TicksPerMillisecond);
+	}
+	
+	public void testSlowSubscriberIsDisconnected() throws Exception
+	{
+		final CountDownLatch release = new CountDownLatch(1);
+		DataSubscriber slowSubscriber = new DataSubscriber();
+		DataSubscriber fastSubscriber = new DataSubscriber();
+		List<MeasurementBatch> fastBatches = Collections.synchronizedList(new ArrayList<MeasurementBatch>());
+		MeasurementBatch batch = new MeasurementBatch(LargeBatchSize);
+		long deadline;
+		int batchCount;
+		
+		// Blocks the slow subscriber's callback thread, so that once its
+		// callback queue is full it stops reading from the publisher
+		slowSubscriber.addSubscriberListener(new SubscriberAdapter()
+		{
+			@Override
+			public void newMeasurementBatchReceived(MeasurementBatchEvent evt)
+			{
+				try
+				{
+					release.await();
+				}
+				catch (InterruptedException ex)
+				{
+					Thread.currentThread().interrupt();
+				}
+			}
+		});
+		
+		fastSubscriber.addSubscriberListener(collectBatches(fastBatches));
+		
+		try
+		{
+			subscribe(slowSubscriber, new SubscriptionInfo());
+			subscribe(fastSubscriber, new SubscriptionInfo());
+			deadline = System.currentTimeMillis() + Timeout;
+			
+			while (m_publisher.getSubscriberCount() > 1 && System.currentTimeMillis() < deadline)
+			{
+				createBatch(batch, 0, TimeExtensions.millisToTicks(System.currentTimeMillis()), LargeBatchSize);
+				m_publisher.publish(batch);
+			}
+			
+			assertEquals(1, m_publisher.getSubscriberCount());
+			
+			// The remaining subscriber still receives data
+			batchCount = fastBatches.size();
+			
+			while (fastBatches.size() == batchCount && System.currentTimeMillis() < deadline)
+			{
+				createBatch(batch, 0, TimeExtensions.millisToTicks(System.currentTimeMillis()), 1);
+				m_publisher.publish(batch);
+				Thread.sleep(10L);
+			}
+			
+			assertTrue(fastBatches.size() > batchCount);
+			assertTrue(fastSubscriber.isConnected());
+		}
+		finally
+		{
+			release.countDown();
+			slowSubscriber.disconnect();
+			fastSubscriber.disconnect();
+		}
+	}
+	
+	public void testPublisherRecoversWhenEventLoopFails() throws Exception
+	{
+		MeasurementBatch batch = new MeasurementBatch();
+		DataSubscriber subscriber = new DataSubscriber();
+		Field selectorField = DataPublisher.class.getDeclaredField("m_selector");
+		long deadline = System.currentTimeMillis() + Timeout;
+		int port = m_publisher.getPort();
+		
+		subscribe(subscriber, new SubscriptionInfo());
+		subscriber.disconnect();
+		
+		// Closing the selector out from under the
+		// event loop makes it fail on its next select
+		selectorField.setAccessible(true);
+		((Selector)selectorField.get(m_publisher)).close();
+		
+		while (m_publisher.isRunning() && System.currentTimeMillis() < deadline)
+			Thread.sleep(10L);
+		
+		assertFalse(m_publisher.isRunning());
+		assertEquals(-1, m_publisher.getPort());
+		
+		// Publishing after the failure neither blocks nor throws
+		for (int i = 0; i < 10; i++)
+		{
+			createBatch(batch, 0, BaseTime, LargeBatchSize);
+			m_publisher.publish(batch);
+		}
+		
+		m_publisher.stop();
+		m_publisher.start(port);
+		
+		assertTrue(m_publisher.isRunning());
+		assertRoundTrip(new SubscriptionInfo(), 1L);
+	}
+	
+	// Publishes batches to a new subscription and checks that every
+	// measurement arrives with its signal ID, value and timestamp,
+	// to within the given timestamp resolution.
+	private void assertRoundTrip(SubscriptionInfo info, long resolution) throws Exception
+	{
+		DataSubscriber subscriber = new DataSubscriber();
+		List<MeasurementBatch> batches = Collections.synchronizedList(new ArrayList<MeasurementBatch>());
+		MeasurementBatch batch = new MeasurementBatch();
+		MeasurementBatch received = new MeasurementBatch();
+		long deadline = System.currentTimeMillis() + Timeout;
+		long startTime = TimeExtensions.millisToTicks(System.currentTimeMillis());
+		MeasurementKey key;
+		int batchNumber;
+		int signalIndex;
+		
+		subscriber.addSubscriberListener(collectBatches(batches));
+		
+		try
+		{
+			subscribe(subscriber, info);
+			
+			// Published batches are discarded until the
+			// subscription is active, so wait for the first
+			while (batches.isEmpty() && System.currentTimeMillis() < deadline)
+			{
+				createBatch(batch, 0, startTime, SignalCount);
+				m_publisher.publish(batch);
+				Thread.sleep(10L);
+			}
+			
+			for (int i = 1; i <= BatchCount; i++)
+			{
+				createBatch(batch, i, getTimestamp(startTime, i), SignalCount);
+				m_publisher.publish(batch);
+			}
+			
+			while (collectPublished(batches, startTime, received) < BatchCount * SignalCount && System.currentTimeMillis() < deadline)
+				Thread.sleep(10L);
+		}
+		finally
+		{
+			subscriber.disconnect();
+		}
+		
+		assertEquals(BatchCount * SignalCount, received.size());
+		
+		for (int i = 0; i < received.size(); i++)
+		{
+			batchNumber = i / SignalCount + 1;
+			signalIndex = i % SignalCount;
+			key = received.getMeasurementKey(i);
+			
+			assertEquals(m_signalIds[signalIndex], key.getSignalId());
+			assertEquals(signalIndex + 1, key.getId());
+			assertEquals(getValue(batchNumber, signalIndex), received.getValue(i), 0.0F);
+			assertEquals(roundDown(getTimestamp(startTime, batchNumber), resolution), received.getTimestamp(i));
+		}
+	}
+	
+	// Collects the measurements received after the given start time, which
+	// leaves out those published while waiting for the subscription to start.
+	// Returns the number of measurements collected.
+	private static int collectPublished(List<MeasurementBatch> batches, long startTime, MeasurementBatch received)
+	{
+		received.clear();
+		
+		synchronized (batches)
+		{
+			for (MeasurementBatch batch : batches)
+			{
+				received.setSignalIndexCache(batch.getSignalIndexCache());
+				
+				for (int i = 0; i < batch.size(); i++)
+				{
+					if (batch.getTimestamp(i) > startTime)
+						received.add(batch, i);
+				}
+			}
+		}
+		
+		return received.size();
+	}
+	
+	// Connects the subscriber to the publisher and subscribes.
+	private void subscribe(DataSubscriber subscriber, SubscriptionInfo info) throws Exception
+	{
+		subscriber.connect("localhost", m_publisher.getPort());
+		subscriber.subscribe(info);
+	}
+	
+	// Fills the batch with measurements of consecutive signals at the given timestamp.
+	private static void createBatch(MeasurementBatch batch, int batchNumber, long timestamp, int size)
+	{
+		batch.clear();
+		
+		for (int i = 0; i < size; i++)
+			batch.add((short)(i % SignalCount), getValue(batchNumber, i % SignalCount), timestamp, 0);
+	}
+	
+	// Gets a value which identifies a measurement within a published sequence.
+	private static float getValue(int batchNumber, int signalIndex)
+	{
+		return batchNumber * 10.0F + signalIndex;
+	}
+	
+	// Gets the timestamp of a published batch, which is not
+	// a whole number of milliseconds after the start time.
+	private static long getTimestamp(long startTime, int batchNumber)
+	{
+		return startTime + batchNumber * TicksPerSecond / BatchCount + 1234L;
+	}
+	
+	// Rounds the timestamp down to the given resolution.
+	private static long roundDown(long timestamp, long resolution)
+	{
+		return timestamp - timestamp % resolution;
+	}
+	
+	// Creates a listener which keeps a copy of each batch delivered by a subscriber.
+	private static SubscriberAdapter collectBatches(final List<MeasurementBatch> batches)
+	{
+		return new SubscriberAdapter()
+		{
+			@Override
+			public void newMeasurementBatchReceived(MeasurementBatchEvent evt)
+			{
+				MeasurementBatch batch = evt.getBatch();
+				MeasurementBatch copy = new MeasurementBatch(batch.size());
+				
+				for (int i = 0; i < batch.size(); i++)
+					copy.add(batch, i);
+				
+				copy.setSignalIndexCache(batch.getSignalIndexCache());
+				batches.add(copy);
+			}
+		};
+	}
+	
+	private static final int SignalCount = 3;
+	private static final int BatchCount = 50;
+	private static final int LargeBatchSize = 5000;
+	private static final long BaseTime = 635000000000000000L;
+	private static final long TicksPerSecond = 10000000L;
+	private static final long TicksPerMillisecond = 10000L;
+	private static final long Timeout = 10000L;
+}
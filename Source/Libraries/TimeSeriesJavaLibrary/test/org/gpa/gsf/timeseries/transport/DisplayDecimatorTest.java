@@ -0,0 +1,378 @@
+//******************************************************************************************************
+//  DisplayDecimatorTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.gpa.gsf.timeseries.transport.constant.DecimationMethod;
+import org.gpa.gsf.timeseries.transport.event.DisplayListener;
+import org.gpa.gsf.timeseries.transport.event.MeasurementBatchEvent;
+import org.gpa.gsf.timeseries.util.TimeExtensions;
+
+/**
+ * Tests the display points published by the {@link DisplayDecimator}
+ * against points selected directly from each signal's measurements.
+ */
+public class DisplayDecimatorTest extends TestCase
+{
+	public void testMinMaxMatchesDirectSelection()
+	{
+		DisplayDecimator decimator = new DisplayDecimator(PointsPerSecond, DecimationMethod.MinMax);
+		MeasurementBatch measurements = createMeasurements();
+		MeasurementBatch points = decimate(decimator, measurements);
+		
+		for (int signal = 0; signal < SignalCount; signal++)
+			assertPoints(selectMinMax(measurements, signal, getBucketTicks(DecimationMethod.MinMax)), points, signal);
+		
+		assertEquals(measurements.size(), decimator.getReceivedMeasurementCount());
+		assertEquals(points.size(), decimator.getPublishedPointCount());
+	}
+	
+	public void testLargestTriangleMatchesDirectSelection()
+	{
+		assertLargestTriangleMatches(64);
+	}
+	
+	public void testLargestTriangleWithFullBuckets()
+	{
+		assertLargestTriangleMatches(4);
+	}
+	
+	public void testLateAndFutureMeasurementsAreDiscarded()
+	{
+		DisplayDecimator decimator = new DisplayDecimator(PointsPerSecond, DecimationMethod.MinMax);
+		MeasurementBatch batch = new MeasurementBatch();
+		long now = TimeExtensions.getLocalClockTicks();
+		MeasurementBatch points;
+		
+		batch.add((short)0, 1.0F, BaseTime, 0);
+		batch.add((short)0, 2.0F, BaseTime + TicksPerSecond, 0);
+		batch.add((short)0, 3.0F, BaseTime, 0);
+		batch.add((short)0, 4.0F, now + 3600L * TicksPerSecond, 0);
+		points = decimate(decimator, batch);
+		
+		assertEquals(1L, decimator.getLateMeasurementCount());
+		assertEquals(1L, decimator.getFutureMeasurementCount());
+		assertEquals(2, points.size());
+		assertEquals(1.0F, points.getValue(0), 0.0F);
+		assertEquals(2.0F, points.getValue(1), 0.0F);
+	}
+	
+	public void testLeadTimeCanBeChanged()
+	{
+		DisplayDecimator decimator = new DisplayDecimator(PointsPerSecond, DecimationMethod.MinMax);
+		MeasurementBatch batch = new MeasurementBatch();
+		
+		assertEquals(5.0D, decimator.getLeadTime(), 0.0D);
+		decimator.setLeadTime(7200.0D);
+		assertEquals(7200.0D, decimator.getLeadTime(), 0.0D);
+		
+		batch.add((short)0, 1.0F, TimeExtensions.getLocalClockTicks() + 3600L * TicksPerSecond, 0);
+		decimator.decimate(batch);
+		assertEquals(0L, decimator.getFutureMeasurementCount());
+		
+		try
+		{
+			decimator.setLeadTime(0.0D);
+			fail("Expected IllegalArgumentException");
+		}
+		catch (IllegalArgumentException ex)
+		{
+			// Expected
+		}
+	}
+	
+	public void testFlushBeforeFirstMeasurement()
+	{
+		assertNothingFlushed(DecimationMethod.MinMax);
+		assertNothingFlushed(DecimationMethod.LargestTriangleThreeBuckets);
+	}
+	
+	// Flushes a decimator of the given method before any measurement has
+	// started a bucket and checks that no display points are published.
+	private void assertNothingFlushed(int decimationMethod)
+	{
+		DisplayDecimator decimator = new DisplayDecimator(PointsPerSecond, decimationMethod);
+		MeasurementBatch batch = new MeasurementBatch();
+		MeasurementBatch points;
+		
+		decimator.flush();
+		
+		// A batch whose only measurement is rejected does not start a bucket
+		batch.add((short)0, 1.0F, TimeExtensions.getLocalClockTicks() + 3600L * TicksPerSecond, 0);
+		points = decimate(decimator, batch);
+		
+		assertEquals(0, points.size());
+		assertEquals(0L, decimator.getPublishedPointCount());
+		assertEquals(1L, decimator.getFutureMeasurementCount());
+	}
+	
+	// Decimates the measurements with the Largest-Triangle-Three-Buckets
+	// method and compares the points of each signal to a direct selection.
+	private void assertLargestTriangleMatches(int bucketCapacity)
+	{
+		DisplayDecimator decimator = new DisplayDecimator(PointsPerSecond, DecimationMethod.LargestTriangleThreeBuckets, bucketCapacity);
+		MeasurementBatch measurements = createMeasurements();
+		MeasurementBatch points = decimate(decimator, measurements);
+		
+		for (int signal = 0; signal < SignalCount; signal++)
+			assertPoints(selectLargestTriangles(measurements, signal, getBucketTicks(DecimationMethod.LargestTriangleThreeBuckets), bucketCapacity), points, signal);
+	}
+	
+	// Checks that the display points of the given signal match the expected points, in order.
+	private void assertPoints(MeasurementBatch expected, MeasurementBatch points, int signal)
+	{
+		int position = 0;
+		
+		for (int i = 0; i < points.size(); i++)
+		{
+			if (points.getSignalIndex(i) != signal)
+				continue;
+			
+			assertTrue(position < expected.size());
+			assertEquals(expected.getTimestamp(position), points.getTimestamp(i));
+			assertEquals(expected.getValue(position), points.getValue(i), 0.0F);
+			assertEquals(expected.getFlags(position), points.getFlags(i));
+			position++;
+		}
+		
+		assertEquals(expected.size(), position);
+	}
+	
+	// Feeds the measurements to the decimator in batches that do not line up
+	// with the buckets, flushes it, and returns every display point published.
+	private static MeasurementBatch decimate(DisplayDecimator decimator, MeasurementBatch measurements)
+	{
+		final MeasurementBatch points = new MeasurementBatch();
+		MeasurementBatch batch = new MeasurementBatch();
+		
+		decimator.addDisplayListener(new DisplayListener()
+		{
+			@Override
+			public void displayPointsReceived(MeasurementBatchEvent evt)
+			{
+				for (int i = 0; i < evt.getBatch().size(); i++)
+					points.add(evt.getBatch(), i);
+			}
+		});
+		
+		for (int i = 0; i < measurements.size(); i++)
+		{
+			batch.add(measurements, i);
+			
+			if (batch.size() == 23)
+			{
+				decimator.decimate(batch);
+				batch.clear();
+			}
+		}
+		
+		decimator.decimate(batch);
+		decimator.flush();
+		
+		return points;
+	}
+	
+	// Selects the smallest and largest value of each bucket of the signal, in time order.
+	private static MeasurementBatch selectMinMax(MeasurementBatch measurements, int signal, long bucketTicks)
+	{
+		MeasurementBatch points = new MeasurementBatch();
+		int minimum;
+		int maximum;
+		
+		for (List<Integer> bucket : getBuckets(measurements, signal, bucketTicks))
+		{
+			minimum = bucket.get(0);
+			maximum = bucket.get(0);
+			
+			for (int index : bucket)
+			{
+				if (measurements.getValue(index) < measurements.getValue(minimum))
+					minimum = index;
+				
+				if (measurements.getValue(index) > measurements.getValue(maximum))
+					maximum = index;
+			}
+			
+			if (minimum == maximum)
+			{
+				points.add(measurements, minimum);
+			}
+			else if (measurements.getTimestamp(minimum) <= measurements.getTimestamp(maximum))
+			{
+				points.add(measurements, minimum);
+				points.add(measurements, maximum);
+			}
+			else
+			{
+				points.add(measurements, maximum);
+				points.add(measurements, minimum);
+			}
+		}
+		
+		return points;
+	}
+	
+	// Selects the point of each bucket of the signal which forms the largest triangle with
+	// the point selected from the previous bucket and the average of the next bucket. Only
+	// the first measurements of each bucket, up to the bucket capacity, can be selected.
+	// The first bucket keeps its first point, and the last bucket keeps its last candidate.
+	private static MeasurementBatch selectLargestTriangles(MeasurementBatch measurements, int signal, long bucketTicks, int bucketCapacity)
+	{
+		MeasurementBatch points = new MeasurementBatch();
+		List<List<Integer>> buckets = getBuckets(measurements, signal, bucketTicks);
+		List<Integer> bucket;
+		List<Integer> nextBucket;
+		long nextBucketStart;
+		double timeSum;
+		double valueSum;
+		long averageTime;
+		double averageValue;
+		long anchorTime = 0L;
+		double anchorValue = 0.0D;
+		int selected;
+		double largestArea;
+		double area;
+		int index;
+		int last;
+		
+		for (int k = 0; k < buckets.size() - 1; k++)
+		{
+			bucket = buckets.get(k);
+			nextBucket = buckets.get(k + 1);
+			nextBucketStart = measurements.getTimestamp(nextBucket.get(0)) / bucketTicks * bucketTicks;
+			timeSum = 0.0D;
+			valueSum = 0.0D;
+			
+			for (int i = 0; i < nextBucket.size(); i++)
+			{
+				index = nextBucket.get(i);
+				timeSum += measurements.getTimestamp(index) - nextBucketStart;
+				valueSum += measurements.getValue(index);
+			}
+			
+			averageTime = nextBucketStart + (long)(timeSum / nextBucket.size());
+			averageValue = valueSum / nextBucket.size();
+			selected = bucket.get(0);
+			largestArea = -1.0D;
+			
+			for (int i = 0; k > 0 && i < Math.min(bucket.size(), bucketCapacity); i++)
+			{
+				index = bucket.get(i);
+				area = Math.abs((measurements.getTimestamp(index) - anchorTime) * (averageValue - anchorValue) - (double)(averageTime - anchorTime) * (measurements.getValue(index) - anchorValue));
+				
+				if (area > largestArea)
+				{
+					largestArea = area;
+					selected = index;
+				}
+			}
+			
+			points.add(measurements, selected);
+			anchorTime = measurements.getTimestamp(selected);
+			anchorValue = measurements.getValue(selected);
+		}
+		
+		bucket = buckets.get(buckets.size() - 1);
+		last = bucket.get(Math.min(bucket.size(), bucketCapacity) - 1);
+		
+		if (buckets.size() == 1 || measurements.getTimestamp(last) != anchorTime)
+			points.add(measurements, last);
+		
+		return points;
+	}
+	
+	// Groups the positions of the signal's measurements by bucket, in time order.
+	private static List<List<Integer>> getBuckets(MeasurementBatch measurements, int signal, long bucketTicks)
+	{
+		List<List<Integer>> buckets = new ArrayList<List<Integer>>();
+		List<Integer> bucket = null;
+		long currentBucket = Long.MIN_VALUE;
+		
+		for (int i = 0; i < measurements.size(); i++)
+		{
+			if (measurements.getSignalIndex(i) != signal)
+				continue;
+			
+			if (measurements.getTimestamp(i) / bucketTicks != currentBucket)
+			{
+				currentBucket = measurements.getTimestamp(i) / bucketTicks;
+				bucket = new ArrayList<Integer>();
+				buckets.add(bucket);
+			}
+			
+			bucket.add(i);
+		}
+		
+		return buckets;
+	}
+	
+	// Gets the length of the buckets used by the given decimation method.
+	private static long getBucketTicks(int decimationMethod)
+	{
+		if (decimationMethod == DecimationMethod.MinMax)
+			return (long)(2.0D * TicksPerSecond / PointsPerSecond);
+		
+		return (long)(TicksPerSecond / PointsPerSecond);
+	}
+	
+	// Creates three seconds of measurements for each signal, about 7 milliseconds
+	// apart, following a noisy sine wave. Some seconds of each signal are skipped,
+	// leaving empty buckets, and every tenth measurement is flagged as bad.
+	private static MeasurementBatch createMeasurements()
+	{
+		MeasurementBatch measurements = new MeasurementBatch();
+		Random random = new Random(5L);
+		long timestamp;
+		float value;
+		
+		for (int i = 0; i < 430; i++)
+		{
+			for (int signal = 0; signal < SignalCount; signal++)
+			{
+				if (signal == 1 && i >= 150 && i < 200)
+					continue;
+				
+				timestamp = BaseTime + i * 7L * TicksPerMillisecond + random.nextInt(20000);
+				value = (float)(Math.sin(i / 20.0D + signal) * 100.0D + random.nextGaussian() * 5.0D);
+				measurements.add((short)signal, value, timestamp, (i % 10 == 0) ? CompactMeasurementParser.DataQualityMask : 0);
+			}
+		}
+		
+		return measurements;
+	}
+	
+	private static final int SignalCount = 2;
+	private static final double PointsPerSecond = 10.0D;
+	
+	private static final long TicksPerMillisecond = 10000L;
+	private static final long TicksPerSecond = 10000000L;
+	
+	// A time on a whole second, in ticks.
+	private static final long BaseTime = 635000000000000000L;
+}
@@ -0,0 +1,197 @@
+//******************************************************************************************************
+//  FrameAssemblerTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import junit.framework.TestCase;
+
+import org.gpa.gsf.timeseries.transport.event.FrameEvent;
+import org.gpa.gsf.timeseries.transport.event.FrameListener;
+import org.gpa.gsf.timeseries.util.TimeExtensions;
+
+/**
+ * Tests that the {@link FrameAssembler} groups measurements into
+ * frames and publishes them in order once their lag time expires.
+ */
+public class FrameAssemblerTest extends TestCase
+{
+	public void testMeasurementsAreGroupedIntoFrames()
+	{
+		FrameAssembler assembler = new FrameAssembler(10, 0.5D, 1.0D);
+		List<Frame> frames = collectFrames(assembler);
+		MeasurementBatch batch = new MeasurementBatch();
+		
+		batch.add((short)0, 1.0F, BaseTime, 0);
+		batch.add((short)1, 2.0F, BaseTime + FrameTicks, 0);
+		batch.add((short)0, 3.0F, BaseTime + FrameTicks, 0);
+		assembler.assemble(batch);
+		
+		// Nothing is published until real time passes the lag time
+		assertEquals(0, frames.size());
+		assertEquals(3, assembler.getPendingMeasurementCount());
+		
+		batch.clear();
+		batch.add((short)0, 4.0F, BaseTime + TicksPerSecond, 0);
+		assembler.assemble(batch);
+		
+		assertEquals(2, frames.size());
+		assertEquals(BaseTime, frames.get(0).m_timestamp);
+		assertEquals(1, frames.get(0).m_size);
+		assertEquals(BaseTime + FrameTicks, frames.get(1).m_timestamp);
+		assertEquals(2, frames.get(1).m_size);
+		assertEquals(1, assembler.getPendingMeasurementCount());
+		assertEquals(2L, assembler.getPublishedFrameCount());
+	}
+	
+	public void testMeasurementsAreAssignedToNearestFrame()
+	{
+		FrameAssembler assembler = new FrameAssembler(10, 0.5D, 1.0D);
+		List<Frame> frames = collectFrames(assembler);
+		MeasurementBatch batch = new MeasurementBatch();
+		
+		batch.add((short)0, 1.0F, BaseTime + FrameTicks * 4L / 10L, 0);
+		batch.add((short)1, 2.0F, BaseTime + FrameTicks * 6L / 10L, 0);
+		assembler.assemble(batch);
+		assembler.flush();
+		
+		assertEquals(2, frames.size());
+		assertEquals(BaseTime, frames.get(0).m_timestamp);
+		assertEquals(BaseTime + FrameTicks, frames.get(1).m_timestamp);
+	}
+	
+	public void testLateMeasurementsAreCounted()
+	{
+		FrameAssembler assembler = new FrameAssembler(10, 0.5D, 1.0D);
+		List<Frame> frames = collectFrames(assembler);
+		MeasurementBatch batch = new MeasurementBatch();
+		
+		batch.add((short)0, 1.0F, BaseTime, 0);
+		batch.add((short)0, 2.0F, BaseTime + TicksPerSecond, 0);
+		assembler.assemble(batch);
+		
+		batch.clear();
+		batch.add((short)1, 3.0F, BaseTime, 0);
+		assembler.assemble(batch);
+		
+		assertEquals(1, frames.size());
+		assertEquals(1, frames.get(0).m_size);
+		assertEquals(1L, assembler.getLateMeasurementCount());
+	}
+	
+	public void testFutureMeasurementsAreDiscarded()
+	{
+		FrameAssembler assembler = new FrameAssembler(10, 0.5D, 1.0D);
+		MeasurementBatch batch = new MeasurementBatch();
+		long now = TimeExtensions.millisToTicks(System.currentTimeMillis());
+		
+		batch.add((short)0, 1.0F, now + 3600L * TicksPerSecond, 0);
+		assembler.assemble(batch);
+		
+		assertEquals(1L, assembler.getDiscardedMeasurementCount());
+		assertEquals(0, assembler.getPendingMeasurementCount());
+	}
+	
+	public void testFlushPublishesPendingFrames()
+	{
+		FrameAssembler assembler = new FrameAssembler(10, 0.5D, 1.0D);
+		List<Frame> frames = collectFrames(assembler);
+		MeasurementBatch batch = new MeasurementBatch();
+		
+		batch.add((short)0, 1.0F, BaseTime, 0);
+		batch.add((short)0, 2.0F, BaseTime + FrameTicks, 0);
+		assembler.assemble(batch);
+		assembler.flush();
+		
+		assertEquals(2, frames.size());
+		assertEquals(0, assembler.getPendingMeasurementCount());
+		
+		// The next measurement starts a new sequence of frames
+		batch.clear();
+		batch.add((short)0, 3.0F, BaseTime, 0);
+		assembler.assemble(batch);
+		
+		assertEquals(0L, assembler.getLateMeasurementCount());
+		assertEquals(1, assembler.getPendingMeasurementCount());
+	}
+	
+	public void testPendingMeasurementsAreDiscardedWhenSignalIndexCacheChanges()
+	{
+		FrameAssembler assembler = new FrameAssembler(10, 0.5D, 1.0D);
+		List<Frame> frames = collectFrames(assembler);
+		MeasurementBatch batch = new MeasurementBatch();
+		
+		batch.add((short)0, 1.0F, BaseTime, 0);
+		assembler.assemble(batch);
+		
+		batch.clear();
+		batch.setSignalIndexCache(new SignalIndexCache());
+		batch.getSignalIndexCache().addMeasurementKey((short)0, UUID.randomUUID(), "TEST", 1);
+		batch.add((short)0, 2.0F, BaseTime + FrameTicks, 0);
+		assembler.assemble(batch);
+		assembler.flush();
+		
+		assertEquals(1, frames.size());
+		assertEquals(BaseTime + FrameTicks, frames.get(0).m_timestamp);
+		assertEquals(1L, assembler.getDiscardedMeasurementCount());
+	}
+	
+	// Records the timestamp and size of every frame published by the assembler.
+	private static List<Frame> collectFrames(FrameAssembler assembler)
+	{
+		final List<Frame> frames = new ArrayList<Frame>();
+		
+		assembler.addFrameListener(new FrameListener()
+		{
+			@Override
+			public void frameReceived(FrameEvent evt)
+			{
+				frames.add(new Frame(evt.getTimestamp(), evt.getBatch().size()));
+			}
+		});
+		
+		return frames;
+	}
+	
+	// Summary of a published frame, whose batch is reused once it has been published.
+	private static class Frame
+	{
+		private long m_timestamp;
+		private int m_size;
+		
+		public Frame(long timestamp, int size)
+		{
+			m_timestamp = timestamp;
+			m_size = size;
+		}
+	}
+	
+	private static final long TicksPerSecond = 10000000L;
+	
+	private static final long FrameTicks = TicksPerSecond / 10L;
+	
+	private static final long BaseTime = 635000000000000000L;
+}
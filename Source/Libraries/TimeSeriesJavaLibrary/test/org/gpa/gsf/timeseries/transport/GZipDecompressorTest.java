@@ -0,0 +1,210 @@
+//******************************************************************************************************
+//  GZipDecompressorTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests that the {@link GZipDecompressor} inflates GZIP payloads
+ * correctly, and that it does not trust the size in the trailer.
+ */
+public class GZipDecompressorTest extends TestCase
+{
+	public void testDecompressSmallPayload() throws IOException
+	{
+		assertDecompressed(createData(1000), false);
+	}
+	
+	public void testDecompressPayloadLargerThanInitialBuffer() throws IOException
+	{
+		assertDecompressed(createData(300000), false);
+	}
+	
+	public void testDecompressDirectBuffer() throws IOException
+	{
+		assertDecompressed(createData(100000), true);
+	}
+	
+	public void testDecompressorIsReusable() throws IOException
+	{
+		GZipDecompressor decompressor = new GZipDecompressor(new BufferPool(false));
+		byte[] large = createData(200000);
+		byte[] small = createData(500);
+		
+		assertEquals(large, decompressor.decompress(ByteBuffer.wrap(compress(large))));
+		assertEquals(small, decompressor.decompress(ByteBuffer.wrap(compress(small))));
+		decompressor.releaseBuffers();
+		assertEquals(large, decompressor.decompress(ByteBuffer.wrap(compress(large))));
+		decompressor.close();
+	}
+	
+	public void testOpenStream() throws IOException
+	{
+		GZipDecompressor decompressor = new GZipDecompressor(new BufferPool(false));
+		byte[] data = createData(150000);
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		InputStream stream = decompressor.openStream(ByteBuffer.wrap(compress(data)));
+		byte[] chunk = new byte[4096];
+		int length;
+		
+		while ((length = stream.read(chunk)) >= 0)
+			output.write(chunk, 0, length);
+		
+		assertTrue(Arrays.equals(data, output.toByteArray()));
+		decompressor.close();
+	}
+	
+	public void testCorruptChecksumIsRejected() throws IOException
+	{
+		GZipDecompressor decompressor = new GZipDecompressor(new BufferPool(false));
+		byte[] compressed = compress(createData(1000));
+		
+		compressed[compressed.length - 8] ^= 0x01;
+		
+		try
+		{
+			decompressor.decompress(ByteBuffer.wrap(compressed));
+			fail("Corrupt checksum was not detected");
+		}
+		catch (ZipException ex)
+		{
+			// Expected
+		}
+	}
+	
+	public void testImplausibleSizeIsNotPreallocated() throws IOException
+	{
+		BufferPool bufferPool = new BufferPool(false);
+		GZipDecompressor decompressor = new GZipDecompressor(bufferPool);
+		byte[] compressed = compress(createData(100));
+		
+		// Claim that a payload of a few dozen bytes inflates to 256 MB
+		writeSize(compressed, 256 * 1024 * 1024);
+		
+		try
+		{
+			decompressor.decompress(ByteBuffer.wrap(compressed));
+			fail("Size mismatch was not detected");
+		}
+		catch (ZipException ex)
+		{
+			// Expected
+		}
+		
+		assertEquals(0L, bufferPool.getUnpooledCount());
+		assertEquals(1L, bufferPool.getAllocationCount());
+	}
+	
+	public void testLargeSizeHintIsCapped() throws IOException
+	{
+		BufferPool bufferPool = new BufferPool(false);
+		GZipDecompressor decompressor = new GZipDecompressor(bufferPool);
+		byte[] data = new byte[20 * 1024 * 1024];
+		
+		// Highly compressible data of a plausible size is still inflated
+		// correctly, but without allocating its full size up front
+		assertEquals(data, decompressor.decompress(ByteBuffer.wrap(compress(data))));
+		assertTrue(bufferPool.getUnpooledCount() > 0L);
+		assertTrue(bufferPool.getAllocationCount() > 1L);
+	}
+	
+	// Compresses the given data, decompresses it, and verifies the result.
+	private static void assertDecompressed(byte[] data, boolean direct) throws IOException
+	{
+		GZipDecompressor decompressor = new GZipDecompressor(new BufferPool(false));
+		byte[] compressed = compress(data);
+		ByteBuffer compressedBuffer;
+		
+		if (direct)
+		{
+			compressedBuffer = ByteBuffer.allocateDirect(compressed.length);
+			compressedBuffer.put(compressed);
+			compressedBuffer.flip();
+		}
+		else
+		{
+			// Offset the payload to make sure the array offset is honored
+			compressedBuffer = ByteBuffer.allocate(compressed.length + 16);
+			compressedBuffer.position(16);
+			compressedBuffer = compressedBuffer.slice();
+			compressedBuffer.put(compressed);
+			compressedBuffer.flip();
+		}
+		
+		assertEquals(data, decompressor.decompress(compressedBuffer));
+		assertEquals(0, compressedBuffer.position());
+		decompressor.close();
+	}
+	
+	// Verifies that the given buffer contains exactly the given data.
+	private static void assertEquals(byte[] expected, ByteBuffer actual)
+	{
+		byte[] bytes = new byte[actual.remaining()];
+		
+		actual.duplicate().get(bytes);
+		assertTrue(Arrays.equals(expected, bytes));
+	}
+	
+	// Creates data which compresses moderately well.
+	private static byte[] createData(int length)
+	{
+		Random random = new Random(length);
+		byte[] data = new byte[length];
+		
+		for (int i = 0; i < length; i++)
+			data[i] = (byte)('a' + random.nextInt(8));
+		
+		return data;
+	}
+	
+	// Compresses data using GZIP.
+	private static byte[] compress(byte[] data) throws IOException
+	{
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		GZIPOutputStream gzipStream = new GZIPOutputStream(stream);
+		
+		gzipStream.write(data);
+		gzipStream.close();
+		
+		return stream.toByteArray();
+	}
+	
+	// Overwrites the decompressed size in the GZIP trailer.
+	private static void writeSize(byte[] compressed, int size)
+	{
+		int offset = compressed.length - 4;
+		
+		for (int i = 0; i < 4; i++)
+			compressed[offset + i] = (byte)(size >>> (8 * i));
+	}
+}
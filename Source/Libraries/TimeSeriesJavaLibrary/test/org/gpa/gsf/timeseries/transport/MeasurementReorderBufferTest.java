@@ -0,0 +1,175 @@
+//******************************************************************************************************
+//  MeasurementReorderBufferTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests that the {@link MeasurementReorderBuffer} releases
+ * measurements in timestamp order.
+ */
+public class MeasurementReorderBufferTest extends TestCase
+{
+	public void testReleasesInTimestampOrder()
+	{
+		MeasurementReorderBuffer buffer = new MeasurementReorderBuffer(8);
+		MeasurementBatch output = new MeasurementBatch();
+		long[] timestamps = { 50L, 10L, 40L, 20L, 30L };
+		
+		for (int i = 0; i < timestamps.length; i++)
+			assertTrue(buffer.add((short)i, i, timestamps[i], i, output));
+		
+		assertEquals(0, output.size());
+		assertEquals(timestamps.length, buffer.size());
+		
+		buffer.releaseAll(output);
+		
+		assertTimestamps(output, 10L, 20L, 30L, 40L, 50L);
+		assertEquals(0, buffer.size());
+		
+		// Each measurement keeps its own value, index and flags
+		assertEquals(1, output.getSignalIndex(0));
+		assertEquals(1.0F, output.getValue(0), 0.0F);
+		assertEquals(1, output.getFlags(0));
+	}
+	
+	public void testEqualTimestampsKeepArrivalOrder()
+	{
+		MeasurementReorderBuffer buffer = new MeasurementReorderBuffer(8);
+		MeasurementBatch output = new MeasurementBatch();
+		
+		buffer.add((short)0, 0.0F, 20L, 0, output);
+		buffer.add((short)1, 0.0F, 10L, 0, output);
+		buffer.add((short)2, 0.0F, 20L, 0, output);
+		buffer.add((short)3, 0.0F, 10L, 0, output);
+		buffer.releaseAll(output);
+		
+		assertEquals(1, output.getSignalIndex(0));
+		assertEquals(3, output.getSignalIndex(1));
+		assertEquals(0, output.getSignalIndex(2));
+		assertEquals(2, output.getSignalIndex(3));
+	}
+	
+	public void testReleaseThroughStopsAtTimestamp()
+	{
+		MeasurementReorderBuffer buffer = new MeasurementReorderBuffer(8);
+		MeasurementBatch output = new MeasurementBatch();
+		
+		buffer.add((short)0, 0.0F, 30L, 0, output);
+		buffer.add((short)0, 0.0F, 10L, 0, output);
+		buffer.add((short)0, 0.0F, 20L, 0, output);
+		buffer.releaseThrough(20L, output);
+		
+		assertTimestamps(output, 10L, 20L);
+		assertEquals(1, buffer.size());
+	}
+	
+	public void testRejectsMeasurementsOlderThanReleased()
+	{
+		MeasurementReorderBuffer buffer = new MeasurementReorderBuffer(8);
+		MeasurementBatch output = new MeasurementBatch();
+		
+		buffer.add((short)0, 0.0F, 20L, 0, output);
+		buffer.releaseThrough(20L, output);
+		
+		assertFalse(buffer.add((short)0, 0.0F, 10L, 0, output));
+		assertTrue(buffer.add((short)0, 0.0F, 20L, 0, output));
+		assertEquals(1, buffer.size());
+		
+		// Clearing forgets the last released timestamp
+		buffer.clear();
+		assertTrue(buffer.add((short)0, 0.0F, 10L, 0, output));
+	}
+	
+	public void testFullBufferReleasesOldest()
+	{
+		MeasurementReorderBuffer buffer = new MeasurementReorderBuffer(3);
+		MeasurementBatch output = new MeasurementBatch();
+		
+		buffer.add((short)0, 0.0F, 30L, 0, output);
+		buffer.add((short)0, 0.0F, 10L, 0, output);
+		buffer.add((short)0, 0.0F, 20L, 0, output);
+		buffer.add((short)0, 0.0F, 40L, 0, output);
+		
+		assertTimestamps(output, 10L);
+		assertEquals(3, buffer.size());
+		
+		buffer.releaseAll(output);
+		assertTimestamps(output, 10L, 20L, 30L, 40L);
+	}
+	
+	public void testBoundedDisorderIsFullySorted()
+	{
+		MeasurementReorderBuffer buffer = new MeasurementReorderBuffer(Capacity);
+		MeasurementBatch output = new MeasurementBatch();
+		long[] timestamps = new long[MeasurementCount];
+		Random random = new Random(7L);
+		int blockSize = Capacity / 2;
+		int swapIndex;
+		long swap;
+		
+		for (int i = 0; i < MeasurementCount; i++)
+			timestamps[i] = i / 3;
+		
+		// Shuffle blocks of half the capacity, so that no measurement arrives after
+		// one that is more than half the capacity newer. The full buffer releases
+		// its oldest measurement on each add, which wraps around its arrays.
+		for (int start = 0; start < MeasurementCount; start += blockSize)
+		{
+			for (int i = Math.min(start + blockSize, MeasurementCount) - 1; i > start; i--)
+			{
+				swapIndex = start + random.nextInt(i - start + 1);
+				swap = timestamps[i];
+				timestamps[i] = timestamps[swapIndex];
+				timestamps[swapIndex] = swap;
+			}
+		}
+		
+		for (int i = 0; i < MeasurementCount; i++)
+			assertTrue(buffer.add((short)0, i, timestamps[i], 0, output));
+		
+		buffer.releaseAll(output);
+		Arrays.sort(timestamps);
+		
+		assertEquals(MeasurementCount, output.size());
+		
+		for (int i = 0; i < MeasurementCount; i++)
+			assertEquals(timestamps[i], output.getTimestamp(i));
+	}
+	
+	// Checks the timestamps of the measurements in the batch.
+	private static void assertTimestamps(MeasurementBatch batch, long... timestamps)
+	{
+		assertEquals(timestamps.length, batch.size());
+		
+		for (int i = 0; i < timestamps.length; i++)
+			assertEquals(timestamps[i], batch.getTimestamp(i));
+	}
+	
+	private static final int Capacity = 64;
+	private static final int MeasurementCount = 10000;
+}
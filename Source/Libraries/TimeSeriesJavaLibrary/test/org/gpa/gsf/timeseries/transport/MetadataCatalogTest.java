@@ -0,0 +1,322 @@
+//******************************************************************************************************
+//  MetadataCatalogTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import junit.framework.TestCase;
+
+import org.gpa.gsf.timeseries.transport.event.MetadataCatalogEvent;
+import org.gpa.gsf.timeseries.transport.event.MetadataCatalogListener;
+
+/**
+ * Tests the parsing and phasor linking of the {@link MetadataCatalog},
+ * along with its cache of parsed catalogs and publisher references.
+ */
+public class MetadataCatalogTest extends TestCase
+{
+	private File m_directory;
+	private List<MetadataCatalogEvent> m_updates;
+	
+	@Override
+	protected void setUp() throws IOException
+	{
+		m_directory = File.createTempFile("MetadataCatalogTest", "");
+		
+		if (!m_directory.delete() || !m_directory.mkdir())
+			throw new IOException("Unable to create " + m_directory);
+		
+		m_updates = new ArrayList<MetadataCatalogEvent>();
+	}
+	
+	@Override
+	protected void tearDown()
+	{
+		File[] files = m_directory.listFiles();
+		
+		if (files != null)
+		{
+			for (File file : files)
+				file.delete();
+		}
+		
+		m_directory.delete();
+	}
+	
+	public void testMetadataIsParsedAndLinked() throws Exception
+	{
+		MetadataCatalog catalog = createCatalog(null);
+		ByteBuffer metadata = encode(createMetadata("SHELBY"));
+		int position = metadata.position();
+		PhasorMetadata phasor;
+		
+		catalog.update(metadata, UTF8, null);
+		
+		assertEquals(position, metadata.position());
+		assertTrue(catalog.isLoaded());
+		assertEquals(1, m_updates.size());
+		assertFalse(m_updates.get(0).isLoadedFromCache());
+		assertCatalog(catalog, "SHELBY");
+		
+		// The angle is linked through its PhasorSourceIndex field
+		// and signal acronym rather than its signal reference
+		phasor = catalog.getPhasor(AngleId);
+		assertSame(phasor, catalog.getPhasor(MagnitudeId));
+		assertEquals("Voltage A", phasor.getLabel());
+		assertEquals('V', phasor.getType());
+		assertEquals('A', phasor.getPhase());
+		assertNull(catalog.getPhasor(FrequencyId));
+	}
+	
+	public void testUnchangedMetadataIsNotParsedAgain() throws Exception
+	{
+		MetadataCatalog catalog = createCatalog(null);
+		String contentHash;
+		
+		catalog.update(encode(createMetadata("SHELBY")), UTF8, null);
+		contentHash = catalog.getContentHash();
+		catalog.update(encode(createMetadata("SHELBY")), UTF8, null);
+		
+		assertEquals(1, m_updates.size());
+		assertEquals(contentHash, catalog.getContentHash());
+		
+		catalog.update(encode(createMetadata("CORDOVA")), UTF8, null);
+		
+		assertEquals(2, m_updates.size());
+		assertFalse(contentHash.equals(catalog.getContentHash()));
+		assertCatalog(catalog, "CORDOVA");
+	}
+	
+	public void testParsedCatalogIsLoadedFromCache() throws Exception
+	{
+		MetadataCatalog writer = new MetadataCatalog(m_directory);
+		MetadataCatalog reader = createCatalog(m_directory);
+		
+		writer.update(encode(createMetadata("SHELBY")), UTF8, null);
+		reader.update(encode(createMetadata("SHELBY")), UTF8, null);
+		
+		assertEquals(1, m_updates.size());
+		assertTrue(m_updates.get(0).isLoadedFromCache());
+		assertEquals(writer.getContentHash(), reader.getContentHash());
+		assertCatalog(reader, "SHELBY");
+	}
+	
+	public void testWarmStartFromPublisherReference() throws Exception
+	{
+		MetadataCatalog writer = new MetadataCatalog(m_directory);
+		MetadataCatalog reader = createCatalog(m_directory);
+		
+		writer.update(encode(createMetadata("SHELBY")), UTF8, PublisherKey);
+		writer.update(encode(createMetadata("CORDOVA")), UTF8, PublisherKey);
+		
+		assertFalse(reader.loadCached("otherhost:6165"));
+		assertFalse(reader.isLoaded());
+		
+		assertTrue(reader.loadCached(PublisherKey));
+		assertEquals(writer.getContentHash(), reader.getContentHash());
+		assertEquals(1, m_updates.size());
+		assertTrue(m_updates.get(0).isLoadedFromCache());
+		assertCatalog(reader, "CORDOVA");
+		
+		// Loading the contents the catalog already holds does nothing
+		assertTrue(reader.loadCached(PublisherKey));
+		assertEquals(1, m_updates.size());
+	}
+	
+	public void testCorruptCacheFileIsReplaced() throws Exception
+	{
+		MetadataCatalog writer = new MetadataCatalog(m_directory);
+		MetadataCatalog reader = createCatalog(m_directory);
+		File catalogFile;
+		FileOutputStream out;
+		
+		writer.update(encode(createMetadata("SHELBY")), UTF8, null);
+		catalogFile = new File(m_directory, writer.getContentHash() + ".catalog");
+		assertTrue(catalogFile.isFile());
+		
+		out = new FileOutputStream(catalogFile);
+		
+		try
+		{
+			out.write(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+		}
+		finally
+		{
+			out.close();
+		}
+		
+		reader.update(encode(createMetadata("SHELBY")), UTF8, null);
+		
+		assertEquals(1, m_updates.size());
+		assertFalse(m_updates.get(0).isLoadedFromCache());
+		assertCatalog(reader, "SHELBY");
+		
+		// The cache file was written again from the parsed metadata
+		reader = new MetadataCatalog(m_directory);
+		reader.update(encode(createMetadata("SHELBY")), UTF8, PublisherKey);
+		assertCatalog(reader, "SHELBY");
+	}
+	
+	public void testLoadCachedWithoutCacheDirectory() throws IOException
+	{
+		MetadataCatalog catalog = new MetadataCatalog();
+		
+		assertNull(catalog.getCacheDirectory());
+		assertFalse(catalog.loadCached(PublisherKey));
+		
+		try
+		{
+			catalog.loadCached(" ");
+			fail("Expected IllegalArgumentException");
+		}
+		catch (IllegalArgumentException ex)
+		{
+			// Expected
+		}
+	}
+	
+	public void testContainsAll() throws Exception
+	{
+		MetadataCatalog catalog = new MetadataCatalog();
+		SignalIndexCache signalIndexCache = new SignalIndexCache();
+		
+		catalog.update(encode(createMetadata("SHELBY")), UTF8, null);
+		signalIndexCache.addMeasurementKey((short)0, MagnitudeId, "PPA", 1);
+		signalIndexCache.addMeasurementKey((short)0xFFFF, FrequencyId, "PPA", 3);
+		
+		assertTrue(catalog.containsAll(signalIndexCache));
+		
+		signalIndexCache.addMeasurementKey((short)7, UUID.randomUUID(), "PPA", 4);
+		assertFalse(catalog.containsAll(signalIndexCache));
+	}
+	
+	// Creates a catalog whose updates are recorded by the test.
+	private MetadataCatalog createCatalog(File cacheDirectory)
+	{
+		MetadataCatalog catalog = new MetadataCatalog(cacheDirectory);
+		
+		catalog.addMetadataCatalogListener(new MetadataCatalogListener()
+		{
+			@Override
+			public void catalogUpdated(MetadataCatalogEvent evt)
+			{
+				m_updates.add(evt);
+			}
+		});
+		
+		return catalog;
+	}
+	
+	// Verifies the contents built from the metadata for the given device.
+	private static void assertCatalog(MetadataCatalog catalog, String deviceAcronym)
+	{
+		MeasurementMetadata measurement = catalog.getMeasurement(MagnitudeId);
+		DeviceMetadata device = catalog.getDeviceByAcronym(deviceAcronym);
+		PhasorMetadata phasor = catalog.getPhasor(MagnitudeId);
+		
+		assertEquals(1, catalog.getDevices().size());
+		assertEquals(3, catalog.getMeasurements().size());
+		assertEquals(1, catalog.getPhasors().size());
+		
+		assertEquals(DeviceId, device.getUniqueId());
+		assertEquals(30, device.getFramesPerSecond());
+		assertTrue(device.isEnabled());
+		assertSame(device, catalog.getDevice(FrequencyId));
+		
+		assertEquals("PPA", measurement.getSource());
+		assertEquals(1, measurement.getId());
+		assertEquals(deviceAcronym + "-PM1", measurement.getSignalReference());
+		assertEquals(1, measurement.getPhasorSourceIndex());
+		assertNull(measurement.getDescription());
+		
+		assertEquals(deviceAcronym, phasor.getDeviceAcronym());
+		assertEquals(MagnitudeId, phasor.getMagnitudeSignalId());
+		assertEquals(AngleId, phasor.getAngleSignalId());
+	}
+	
+	// Creates metadata XML for a device with a frequency
+	// measurement and a single phasor, along with a table
+	// the catalog does not read.
+	private static String createMetadata(String deviceAcronym)
+	{
+		StringBuilder xml = new StringBuilder();
+		
+		xml.append("<?xml version=\"1.0\" standalone=\"yes\"?>");
+		xml.append("<DataSet>");
+		xml.append("<xs:schema id=\"DataSet\" xmlns:xs=\"http://www.w3.org/2001/XMLSchema\"><xs:element name=\"DataSet\"/></xs:schema>");
+		xml.append("<DeviceDetail><UniqueID>").append(DeviceId).append("</UniqueID><Acronym>").append(deviceAcronym)
+			.append("</Acronym><Name>Test Device</Name><AccessID>1</AccessID><FramesPerSecond>30</FramesPerSecond><Enabled>true</Enabled></DeviceDetail>");
+		appendMeasurement(xml, MagnitudeId, 1, deviceAcronym, deviceAcronym + "-PM1", "VPHM", "");
+		appendMeasurement(xml, AngleId, 2, deviceAcronym, deviceAcronym + "-V1", "VPHA", "1");
+		appendMeasurement(xml, FrequencyId, 3, deviceAcronym, deviceAcronym + "-FQ", "FREQ", "");
+		xml.append("<PhasorDetail><DeviceAcronym>").append(deviceAcronym)
+			.append("</DeviceAcronym><Label>Voltage A</Label><Type>V</Type><Phase>A</Phase><SourceIndex>1</SourceIndex></PhasorDetail>");
+		xml.append("<SchemaVersion><VersionNumber>1</VersionNumber></SchemaVersion>");
+		xml.append("</DataSet>");
+		
+		return xml.toString();
+	}
+	
+	// Appends a MeasurementDetail record to the metadata XML.
+	private static void appendMeasurement(StringBuilder xml, UUID signalId, int pointId, String deviceAcronym, String signalReference, String signalAcronym, String phasorSourceIndex)
+	{
+		xml.append("<MeasurementDetail><DeviceAcronym>").append(deviceAcronym)
+			.append("</DeviceAcronym><ID>PPA:").append(pointId)
+			.append("</ID><SignalID>").append(signalId)
+			.append("</SignalID><PointTag>GPA_").append(deviceAcronym).append(':').append(signalAcronym)
+			.append("</PointTag><SignalReference>").append(signalReference)
+			.append("</SignalReference><SignalAcronym>").append(signalAcronym)
+			.append("</SignalAcronym><PhasorSourceIndex>").append(phasorSourceIndex)
+			.append("</PhasorSourceIndex><Description></Description><Enabled>1</Enabled></MeasurementDetail>");
+	}
+	
+	// Encodes the metadata XML, leaving the buffer
+	// positioned after some leading bytes.
+	private static ByteBuffer encode(String xml)
+	{
+		byte[] data = xml.getBytes(UTF8);
+		ByteBuffer buffer = ByteBuffer.allocate(data.length + 4);
+		
+		buffer.putInt(data.length);
+		buffer.put(data);
+		buffer.flip();
+		buffer.position(4);
+		
+		return buffer;
+	}
+	
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	private static final String PublisherKey = "localhost:7165";
+	private static final UUID DeviceId = UUID.randomUUID();
+	private static final UUID MagnitudeId = UUID.randomUUID();
+	private static final UUID AngleId = UUID.randomUUID();
+	private static final UUID FrequencyId = UUID.randomUUID();
+}
@@ -0,0 +1,188 @@
+//******************************************************************************************************
+//  NioSubscriberEngineTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.gpa.gsf.timeseries.transport.constant.OverloadPolicy;
+import org.gpa.gsf.timeseries.transport.constant.ServerCommand;
+import org.gpa.gsf.timeseries.transport.event.MeasurementBatchEvent;
+import org.gpa.gsf.timeseries.transport.event.MessageEvent;
+import org.gpa.gsf.timeseries.transport.event.SubscriberAdapter;
+import org.gpa.gsf.timeseries.util.TimeExtensions;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests that a subscriber whose listeners have stopped consuming callbacks
+ * cannot stall the selector thread it shares with other subscribers.
+ */
+public class NioSubscriberEngineTest extends TestCase
+{
+	private DataPublisher m_publisher;
+	private short m_signalIndex;
+	private NioSubscriberEngine m_engine;
+	private DataSubscriber m_blockedSubscriber;
+	private DataSubscriber m_subscriber;
+	private CountDownLatch m_release;
+	
+	@Override
+	protected void setUp() throws Exception
+	{
+		m_publisher = new DataPublisher();
+		m_signalIndex = m_publisher.addSignal(UUID.randomUUID(), "TEST", 1);
+		m_publisher.start(0);
+		
+		m_engine = new NioSubscriberEngine(1);
+		m_release = new CountDownLatch(1);
+	}
+	
+	@Override
+	protected void tearDown() throws Exception
+	{
+		m_release.countDown();
+		
+		if (m_blockedSubscriber != null)
+			m_blockedSubscriber.disconnect();
+		
+		if (m_subscriber != null)
+			m_subscriber.disconnect();
+		
+		m_publisher.stop();
+		m_engine.shutdown();
+	}
+	
+	public void testFullCallbackQueueDoesNotStallOtherConnections() throws Exception
+	{
+		final CountDownLatch blocked = new CountDownLatch(1);
+		final AtomicInteger failures = new AtomicInteger();
+		final AtomicInteger measurements = new AtomicInteger();
+		long deadline;
+		
+		// The listeners of this subscriber block on their first callback
+		m_blockedSubscriber = new DataSubscriber();
+		m_blockedSubscriber.setNioEngine(m_engine);
+		m_blockedSubscriber.setCallbackQueueCapacity(4);
+		m_blockedSubscriber.setOverloadPolicy(OverloadPolicy.DropOldest);
+		m_blockedSubscriber.addSubscriberListener(new SubscriberAdapter()
+		{
+			@Override
+			public void exceptionEncountered(MessageEvent evt)
+			{
+				blocked.countDown();
+				awaitRelease();
+				failures.incrementAndGet();
+			}
+		});
+		
+		m_blockedSubscriber.connect("localhost", m_publisher.getPort());
+		
+		// The publisher has no metadata, so each refresh fails,
+		// queueing far more exception callbacks than the queue holds
+		for (int i = 0; i < RefreshCount; i++)
+			m_blockedSubscriber.sendServerCommand(ServerCommand.MetadataRefresh);
+		
+		assertTrue("Listener was never called", blocked.await(Timeout, TimeUnit.MILLISECONDS));
+		
+		m_subscriber = new DataSubscriber();
+		m_subscriber.setNioEngine(m_engine);
+		m_subscriber.setOverloadPolicy(OverloadPolicy.DropOldest);
+		m_subscriber.addSubscriberListener(new SubscriberAdapter()
+		{
+			@Override
+			public void newMeasurementBatchReceived(MeasurementBatchEvent evt)
+			{
+				measurements.addAndGet(evt.getBatch().size());
+			}
+		});
+		
+		m_subscriber.connect("localhost", m_publisher.getPort());
+		m_subscriber.subscribe(new SubscriptionInfo());
+		
+		// The selector thread must keep reading for the second subscriber
+		deadline = System.currentTimeMillis() + Timeout;
+		
+		while (measurements.get() == 0 && System.currentTimeMillis() < deadline)
+		{
+			publishMeasurement();
+			Thread.sleep(10L);
+		}
+		
+		assertTrue("Second connection stopped receiving data", measurements.get() > 0);
+		assertEquals(0, failures.get());
+		
+		// Callbacks that did not fit in the queue were deferred, not lost
+		m_release.countDown();
+		deadline = System.currentTimeMillis() + Timeout;
+		
+		while (failures.get() < RefreshCount && System.currentTimeMillis() < deadline)
+			Thread.sleep(10L);
+		
+		assertEquals(RefreshCount, failures.get());
+	}
+	
+	public void testBlockPolicyIsRejected() throws Exception
+	{
+		m_subscriber = new DataSubscriber();
+		m_subscriber.setNioEngine(m_engine);
+		m_subscriber.setOverloadPolicy(OverloadPolicy.Block);
+		
+		try
+		{
+			m_subscriber.connect("localhost", m_publisher.getPort());
+			fail("Connected with the Block policy");
+		}
+		catch (IllegalStateException ex)
+		{
+			// Expected
+		}
+	}
+	
+	// Publishes a single measurement for the publisher's only signal.
+	private void publishMeasurement()
+	{
+		MeasurementBatch batch = new MeasurementBatch();
+		batch.add(m_signalIndex, 1.0F, TimeExtensions.millisToTicks(System.currentTimeMillis()), 0);
+		m_publisher.publish(batch);
+	}
+	
+	// Blocks until the test releases the blocked listener.
+	private void awaitRelease()
+	{
+		try
+		{
+			m_release.await(Timeout, TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException ex)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	private static final int RefreshCount = 32;
+	private static final long Timeout = 10000L;
+}
@@ -0,0 +1,122 @@
+//******************************************************************************************************
+//  SignalFilterTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.BitSet;
+import java.util.UUID;
+
+import junit.framework.TestCase;
+
+import org.gpa.gsf.timeseries.MeasurementKey;
+
+/**
+ * Tests the criteria of the {@link SignalFilter} and
+ * its compilation into a bit set over signal indexes.
+ */
+public class SignalFilterTest extends TestCase
+{
+	public void testEmptyFilterMatchesNothing()
+	{
+		SignalFilter filter = new SignalFilter();
+		assertFalse(filter.matches(new MeasurementKey(UUID.randomUUID(), "PPA", 1)));
+	}
+	
+	public void testMatchBySignalId()
+	{
+		SignalFilter filter = new SignalFilter();
+		UUID signalId = UUID.randomUUID();
+		
+		filter.addSignalId(signalId);
+		
+		assertTrue(filter.matches(new MeasurementKey(signalId, "PPA", 1)));
+		assertFalse(filter.matches(new MeasurementKey(UUID.randomUUID(), "PPA", 1)));
+	}
+	
+	public void testMatchBySourceIgnoresCase()
+	{
+		SignalFilter filter = new SignalFilter();
+		
+		filter.addSource("ppa");
+		
+		assertTrue(filter.matches(new MeasurementKey(UUID.randomUUID(), "PPA", 1)));
+		assertTrue(filter.matches(new MeasurementKey(UUID.randomUUID(), "Ppa", 2)));
+		assertFalse(filter.matches(new MeasurementKey(UUID.randomUUID(), "PPB", 1)));
+	}
+	
+	public void testMatchByMeasurementKey()
+	{
+		SignalFilter filter = new SignalFilter();
+		
+		filter.addMeasurementKey("ppa", 2);
+		
+		assertTrue(filter.matches(new MeasurementKey(UUID.randomUUID(), "PPA", 2)));
+		assertFalse(filter.matches(new MeasurementKey(UUID.randomUUID(), "PPA", 1)));
+	}
+	
+	public void testMatchByPattern()
+	{
+		SignalFilter filter = new SignalFilter();
+		
+		filter.addPattern("ppa:(1|3)");
+		
+		assertTrue(filter.matches(new MeasurementKey(UUID.randomUUID(), "PPA", 1)));
+		assertTrue(filter.matches(new MeasurementKey(UUID.randomUUID(), "PPA", 3)));
+		assertFalse(filter.matches(new MeasurementKey(UUID.randomUUID(), "PPA", 2)));
+		assertFalse(filter.matches(new MeasurementKey(UUID.randomUUID(), "PPA", 13)));
+	}
+	
+	public void testCopyIsIndependent()
+	{
+		SignalFilter filter = new SignalFilter();
+		SignalFilter copy;
+		
+		filter.addSource("PPA");
+		copy = new SignalFilter(filter);
+		filter.addSource("PPB");
+		
+		assertTrue(copy.matches(new MeasurementKey(UUID.randomUUID(), "PPA", 1)));
+		assertFalse(copy.matches(new MeasurementKey(UUID.randomUUID(), "PPB", 1)));
+	}
+	
+	public void testCompileSetsMatchingSignalIndexes()
+	{
+		SignalIndexCache cache = new SignalIndexCache();
+		SignalFilter filter = new SignalFilter();
+		BitSet signalIndexes;
+		
+		cache.addMeasurementKey((short)0, UUID.randomUUID(), "PPA", 1);
+		cache.addMeasurementKey((short)1, UUID.randomUUID(), "PPB", 1);
+		cache.addMeasurementKey((short)2, UUID.randomUUID(), "PPA", 2);
+		cache.addMeasurementKey((short)0xFFFF, UUID.randomUUID(), "PPA", 3);
+		filter.addSource("PPA");
+		
+		signalIndexes = filter.compile(cache);
+		
+		assertEquals(3, signalIndexes.cardinality());
+		assertTrue(signalIndexes.get(0));
+		assertFalse(signalIndexes.get(1));
+		assertTrue(signalIndexes.get(2));
+		assertTrue(signalIndexes.get(0xFFFF));
+	}
+}
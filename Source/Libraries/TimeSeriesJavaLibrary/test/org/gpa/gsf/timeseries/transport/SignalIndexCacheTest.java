@@ -0,0 +1,147 @@
+//******************************************************************************************************
+//  SignalIndexCacheTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.UUID;
+
+import org.gpa.gsf.timeseries.MeasurementKey;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests the array-backed mappings of the {@link SignalIndexCache}
+ * in both directions, across the full unsigned signal index range.
+ */
+public class SignalIndexCacheTest extends TestCase
+{
+	public void testLookupBySignalIndex()
+	{
+		SignalIndexCache cache = new SignalIndexCache();
+		UUID signalId = UUID.randomUUID();
+		MeasurementKey key;
+		
+		cache.addMeasurementKey((short)5, signalId, "TEST", 5);
+		key = cache.getMeasurementKey((short)5);
+		
+		assertTrue(cache.contains((short)5));
+		assertEquals(signalId, key.getSignalId());
+		assertEquals("TEST", key.getSource());
+		assertEquals(5, key.getId());
+		assertEquals(1, cache.size());
+		
+		assertFalse(cache.contains((short)4));
+		assertNull(cache.getMeasurementKey((short)4));
+	}
+	
+	public void testSignalIndexesAreUnsigned()
+	{
+		SignalIndexCache cache = new SignalIndexCache();
+		UUID signalId = UUID.randomUUID();
+		
+		// Out of range of the initial array, and
+		// negative when treated as a signed short
+		assertFalse(cache.contains((short)0xFFFF));
+		assertNull(cache.getMeasurementKey((short)0xFFFF));
+		
+		cache.addMeasurementKey((short)0xFFFF, signalId, "TEST", 1);
+		
+		assertTrue(cache.contains((short)0xFFFF));
+		assertEquals(signalId, cache.getMeasurementKey((short)0xFFFF).getSignalId());
+		assertEquals(0xFFFF, cache.getSignalIndex(signalId));
+	}
+	
+	public void testUnknownSignalIdIsNotFound()
+	{
+		SignalIndexCache cache = new SignalIndexCache();
+		cache.addMeasurementKey((short)0, UUID.randomUUID(), "TEST", 0);
+		assertEquals(-1, cache.getSignalIndex(UUID.randomUUID()));
+	}
+	
+	public void testManySignalsSurviveGrowth()
+	{
+		SignalIndexCache cache = new SignalIndexCache();
+		UUID[] signalIds = new UUID[SignalCount];
+		
+		for (int i = 0; i < SignalCount; i++)
+		{
+			signalIds[i] = UUID.randomUUID();
+			cache.addMeasurementKey((short)(i * 3), signalIds[i], "TEST", i);
+		}
+		
+		assertEquals(SignalCount, cache.size());
+		
+		for (int i = 0; i < SignalCount; i++)
+		{
+			assertEquals(i * 3, cache.getSignalIndex(signalIds[i]));
+			assertEquals(i, cache.getMeasurementKey((short)(i * 3)).getId());
+		}
+	}
+	
+	public void testReplacingKeyDoesNotChangeSize()
+	{
+		SignalIndexCache cache = new SignalIndexCache();
+		UUID signalId = UUID.randomUUID();
+		
+		cache.addMeasurementKey((short)1, UUID.randomUUID(), "TEST", 1);
+		cache.addMeasurementKey((short)1, signalId, "TEST", 2);
+		
+		assertEquals(1, cache.size());
+		assertEquals(2, cache.getMeasurementKey((short)1).getId());
+		assertEquals(1, cache.getSignalIndex(signalId));
+	}
+	
+	public void testClear()
+	{
+		SignalIndexCache cache = new SignalIndexCache();
+		UUID signalId = UUID.randomUUID();
+		
+		cache.addMeasurementKey((short)1, signalId, "TEST", 1);
+		cache.clear();
+		
+		assertEquals(0, cache.size());
+		assertFalse(cache.contains((short)1));
+		assertEquals(-1, cache.getSignalIndex(signalId));
+		
+		cache.addMeasurementKey((short)2, signalId, "TEST", 1);
+		assertEquals(2, cache.getSignalIndex(signalId));
+	}
+	
+	public void testMatches()
+	{
+		SignalIndexCache cache = new SignalIndexCache();
+		SignalIndexCache same = new SignalIndexCache();
+		SignalIndexCache different = new SignalIndexCache();
+		UUID signalId = UUID.randomUUID();
+		
+		cache.addMeasurementKey((short)1, signalId, "TEST", 1);
+		same.addMeasurementKey((short)1, signalId, "TEST", 1);
+		different.addMeasurementKey((short)1, signalId, "TEST", 2);
+		
+		assertTrue(cache.matches(same));
+		assertFalse(cache.matches(different));
+		assertFalse(cache.matches(new SignalIndexCache()));
+	}
+	
+	private static final int SignalCount = 5000;
+}
@@ -0,0 +1,193 @@
+//******************************************************************************************************
+//  SubscriberConnectorTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+import org.gpa.gsf.timeseries.transport.event.FailoverEvent;
+import org.gpa.gsf.timeseries.transport.event.MeasurementBatchEvent;
+import org.gpa.gsf.timeseries.transport.event.SubscriberAdapter;
+import org.gpa.gsf.timeseries.transport.event.SubscriberConnectorAdapter;
+import org.gpa.gsf.timeseries.util.TimeExtensions;
+
+/**
+ * Tests that a {@link SubscriberConnector} in hot standby mode switches
+ * delivery to the standby subscriber when the active publisher goes down.
+ */
+public class SubscriberConnectorTest extends TestCase
+{
+	private DataPublisher m_primaryPublisher;
+	private DataPublisher m_standbyPublisher;
+	private DataSubscriber m_subscriber;
+	private DataSubscriber m_standbySubscriber;
+	private SubscriberConnector m_connector;
+	private Thread m_publishThread;
+	private volatile boolean m_publishing;
+	
+	@Override
+	protected void setUp() throws Exception
+	{
+		UUID signalId = UUID.randomUUID();
+		
+		m_primaryPublisher = new DataPublisher();
+		m_primaryPublisher.addSignal(signalId, "TEST", 1);
+		m_primaryPublisher.start(0);
+		
+		m_standbyPublisher = new DataPublisher();
+		m_standbyPublisher.addSignal(signalId, "TEST", 1);
+		m_standbyPublisher.start(0);
+		
+		m_subscriber = new DataSubscriber();
+		m_standbySubscriber = new DataSubscriber();
+		
+		m_connector = new SubscriberConnector();
+		m_connector.setHostname("localhost");
+		m_connector.setPort(m_primaryPublisher.getPort());
+		m_connector.setStandbyHostname("localhost");
+		m_connector.setStandbyPort(m_standbyPublisher.getPort());
+		m_connector.setRetryInterval(100);
+	}
+	
+	@Override
+	protected void tearDown() throws Exception
+	{
+		m_publishing = false;
+		
+		if (m_publishThread != null)
+			m_publishThread.join();
+		
+		m_connector.cancel();
+		m_subscriber.disconnect();
+		m_standbySubscriber.disconnect();
+		m_primaryPublisher.stop();
+		m_standbyPublisher.stop();
+	}
+	
+	public void testDeliverySwitchesToStandbyWhenPublisherStops() throws Exception
+	{
+		final AtomicInteger count = new AtomicInteger();
+		final AtomicInteger standbyCount = new AtomicInteger();
+		final AtomicReference<FailoverEvent> failover = new AtomicReference<FailoverEvent>();
+		final CountDownLatch failedOver = new CountDownLatch(1);
+		boolean primaryActive;
+		
+		m_subscriber.addSubscriberListener(countMeasurements(count));
+		m_standbySubscriber.addSubscriberListener(countMeasurements(standbyCount));
+		
+		m_connector.addSubscriberConnectorListener(new SubscriberConnectorAdapter()
+		{
+			@Override
+			public void failedOver(FailoverEvent evt)
+			{
+				failover.set(evt);
+				failedOver.countDown();
+			}
+		});
+		
+		assertTrue(m_connector.connect(m_subscriber, m_standbySubscriber, new SubscriptionInfo()));
+		startPublishing();
+		
+		// Whichever subscriber is connected first becomes active,
+		// and only the active subscriber delivers measurements
+		primaryActive = (m_connector.getActiveSubscriber() == m_subscriber);
+		awaitCount(primaryActive ? count : standbyCount);
+		assertEquals(0, (primaryActive ? standbyCount : count).get());
+		
+		(primaryActive ? m_primaryPublisher : m_standbyPublisher).stop();
+		
+		assertTrue("Connector did not fail over", failedOver.await(Timeout, TimeUnit.MILLISECONDS));
+		assertSame(primaryActive ? m_standbySubscriber : m_subscriber, m_connector.getActiveSubscriber());
+		assertSame(m_connector.getActiveSubscriber(), failover.get().getSubscriber());
+		assertSame(primaryActive ? m_subscriber : m_standbySubscriber, failover.get().getFailedSubscriber());
+		assertTrue(failover.get().getDataGap() > 0L);
+		assertEquals(1L, m_connector.getFailoverCount());
+		assertTrue((primaryActive ? standbyCount : count).get() > 0);
+	}
+	
+	// Publishes a measurement to both publishers every 10 milliseconds until the test ends.
+	private void startPublishing()
+	{
+		m_publishing = true;
+		
+		m_publishThread = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				MeasurementBatch batch = new MeasurementBatch();
+				
+				while (m_publishing)
+				{
+					batch.clear();
+					batch.add((short)0, 1.0F, TimeExtensions.millisToTicks(System.currentTimeMillis()), 0);
+					m_primaryPublisher.publish(batch);
+					m_standbyPublisher.publish(batch);
+					
+					try
+					{
+						Thread.sleep(10L);
+					}
+					catch (InterruptedException ex)
+					{
+						return;
+					}
+				}
+			}
+		});
+		
+		m_publishThread.start();
+	}
+	
+	// Creates a listener which counts the measurements delivered by a subscriber.
+	private static SubscriberAdapter countMeasurements(final AtomicInteger count)
+	{
+		return new SubscriberAdapter()
+		{
+			@Override
+			public void newMeasurementBatchReceived(MeasurementBatchEvent evt)
+			{
+				count.addAndGet(evt.getBatch().size());
+			}
+		};
+	}
+	
+	// Waits until the given count is greater than zero.
+	private static void awaitCount(AtomicInteger count) throws InterruptedException
+	{
+		long deadline = System.currentTimeMillis() + Timeout;
+		
+		while (count.get() == 0 && System.currentTimeMillis() < deadline)
+			Thread.sleep(10L);
+		
+		assertTrue("No measurements were delivered", count.get() > 0);
+	}
+	
+	private static final long Timeout = 10000L;
+}
@@ -0,0 +1,306 @@
+//******************************************************************************************************
+//  SubscriptionStateCacheTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import junit.framework.TestCase;
+
+import org.gpa.gsf.timeseries.transport.event.MeasurementBatchEvent;
+import org.gpa.gsf.timeseries.transport.event.MessageEvent;
+import org.gpa.gsf.timeseries.transport.event.SubscriberAdapter;
+import org.gpa.gsf.timeseries.util.TimeExtensions;
+
+/**
+ * Tests the files kept by the {@link SubscriptionStateCache}, and that
+ * a subscriber restores its state from the cache when it subscribes again
+ * and validates that state against the publisher.
+ */
+public class SubscriptionStateCacheTest extends TestCase
+{
+	private File m_directory;
+	
+	@Override
+	protected void setUp() throws IOException
+	{
+		m_directory = File.createTempFile("SubscriptionStateCacheTest", "");
+		
+		if (!m_directory.delete() || !m_directory.mkdir())
+			throw new IOException("Unable to create " + m_directory);
+	}
+	
+	@Override
+	protected void tearDown()
+	{
+		File[] files = m_directory.listFiles();
+		
+		if (files != null)
+		{
+			for (File file : files)
+				file.delete();
+		}
+		
+		m_directory.delete();
+	}
+	
+	public void testSignalIndexCacheRoundTrip() throws IOException
+	{
+		SubscriptionStateCache stateCache = new SubscriptionStateCache(m_directory);
+		SignalIndexCache signalIndexCache = new SignalIndexCache();
+		SignalIndexCache loadedCache;
+		
+		signalIndexCache.addMeasurementKey((short)0, UUID.randomUUID(), "PPA", 1);
+		signalIndexCache.addMeasurementKey((short)0xFFFF, UUID.randomUUID(), "PPA", 2);
+		
+		assertNull(stateCache.loadSignalIndexCache(Key));
+		stateCache.saveSignalIndexCache(Key, signalIndexCache);
+		loadedCache = stateCache.loadSignalIndexCache(Key);
+		
+		assertEquals(2, loadedCache.size());
+		assertTrue(signalIndexCache.matches(loadedCache));
+		assertEquals("PPA", loadedCache.getMeasurementKey((short)0xFFFF).getSource());
+		assertEquals(2, loadedCache.getMeasurementKey((short)0xFFFF).getId());
+		assertNull(stateCache.loadSignalIndexCache(OtherKey));
+	}
+	
+	public void testBaseTimesAreKeptSeparately() throws IOException
+	{
+		SubscriptionStateCache stateCache = new SubscriptionStateCache(m_directory);
+		SignalIndexCache signalIndexCache = new SignalIndexCache();
+		long[] baseTimeOffsets;
+		
+		signalIndexCache.addMeasurementKey((short)0, UUID.randomUUID(), "PPA", 1);
+		stateCache.saveSignalIndexCache(Key, signalIndexCache);
+		
+		assertNull(stateCache.loadBaseTimeOffsets(Key));
+		
+		stateCache.saveBaseTimeOffsets(Key, new long[] { BaseTime, BaseTime + TicksPerSecond });
+		stateCache.saveBaseTimeOffsets(Key, new long[] { BaseTime + TicksPerSecond, BaseTime + 2 * TicksPerSecond });
+		baseTimeOffsets = stateCache.loadBaseTimeOffsets(Key);
+		
+		assertEquals(BaseTime + TicksPerSecond, baseTimeOffsets[0]);
+		assertEquals(BaseTime + 2 * TicksPerSecond, baseTimeOffsets[1]);
+		assertNull(stateCache.loadBaseTimeOffsets(OtherKey));
+		assertTrue(signalIndexCache.matches(stateCache.loadSignalIndexCache(Key)));
+		assertEquals(2, m_directory.listFiles().length);
+	}
+	
+	public void testDirectoryIsCreatedOnFirstSave() throws IOException
+	{
+		File directory = new File(m_directory, "state");
+		SubscriptionStateCache stateCache = new SubscriptionStateCache(directory);
+		
+		try
+		{
+			stateCache.clear();
+			assertFalse(directory.exists());
+			
+			stateCache.saveBaseTimeOffsets(Key, new long[] { BaseTime, 0L });
+			assertTrue(directory.isDirectory());
+			
+			stateCache.clear();
+			assertEquals(0, directory.listFiles().length);
+		}
+		finally
+		{
+			directory.delete();
+		}
+	}
+	
+	public void testClearKeepsOtherFiles() throws IOException
+	{
+		SubscriptionStateCache stateCache = new SubscriptionStateCache(m_directory);
+		File otherFile = new File(m_directory, "other.txt");
+		
+		stateCache.saveSignalIndexCache(Key, new SignalIndexCache());
+		stateCache.saveBaseTimeOffsets(Key, new long[] { BaseTime, 0L });
+		assertTrue(otherFile.createNewFile());
+		
+		stateCache.clear();
+		
+		assertNull(stateCache.loadSignalIndexCache(Key));
+		assertNull(stateCache.loadBaseTimeOffsets(Key));
+		assertTrue(otherFile.isFile());
+	}
+	
+	public void testCorruptFileIsRejected() throws IOException
+	{
+		SubscriptionStateCache stateCache = new SubscriptionStateCache(m_directory);
+		FileOutputStream out;
+		
+		stateCache.saveSignalIndexCache(Key, new SignalIndexCache());
+		out = new FileOutputStream(m_directory.listFiles()[0]);
+		
+		try
+		{
+			out.write(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+		}
+		finally
+		{
+			out.close();
+		}
+		
+		try
+		{
+			stateCache.loadSignalIndexCache(Key);
+			fail("Expected IOException");
+		}
+		catch (IOException ex)
+		{
+			// Expected
+		}
+	}
+	
+	public void testNullDirectoryIsRejected()
+	{
+		try
+		{
+			new SubscriptionStateCache(null);
+			fail("Expected IllegalArgumentException");
+		}
+		catch (IllegalArgumentException ex)
+		{
+			// Expected
+		}
+	}
+	
+	public void testWarmStartIsValidatedAgainstPublisher() throws Exception
+	{
+		SubscriptionStateCache stateCache = new SubscriptionStateCache(m_directory);
+		DataPublisher publisher = new DataPublisher();
+		List<Exception> exceptions;
+		int port;
+		
+		publisher.addSignal(UUID.randomUUID(), "PPA", 1);
+		publisher.start(0);
+		port = publisher.getPort();
+		
+		try
+		{
+			// The first subscription starts cold and saves its state
+			assertTrue(receive(publisher, stateCache).isEmpty());
+			assertEquals(2, m_directory.listFiles().length);
+			
+			// The restored cache matches the publisher
+			assertTrue(receive(publisher, stateCache).isEmpty());
+		}
+		finally
+		{
+			publisher.stop();
+		}
+		
+		// The publisher comes back with a different signal at
+		// the same index, so the restored cache is stale
+		publisher = new DataPublisher();
+		publisher.addSignal(UUID.randomUUID(), "PPA", 2);
+		publisher.start(port);
+		
+		try
+		{
+			exceptions = receive(publisher, stateCache);
+			assertEquals(1, exceptions.size());
+			assertTrue(exceptions.get(0) instanceof IllegalStateException);
+			
+			// The state saved from the new publisher is used next time
+			assertTrue(receive(publisher, stateCache).isEmpty());
+		}
+		finally
+		{
+			publisher.stop();
+		}
+	}
+	
+	// Subscribes to the publisher using the given state cache and waits for a
+	// measurement published after the publisher's signal index cache has been
+	// received. Packets are received on the command channel, so by then any
+	// exception raised while validating the restored cache has been delivered.
+	// Returns the exceptions raised by the subscriber.
+	private static List<Exception> receive(DataPublisher publisher, SubscriptionStateCache stateCache) throws Exception
+	{
+		final List<Exception> exceptions = Collections.synchronizedList(new ArrayList<Exception>());
+		final List<Float> values = Collections.synchronizedList(new ArrayList<Float>());
+		DataSubscriber subscriber = new DataSubscriber();
+		MeasurementBatch batch = new MeasurementBatch();
+		long deadline = System.currentTimeMillis() + Timeout;
+		float value = 0.0F;
+		
+		subscriber.setSubscriptionStateCache(stateCache);
+		
+		subscriber.addSubscriberListener(new SubscriberAdapter()
+		{
+			@Override
+			public void exceptionEncountered(MessageEvent evt)
+			{
+				exceptions.add(evt.getException());
+			}
+			
+			@Override
+			public void newMeasurementBatchReceived(MeasurementBatchEvent evt)
+			{
+				MeasurementBatch batch = evt.getBatch();
+				
+				for (int i = 0; i < batch.size(); i++)
+					values.add(batch.getValues()[i]);
+			}
+		});
+		
+		subscriber.connect("localhost", publisher.getPort());
+		
+		try
+		{
+			subscriber.subscribe(new SubscriptionInfo());
+			
+			while (!values.contains(ValidatedValue) && System.currentTimeMillis() < deadline)
+			{
+				if (subscriber.getStatistics().getSignalIndexCacheUpdates() > 0L)
+					value = ValidatedValue;
+				
+				batch.clear();
+				batch.add((short)0, value, TimeExtensions.millisToTicks(System.currentTimeMillis()), 0);
+				publisher.publish(batch);
+				Thread.sleep(10L);
+			}
+		}
+		finally
+		{
+			subscriber.disconnect();
+		}
+		
+		assertTrue(values.contains(ValidatedValue));
+		return exceptions;
+	}
+	
+	private static final String Key = "localhost:7165;includeTime=true;";
+	private static final String OtherKey = "localhost:7165;includeTime=false;";
+	private static final long BaseTime = 635000000000000000L;
+	private static final long TicksPerSecond = 10000000L;
+	private static final Float ValidatedValue = 1.0F;
+	private static final long Timeout = 10000L;
+}
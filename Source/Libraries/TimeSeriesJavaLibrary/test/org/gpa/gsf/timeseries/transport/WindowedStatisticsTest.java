@@ -0,0 +1,327 @@
+//******************************************************************************************************
+//  WindowedStatisticsTest.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import junit.framework.TestCase;
+
+import org.gpa.gsf.timeseries.transport.event.WindowSummaryEvent;
+import org.gpa.gsf.timeseries.transport.event.WindowSummaryListener;
+import org.gpa.gsf.timeseries.util.TimeExtensions;
+
+/**
+ * Tests the summaries published by {@link WindowedStatistics}
+ * against statistics computed directly from the measurements.
+ */
+public class WindowedStatisticsTest extends TestCase
+{
+	public void testTumblingWindowsMatchDirectStatistics()
+	{
+		assertWindowsMatch(1.0D, 1.0D);
+	}
+	
+	public void testSlidingWindowsMatchDirectStatistics()
+	{
+		assertWindowsMatch(2.0D, 0.5D);
+	}
+	
+	public void testLateMeasurementsAreCounted()
+	{
+		WindowedStatistics statistics = new WindowedStatistics(1.0D);
+		List<Window> windows = collectWindows(statistics);
+		MeasurementBatch batch = new MeasurementBatch();
+		
+		batch.add((short)0, 1.0F, BaseTime, 0);
+		batch.add((short)0, 2.0F, BaseTime + TicksPerSecond, 0);
+		batch.add((short)0, 3.0F, BaseTime + TicksPerSecond / 2L, 0);
+		statistics.aggregate(batch);
+		
+		assertEquals(1, windows.size());
+		assertEquals(1, windows.get(0).m_counts[0]);
+		assertEquals(1L, statistics.getLateMeasurementCount());
+	}
+	
+	public void testFutureMeasurementsDoNotCloseWindows()
+	{
+		WindowedStatistics statistics = new WindowedStatistics(1.0D);
+		List<Window> windows = collectWindows(statistics);
+		MeasurementBatch batch = new MeasurementBatch();
+		long now = TimeExtensions.getLocalClockTicks();
+		
+		batch.add((short)0, 1.0F, now - TicksPerSecond, 0);
+		batch.add((short)0, 2.0F, now + 3600L * TicksPerSecond, 0);
+		statistics.aggregate(batch);
+		
+		assertEquals(0, windows.size());
+		assertEquals(1L, statistics.getFutureMeasurementCount());
+		
+		statistics.flush();
+		assertEquals(1, windows.size());
+		assertEquals(1, windows.get(0).m_counts[0]);
+	}
+	
+	public void testLeadTimeCanBeChanged()
+	{
+		WindowedStatistics statistics = new WindowedStatistics(1.0D);
+		MeasurementBatch batch = new MeasurementBatch();
+		
+		assertEquals(5.0D, statistics.getLeadTime(), 0.0D);
+		statistics.setLeadTime(7200.0D);
+		assertEquals(7200.0D, statistics.getLeadTime(), 0.0D);
+		
+		batch.add((short)0, 1.0F, TimeExtensions.getLocalClockTicks() + 3600L * TicksPerSecond, 0);
+		statistics.aggregate(batch);
+		assertEquals(0L, statistics.getFutureMeasurementCount());
+		
+		try
+		{
+			statistics.setLeadTime(0.0D);
+			fail("Expected IllegalArgumentException");
+		}
+		catch (IllegalArgumentException ex)
+		{
+			// Expected
+		}
+	}
+	
+	public void testFlushBeforeFirstMeasurement()
+	{
+		WindowedStatistics statistics = new WindowedStatistics(2.0D, 0.5D);
+		List<Window> windows = collectWindows(statistics);
+		MeasurementBatch batch = new MeasurementBatch();
+		
+		statistics.flush();
+		
+		// A batch whose only measurement is rejected does not start the panes
+		batch.add((short)0, 1.0F, TimeExtensions.getLocalClockTicks() + 3600L * TicksPerSecond, 0);
+		statistics.aggregate(batch);
+		statistics.flush();
+		
+		assertEquals(0, windows.size());
+		assertEquals(0L, statistics.getPublishedWindowCount());
+	}
+	
+	// Aggregates random measurements for several signals, in batches that do
+	// not line up with the windows, and compares every published summary to
+	// the statistics of the measurements that fall within its window.
+	private void assertWindowsMatch(double windowLength, double slideInterval)
+	{
+		WindowedStatistics statistics = new WindowedStatistics(windowLength, slideInterval);
+		List<Window> windows = collectWindows(statistics);
+		MeasurementBatch measurements = createMeasurements();
+		MeasurementBatch batch = new MeasurementBatch();
+		long slideTicks = (long)(slideInterval * TicksPerSecond);
+		long firstPane = measurements.getTimestamp(0) / slideTicks;
+		long lastPane = measurements.getTimestamp(measurements.size() - 1) / slideTicks;
+		
+		statistics.setQualityFlagMask(CompactMeasurementParser.DataQualityMask);
+		
+		for (int i = 0; i < measurements.size(); i++)
+		{
+			batch.add(measurements, i);
+			
+			if (batch.size() == 37)
+			{
+				statistics.aggregate(batch);
+				batch.clear();
+			}
+		}
+		
+		statistics.aggregate(batch);
+		statistics.flush();
+		
+		// A window closes with each pane
+		assertEquals(lastPane - firstPane + 1L, windows.size());
+		
+		for (Window window : windows)
+		{
+			assertEquals((long)(windowLength * TicksPerSecond), window.m_endTime - window.m_startTime);
+			assertWindow(window, measurements);
+		}
+		
+		assertEquals(0L, statistics.getLateMeasurementCount());
+		assertEquals(0L, statistics.getFutureMeasurementCount());
+	}
+	
+	// Computes the statistics of each signal directly from the measurements
+	// that fall within the window, and compares them to the published summary.
+	private void assertWindow(Window window, MeasurementBatch measurements)
+	{
+		int count;
+		int flaggedCount;
+		int valueCount;
+		float minimum;
+		float maximum;
+		double sum;
+		double mean;
+		double squaredDeviations;
+		float value;
+		
+		for (int i = 0; i < SignalCount; i++)
+		{
+			count = 0;
+			flaggedCount = 0;
+			valueCount = 0;
+			minimum = Float.POSITIVE_INFINITY;
+			maximum = Float.NEGATIVE_INFINITY;
+			sum = 0.0D;
+			
+			for (int j = 0; j < measurements.size(); j++)
+			{
+				if (measurements.getSignalIndex(j) != i || measurements.getTimestamp(j) < window.m_startTime || measurements.getTimestamp(j) >= window.m_endTime)
+					continue;
+				
+				count++;
+				
+				if ((measurements.getFlags(j) & CompactMeasurementParser.DataQualityMask) != 0)
+					flaggedCount++;
+				
+				value = measurements.getValue(j);
+				
+				if (Float.isNaN(value))
+					continue;
+				
+				valueCount++;
+				minimum = Math.min(minimum, value);
+				maximum = Math.max(maximum, value);
+				sum += value;
+			}
+			
+			mean = sum / valueCount;
+			squaredDeviations = 0.0D;
+			
+			for (int j = 0; j < measurements.size(); j++)
+			{
+				value = measurements.getValue(j);
+				
+				if (measurements.getSignalIndex(j) == i && measurements.getTimestamp(j) >= window.m_startTime && measurements.getTimestamp(j) < window.m_endTime && !Float.isNaN(value))
+					squaredDeviations += (value - mean) * (value - mean);
+			}
+			
+			assertEquals(count, window.m_counts[i]);
+			
+			if (count == 0)
+				continue;
+			
+			assertEquals(flaggedCount, window.m_flaggedCounts[i]);
+			assertEquals(minimum, window.m_minimums[i], 0.0F);
+			assertEquals(maximum, window.m_maximums[i], 0.0F);
+			assertEquals(mean, window.m_means[i], 1.0E-9D);
+			assertEquals(Math.sqrt(squaredDeviations / (valueCount - 1)), window.m_standardDeviations[i], 1.0E-9D);
+			assertEquals(count * (double)TicksPerSecond / (window.m_endTime - window.m_startTime), window.m_rates[i], 1.0E-9D);
+		}
+	}
+	
+	// Creates five seconds of measurements for each signal, 20 milliseconds apart
+	// with some jitter, with random values. Every tenth measurement is flagged as
+	// bad and every 25th measurement has no value.
+	private static MeasurementBatch createMeasurements()
+	{
+		MeasurementBatch measurements = new MeasurementBatch();
+		Random random = new Random(11L);
+		long timestamp;
+		float value;
+		
+		for (int i = 0; i < 250; i++)
+		{
+			for (int signal = 0; signal < SignalCount; signal++)
+			{
+				timestamp = BaseTime + i * 20L * TicksPerMillisecond + random.nextInt(10000);
+				value = (i % 25 == 24) ? Float.NaN : (float)(signal * 100.0D + random.nextGaussian() * 10.0D);
+				measurements.add((short)signal, value, timestamp, (i % 10 == 0) ? CompactMeasurementParser.DataQualityMask : 0);
+			}
+		}
+		
+		return measurements;
+	}
+	
+	// Registers a listener which copies each published summary into the returned list.
+	private static List<Window> collectWindows(WindowedStatistics statistics)
+	{
+		final List<Window> windows = new ArrayList<Window>();
+		
+		statistics.addWindowSummaryListener(new WindowSummaryListener()
+		{
+			@Override
+			public void windowClosed(WindowSummaryEvent evt)
+			{
+				windows.add(new Window(evt.getSummary()));
+			}
+		});
+		
+		return windows;
+	}
+	
+	// Copy of a published summary, indexed by signal index.
+	private static class Window
+	{
+		private long m_startTime;
+		private long m_endTime;
+		private int[] m_counts;
+		private int[] m_flaggedCounts;
+		private float[] m_minimums;
+		private float[] m_maximums;
+		private double[] m_means;
+		private double[] m_standardDeviations;
+		private double[] m_rates;
+		
+		Window(WindowSummary summary)
+		{
+			int signal;
+			
+			m_startTime = summary.getStartTime();
+			m_endTime = summary.getEndTime();
+			m_counts = new int[SignalCount];
+			m_flaggedCounts = new int[SignalCount];
+			m_minimums = new float[SignalCount];
+			m_maximums = new float[SignalCount];
+			m_means = new double[SignalCount];
+			m_standardDeviations = new double[SignalCount];
+			m_rates = new double[SignalCount];
+			
+			for (int i = 0; i < summary.size(); i++)
+			{
+				signal = summary.getSignalIndex(i);
+				m_counts[signal] = summary.getCount(i);
+				m_flaggedCounts[signal] = summary.getFlaggedCount(i);
+				m_minimums[signal] = summary.getMinimum(i);
+				m_maximums[signal] = summary.getMaximum(i);
+				m_means[signal] = summary.getMean(i);
+				m_standardDeviations[signal] = summary.getStandardDeviation(i);
+				m_rates[signal] = summary.getRate(i);
+			}
+		}
+	}
+	
+	private static final int SignalCount = 3;
+	
+	private static final long TicksPerMillisecond = 10000L;
+	private static final long TicksPerSecond = 10000000L;
+	
+	// A time on a whole second, in ticks.
+	private static final long BaseTime = 635000000000000000L;
+}
@@ -0,0 +1,260 @@
+//******************************************************************************************************
+//  BenchmarkPackets.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import org.gpa.gsf.timeseries.transport.constant.DataPacketFlags;
+
+/**
+ * Builds synthetic payloads for the benchmarks, serialized the same way
+ * a publisher serializes them. Signal {@code i} has the signal ID returned
+ * by {@link #getSignalId(int)} and the measurement key {@code SIM:i+1}.
+ */
+class BenchmarkPackets
+{
+	/**
+	 * Measurement timestamps are serialized as full 8-byte ticks.
+	 */
+	static final int FullTimestamps = 0;
+	
+	/**
+	 * Measurement timestamps are serialized as 4-byte tick offsets from a base time.
+	 */
+	static final int TickOffsets = 1;
+	
+	/**
+	 * Measurement timestamps are serialized as 2-byte millisecond offsets from a base time.
+	 */
+	static final int MillisecondOffsets = 2;
+	
+	/**
+	 * Gets the base times used by packets with timestamp offsets.
+	 */
+	static long[] getBaseTimeOffsets()
+	{
+		return new long[] { BaseTime, BaseTime + 60L * TicksPerSecond };
+	}
+	
+	/**
+	 * Gets the signal ID of the signal with the given index.
+	 */
+	static UUID getSignalId(int signalIndex)
+	{
+		return new UUID(SignalIdHighBits, signalIndex);
+	}
+	
+	/**
+	 * Builds a signal index cache containing the given number of signals.
+	 */
+	static SignalIndexCache buildSignalIndexCache(int signalCount)
+	{
+		SignalIndexCache cache = new SignalIndexCache();
+		
+		for (int i = 0; i < signalCount; i++)
+			cache.addMeasurementKey((short)i, getSignalId(i), SignalSource, i + 1);
+		
+		return cache;
+	}
+	
+	/**
+	 * Builds the payload of an {@code UpdateSignalIndexCache}
+	 * response containing the given number of signals.
+	 */
+	static byte[] buildSignalIndexCachePayload(int signalCount, Charset characterEncoding)
+	{
+		byte[] source = SignalSource.getBytes(characterEncoding);
+		ByteBuffer buffer = ByteBuffer.allocate(24 + signalCount * (26 + source.length));
+		UUID signalId;
+		
+		// Length and subscriber ID are skipped by the subscriber
+		buffer.putInt(0).put(new byte[16]).putInt(signalCount);
+		
+		for (int i = 0; i < signalCount; i++)
+		{
+			signalId = getSignalId(i);
+			buffer.putShort((short)i);
+			buffer.putLong(signalId.getMostSignificantBits());
+			buffer.putLong(signalId.getLeastSignificantBits());
+			buffer.putInt(source.length);
+			buffer.put(source);
+			buffer.putInt(i + 1);
+		}
+		
+		return buffer.array();
+	}
+	
+	/**
+	 * Builds the serialized compact measurements of a data packet, not
+	 * including the data packet flags and measurement count. Signal
+	 * indexes are chosen at random from the first {@code signalCount}
+	 * signals, with random values and flags and timestamps that fall
+	 * within a minute of the first base time.
+	 */
+	static byte[] buildCompactMeasurements(int measurementCount, int signalCount, int timeFormat)
+	{
+		Random random = new Random(RandomSeed);
+		ByteBuffer buffer = ByteBuffer.allocate(measurementCount * getMeasurementSize(timeFormat));
+		long offset;
+		byte flags;
+		
+		for (int i = 0; i < measurementCount; i++)
+		{
+			offset = (long)(random.nextDouble() * 59.0D * TicksPerSecond);
+			
+			// Roughly one measurement in a hundred carries quality flags
+			flags = (random.nextInt(100) == 0) ? CompactMeasurementParser.CompactDataQualityFlag : 0;
+			
+			if (timeFormat != FullTimestamps)
+				flags |= CompactMeasurementParser.CompactBaseTimeOffsetFlag;
+			
+			buffer.put(flags);
+			buffer.putShort((short)random.nextInt(signalCount));
+			buffer.putFloat(random.nextFloat() * 1000.0F);
+			
+			switch (timeFormat)
+			{
+			case FullTimestamps:
+				buffer.putLong(BaseTime + offset);
+				break;
+				
+			case TickOffsets:
+				buffer.putInt((int)offset);
+				break;
+				
+			case MillisecondOffsets:
+				buffer.putShort((short)(offset / TicksPerMillisecond));
+				break;
+			}
+		}
+		
+		return buffer.array();
+	}
+	
+	/**
+	 * Builds the payload of a {@code DataPacket} response.
+	 */
+	static byte[] buildDataPacketPayload(int measurementCount, int signalCount, int timeFormat)
+	{
+		byte[] measurements = buildCompactMeasurements(measurementCount, signalCount, timeFormat);
+		ByteBuffer buffer = ByteBuffer.allocate(5 + measurements.length);
+		
+		buffer.put(DataPacketFlags.Compact);
+		buffer.putInt(measurementCount);
+		buffer.put(measurements);
+		
+		return buffer.array();
+	}
+	
+	/**
+	 * Builds the payload of an {@code UpdateBaseTimes} response
+	 * containing the base times returned by {@link #getBaseTimeOffsets()}.
+	 */
+	static byte[] buildBaseTimesPayload()
+	{
+		long[] baseTimeOffsets = getBaseTimeOffsets();
+		ByteBuffer buffer = ByteBuffer.allocate(20);
+		
+		buffer.putInt(0).putLong(baseTimeOffsets[0]).putLong(baseTimeOffsets[1]);
+		
+		return buffer.array();
+	}
+	
+	/**
+	 * Wraps a payload in a server response, as it is
+	 * passed to the subscriber by the command channel.
+	 */
+	static ByteBuffer buildServerResponse(byte responseCode, byte commandCode, byte[] payload)
+	{
+		ByteBuffer buffer = ByteBuffer.allocate(6 + payload.length);
+		
+		buffer.put(responseCode);
+		buffer.put(commandCode);
+		buffer.putInt(payload.length);
+		buffer.put(payload);
+		buffer.flip();
+		
+		return buffer;
+	}
+	
+	/**
+	 * Compresses data using GZIP.
+	 */
+	static byte[] compress(byte[] data)
+	{
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		GZIPOutputStream gzipStream;
+		
+		try
+		{
+			gzipStream = new GZIPOutputStream(stream);
+			gzipStream.write(data);
+			gzipStream.close();
+		}
+		catch (IOException ex)
+		{
+			// Byte array streams do not throw
+			throw new IllegalStateException(ex);
+		}
+		
+		return stream.toByteArray();
+	}
+	
+	// Gets the size of a single compact measurement with the given time format.
+	private static int getMeasurementSize(int timeFormat)
+	{
+		switch (timeFormat)
+		{
+		case TickOffsets:
+			return 11;
+			
+		case MillisecondOffsets:
+			return 9;
+			
+		default:
+			return 15;
+		}
+	}
+	
+	// Source of the measurement keys of all synthetic signals.
+	private static final String SignalSource = "SIM";
+	
+	// Upper bits shared by the signal IDs of all synthetic signals.
+	private static final long SignalIdHighBits = 0x53494D5055424C49L;
+	
+	// Seed used so that every run benchmarks the same packets.
+	private static final long RandomSeed = 0x4753464A4D48L;
+	
+	private static final long TicksPerMillisecond = 10000L;
+	private static final long TicksPerSecond = 10000000L;
+	
+	// 2012-01-01 00:00:00 UTC, in ticks.
+	private static final long BaseTime = 634610016000000000L;
+}
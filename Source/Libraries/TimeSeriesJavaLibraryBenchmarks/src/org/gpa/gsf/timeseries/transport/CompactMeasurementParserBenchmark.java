@@ -0,0 +1,107 @@
+//******************************************************************************************************
+//  CompactMeasurementParserBenchmark.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time taken to parse a single data packet of compact
+ * measurements, both into a reusable {@link MeasurementBatch} and into
+ * a collection of {@link org.gpa.gsf.timeseries.Measurement} objects, with timestamps serialized
+ * either in full or as offsets from the base times.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompactMeasurementParserBenchmark
+{
+	@Param({ "FullTimestamps", "TickOffsets", "MillisecondOffsets" })
+	public String timeFormat;
+	
+	@Param({ "100", "2000" })
+	public int measurementCount;
+	
+	private CompactMeasurementParser m_parser;
+	private MeasurementBatch m_batch;
+	private ByteBuffer m_measurements;
+	
+	@Setup
+	public void setup()
+	{
+		int format = getTimeFormat(timeFormat);
+		SignalIndexCache cache = BenchmarkPackets.buildSignalIndexCache(SignalCount);
+		long[] baseTimeOffsets = (format != BenchmarkPackets.FullTimestamps) ? BenchmarkPackets.getBaseTimeOffsets() : null;
+		
+		m_parser = new CompactMeasurementParser(cache, baseTimeOffsets, true, format == BenchmarkPackets.MillisecondOffsets);
+		m_batch = new MeasurementBatch(measurementCount);
+		m_measurements = ByteBuffer.wrap(BenchmarkPackets.buildCompactMeasurements(measurementCount, SignalCount, format));
+	}
+	
+	@Benchmark
+	public MeasurementBatch parseIntoBatch()
+	{
+		m_measurements.rewind();
+		m_parser.parseMeasurements(m_measurements, m_batch);
+		return m_batch;
+	}
+	
+	@Benchmark
+	public Collection<org.gpa.gsf.timeseries.Measurement> parseIntoCollection()
+	{
+		m_measurements.rewind();
+		return m_parser.parseMeasurements(m_measurements);
+	}
+	
+	// Gets the time format constant with the given name.
+	private static int getTimeFormat(String name)
+	{
+		if ("TickOffsets".equals(name))
+			return BenchmarkPackets.TickOffsets;
+		
+		if ("MillisecondOffsets".equals(name))
+			return BenchmarkPackets.MillisecondOffsets;
+		
+		return BenchmarkPackets.FullTimestamps;
+	}
+	
+	// Number of signals in the signal index cache.
+	private static final int SignalCount = 10000;
+}
@@ -0,0 +1,98 @@
+//******************************************************************************************************
+//  DecompressionBenchmark.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time taken by the {@link GZipDecompressor} that backs
+ * {@code DataSubscriber.decompress} to inflate a compressed signal index
+ * cache, either into its reusable buffer or through a stream.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecompressionBenchmark
+{
+	@Param({ "10000", "60000" })
+	public int signalCount;
+	
+	private GZipDecompressor m_decompressor;
+	private ByteBuffer m_compressedBuffer;
+	private byte[] m_readBuffer;
+	
+	@Setup
+	public void setup()
+	{
+		byte[] payload = BenchmarkPackets.buildSignalIndexCachePayload(signalCount, Charset.forName("UTF-16LE"));
+		
+		m_decompressor = new GZipDecompressor();
+		m_compressedBuffer = ByteBuffer.wrap(BenchmarkPackets.compress(payload));
+		m_readBuffer = new byte[ReadBufferSize];
+	}
+	
+	@Benchmark
+	public ByteBuffer decompress() throws IOException
+	{
+		m_compressedBuffer.rewind();
+		return m_decompressor.decompress(m_compressedBuffer);
+	}
+	
+	@Benchmark
+	public long decompressStream() throws IOException
+	{
+		InputStream stream;
+		long total = 0L;
+		int bytesRead;
+		
+		m_compressedBuffer.rewind();
+		stream = m_decompressor.openStream(m_compressedBuffer);
+		
+		while ((bytesRead = stream.read(m_readBuffer)) > 0)
+			total += bytesRead;
+		
+		return total;
+	}
+	
+	private static final int ReadBufferSize = 8192;
+}
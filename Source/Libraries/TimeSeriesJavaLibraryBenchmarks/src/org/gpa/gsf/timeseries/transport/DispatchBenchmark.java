@@ -0,0 +1,200 @@
+//******************************************************************************************************
+//  DispatchBenchmark.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.gpa.gsf.timeseries.transport.constant.ServerCommand;
+import org.gpa.gsf.timeseries.transport.constant.ServerResponse;
+import org.gpa.gsf.timeseries.transport.event.MeasurementBatchEvent;
+import org.gpa.gsf.timeseries.transport.event.MeasurementEvent;
+import org.gpa.gsf.timeseries.transport.event.SubscriberAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the rate at which a connected {@link DataSubscriber} can take
+ * data packets from the command channel and deliver their measurements to
+ * a listener. Packets are handed to the subscriber by the benchmark thread
+ * as if they had just been read from the socket, so the benchmark covers
+ * parsing, the callback queue and dispatch to the listener, but not the
+ * network. Once the callback queue fills up, the benchmark thread waits
+ * for the callback thread, so the result is the sustained throughput of
+ * the whole pipeline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatchBenchmark
+{
+	@Param({ "100", "2000" })
+	public int measurementCount;
+	
+	@Param({ "true", "false" })
+	public boolean batchMode;
+	
+	@Param({ "0", "4" })
+	public int parallelDispatchThreads;
+	
+	private ServerSocket m_serverSocket;
+	private Thread m_sinkThread;
+	private DataSubscriber m_subscriber;
+	private AtomicLong m_measurementsDelivered;
+	private ByteBuffer m_dataPacket;
+	private long m_measurementsSent;
+	
+	@Setup(Level.Trial)
+	public void setup() throws IOException
+	{
+		Charset characterEncoding = Charset.forName("UTF-16LE");
+		byte[] cache = BenchmarkPackets.buildSignalIndexCachePayload(SignalCount, characterEncoding);
+		byte[] baseTimes = BenchmarkPackets.buildBaseTimesPayload();
+		byte[] dataPacket = BenchmarkPackets.buildDataPacketPayload(measurementCount, SignalCount, BenchmarkPackets.TickOffsets);
+		
+		m_serverSocket = new ServerSocket(0);
+		m_sinkThread = startSinkThread(m_serverSocket);
+		m_measurementsDelivered = new AtomicLong();
+		
+		m_subscriber = new DataSubscriber();
+		m_subscriber.setMeasurementBatchMode(batchMode);
+		m_subscriber.setParallelDispatchThreadCount(parallelDispatchThreads);
+		m_subscriber.addSubscriberListener(new CountingListener(m_measurementsDelivered));
+		m_subscriber.connect("localhost", m_serverSocket.getLocalPort());
+		m_subscriber.subscribe(new SubscriptionInfo());
+		
+		m_subscriber.handleCommandChannelPayload(BenchmarkPackets.buildServerResponse(ServerResponse.UpdateSignalIndexCache, ServerCommand.Subscribe, cache));
+		m_subscriber.handleCommandChannelPayload(BenchmarkPackets.buildServerResponse(ServerResponse.UpdateBaseTimes, ServerCommand.Subscribe, baseTimes));
+		m_dataPacket = BenchmarkPackets.buildServerResponse(ServerResponse.DataPacket, ServerCommand.Subscribe, dataPacket);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException, InterruptedException
+	{
+		long deadline = System.currentTimeMillis() + DrainTimeout;
+		
+		// Make sure every measurement was delivered before disconnecting
+		while (m_measurementsDelivered.get() < m_measurementsSent && System.currentTimeMillis() < deadline)
+			Thread.sleep(1L);
+		
+		if (m_measurementsDelivered.get() < m_measurementsSent)
+			throw new IllegalStateException("Only " + m_measurementsDelivered.get() + " of " + m_measurementsSent + " measurements were delivered");
+		
+		m_subscriber.disconnect();
+		m_serverSocket.close();
+		m_sinkThread.join();
+	}
+	
+	@Benchmark
+	public void dispatchDataPacket()
+	{
+		m_dataPacket.rewind();
+		m_subscriber.handleCommandChannelPayload(m_dataPacket);
+		m_measurementsSent += measurementCount;
+	}
+	
+	// Accepts the subscriber's connection and discards its commands.
+	private static Thread startSinkThread(final ServerSocket serverSocket)
+	{
+		Thread sinkThread = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				byte[] buffer = new byte[1024];
+				
+				try
+				{
+					Socket socket = serverSocket.accept();
+					InputStream in = socket.getInputStream();
+					
+					while (in.read(buffer) >= 0)
+					{
+					}
+					
+					socket.close();
+				}
+				catch (IOException ex)
+				{
+					// Server socket closed by tear down
+				}
+			}
+		}, "DispatchBenchmarkSinkThread");
+		
+		sinkThread.setDaemon(true);
+		sinkThread.start();
+		
+		return sinkThread;
+	}
+	
+	// Counts the measurements delivered to listeners.
+	private static class CountingListener extends SubscriberAdapter
+	{
+		private AtomicLong m_measurementsDelivered;
+		
+		public CountingListener(AtomicLong measurementsDelivered)
+		{
+			m_measurementsDelivered = measurementsDelivered;
+		}
+		
+		@Override
+		public void newMeasurementsReceived(MeasurementEvent evt)
+		{
+			// Measurements are counted as batches so
+			// that they are not counted twice
+		}
+		
+		@Override
+		public void newMeasurementBatchReceived(MeasurementBatchEvent evt)
+		{
+			m_measurementsDelivered.addAndGet(evt.getBatch().size());
+		}
+	}
+	
+	// Number of signals in the signal index cache.
+	private static final int SignalCount = 10000;
+	
+	// Maximum number of milliseconds to wait for queued measurements to be delivered.
+	private static final long DrainTimeout = 10000L;
+}
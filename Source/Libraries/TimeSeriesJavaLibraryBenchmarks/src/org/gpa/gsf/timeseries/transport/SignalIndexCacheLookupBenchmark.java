@@ -0,0 +1,110 @@
+//******************************************************************************************************
+//  SignalIndexCacheLookupBenchmark.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the time taken to look up signals in a {@link SignalIndexCache},
+ * by signal index and by signal ID, in random order so that the results
+ * reflect a cache that does not fit in the CPU's L1 cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignalIndexCacheLookupBenchmark
+{
+	@Param({ "10000", "60000" })
+	public int signalCount;
+	
+	private SignalIndexCache m_cache;
+	private short[] m_signalIndexes;
+	private UUID[] m_signalIds;
+	
+	@Setup
+	public void setup()
+	{
+		Random random = new Random(RandomSeed);
+		int signalIndex;
+		
+		m_cache = BenchmarkPackets.buildSignalIndexCache(signalCount);
+		m_signalIndexes = new short[LookupCount];
+		m_signalIds = new UUID[LookupCount];
+		
+		for (int i = 0; i < LookupCount; i++)
+		{
+			signalIndex = random.nextInt(signalCount);
+			m_signalIndexes[i] = (short)signalIndex;
+			m_signalIds[i] = BenchmarkPackets.getSignalId(signalIndex);
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(LookupCount)
+	public void getMeasurementKey(Blackhole blackhole)
+	{
+		for (int i = 0; i < LookupCount; i++)
+			blackhole.consume(m_cache.getMeasurementKey(m_signalIndexes[i]));
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(LookupCount)
+	public void contains(Blackhole blackhole)
+	{
+		for (int i = 0; i < LookupCount; i++)
+			blackhole.consume(m_cache.contains(m_signalIndexes[i]));
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(LookupCount)
+	public void getSignalIndex(Blackhole blackhole)
+	{
+		for (int i = 0; i < LookupCount; i++)
+			blackhole.consume(m_cache.getSignalIndex(m_signalIds[i]));
+	}
+	
+	// Number of lookups performed by each invocation.
+	private static final int LookupCount = 4096;
+	
+	private static final long RandomSeed = 0x4753464A4D48L;
+}
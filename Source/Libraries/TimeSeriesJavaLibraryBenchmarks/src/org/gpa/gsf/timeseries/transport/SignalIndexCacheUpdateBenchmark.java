@@ -0,0 +1,96 @@
+//******************************************************************************************************
+//  SignalIndexCacheUpdateBenchmark.java - Gbtc
+//
+//  Copyright  2010, Grid Protection Alliance.  All Rights Reserved.
+//
+//  Licensed to the Grid Protection Alliance (GPA) under one or more contributor license agreements. See
+//  the NOTICE file distributed with this work for additional information regarding copyright ownership.
+//  The GPA licenses this file to you under the Eclipse Public License -v 1.0 (the "License"); you may
+//  not use this file except in compliance with the License. You may obtain a copy of the License at:
+//
+//      http://www.opensource.org/licenses/eclipse-1.0.php
+//
+//  Unless agreed to in writing, the subject software distributed under the License is distributed on an
+//  "AS-IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. Refer to the
+//  License for the specific language governing permissions and limitations.
+//
+//  Code Modification History:
+//  ----------------------------------------------------------------------------------------------------
+//  10/18/2026 - agent
+//       Generated original version of source code.
+//
+//******************************************************************************************************
+
+package org.gpa.gsf.timeseries.transport;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+import org.gpa.gsf.timeseries.transport.constant.CompressionMode;
+import org.gpa.gsf.timeseries.transport.constant.OperationalEncoding;
+import org.gpa.gsf.timeseries.transport.constant.OperationalModes;
+import org.gpa.gsf.timeseries.transport.constant.ServerCommand;
+import org.gpa.gsf.timeseries.transport.constant.ServerResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time taken by a {@link DataSubscriber} to process an
+ * {@code UpdateSignalIndexCache} response, from the raw response as it
+ * is received on the command channel to the new cache being published,
+ * with and without GZIP compression of the cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignalIndexCacheUpdateBenchmark
+{
+	@Param({ "10000", "30000", "60000" })
+	public int signalCount;
+	
+	@Param({ "false", "true" })
+	public boolean compressed;
+	
+	private DataSubscriber m_subscriber;
+	private ByteBuffer m_response;
+	
+	@Setup
+	public void setup()
+	{
+		int operationalModes = OperationalModes.UseCommonSerializationFormat | OperationalEncoding.Unicode;
+		byte[] payload = BenchmarkPackets.buildSignalIndexCachePayload(signalCount, Charset.forName("UTF-16LE"));
+		
+		if (compressed)
+		{
+			operationalModes |= OperationalModes.CompressSignalIndexCache | CompressionMode.GZIP;
+			payload = BenchmarkPackets.compress(payload);
+		}
+		
+		// The subscriber is never connected; the response is
+		// handed to it as if it came from the command channel
+		m_subscriber = new DataSubscriber();
+		m_subscriber.setOperationalModes(operationalModes);
+		m_response = BenchmarkPackets.buildServerResponse(ServerResponse.UpdateSignalIndexCache, ServerCommand.Subscribe, payload);
+	}
+	
+	@Benchmark
+	public DataSubscriber updateSignalIndexCache()
+	{
+		m_response.rewind();
+		m_subscriber.handleCommandChannelPayload(m_response);
+		return m_subscriber;
+	}
+}